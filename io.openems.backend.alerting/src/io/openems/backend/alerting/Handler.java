@@ -21,6 +21,17 @@ public interface Handler<T extends Message> {
 	 */
 	public void send(ZonedDateTime sentAt, List<T> messages);
 
+	/**
+	 * Get the maximum number of messages passed to one call of
+	 * {@link #send(ZonedDateTime, List)}. More messages that are due at the same
+	 * time are sent in multiple batches.
+	 *
+	 * @return the maximum batch size
+	 */
+	public default int getMaxBatchSize() {
+		return Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Return generic type of handler as Class object.
 	 *
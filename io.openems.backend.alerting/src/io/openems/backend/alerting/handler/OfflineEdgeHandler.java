@@ -2,9 +2,8 @@ package io.openems.backend.alerting.handler;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -26,9 +25,10 @@ import io.openems.common.utils.JsonUtils;
 
 public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 
-	// Definition of unrealistically high values for messages sent simultaneously
+	// Maximum number of messages sent with one call to the Mailer
 	public static final int MAX_SIMULTANEOUS_MSGS = 500;
-	public static final int MAX_SIMULTANEOUS_EDGES = 1000;
+	// Number of Offline-Edges at once, that is logged as a mass outage
+	public static final int MASS_OUTAGE_EDGES = 1000;
 
 	private final Logger log = LoggerFactory.getLogger(OfflineEdgeHandler.class);
 
@@ -69,6 +69,9 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 	public void send(ZonedDateTime sentAt, List<OfflineEdgeMessage> pack) {
 		// Ensure Edge is still offline before sending mail.
 		pack.removeIf((msg) -> !this.isEdgeOffline(msg.getEdgeId()));
+		if (pack.isEmpty()) {
+			return;
+		}
 
 		var params = JsonUtils.generateJsonArray(pack, OfflineEdgeMessage::getParams);
 
@@ -99,32 +102,21 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 	private void checkMetadata() {
 		this.log.info("[OfflineEdgeHandler] check Metadata for Offline Edges");
 
-		var msgs = new LinkedList<OfflineEdgeMessage>();
-		var count = new AtomicInteger();
 		var validOfflineEges = this.metadata.getAllOfflineEdges().stream() //
 				.filter(this::isValidEdge) //
 				.toList();
 
-		if (validOfflineEges.size() > OfflineEdgeHandler.MAX_SIMULTANEOUS_EDGES) {
-			this.log.error("[OfflineEdgeHandler] Canceled checkMetadata(); tried to schedule msgs for "
-					+ OfflineEdgeHandler.MAX_SIMULTANEOUS_EDGES + " Offline-Edges at once!!");
-			return;
+		if (validOfflineEges.size() > OfflineEdgeHandler.MASS_OUTAGE_EDGES) {
+			this.log.warn("[OfflineEdgeHandler] Mass outage: " + validOfflineEges.size()
+					+ " Offline-Edges at once; mails are sent in batches of " + OfflineEdgeHandler.MAX_SIMULTANEOUS_MSGS);
 		}
 
+		var msgs = new ArrayList<OfflineEdgeMessage>(validOfflineEges.size());
 		for (var edge : validOfflineEges) {
 			var msg = this.getEdgeMessage(edge);
-			if (msg == null) {
-				continue;
-			}
-
-			var completeCnt = count.addAndGet(msg.getMessageCount());
-			if (completeCnt > OfflineEdgeHandler.MAX_SIMULTANEOUS_MSGS) {
-				this.log.error("[OfflineEdgeHandler] Canceled checkMetadata(); tried to schedule over "
-						+ OfflineEdgeHandler.MAX_SIMULTANEOUS_MSGS + " EdgeOffline Messages at once!!");
-				return;
+			if (msg != null) {
+				msgs.add(msg);
 			}
-
-			msgs.add(msg);
 		}
 
 		msgs.forEach(this.msgScheduler::schedule);
@@ -255,6 +247,11 @@ public class OfflineEdgeHandler implements Handler<OfflineEdgeMessage> {
 		};
 	}
 
+	@Override
+	public int getMaxBatchSize() {
+		return OfflineEdgeHandler.MAX_SIMULTANEOUS_MSGS;
+	}
+
 	@Override
 	public Class<OfflineEdgeMessage> getGeneric() {
 		return OfflineEdgeMessage.class;
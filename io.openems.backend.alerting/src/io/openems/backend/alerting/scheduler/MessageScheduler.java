@@ -2,11 +2,15 @@ package io.openems.backend.alerting.scheduler;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.TreeMap;
 import java.util.function.Predicate;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import io.openems.backend.alerting.Handler;
 import io.openems.backend.alerting.Message;
 
@@ -16,19 +20,38 @@ import io.openems.backend.alerting.Message;
  * After the specified time is reached, the scheduler sends the Messages to
  * their {@link Handler} and removes them from itself.
  * </p>
+ * <p>
+ * Messages are kept in a hashed timing-wheel with one bucket per minute, so
+ * scheduling, removing and looking up a message by its id are O(1). Messages
+ * that are due more than {@link #WHEEL_SIZE} minutes ahead share their bucket
+ * with earlier ones and are skipped until their time is reached.
+ * </p>
  *
  * @param <T> type of Message
  */
 public class MessageScheduler<T extends Message> {
-	private final Map<String, T> messageForId;
-	private final PriorityQueue<T> queue;
+
+	/** Number of buckets, i.e. minutes of one revolution of the wheel. */
+	public static final int WHEEL_SIZE = 1440;
+
+	private static record Entry<T>(T msg, int bucket) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(MessageScheduler.class);
+
+	private final Map<String, Entry<T>> messageForId;
+	private final Map<String, T>[] wheel;
 
 	private final Handler<T> handler;
 
+	/** The earliest minute that was not yet completely handled; -1 if unknown. */
+	private long currentTick = -1;
+
+	@SuppressWarnings("unchecked")
 	public MessageScheduler(Handler<T> handler) {
 		this.handler = handler;
-		this.queue = new PriorityQueue<>();
-		this.messageForId = new TreeMap<>();
+		this.messageForId = new HashMap<>();
+		this.wheel = new Map[WHEEL_SIZE];
 	}
 
 	/**
@@ -41,10 +64,22 @@ public class MessageScheduler<T extends Message> {
 			return;
 		}
 		synchronized (this) {
-			this.messageForId.computeIfAbsent(msg.getId(), (key) -> {
-				this.queue.add(msg);
-				return msg;
-			});
+			if (this.messageForId.containsKey(msg.getId())) {
+				return;
+			}
+			var tick = toTick(msg.getNotifyStamp());
+			if (this.currentTick >= 0 && tick < this.currentTick) {
+				// Already due; handle with the next cycle
+				tick = this.currentTick;
+			}
+			var bucket = (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+			var messages = this.wheel[bucket];
+			if (messages == null) {
+				messages = new LinkedHashMap<>();
+				this.wheel[bucket] = messages;
+			}
+			messages.put(msg.getId(), msg);
+			this.messageForId.put(msg.getId(), new Entry<>(msg, bucket));
 		}
 	}
 
@@ -58,9 +93,9 @@ public class MessageScheduler<T extends Message> {
 			return;
 		}
 		synchronized (this) {
-			var msg = this.messageForId.remove(msgId);
-			if (msg != null) {
-				this.queue.remove(msg);
+			var entry = this.messageForId.remove(msgId);
+			if (entry != null) {
+				this.wheel[entry.bucket].remove(msgId);
 			}
 		}
 	}
@@ -71,8 +106,8 @@ public class MessageScheduler<T extends Message> {
 	 * @param msg to check for
 	 * @return true if is scheduled
 	 */
-	public boolean isScheduled(Message msg) {
-		return this.queue.contains(msg);
+	public synchronized boolean isScheduled(Message msg) {
+		return msg != null && this.messageForId.containsKey(msg.getId());
 	}
 
 	/**
@@ -81,8 +116,8 @@ public class MessageScheduler<T extends Message> {
 	 * @param find ;filter to use
 	 * @return true if is scheduled
 	 */
-	public boolean isScheduled(Predicate<T> find) {
-		return this.queue.stream().anyMatch(find);
+	public synchronized boolean isScheduled(Predicate<T> find) {
+		return this.messageForId.values().stream().map(Entry::msg).anyMatch(find);
 	}
 
 	public Class<T> getGeneric() {
@@ -94,43 +129,72 @@ public class MessageScheduler<T extends Message> {
 	 *
 	 * @return size of message queue
 	 */
-	public int size() {
-		return this.queue.size();
+	public synchronized int size() {
+		return this.messageForId.size();
 	}
 
 	/**
 	 * Transfer the messages due to their handler.
 	 *
+	 * <p>
+	 * The messages are passed to {@link Handler#send(ZonedDateTime, List)} in
+	 * batches of at most {@link Handler#getMaxBatchSize()} messages.
+	 *
 	 * @param now TimeStamp on call
 	 */
 	public void handle(ZonedDateTime now) {
-		var msgs = new ArrayList<T>();
-		while (this.hasTimeElapsed(now, this.peek())) {
-			msgs.add(this.poll());
-		}
-		if (!msgs.isEmpty()) {
-			this.handler.send(now, msgs);
+		var msgs = this.pollElapsed(now);
+		var batchSize = Math.max(1, this.handler.getMaxBatchSize());
+		for (var from = 0; from < msgs.size(); from += batchSize) {
+			var batch = new ArrayList<>(msgs.subList(from, Math.min(from + batchSize, msgs.size())));
+			try {
+				this.handler.send(now, batch);
+			} catch (RuntimeException e) {
+				// Do not let one failing batch stop the remaining ones
+				this.log.error("Unable to send batch of " + batch.size() + " messages: " + e.getMessage(), e);
+			}
 		}
 	}
 
-	private boolean hasTimeElapsed(ZonedDateTime now, T msg) {
-		return msg != null && now.isAfter(msg.getNotifyStamp());
+	private synchronized List<T> pollElapsed(ZonedDateTime now) {
+		var msgs = new ArrayList<T>();
+		var nowTick = toTick(now);
+		if (this.currentTick < 0 || nowTick - this.currentTick >= WHEEL_SIZE) {
+			// First cycle or cycles were missed: check every bucket once
+			for (var messages : this.wheel) {
+				this.pollElapsed(now, messages, msgs);
+			}
+		} else {
+			for (var tick = this.currentTick; tick <= nowTick; tick++) {
+				this.pollElapsed(now, this.wheel[(int) Math.floorMod(tick, (long) WHEEL_SIZE)], msgs);
+			}
+		}
+		// Messages of the current minute might not be due yet
+		this.currentTick = Math.max(this.currentTick, nowTick);
+		return msgs;
 	}
 
-	private T poll() {
-		synchronized (this) {
-			var msg = this.queue.poll();
-			if (msg != null) {
+	private void pollElapsed(ZonedDateTime now, Map<String, T> messages, List<T> result) {
+		if (messages == null || messages.isEmpty()) {
+			return;
+		}
+		var iterator = messages.values().iterator();
+		while (iterator.hasNext()) {
+			var msg = iterator.next();
+			if (hasTimeElapsed(now, msg)) {
+				iterator.remove();
 				this.messageForId.remove(msg.getId());
+				result.add(msg);
 			}
-			return msg;
 		}
 	}
 
-	private T peek() {
-		synchronized (this) {
-			return this.queue.peek();
-		}
+	private static boolean hasTimeElapsed(ZonedDateTime now, Message msg) {
+		return msg != null && now.isAfter(msg.getNotifyStamp());
+	}
+
+	private static long toTick(ZonedDateTime time) {
+		return Math.floorDiv(time.toEpochSecond(), 60L);
 	}
 
 	/**
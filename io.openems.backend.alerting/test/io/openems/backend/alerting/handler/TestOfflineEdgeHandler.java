@@ -7,11 +7,14 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
@@ -20,8 +23,10 @@ import io.openems.backend.alerting.Dummy.AlertingMetadataImpl;
 import io.openems.backend.alerting.Dummy.MailerImpl;
 import io.openems.backend.alerting.Dummy.MessageSchedulerServiceImpl;
 import io.openems.backend.alerting.Dummy.SimpleMetadataImpl;
+import io.openems.backend.alerting.Dummy.TimeLeapMinuteTimer;
 import io.openems.backend.alerting.message.OfflineEdgeMessage;
 import io.openems.backend.alerting.scheduler.MinuteTimer;
+import io.openems.backend.alerting.scheduler.Scheduler;
 import io.openems.backend.common.metadata.AlertingSetting;
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.common.metadata.Metadata;
@@ -101,7 +106,7 @@ public class TestOfflineEdgeHandler {
 	}
 
 	@Test
-	public void checkMetadataEmergencyStop() {
+	public void checkMetadataMassOutage() {
 		final var msgMeta = new Utility.ToManyMsgsMetadata();
 		final var msgMsgsch = new MessageSchedulerServiceImpl();
 		final var msgCount = new AtomicInteger();
@@ -119,24 +124,46 @@ public class TestOfflineEdgeHandler {
 
 		final var handler = new OfflineEdgeHandler(msgMsgsch, timer, null, msgMeta, 0);
 
-		assertEquals(0, msgMsgsch.find(handler).size());
+		assertEquals(msgMeta.getAllOfflineEdges().size(), msgMsgsch.find(handler).size());
 
 		//
 
 		final var edgeMeta = new Utility.ToManyEdgesMetadata();
 		final var edgeMsgsch = new MessageSchedulerServiceImpl();
-		final var edgeCount = new AtomicInteger();
-		edgeMeta.getAllOfflineEdges().stream() //
-				.map(e -> edgeMeta.getUserAlertingSettings(e.getId())) //
-				.forEach(e -> {
-					edgeCount.getAndIncrement();
-				});
+		final var edgeCount = edgeMeta.getAllOfflineEdges().size();
 
-		assertTrue("Not enought mails to trigger", edgeCount.get() > OfflineEdgeHandler.MAX_SIMULTANEOUS_EDGES);
+		assertTrue("Not enought edges to trigger", edgeCount > OfflineEdgeHandler.MASS_OUTAGE_EDGES);
 
 		final var edgeHandler = new OfflineEdgeHandler(edgeMsgsch, timer, null, edgeMeta, 0);
 
-		assertEquals(0, edgeMsgsch.find(edgeHandler).size());
+		assertEquals(edgeCount, edgeMsgsch.find(edgeHandler).size());
+	}
+
+	@Test
+	public void testMassOutage() {
+		final var edges = 20_000;
+		final var delay = 15; // [min]
+		final var timer = new TimeLeapMinuteTimer(Instant.now());
+		final var scheduler = new Scheduler(timer);
+		final var mailer = new MailerImpl();
+		final var metadata = new Utility.MassOutageMetadata(edges, timer.now(), delay);
+
+		final var handler = new OfflineEdgeHandler(scheduler, timer, mailer, metadata, 0);
+		scheduler.start();
+
+		// All Edges dropped offline at once; nothing is aborted
+		assertEquals(edges, scheduler.getScheduledMsgsCount());
+
+		timer.leap(delay - 1);
+		assertEquals(edges, scheduler.getScheduledMsgsCount());
+		assertEquals(0, mailer.getMailsCount());
+
+		timer.leap(2);
+		assertEquals(0, scheduler.getScheduledMsgsCount());
+		assertEquals(edges / OfflineEdgeHandler.MAX_SIMULTANEOUS_MSGS, mailer.getMailsCount());
+
+		handler.stop();
+		scheduler.stop();
 	}
 
 	@Test
@@ -236,6 +263,40 @@ public class TestOfflineEdgeHandler {
 			}
 		}
 
+		private static class MassOutageMetadata extends DummyMetadata {
+			private final Map<String, Edge> edges = new HashMap<>();
+			private final List<AlertingSetting> settings;
+
+			public MassOutageMetadata(int count, ZonedDateTime offlineSince, int delay) {
+				for (var i = 0; i < count; i++) {
+					var edge = new Edge(this, "edge" + i, null, null, null, offlineSince);
+					this.edges.put(edge.getId(), edge);
+				}
+				this.settings = List.of(//
+						new AlertingSetting(0, "user0", null, offlineSince.minusDays(1), delay));
+			}
+
+			@Override
+			public boolean isInitialized() {
+				return true;
+			}
+
+			@Override
+			public Optional<Edge> getEdge(String edgeId) {
+				return Optional.ofNullable(this.edges.get(edgeId));
+			}
+
+			@Override
+			public Collection<Edge> getAllOfflineEdges() {
+				return this.edges.values();
+			}
+
+			@Override
+			public List<AlertingSetting> getUserAlertingSettings(String edgeId) {
+				return this.settings;
+			}
+		}
+
 		private static class ToManyEdgesMetadata extends DummyMetadata {
 			private final ZonedDateTime now = ZonedDateTime.now();
 			private final ZonedDateTime yesterday = this.now.minusDays(1);
@@ -247,7 +308,7 @@ public class TestOfflineEdgeHandler {
 
 			@Override
 			public Collection<Edge> getAllOfflineEdges() {
-				var toMany = OfflineEdgeHandler.MAX_SIMULTANEOUS_EDGES + 20;
+				var toMany = OfflineEdgeHandler.MASS_OUTAGE_EDGES + 20;
 				var edges = new ArrayList<Edge>(toMany);
 				for (var i = 0; i < toMany; i++) {
 					edges.add(new Edge(null, "edge" + i, null, null, null, this.now));
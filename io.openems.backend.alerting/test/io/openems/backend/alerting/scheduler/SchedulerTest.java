@@ -1,5 +1,6 @@
 package io.openems.backend.alerting.scheduler;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
@@ -8,6 +9,7 @@ import static org.junit.Assert.assertTrue;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -230,6 +232,51 @@ public class SchedulerTest {
 		scheduler.stop();
 	}
 
+	@Test
+	public void testHandleBatches() {
+		/* Prepare */
+		final var now = Instant.now();
+		final var timer = new TimeLeapMinuteTimer(now);
+		final var scheduler = new Scheduler(timer);
+
+		final var batches = new ArrayList<Integer>();
+		final var handler = new DummyHandler() {
+			@Override
+			public void send(ZonedDateTime sentAt, List<DummyMessage> messages) {
+				batches.add(messages.size());
+			}
+
+			@Override
+			public int getMaxBatchSize() {
+				return 4;
+			}
+		};
+		final var msgScheduler = scheduler.register(handler);
+
+		for (var i = 0; i < 10; i++) {
+			msgScheduler.schedule(new DummyMessage(String.valueOf(i), now, -1 - i));
+		}
+		/* Due after more than one revolution of the wheel */
+		final var later = new DummyMessage("later", now, (MessageScheduler.WHEEL_SIZE + 5) * 60);
+		msgScheduler.schedule(later);
+
+		/* Test */
+		scheduler.start();
+		timer.cycle();
+
+		assertEquals(List.of(4, 4, 2), batches);
+		assertEquals(1, scheduler.getScheduledMsgsCount());
+
+		timer.leap(MessageScheduler.WHEEL_SIZE);
+		assertTrue(scheduler.isScheduled(later));
+
+		timer.leap(6);
+		assertFalse(scheduler.isScheduled(later));
+		assertEquals(List.of(4, 4, 2, 1), batches);
+
+		scheduler.stop();
+	}
+
 	/* *********************************************** */
 	private static class DummyMessage extends Message {
 		private ZonedDateTime timeStamp;
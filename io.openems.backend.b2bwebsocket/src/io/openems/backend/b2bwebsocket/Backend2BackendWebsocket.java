@@ -24,6 +24,8 @@ import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.debugcycle.DebugLoggable;
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.backend.common.edgewebsocket.EdgeCacheListener;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.metadata.Metadata;
@@ -39,15 +41,19 @@ import io.openems.common.utils.ThreadPoolUtils;
 @EventTopics({ //
 		Metadata.Events.AFTER_IS_INITIALIZED //
 })
-public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent implements EventHandler, DebugLoggable {
+public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent
+		implements EventHandler, DebugLoggable, EdgeCacheListener {
 
 	private static final String COMPONENT_ID = "b2bwebsocket0";
 
 	public static final int DEFAULT_PORT = 8076;
+	public static final int DEFAULT_UPDATE_INTERVAL = 1000;
 
 	protected final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10,
 			new ThreadFactoryBuilder().setNameFormat("B2bWebsocket-%d").build());
 
+	protected final EdgesChannelsSubscriptions subscriptions = new EdgesChannelsSubscriptions();
+
 	@Reference(cardinality = ReferenceCardinality.MANDATORY, policy = ReferencePolicy.DYNAMIC)
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
 
@@ -126,10 +132,26 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 		}
 	}
 
+	@Override
+	public void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache) {
+		this.subscriptions.onEdgeCacheUpdate(edgeId, edgeCache);
+	}
+
 	public String getId() {
 		return COMPONENT_ID;
 	}
 
+	/**
+	 * Gets the minimum interval between two notifications of subscribed Channels
+	 * to one session.
+	 *
+	 * @return the interval in [ms]
+	 */
+	public int getUpdateInterval() {
+		var config = this.config;
+		return config == null ? DEFAULT_UPDATE_INTERVAL : config.updateInterval();
+	}
+
 	@Override
 	public String debugLog() {
 		return "[" + this.getName() + "] " + this.server.debugLog();
@@ -142,6 +164,8 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 		this.server.debugMetrics().forEach((key, value) -> {
 			metrics.put(this.getId() + "/" + key, new JsonPrimitive(value));
 		});
+		metrics.put(this.getId() + "/SubscribedEdges", new JsonPrimitive(this.subscriptions.getEdgeCount()));
+		metrics.put(this.getId() + "/SubscribedChannelSets", new JsonPrimitive(this.subscriptions.getGroupCount()));
 
 		return metrics;
 	}
@@ -16,6 +16,9 @@ import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Update Interval [ms]", description = "Minimum interval between two notifications of subscribed Channels to one session")
+	int updateInterval() default Backend2BackendWebsocket.DEFAULT_UPDATE_INTERVAL;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	DebugMode debugMode() default DebugMode.OFF;
 
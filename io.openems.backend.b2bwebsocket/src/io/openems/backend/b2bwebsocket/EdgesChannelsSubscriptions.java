@@ -0,0 +1,174 @@
+package io.openems.backend.b2bwebsocket;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.JsonElement;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Holds the Edge/Channel subscriptions of all Backend-to-Backend sessions.
+ *
+ * <p>
+ * Subscriptions are grouped by their set of Channels. On incoming data of an
+ * Edge the values of each group are read from the {@link EdgeCache} once and
+ * compared with the values of the previous update; only changed values are
+ * forwarded to the {@link Subscriber}s of the group that subscribed the Edge.
+ */
+public class EdgesChannelsSubscriptions {
+
+	/**
+	 * A session that subscribed Channels of one or more Edges.
+	 */
+	public static interface Subscriber {
+
+		/**
+		 * Called with values that changed since the previous update.
+		 *
+		 * @param edgeId the Edge-ID
+		 * @param values the changed values
+		 */
+		public void onChangedValues(String edgeId, Map<ChannelAddress, JsonElement> values);
+
+	}
+
+	/**
+	 * Subscriptions with the same set of Channels.
+	 */
+	private static class Group {
+
+		private final Map<String, ChannelAddress> channels = new LinkedHashMap<>();
+		private final Map<String, Set<Subscriber>> subscribersByEdgeId = new ConcurrentHashMap<>();
+		private final Map<String, Map<String, JsonElement>> lastValuesByEdgeId = new ConcurrentHashMap<>();
+
+		private Group(Set<ChannelAddress> channels) {
+			for (var channel : channels) {
+				this.channels.put(channel.toString(), channel);
+			}
+		}
+
+		private void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache) {
+			final var subscribers = this.subscribersByEdgeId.get(edgeId);
+			if (subscribers == null || subscribers.isEmpty()) {
+				return;
+			}
+			// Compare and forward while holding the lock for this Edge, so that
+			// concurrent updates of one Edge are forwarded in order
+			this.lastValuesByEdgeId.compute(edgeId, (key, lastValues) -> {
+				var values = edgeCache.getChannelValues(this.channels.keySet()).a();
+				var changed = new LinkedHashMap<ChannelAddress, JsonElement>();
+				for (var entry : values.entrySet()) {
+					if (lastValues == null || !entry.getValue().equals(lastValues.get(entry.getKey()))) {
+						changed.put(this.channels.get(entry.getKey()), entry.getValue());
+					}
+				}
+				if (!changed.isEmpty()) {
+					var result = Collections.unmodifiableMap(changed);
+					for (var subscriber : subscribers) {
+						subscriber.onChangedValues(edgeId, result);
+					}
+				}
+				return values;
+			});
+		}
+	}
+
+	private final Map<Set<ChannelAddress>, Group> groupsByChannels = new ConcurrentHashMap<>();
+	private final Map<String, Set<Group>> groupsByEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds a subscription.
+	 *
+	 * @param subscriber the {@link Subscriber}
+	 * @param edgeIds    the subscribed Edge-IDs
+	 * @param channels   the subscribed Channels
+	 */
+	public synchronized void subscribe(Subscriber subscriber, Set<String> edgeIds, Set<ChannelAddress> channels) {
+		if (edgeIds.isEmpty() || channels.isEmpty()) {
+			return;
+		}
+		var group = this.groupsByChannels.computeIfAbsent(Collections.unmodifiableSet(new TreeSet<>(channels)),
+				Group::new);
+		for (var edgeId : edgeIds) {
+			group.subscribersByEdgeId.computeIfAbsent(edgeId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+			this.groupsByEdgeId.computeIfAbsent(edgeId, key -> ConcurrentHashMap.newKeySet()).add(group);
+		}
+	}
+
+	/**
+	 * Removes a subscription.
+	 *
+	 * @param subscriber the {@link Subscriber}
+	 * @param edgeIds    the subscribed Edge-IDs
+	 * @param channels   the subscribed Channels
+	 */
+	public synchronized void unsubscribe(Subscriber subscriber, Set<String> edgeIds, Set<ChannelAddress> channels) {
+		var group = this.groupsByChannels.get(channels);
+		if (group == null) {
+			return;
+		}
+		for (var edgeId : edgeIds) {
+			var subscribers = group.subscribersByEdgeId.get(edgeId);
+			if (subscribers == null) {
+				continue;
+			}
+			subscribers.remove(subscriber);
+			if (!subscribers.isEmpty()) {
+				continue;
+			}
+			group.subscribersByEdgeId.remove(edgeId);
+			group.lastValuesByEdgeId.remove(edgeId);
+			var groups = this.groupsByEdgeId.get(edgeId);
+			if (groups != null) {
+				groups.remove(group);
+				if (groups.isEmpty()) {
+					this.groupsByEdgeId.remove(edgeId);
+				}
+			}
+		}
+		if (group.subscribersByEdgeId.isEmpty()) {
+			this.groupsByChannels.remove(channels);
+		}
+	}
+
+	/**
+	 * Forwards changed values of an Edge to its {@link Subscriber}s.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the updated {@link EdgeCache} of the Edge
+	 */
+	public void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache) {
+		var groups = this.groupsByEdgeId.get(edgeId);
+		if (groups == null) {
+			return;
+		}
+		for (var group : groups) {
+			group.onEdgeCacheUpdate(edgeId, edgeCache);
+		}
+	}
+
+	/**
+	 * Gets the number of distinct Channel sets that are subscribed.
+	 *
+	 * @return the number of groups
+	 */
+	public int getGroupCount() {
+		return this.groupsByChannels.size();
+	}
+
+	/**
+	 * Gets the number of Edges that are subscribed by at least one session.
+	 *
+	 * @return the number of Edges
+	 */
+	public int getEdgeCount() {
+		return this.groupsByEdgeId.size();
+	}
+
+}
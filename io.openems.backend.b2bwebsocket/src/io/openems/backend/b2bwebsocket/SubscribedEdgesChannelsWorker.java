@@ -1,7 +1,13 @@
 package io.openems.backend.b2bwebsocket;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -9,36 +15,62 @@ import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 import io.openems.backend.b2bwebsocket.jsonrpc.notification.EdgesCurrentDataNotification;
 import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 
-public class SubscribedEdgesChannelsWorker {
+/**
+ * Sends the subscribed Channels of one Backend-to-Backend session.
+ *
+ * <p>
+ * The worker is driven by incoming Edge data: after subscription the current
+ * values are sent once; afterwards only changed values are collected and sent
+ * at most once per configured update interval.
+ */
+public class SubscribedEdgesChannelsWorker implements EdgesChannelsSubscriptions.Subscriber {
 
-	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+	/** Interval for re-checking the permissions of the User for the Edges. */
+	protected static final long PERMISSION_CHECK_INTERVAL_IN_SECONDS = 60;
 
 	private final Logger log = LoggerFactory.getLogger(SubscribedEdgesChannelsWorker.class);
 
 	/**
-	 * Holds subscribed edges.
+	 * Holds subscribed edges; replaced on subscription change.
+	 */
+	private volatile SortedSet<String> edgeIds = Collections.emptySortedSet();
+
+	/**
+	 * Holds subscribed channels; replaced on subscription change.
+	 */
+	private volatile SortedSet<ChannelAddress> channels = Collections.emptySortedSet();
+
+	/**
+	 * Holds the values that were not yet sent. Also used as lock for
+	 * {@link #futureOpt} and {@link #lastSent}; never held while calling into
+	 * {@link EdgesChannelsSubscriptions}.
 	 */
-	private final TreeSet<String> edgeIds = new TreeSet<>();
+	private final Map<String, Map<ChannelAddress, JsonElement>> pendingValues = new HashMap<>();
 
 	/**
-	 * Holds subscribed channels.
+	 * Holds Edges for which the User has no read permission. Also used as lock
+	 * for {@link #permissionsCheckedAt}.
 	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
+	private final Set<String> deniedEdgeIds = new HashSet<>();
 
 	/**
-	 * Holds the scheduled task for currentData.
+	 * Holds the scheduled task for sending pending values.
 	 */
 	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
 
 	protected final WsData wsData;
 
 	private int lastRequestCount = Integer.MIN_VALUE;
+	private long lastSent = 0L;
+	private long permissionsCheckedAt = 0L;
 
 	private final Backend2BackendWebsocket parent;
 
@@ -66,73 +98,153 @@ public class SubscribedEdgesChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void updateSubscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
+		// remove current subscription
+		this.parent.subscriptions.unsubscribe(this, this.edgeIds, this.channels);
+
+		// set new channels
+		this.edgeIds = Collections.unmodifiableSortedSet(new TreeSet<>(edgeIds));
+		this.channels = Collections.unmodifiableSortedSet(new TreeSet<>(channels));
 
 		// clear existing data
-		this.edgeIds.clear();
-		this.channels.clear();
+		synchronized (this.pendingValues) {
+			this.pendingValues.clear();
+		}
+		synchronized (this.deniedEdgeIds) {
+			this.deniedEdgeIds.clear();
+			// Permissions were checked when handling the request
+			this.permissionsCheckedAt = System.nanoTime();
+		}
 
-		// set new channels
-		this.edgeIds.addAll(edgeIds);
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty() && !edgeIds.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.parent.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				var ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
+		if (channels.isEmpty() || edgeIds.isEmpty()) {
+			return;
+		}
 
-				try {
-					this.wsData.send(this.getCurrentDataNotification());
-				} catch (OpenemsNamedException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
+		// Subscribe first, then add the current values, so that no change is missed
+		this.parent.subscriptions.subscribe(this, this.edgeIds, this.channels);
+		for (var edgeId : this.edgeIds) {
+			var values = this.parent.edgeWebsocket.getChannelValues(edgeId, this.channels);
+			this.onChangedValues(edgeId, values);
+		}
+	}
 
-			}, 0, SubscribedEdgesChannelsWorker.UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+	@Override
+	public void onChangedValues(String edgeId, Map<ChannelAddress, JsonElement> values) {
+		if (!this.edgeIds.contains(edgeId)) {
+			// Subscription changed meanwhile
+			return;
+		}
+		synchronized (this.pendingValues) {
+			this.pendingValues.computeIfAbsent(edgeId, key -> new LinkedHashMap<>()) //
+					.putAll(values);
+
+			if (this.futureOpt.isEmpty()) {
+				// Limit the rate of notifications to this session
+				var delay = Math.max(0L, this.lastSent
+						+ TimeUnit.MILLISECONDS.toNanos(this.parent.getUpdateInterval()) - System.nanoTime());
+				this.futureOpt = Optional.of(this.parent.executor.schedule(this::sendPendingValues, delay, //
+						TimeUnit.NANOSECONDS));
+			}
+		}
+	}
+
+	/**
+	 * Sends the pending values to the Websocket.
+	 */
+	private void sendPendingValues() {
+		var ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			this.dispose();
+			return;
+		}
+
+		try {
+			var notification = this.getCurrentDataNotification();
+			if (notification != null) {
+				this.wsData.send(notification);
+			}
+		} catch (OpenemsNamedException e) {
+			this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
 		}
 	}
 
 	/**
 	 * Dispose and deactivate this worker.
 	 */
-	public void dispose() {
-		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
+	public synchronized void dispose() {
+		this.parent.subscriptions.unsubscribe(this, this.edgeIds, this.channels);
+		this.edgeIds = Collections.emptySortedSet();
+		this.channels = Collections.emptySortedSet();
+		synchronized (this.pendingValues) {
+			this.pendingValues.clear();
+			if (this.futureOpt.isPresent()) {
+				this.futureOpt.get().cancel(false);
+				this.futureOpt = Optional.empty();
+			}
 		}
 	}
 
 	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data.
+	 * Gets a JSON-RPC Notification with the pending values of all permitted Edges
+	 * and clears them.
 	 *
-	 * @return the EdgesCurrentDataNotification
+	 * @return the EdgesCurrentDataNotification; null if there is nothing to send
 	 * @throws OpenemsNamedException on error
 	 */
 	private EdgesCurrentDataNotification getCurrentDataNotification() throws OpenemsNamedException {
-		var result = new EdgesCurrentDataNotification();
-		var user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
+		final Map<String, Map<ChannelAddress, JsonElement>> values;
+		synchronized (this.pendingValues) {
+			this.futureOpt = Optional.empty();
+			this.lastSent = System.nanoTime();
+			if (this.pendingValues.isEmpty()) {
+				return null;
+			}
+			values = new HashMap<>(this.pendingValues);
+			this.pendingValues.clear();
+		}
 
-		for (String edgeId : this.edgeIds) {
-			// assure read permissions of this User for this Edge.
-			user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
+		synchronized (this.deniedEdgeIds) {
+			this.updatePermissions();
 
-			var data = this.parent.edgeWebsocket.getChannelValues(edgeId, this.channels);
-			for (var entry : data.entrySet()) {
-				result.addValue(edgeId, entry.getKey(), entry.getValue());
+			var result = new EdgesCurrentDataNotification();
+			var hasValues = false;
+			for (var edge : values.entrySet()) {
+				var edgeId = edge.getKey();
+				if (this.deniedEdgeIds.contains(edgeId)) {
+					continue;
+				}
+				for (var entry : edge.getValue().entrySet()) {
+					result.addValue(edgeId, entry.getKey(), entry.getValue());
+					hasValues = true;
+				}
+			}
+			return hasValues ? result : null;
+		}
+	}
+
+	/**
+	 * Re-checks the read permissions of the User for the subscribed Edges if the
+	 * last check is older than {@link #PERMISSION_CHECK_INTERVAL_IN_SECONDS}.
+	 *
+	 * @throws OpenemsNamedException if the User is not available
+	 */
+	private void updatePermissions() throws OpenemsNamedException {
+		var now = System.nanoTime();
+		if (now - this.permissionsCheckedAt < TimeUnit.SECONDS.toNanos(PERMISSION_CHECK_INTERVAL_IN_SECONDS)) {
+			return;
+		}
+		var user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
+		this.deniedEdgeIds.clear();
+		for (var edgeId : this.edgeIds) {
+			try {
+				// assure read permissions of this User for this Edge.
+				user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
+			} catch (OpenemsNamedException e) {
+				this.log.warn("Unable to send SubscribedChannels for Edge [" + edgeId + "]: " + e.getMessage());
+				this.deniedEdgeIds.add(edgeId);
 			}
 		}
-		return result;
+		this.permissionsCheckedAt = now;
 	}
 
 }
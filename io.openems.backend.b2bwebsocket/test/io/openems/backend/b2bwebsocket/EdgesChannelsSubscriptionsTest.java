@@ -0,0 +1,96 @@
+package io.openems.backend.b2bwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+public class EdgesChannelsSubscriptionsTest {
+
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress POWER = new ChannelAddress("_sum", "GridActivePower");
+
+	private static class Recorder implements EdgesChannelsSubscriptions.Subscriber {
+
+		private final List<String> calls = new ArrayList<>();
+
+		@Override
+		public void onChangedValues(String edgeId, Map<ChannelAddress, JsonElement> values) {
+			this.calls.add(edgeId + values);
+		}
+	}
+
+	@Test
+	public void test() {
+		var sut = new EdgesChannelsSubscriptions();
+		var session0 = new Recorder();
+		var session1 = new Recorder();
+		var session2 = new Recorder();
+		sut.subscribe(session0, Set.of("edge0", "edge1"), Set.of(SOC, POWER));
+		sut.subscribe(session1, Set.of("edge0"), Set.of(POWER, SOC));
+		sut.subscribe(session2, Set.of("edge1"), Set.of(SOC));
+		assertEquals(2, sut.getGroupCount());
+		assertEquals(2, sut.getEdgeCount());
+
+		var cache0 = new EdgeCache();
+		update(cache0, 1000, 50, 100);
+		sut.onEdgeCacheUpdate("edge0", cache0);
+		assertEquals(List.of("edge0{_sum/EssSoc=50, _sum/GridActivePower=100}"), session0.calls);
+		assertEquals(session0.calls, session1.calls);
+
+		// Only changed values
+		update(cache0, 2000, 50, 200);
+		sut.onEdgeCacheUpdate("edge0", cache0);
+		assertEquals("edge0{_sum/GridActivePower=200}", session0.calls.get(1));
+		assertEquals(session0.calls, session1.calls);
+
+		// No change
+		update(cache0, 3000, 50, 200);
+		sut.onEdgeCacheUpdate("edge0", cache0);
+		assertEquals(2, session0.calls.size());
+
+		// Not subscribed
+		sut.onEdgeCacheUpdate("edge9", cache0);
+		assertEquals(2, session0.calls.size());
+		assertTrue(session2.calls.isEmpty());
+
+		var cache1 = new EdgeCache();
+		update(cache1, 1000, 20, 300);
+		sut.onEdgeCacheUpdate("edge1", cache1);
+		assertEquals("edge1{_sum/EssSoc=20, _sum/GridActivePower=300}", session0.calls.get(2));
+		assertEquals(List.of("edge1{_sum/EssSoc=20}"), session2.calls);
+
+		// Unsubscribe
+		sut.unsubscribe(session0, Set.of("edge0", "edge1"), Set.of(SOC, POWER));
+		update(cache0, 4000, 51, 200);
+		sut.onEdgeCacheUpdate("edge0", cache0);
+		assertEquals(3, session0.calls.size());
+		assertEquals("edge0{_sum/EssSoc=51}", session1.calls.get(2));
+
+		sut.unsubscribe(session1, Set.of("edge0"), Set.of(SOC, POWER));
+		sut.unsubscribe(session2, Set.of("edge1"), Set.of(SOC));
+		assertEquals(0, sut.getGroupCount());
+		assertEquals(0, sut.getEdgeCount());
+	}
+
+	private static void update(EdgeCache cache, long timestamp, int soc, int power) {
+		var table = TreeBasedTable.<Long, String, JsonElement>create();
+		table.put(timestamp, SOC.toString(), new JsonPrimitive(soc));
+		table.put(timestamp, POWER.toString(), new JsonPrimitive(power));
+		cache.updateCurrentData(new TimestampedDataNotification(table));
+	}
+
+}
@@ -1,20 +1,38 @@
 package io.openems.backend.common.edgewebsocket;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 
+/**
+ * Caches the latest Channel values of one Edge.
+ *
+ * <p>
+ * Channel-Addresses are interned to int ids; values are kept in arrays indexed
+ * by these ids. Updates are serialized per {@link ChannelDataCache}, reads are
+ * lock-free. Instead of clearing the cache when it becomes outdated, a new
+ * {@link Table} is published; Channels that were not updated for a while -
+ * e.g. after a configuration change on the Edge - are reclaimed the same way.
+ */
 public class EdgeCache {
 
+	/** Cache is not anymore valid if incoming data is 15 minutes newer. */
+	private static final long INVALIDATE_AFTER_MILLIS = 15 * 60 * 1000;
+
 	private final ChannelDataCache current = new ChannelDataCache();
 	private final ChannelDataCache aggregated = new ChannelDataCache();
 
@@ -22,20 +40,56 @@ public class EdgeCache {
 
 	}
 
+	/**
+	 * Interned Channel-Addresses and their values. Ids are never reused within a
+	 * Table, so readers always see a consistent id-to-value mapping.
+	 */
+	private static class Table {
+
+		private static final int INITIAL_CAPACITY = 64;
+
+		private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+		/** Values indexed by Channel id; replaced on growth. */
+		private volatile AtomicReferenceArray<JsonElement> values;
+		/** Timestamp of the last update of each value; only used by the writer. */
+		private long[] updated;
+
+		private Table(int capacity) {
+			this.values = new AtomicReferenceArray<>(capacity);
+			this.updated = new long[capacity];
+		}
+
+		private JsonElement get(String address) {
+			final var id = this.ids.get(address);
+			if (id == null) {
+				return null;
+			}
+			final var values = this.values;
+			if (id >= values.length()) {
+				return null;
+			}
+			return values.get(id);
+		}
+	}
+
 	private static class ChannelDataCache {
+
 		private long timestamp = 0L;
-		private final HashMap<String, JsonElement> data = new HashMap<>();
+		private long lastReclaim = 0L;
+
+		private volatile Table table = new Table(Table.INITIAL_CAPACITY);
+		/** Running estimate of the memory usage; see {@link #estimateMemoryUsage()}. */
+		private volatile long memoryUsage = estimateArrays(Table.INITIAL_CAPACITY);
 
 		/**
 		 * Gets the channel value from cache.
 		 *
 		 * @param address the Channel-Address of the channel
-		 * @return the value; {@link JsonNull} if it is not in cache
+		 * @return the value; null if it is not in cache
 		 */
 		public final JsonElement getChannelValue(String address) {
-			synchronized (this) {
-				return this.data.get(address);
-			}
+			return this.table.get(address);
 		}
 
 		/**
@@ -43,7 +97,7 @@ public class EdgeCache {
 		 *
 		 * @param incomingDatas the incoming data
 		 */
-		public void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+		public synchronized void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
 			for (var entry : incomingDatas.entrySet()) {
 				var incomingTimestamp = entry.getKey();
 				var incomingData = entry.getValue();
@@ -51,24 +105,133 @@ public class EdgeCache {
 				// Check if cache should be applied
 				if (incomingTimestamp < this.timestamp) {
 					// Incoming data is older than cache -> do not apply cache
+					continue;
+				}
 
-				} else {
-					// Incoming data is more recent than cache
+				// Incoming data is more recent than cache
+				if (incomingTimestamp > this.timestamp + INVALIDATE_AFTER_MILLIS) {
+					// Cache is not anymore valid (elder than 15 minutes) -> invalidate Cache
+					this.reclaim(Long.MAX_VALUE);
+					this.lastReclaim = incomingTimestamp;
+
+				} else if (incomingTimestamp > this.lastReclaim + INVALIDATE_AFTER_MILLIS) {
+					// Edges send all values at least every 5 minutes; Channels without update
+					// within the last 15 minutes do not exist anymore -> reclaim them
+					this.reclaim(incomingTimestamp - INVALIDATE_AFTER_MILLIS);
+					this.lastReclaim = incomingTimestamp;
+				}
 
-					if (incomingTimestamp > this.timestamp + 15 * 60 * 1000) {
-						// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
-						synchronized (this) {
-							this.data.clear();
+				// update cache
+				this.timestamp = incomingTimestamp;
+				final var table = this.table;
+				var memoryUsage = this.memoryUsage;
+				for (var data : incomingData.entrySet()) {
+					var id = table.ids.get(data.getKey());
+					if (id == null) {
+						id = table.ids.size();
+						if (id >= table.updated.length) {
+							memoryUsage += this.grow(table, Math.max(id + 1, table.updated.length * 2));
 						}
+						table.ids.put(data.getKey(), id);
+						memoryUsage += estimateAddress(data.getKey());
 					}
+					table.updated[id] = incomingTimestamp;
+					final var previous = table.values.getAndSet(id, data.getValue());
+					memoryUsage += estimateValue(data.getValue()) - estimateValue(previous);
+				}
+				this.memoryUsage = memoryUsage;
+			}
+		}
 
-					// update cache
-					this.timestamp = incomingTimestamp;
-					synchronized (this) {
-						this.data.putAll(incomingData);
-					}
+		/**
+		 * Publishes a new {@link Table} that only holds the Channels that were
+		 * updated at or after the given timestamp. Must be called by the writer.
+		 *
+		 * @param threshold the timestamp
+		 */
+		private void reclaim(long threshold) {
+			final var table = this.table;
+			final var keep = new ArrayList<Map.Entry<String, Integer>>();
+			for (var entry : table.ids.entrySet()) {
+				if (table.updated[entry.getValue()] >= threshold) {
+					keep.add(entry);
 				}
 			}
+			if (keep.size() == table.ids.size()) {
+				return;
+			}
+			final var result = new Table(Math.max(Table.INITIAL_CAPACITY, keep.size()));
+			var memoryUsage = estimateArrays(result.updated.length);
+			for (var entry : keep) {
+				final var id = result.ids.size();
+				final var value = table.values.get(entry.getValue());
+				result.updated[id] = table.updated[entry.getValue()];
+				result.values.set(id, value);
+				result.ids.put(entry.getKey(), id);
+				memoryUsage += estimateAddress(entry.getKey()) + estimateValue(value);
+			}
+			this.table = result;
+			this.memoryUsage = memoryUsage;
+		}
+
+		/**
+		 * Grows the arrays of the {@link Table}. Must be called by the writer.
+		 *
+		 * @param table    the {@link Table}
+		 * @param capacity the new capacity
+		 * @return the additional memory usage
+		 */
+		private long grow(Table table, int capacity) {
+			final var previousCapacity = table.updated.length;
+			final var values = new AtomicReferenceArray<JsonElement>(capacity);
+			for (var i = 0; i < previousCapacity; i++) {
+				values.set(i, table.values.get(i));
+			}
+			table.updated = Arrays.copyOf(table.updated, capacity);
+			table.values = values;
+			return estimateArrays(capacity) - estimateArrays(previousCapacity);
+		}
+
+		/**
+		 * Gets the number of Channel-Addresses known to this cache.
+		 *
+		 * @return the number of Channels
+		 */
+		public int getChannelCount() {
+			return this.table.ids.size();
+		}
+
+		/**
+		 * Estimates the memory used by this cache in bytes.
+		 *
+		 * <p>
+		 * Uses approximate sizes for a 64-bit JVM with compressed references. The
+		 * estimate is kept up-to-date on every update.
+		 *
+		 * @return the estimated memory in bytes
+		 */
+		public long estimateMemoryUsage() {
+			return this.memoryUsage;
+		}
+
+		private static long estimateArrays(int capacity) {
+			// reference + timestamp per slot
+			return 32 + capacity * 12L;
+		}
+
+		private static long estimateAddress(String address) {
+			// id map: node, Integer and String with its byte array
+			return 32 /* node */ + 16 /* Integer */ + 24 /* String */ + 16 + address.length();
+		}
+
+		private static long estimateValue(JsonElement value) {
+			// JsonPrimitive with boxed value
+			if (value instanceof JsonPrimitive p) {
+				return 16 + (p.isString() ? 40 + p.getAsString().length() : 16);
+			} else if (value != null && !value.isJsonNull()) {
+				return 16 + value.toString().length() * 2L;
+			}
+			return 0;
 		}
 	}
 
@@ -95,12 +258,12 @@ public class EdgeCache {
 	 *
 	 * @param addresses the Channel-Addresses of the channels
 	 * @return a) Map of Channel-Address to values ({@link JsonNull} if not in
-	 *         cache); b) Set of Channel-Addresses that are only available as
-	 *         aggregated data
+	 *         cache) in the iteration order of addresses; b) Set of
+	 *         Channel-Addresses that are only available as aggregated data
 	 */
 	public final Pair<Map<String, JsonElement>, Set<String>> getChannelValues(Set<String> addresses) {
-		final var result = new TreeMap<String, JsonElement>();
-		final var aggregatedChannelValues = new TreeSet<String>();
+		final var result = new LinkedHashMap<String, JsonElement>((int) (addresses.size() / 0.75f) + 1);
+		Set<String> aggregatedChannelValues = null;
 		for (var address : addresses) {
 			final var value = this.current.getChannelValue(address);
 			if (value != null) {
@@ -110,12 +273,15 @@ public class EdgeCache {
 			final var aggregatedValue = this.aggregated.getChannelValue(address);
 			if (aggregatedValue != null) {
 				result.put(address, aggregatedValue);
+				if (aggregatedChannelValues == null) {
+					aggregatedChannelValues = new HashSet<>();
+				}
 				aggregatedChannelValues.add(address);
 				continue;
 			}
 			result.put(address, JsonNull.INSTANCE);
 		}
-		return new Pair<>(result, aggregatedChannelValues);
+		return new Pair<>(result, aggregatedChannelValues == null ? Collections.emptySet() : aggregatedChannelValues);
 	}
 
 	/**
@@ -136,4 +302,22 @@ public class EdgeCache {
 		this.aggregated.update(notification.getData().rowMap());
 	}
 
+	/**
+	 * Gets the number of cached Channels (current and aggregated data).
+	 *
+	 * @return the number of Channels
+	 */
+	public int getChannelCount() {
+		return this.current.getChannelCount() + this.aggregated.getChannelCount();
+	}
+
+	/**
+	 * Estimates the memory used by this cache in bytes.
+	 *
+	 * @return the estimated memory in bytes
+	 */
+	public long estimateMemoryUsage() {
+		return this.current.estimateMemoryUsage() + this.aggregated.estimateMemoryUsage();
+	}
+
 }
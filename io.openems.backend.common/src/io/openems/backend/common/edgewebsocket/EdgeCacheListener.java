@@ -0,0 +1,22 @@
+package io.openems.backend.common.edgewebsocket;
+
+/**
+ * Gets notified by the Edge.Websocket whenever current or aggregated data of
+ * an Edge was applied to its {@link EdgeCache}.
+ *
+ * <p>
+ * Register an implementation as OSGi service to receive updates. The method
+ * is called on the thread that handles the incoming data, so implementations
+ * should return quickly.
+ */
+public interface EdgeCacheListener {
+
+	/**
+	 * Called after the {@link EdgeCache} of an Edge was updated.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache} for the Edge-ID
+	 */
+	public void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache);
+
+}
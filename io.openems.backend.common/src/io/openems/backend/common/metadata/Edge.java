@@ -27,7 +27,7 @@ public class Edge {
 	private final AtomicReference<SemanticVersion> version = new AtomicReference<>(SemanticVersion.ZERO);
 	private final AtomicReference<String> producttype = new AtomicReference<>("");
 	private final AtomicReference<ZonedDateTime> lastmessage = new AtomicReference<>(null);
-	private boolean isOnline = false;
+	private volatile boolean isOnline = false;
 
 	private final List<EdgeUser> user;
 
@@ -12,4 +12,18 @@ public interface Timedata extends BackendTimedata {
 	 */
 	public String id();
 
+	/**
+	 * Is this Timedata currently not able to keep up with writes, e.g. because
+	 * its queues are nearly full or the database is not reachable.
+	 * 
+	 * <p>
+	 * Writes are still accepted in this state; an implementation is responsible
+	 * to buffer or drop them.
+	 *
+	 * @return true if writes are back-pressured
+	 */
+	public default boolean isWriteBackpressure() {
+		return false;
+	}
+
 }
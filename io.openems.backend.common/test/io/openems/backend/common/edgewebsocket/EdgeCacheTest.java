@@ -1,10 +1,15 @@
 package io.openems.backend.common.edgewebsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.junit.Test;
 
@@ -14,6 +19,7 @@ import com.google.gson.JsonNull;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 
@@ -49,6 +55,61 @@ public class EdgeCacheTest {
 		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL1));
 		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL2));
 		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
+
+		// update after invalidation
+		var data5 = buildData(timestamp += 1000, CHANNEL1, "value1b");
+		cache.updateCurrentData(data5);
+		assertEquals("value1b", cache.getChannelValue(CHANNEL1).getAsString());
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL2));
+	}
+
+	@Test
+	public void testGetChannelValues() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		cache.updateCurrentData(buildData(1000L, CHANNEL1, "value1"));
+		var table = TreeBasedTable.<Long, String, JsonElement>create();
+		table.put(0L, CHANNEL2, new JsonPrimitive("aggregated2"));
+		cache.updateAggregatedData(new AggregatedDataNotification(table));
+
+		var result = cache.getChannelValues(new TreeSet<>(List.of(CHANNEL3, CHANNEL2, CHANNEL1)));
+		assertEquals(List.of(CHANNEL1, CHANNEL2, CHANNEL3), new ArrayList<>(result.a().keySet()));
+		assertEquals("value1", result.a().get(CHANNEL1).getAsString());
+		assertEquals("aggregated2", result.a().get(CHANNEL2).getAsString());
+		assertEquals(JsonNull.INSTANCE, result.a().get(CHANNEL3));
+		assertEquals(Set.of(CHANNEL2), result.b());
+
+		// Grows beyond initial capacity
+		for (var i = 0; i < 200; i++) {
+			cache.updateCurrentData(buildData(2000L, new ChannelAddress("foo", "grow" + i).toString(), "v" + i));
+		}
+		assertEquals("v199", cache.getChannelValue(new ChannelAddress("foo", "grow199").toString()).getAsString());
+		assertEquals("value1", cache.getChannelValue(CHANNEL1).getAsString());
+		assertEquals(202, cache.getChannelCount());
+		assertTrue(cache.estimateMemoryUsage() > 0);
+	}
+
+	@Test
+	public void testReclaim() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		var timestamp = 1_000_000L;
+		cache.updateCurrentData(buildData(timestamp, CHANNEL1, "value1"));
+		cache.updateCurrentData(buildData(timestamp, CHANNEL2, "value2"));
+		assertEquals(2, cache.getChannelCount());
+		final var memoryUsage = cache.estimateMemoryUsage();
+
+		// CHANNEL1 is not sent anymore, e.g. after a configuration change
+		for (var i = 0; i < 4; i++) {
+			cache.updateCurrentData(buildData(timestamp += 5 * 60 * 1000, CHANNEL2, "value2"));
+		}
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL1));
+		assertEquals("value2", cache.getChannelValue(CHANNEL2).getAsString());
+		assertEquals(1, cache.getChannelCount());
+		assertTrue(cache.estimateMemoryUsage() < memoryUsage);
+
+		// Invalidation reclaims all Channels
+		cache.updateCurrentData(buildData(timestamp += 15 * 60 * 1000 + 1, CHANNEL3, "value3"));
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(CHANNEL2));
+		assertEquals(1, cache.getChannelCount());
 	}
 
 	private static TimestampedDataNotification buildData(long timestamp, String channel, String value)
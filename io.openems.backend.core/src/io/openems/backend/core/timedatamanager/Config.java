@@ -13,4 +13,19 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Timedata-IDs", description = "IDs of Timedata Services. Execution is going to be sorted in the order of the IDs.")
 	String[] timedata_ids() default {};
 
+	@AttributeDefinition(name = "Write Queue-Size", description = "Maximum number of queued writes per Timedata Service.")
+	int write_queue_size() default 10_000;
+
+	@AttributeDefinition(name = "Write Overflow-Policy", description = "What happens to writes if the queue of a Timedata Service is full.")
+	OverflowPolicy write_overflow_policy() default OverflowPolicy.DROP_OLDEST;
+
+	@AttributeDefinition(name = "Write Overflow-Policies per Timedata", description = "Overrides the Overflow-Policy for single Timedata Services, e.g. 'timescaledb0:DROP_OLDEST'.")
+	String[] write_overflow_policies() default {};
+
+	@AttributeDefinition(name = "Query-Cache Size", description = "Maximum number of values in the cache for historic queries. '0' disables the cache.")
+	int query_cache_size() default 500_000;
+
+	@AttributeDefinition(name = "Query-Cache Time-To-Live [s]", description = "Maximum age of a cached historic query result.")
+	int query_cache_ttl() default 600;
+
 }
\ No newline at end of file
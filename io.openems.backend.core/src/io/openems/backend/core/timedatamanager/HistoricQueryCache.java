@@ -0,0 +1,253 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A cache for results of historic queries.
+ *
+ * <p>
+ * Entries are evicted in least-recently-used order if the total weight (i.e.
+ * the number of values) exceeds the limit, and expire after a time-to-live.
+ * Identical queries that are executed concurrently are coalesced, i.e. only the
+ * first one is forwarded to the Timedata services and all callers get its
+ * result.
+ */
+public class HistoricQueryCache {
+
+	/**
+	 * Identifies a query.
+	 *
+	 * @param query          the name of the query method
+	 * @param edgeId         the Edge-ID
+	 * @param fromDate       the From-Date
+	 * @param toDate         the To-Date
+	 * @param channels       the Channels
+	 * @param resolutionUnit the unit of the {@link Resolution}; null if not
+	 *                       applicable
+	 * @param resolution     the value of the {@link Resolution}
+	 */
+	public static record Key(String query, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+			Set<ChannelAddress> channels, ChronoUnit resolutionUnit, long resolution) {
+
+		/**
+		 * Creates a {@link Key}.
+		 *
+		 * @param query      the name of the query method
+		 * @param edgeId     the Edge-ID
+		 * @param fromDate   the From-Date
+		 * @param toDate     the To-Date
+		 * @param channels   the Channels
+		 * @param resolution the {@link Resolution}; or null
+		 * @return the {@link Key}
+		 */
+		public static Key of(String query, String edgeId, ZonedDateTime fromDate, ZonedDateTime toDate,
+				Set<ChannelAddress> channels, Resolution resolution) {
+			return new Key(query, edgeId, fromDate, toDate, Set.copyOf(channels),
+					resolution == null ? null : resolution.getUnit(), //
+					resolution == null ? 0 : resolution.getValue());
+		}
+	}
+
+	private static record Entry(Object value, int weight, long expires) {
+	}
+
+	private final int maxWeight;
+	private final long ttl;
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true /* access-order */);
+	private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+	private int weight = 0;
+
+	/** Incremented on every {@link #invalidate(String)}. */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Creates a {@link HistoricQueryCache}.
+	 *
+	 * @param maxWeight the maximum total weight of all entries; zero disables
+	 *                  caching, but not coalescing
+	 * @param ttl       the time-to-live of an entry in [ms]
+	 */
+	public HistoricQueryCache(int maxWeight, long ttl) {
+		this.maxWeight = maxWeight;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Gets the result of a query; either from cache, from an identical query that
+	 * is currently running or from the given supplier.
+	 *
+	 * @param <T>       the type of the result
+	 * @param key       the {@link Key}
+	 * @param cacheable true if the result may be cached
+	 * @param weigher   calculates the weight of a result
+	 * @param supplier  executes the query
+	 * @return the result; possibly null
+	 * @throws OpenemsNamedException on error
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Key key, boolean cacheable, ToIntFunction<T> weigher,
+			ThrowingSupplier<T, OpenemsNamedException> supplier) throws OpenemsNamedException {
+		cacheable &= this.maxWeight > 0;
+		if (cacheable) {
+			var value = this.getCached(key);
+			if (value != null) {
+				this.hits.increment();
+				return (T) value;
+			}
+		}
+
+		final var future = new CompletableFuture<Object>();
+		final var running = this.inFlight.putIfAbsent(key, future);
+		if (running != null) {
+			this.coalesced.increment();
+			return (T) await(running);
+		}
+
+		this.misses.increment();
+		final var invalidations = this.invalidations.get();
+		try {
+			final var value = supplier.get();
+			if (cacheable && value != null) {
+				this.put(key, value, weigher.applyAsInt(value), invalidations);
+			}
+			future.complete(value);
+			return value;
+
+		} catch (OpenemsNamedException | RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+
+		} finally {
+			if (!future.isDone()) {
+				// e.g. on Error
+				future.completeExceptionally(new OpenemsException("Identical query was aborted"));
+			}
+			this.inFlight.remove(key, future);
+		}
+	}
+
+	private static Object await(CompletableFuture<Object> future) throws OpenemsNamedException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for identical query");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OpenemsNamedException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new OpenemsException("Identical query failed: " + e.getCause().getMessage());
+		}
+	}
+
+	private Object getCached(Key key) {
+		synchronized (this.entries) {
+			var entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expires < System.currentTimeMillis()) {
+				this.remove(key);
+				return null;
+			}
+			return entry.value;
+		}
+	}
+
+	private void put(Key key, Object value, int weight, long invalidations) {
+		if (weight > this.maxWeight) {
+			return;
+		}
+		synchronized (this.entries) {
+			if (this.invalidations.get() != invalidations) {
+				// The result might be outdated by data that was written during the query
+				return;
+			}
+			this.remove(key);
+			this.entries.put(key, new Entry(value, weight, System.currentTimeMillis() + this.ttl));
+			this.weight += weight;
+
+			// Evict least recently used entries
+			final var iterator = this.entries.values().iterator();
+			while (this.weight > this.maxWeight && iterator.hasNext()) {
+				this.weight -= iterator.next().weight;
+				iterator.remove();
+			}
+		}
+	}
+
+	private void remove(Key key) {
+		var entry = this.entries.remove(key);
+		if (entry != null) {
+			this.weight -= entry.weight;
+		}
+	}
+
+	/**
+	 * Removes all entries of an Edge, e.g. because it re-sent historic data.
+	 *
+	 * @param edgeId the Edge-ID
+	 */
+	public void invalidate(String edgeId) {
+		synchronized (this.entries) {
+			this.invalidations.incrementAndGet();
+			final var iterator = this.entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				var entry = iterator.next();
+				if (edgeId.equals(entry.getKey().edgeId())) {
+					this.weight -= entry.getValue().weight;
+					iterator.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the metrics since the last call to the given map.
+	 *
+	 * <ul>
+	 * <li>Hits: number of queries served from the cache
+	 * <li>Misses: number of queries forwarded to the Timedata services
+	 * <li>Coalesced: number of queries that waited for an identical query
+	 * <li>Entries: number of cached results
+	 * <li>Weight: number of cached values
+	 * </ul>
+	 *
+	 * @param prefix  the prefix for the metric keys
+	 * @param metrics the metrics map
+	 */
+	public void debugMetrics(String prefix, Map<String, Number> metrics) {
+		metrics.put(prefix + "Hits", this.hits.sumThenReset());
+		metrics.put(prefix + "Misses", this.misses.sumThenReset());
+		metrics.put(prefix + "Coalesced", this.coalesced.sumThenReset());
+		synchronized (this.entries) {
+			metrics.put(prefix + "Entries", this.entries.size());
+			metrics.put(prefix + "Weight", this.weight);
+		}
+	}
+
+}
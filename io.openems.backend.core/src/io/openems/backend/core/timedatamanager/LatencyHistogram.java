@@ -0,0 +1,76 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations with fixed buckets.
+ *
+ * <p>
+ * Percentiles are approximated by the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+
+	/** Upper bounds of the buckets in [ms]. */
+	private static final long[] BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000 };
+
+	private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+	private final AtomicLong max = new AtomicLong();
+
+	public LatencyHistogram() {
+		for (var i = 0; i < this.buckets.length; i++) {
+			this.buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param duration the duration in [ms]
+	 */
+	public void record(long duration) {
+		var i = 0;
+		while (i < BOUNDS.length && duration > BOUNDS[i]) {
+			i++;
+		}
+		this.buckets[i].increment();
+		this.max.accumulateAndGet(duration, Math::max);
+	}
+
+	/**
+	 * Adds P50, P99 and Max since the last call to the given map and resets the
+	 * histogram.
+	 *
+	 * @param prefix  the prefix for the metric keys
+	 * @param metrics the metrics map
+	 */
+	public void debugMetrics(String prefix, Map<String, Number> metrics) {
+		final var counts = new long[this.buckets.length];
+		var total = 0L;
+		for (var i = 0; i < counts.length; i++) {
+			counts[i] = this.buckets[i].sumThenReset();
+			total += counts[i];
+		}
+		final var max = this.max.getAndSet(0);
+		metrics.put(prefix + "P50", percentile(counts, total, max, 0.50));
+		metrics.put(prefix + "P99", percentile(counts, total, max, 0.99));
+		metrics.put(prefix + "Max", max);
+	}
+
+	private static long percentile(long[] counts, long total, long max, double percentile) {
+		if (total == 0) {
+			return 0;
+		}
+		final var threshold = (long) Math.ceil(total * percentile);
+		var sum = 0L;
+		for (var i = 0; i < counts.length; i++) {
+			sum += counts[i];
+			if (sum >= threshold) {
+				return i < BOUNDS.length ? Math.min(BOUNDS[i], max) : max;
+			}
+		}
+		return max;
+	}
+
+}
@@ -0,0 +1,22 @@
+package io.openems.backend.core.timedatamanager;
+
+/**
+ * Defines what happens to a write if the queue of a Timedata service is full.
+ */
+public enum OverflowPolicy {
+	/**
+	 * Drop the new write.
+	 */
+	DROP_NEWEST,
+	/**
+	 * Drop the oldest queued write in favour of the new one.
+	 */
+	DROP_OLDEST,
+	/**
+	 * Block the writing thread until there is space in the queue; then drop the
+	 * new write. The wait is bounded by {@link TimedataWriter#BLOCK_TIMEOUT} per
+	 * write, in total over all Timedata services. Slow Timedata services still
+	 * delay the ingest, so use this only where data loss is worse.
+	 */
+	BLOCK;
+}
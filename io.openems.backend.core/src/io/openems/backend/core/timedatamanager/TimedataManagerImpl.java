@@ -1,17 +1,23 @@
 package io.openems.backend.core.timedatamanager;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -23,11 +29,14 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
+import io.openems.backend.common.debugcycle.DebugLoggable;
 import io.openems.backend.common.timedata.InternalTimedataException;
 import io.openems.backend.common.timedata.Timedata;
 import io.openems.backend.common.timedata.TimedataManager;
+import io.openems.backend.core.timedatamanager.HistoricQueryCache.Key;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.function.ThrowingFunction;
@@ -44,7 +53,10 @@ import io.openems.common.types.ChannelAddress;
 		name = "Core.TimedataManager", //
 		immediate = true //
 )
-public class TimedataManagerImpl extends AbstractOpenemsBackendComponent implements TimedataManager {
+public class TimedataManagerImpl extends AbstractOpenemsBackendComponent implements TimedataManager, DebugLoggable {
+
+	/** Minimum age of the end of a queried range, for the result to be cached. */
+	private static final Duration QUERY_CACHE_MARGIN = Duration.ofHours(1);
 
 	private final Logger log = LoggerFactory.getLogger(TimedataManagerImpl.class);
 
@@ -52,6 +64,13 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	private final List<Timedata> _rawTimedatas = new ArrayList<>();
 	private final AtomicReference<ImmutableSortedSet<Timedata>> timedatas = new AtomicReference<>(
 			ImmutableSortedSet.of());
+	private final Set<String> backpressuredTimedataIds = ConcurrentHashMap.newKeySet();
+	private final Map<Timedata, TimedataWriter> writers = new ConcurrentHashMap<>();
+
+	private int writeQueueSize = 10_000;
+	private OverflowPolicy writeOverflowPolicy = OverflowPolicy.DROP_OLDEST;
+	private Map<String, OverflowPolicy> writeOverflowPolicies = Collections.emptyMap();
+	private volatile HistoricQueryCache queryCache = new HistoricQueryCache(0, 0);
 
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
@@ -61,6 +80,7 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		synchronized (this._rawTimedatas) {
 			this._rawTimedatas.add(timedata);
 			this.updateSortedTimedatas();
+			this.updateWriter(timedata);
 		}
 	}
 
@@ -68,6 +88,40 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		synchronized (this._rawTimedatas) {
 			this._rawTimedatas.remove(timedata);
 			this.updateSortedTimedatas();
+			var writer = this.writers.remove(timedata);
+			if (writer != null) {
+				writer.deactivate();
+				if (writer.getQueueSize() > 0) {
+					this.logWarn(this.log, "Discarding [" + writer.getQueueSize() + "] queued writes for Timedata ["
+							+ timedata.id() + "]");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates the {@link TimedataWriter} for a {@link Timedata} or applies the
+	 * current configuration to an existing one.
+	 * 
+	 * @param timedata the {@link Timedata}
+	 */
+	private void updateWriter(Timedata timedata) {
+		synchronized (this._rawTimedatas) {
+			var overflowPolicy = this.writeOverflowPolicies.getOrDefault(timedata.id(), this.writeOverflowPolicy);
+			var writer = this.writers.get(timedata);
+			if (writer != null && writer.getCapacity() == this.writeQueueSize) {
+				writer.setOverflowPolicy(overflowPolicy);
+				return;
+			}
+			var newWriter = new TimedataWriter(timedata, this.writeQueueSize, overflowPolicy,
+					this::updateBackpressure);
+			newWriter.activate();
+			this.writers.put(timedata, newWriter);
+			if (writer != null) {
+				// Queue capacity changed
+				writer.deactivate();
+				writer.transferTo(newWriter);
+			}
 		}
 	}
 
@@ -114,8 +168,42 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Activate
 	@Modified
 	public void activate(Config config) {
-		this._configTimedataIds = Arrays.asList(config.timedata_ids());
-		this.updateSortedTimedatas();
+		synchronized (this._rawTimedatas) {
+			this._configTimedataIds = Arrays.asList(config.timedata_ids());
+			this.writeQueueSize = config.write_queue_size();
+			this.writeOverflowPolicy = config.write_overflow_policy();
+			this.writeOverflowPolicies = parseOverflowPolicies(config.write_overflow_policies());
+			this.queryCache = new HistoricQueryCache(config.query_cache_size(), config.query_cache_ttl() * 1000L);
+			this.updateSortedTimedatas();
+			this._rawTimedatas.forEach(this::updateWriter);
+		}
+	}
+
+	/**
+	 * Deactivates the component.
+	 */
+	@Deactivate
+	public void deactivate() {
+		synchronized (this._rawTimedatas) {
+			this.writers.values().forEach(TimedataWriter::deactivate);
+			this.writers.clear();
+		}
+	}
+
+	private Map<String, OverflowPolicy> parseOverflowPolicies(String[] entries) {
+		final var result = new HashMap<String, OverflowPolicy>();
+		for (var entry : entries) {
+			var parts = entry.split(":");
+			try {
+				if (parts.length != 2) {
+					throw new IllegalArgumentException("Expected 'timedataId:POLICY'");
+				}
+				result.put(parts[0].trim(), OverflowPolicy.valueOf(parts[1].trim().toUpperCase()));
+			} catch (IllegalArgumentException e) {
+				this.logWarn(this.log, "Ignoring Overflow-Policy [" + entry + "]: " + e.getMessage());
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -129,7 +217,11 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		final var value = this.firstOf(t -> t.queryHistoricData(edgeId, fromDate, toDate, channels, resolution));
+		final var value = this.queryCache.get(//
+				Key.of("queryHistoricData", edgeId, fromDate, toDate, channels, resolution), //
+				isCacheable(toDate), TimedataManagerImpl::countValues, //
+				() -> unmodifiable(
+						this.firstOf(t -> t.queryHistoricData(edgeId, fromDate, toDate, channels, resolution))));
 		if (value != null) {
 			return value;
 		}
@@ -149,7 +241,10 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		final var value = this.firstOf(t -> t.queryHistoricEnergy(edgeId, fromDate, toDate, channels));
+		final var value = this.queryCache.get(//
+				Key.of("queryHistoricEnergy", edgeId, fromDate, toDate, channels, null), //
+				isCacheable(toDate), SortedMap::size, //
+				() -> unmodifiable(this.firstOf(t -> t.queryHistoricEnergy(edgeId, fromDate, toDate, channels))));
 		if (value != null) {
 			return value;
 		}
@@ -170,8 +265,11 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
 			throws OpenemsNamedException {
-		final var value = this
-				.firstOf(t -> t.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution));
+		final var value = this.queryCache.get(//
+				Key.of("queryHistoricEnergyPerPeriod", edgeId, fromDate, toDate, channels, resolution), //
+				isCacheable(toDate), TimedataManagerImpl::countValues, //
+				() -> unmodifiable(this.firstOf(
+						t -> t.queryHistoricEnergyPerPeriod(edgeId, fromDate, toDate, channels, resolution))));
 		if (value != null) {
 			return value;
 		}
@@ -194,6 +292,30 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 		throw new OpenemsException("Unable to query first value before. Result is null");
 	}
 
+	/**
+	 * Results are only cached if the queried range ended
+	 * {@link #QUERY_CACHE_MARGIN} ago, as late or re-sent data may still arrive
+	 * for more recent ranges.
+	 * 
+	 * @param toDate the To-Date of the query
+	 * @return true if the result may be cached
+	 */
+	private static boolean isCacheable(ZonedDateTime toDate) {
+		return toDate.isBefore(ZonedDateTime.now().minus(QUERY_CACHE_MARGIN));
+	}
+
+	private static int countValues(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
+		var result = 0;
+		for (var values : data.values()) {
+			result += values.size();
+		}
+		return result;
+	}
+
+	private static <K, V> SortedMap<K, V> unmodifiable(SortedMap<K, V> map) {
+		return map == null ? null : Collections.unmodifiableSortedMap(map);
+	}
+
 	private <T> T firstOf(ThrowingFunction<Timedata, T, OpenemsNamedException> function) throws OpenemsNamedException {
 		var timedatas = this.timedatas.get();
 		final var errors = new ArrayList<Exception>();
@@ -220,31 +342,93 @@ public class TimedataManagerImpl extends AbstractOpenemsBackendComponent impleme
 
 	@Override
 	public void write(String edgeId, AggregatedDataNotification data) {
-		this.write(edgeId, data, Timedata::write);
+		this.write(edgeId, data, Timedata::write, null);
 	}
 
 	@Override
 	public void write(String edgeId, TimestampedDataNotification data) {
-		this.write(edgeId, data, Timedata::write);
+		this.write(edgeId, data, Timedata::write, null);
 	}
 
 	@Override
 	public void write(String edgeId, ResendDataNotification data) {
-		this.write(edgeId, data, Timedata::write);
+		// Re-sent data changes historic results once it is written. Invalidate now
+		// and again after each write, as results may be cached in between.
+		this.queryCache.invalidate(edgeId);
+		this.write(edgeId, data, Timedata::write, () -> this.queryCache.invalidate(edgeId));
 	}
 
+	/**
+	 * Queues the write for every {@link Timedata}. The actual writes are executed
+	 * by the {@link TimedataWriter}s, so that a slow {@link Timedata} does not
+	 * block the calling thread. With {@link OverflowPolicy#BLOCK} the calling
+	 * thread waits at most {@link TimedataWriter#BLOCK_TIMEOUT} in total.
+	 */
 	private <T extends AbstractDataNotification> void write(//
 			final String edgeId, //
 			final T data, //
-			final ThrowingTriConsumer<Timedata, String, T, OpenemsException> method //
+			final ThrowingTriConsumer<Timedata, String, T, OpenemsException> method, //
+			final Runnable onDone //
 	) {
+		final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TimedataWriter.BLOCK_TIMEOUT);
 		for (var timedata : this.timedatas.get()) {
-			try {
-				method.accept(timedata, edgeId, data);
-			} catch (OpenemsException e) {
-				this.logWarn(this.log, "Timedata write failed for Edge=" + edgeId);
+			var writer = this.writers.get(timedata);
+			if (writer == null) {
+				// Timedata is being added or removed
+				continue;
 			}
+			writer.offer(edgeId, data, method, onDone, deadline);
 		}
 	}
 
+	/**
+	 * Throttles the {@link TimedataWriter} of a {@link Timedata} while it signals
+	 * write back-pressure, and logs changes of that state.
+	 * 
+	 * <p>
+	 * A throttled writer keeps forwarding writes at a reduced rate, as the
+	 * Timedata may still buffer them (e.g. in a local spill queue); the rest is
+	 * handled by the {@link OverflowPolicy} of the write queue.
+	 * 
+	 * @param timedata the {@link Timedata}
+	 */
+	private void updateBackpressure(Timedata timedata) {
+		final var isBackpressure = timedata.isWriteBackpressure();
+		final var writer = this.writers.get(timedata);
+		if (writer != null) {
+			writer.setThrottled(isBackpressure);
+		}
+		if (isBackpressure) {
+			if (this.backpressuredTimedataIds.add(timedata.id())) {
+				this.logWarn(this.log,
+						"Timedata [" + timedata.id() + "] signals write back-pressure. Throttling writes");
+			}
+		} else if (this.backpressuredTimedataIds.remove(timedata.id())) {
+			this.logInfo(this.log, "Timedata [" + timedata.id() + "] recovered from write back-pressure");
+		}
+	}
+
+	@Override
+	public String debugLog() {
+		var queues = this.writers.values().stream() //
+				.filter(w -> w.getQueueSize() > 0) //
+				.map(TimedataWriter::debugLog) //
+				.collect(Collectors.joining(" "));
+		if (queues.isEmpty()) {
+			return null;
+		}
+		return "[" + this.getName() + "] Write-Queues " + queues;
+	}
+
+	@Override
+	public Map<String, JsonElement> debugMetrics() {
+		final var metrics = new HashMap<String, Number>();
+		this.writers.values().forEach(w -> w.debugMetrics(w.getTimedata().id() + "/", metrics));
+		this.queryCache.debugMetrics("QueryCache/", metrics);
+
+		final var result = new HashMap<String, JsonElement>();
+		metrics.forEach((key, value) -> result.put(this.getName() + "/" + key, new JsonPrimitive(value)));
+		return result;
+	}
+
 }
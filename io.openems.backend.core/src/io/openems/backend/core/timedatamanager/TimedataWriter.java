@@ -0,0 +1,300 @@
+package io.openems.backend.core.timedatamanager;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingTriConsumer;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
+import io.openems.common.worker.AbstractImmediateWorker;
+
+/**
+ * Feeds one {@link Timedata} service from its own bounded queue, so that a slow
+ * service does not stall the writing thread or the other services.
+ */
+public class TimedataWriter extends AbstractImmediateWorker {
+
+	/**
+	 * Default maximum time to wait for space in the queue with
+	 * {@link OverflowPolicy#BLOCK}.
+	 */
+	public static final long BLOCK_TIMEOUT = 1_000; // [ms]
+
+	/** Pause before every write while the {@link Timedata} is back-pressured. */
+	public static final long BACKPRESSURE_DELAY = 10; // [ms]
+
+	/** Minimum time between two warnings about dropped writes. */
+	private static final long DROPPED_WARNING_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+	private static record Task<T extends AbstractDataNotification>(String edgeId, T data,
+			ThrowingTriConsumer<Timedata, String, T, OpenemsException> method, Runnable onDone, long created) {
+
+		private void execute(Timedata timedata) throws OpenemsException {
+			this.method.accept(timedata, this.edgeId, this.data);
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(TimedataWriter.class);
+
+	private final Timedata timedata;
+	private final int capacity;
+	private final BlockingDeque<Task<?>> queue;
+	private final Consumer<Timedata> afterWrite;
+
+	private volatile OverflowPolicy overflowPolicy;
+	private volatile boolean throttled = false;
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder droppedTotal = new LongAdder();
+	private final AtomicLong droppedSinceWarning = new AtomicLong();
+	private final AtomicLong lastDroppedWarning = new AtomicLong(System.nanoTime() - DROPPED_WARNING_INTERVAL);
+	private final LongAdder failed = new LongAdder();
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LatencyHistogram wait = new LatencyHistogram();
+
+	public TimedataWriter(Timedata timedata, int capacity, OverflowPolicy overflowPolicy,
+			Consumer<Timedata> afterWrite) {
+		this.timedata = timedata;
+		this.capacity = capacity;
+		this.queue = new LinkedBlockingDeque<>(capacity);
+		this.overflowPolicy = overflowPolicy;
+		this.afterWrite = afterWrite;
+	}
+
+	/**
+	 * Starts the worker thread.
+	 */
+	public void activate() {
+		super.activate("TimedataWriter-" + this.timedata.id());
+	}
+
+	public Timedata getTimedata() {
+		return this.timedata;
+	}
+
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public int getQueueSize() {
+		return this.queue.size();
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Throttles the writes, e.g. while the {@link Timedata} signals
+	 * {@link Timedata#isWriteBackpressure()}. The worker then pauses
+	 * {@link #BACKPRESSURE_DELAY} before every write; new writes fill the queue
+	 * and are handled by the {@link OverflowPolicy}.
+	 *
+	 * @param throttled true to throttle
+	 */
+	public void setThrottled(boolean throttled) {
+		this.throttled = throttled;
+	}
+
+	public boolean isThrottled() {
+		return this.throttled;
+	}
+
+	/**
+	 * Gets the total number of writes that were dropped by the
+	 * {@link OverflowPolicy}.
+	 *
+	 * @return the number of dropped writes
+	 */
+	public long getDroppedTotal() {
+		return this.droppedTotal.sum();
+	}
+
+	/**
+	 * Queues a write.
+	 *
+	 * @param <T>    the type of the {@link AbstractDataNotification}
+	 * @param edgeId the Edge-ID
+	 * @param data   the data
+	 * @param method the write method of the {@link Timedata}
+	 * @return false if the write, or an older one, was dropped
+	 */
+	public <T extends AbstractDataNotification> boolean offer(String edgeId, T data,
+			ThrowingTriConsumer<Timedata, String, T, OpenemsException> method) {
+		return this.offer(edgeId, data, method, null);
+	}
+
+	/**
+	 * Queues a write.
+	 *
+	 * @param <T>    the type of the {@link AbstractDataNotification}
+	 * @param edgeId the Edge-ID
+	 * @param data   the data
+	 * @param method the write method of the {@link Timedata}
+	 * @param onDone called by the worker thread after the write was executed,
+	 *               successfully or not; or null
+	 * @return false if the write, or an older one, was dropped
+	 */
+	public <T extends AbstractDataNotification> boolean offer(String edgeId, T data,
+			ThrowingTriConsumer<Timedata, String, T, OpenemsException> method, Runnable onDone) {
+		final var now = System.nanoTime();
+		return this.offer(new Task<>(edgeId, data, method, onDone, now),
+				now + TimeUnit.MILLISECONDS.toNanos(BLOCK_TIMEOUT));
+	}
+
+	/**
+	 * Queues a write.
+	 *
+	 * @param <T>      the type of the {@link AbstractDataNotification}
+	 * @param edgeId   the Edge-ID
+	 * @param data     the data
+	 * @param method   the write method of the {@link Timedata}
+	 * @param onDone   called by the worker thread after the write was executed,
+	 *                 successfully or not; or null
+	 * @param deadline the {@link System#nanoTime()} till which
+	 *                 {@link OverflowPolicy#BLOCK} waits for space in the queue
+	 * @return false if the write, or an older one, was dropped
+	 */
+	public <T extends AbstractDataNotification> boolean offer(String edgeId, T data,
+			ThrowingTriConsumer<Timedata, String, T, OpenemsException> method, Runnable onDone, long deadline) {
+		return this.offer(new Task<>(edgeId, data, method, onDone, System.nanoTime()), deadline);
+	}
+
+	private boolean offer(Task<?> task) {
+		return this.offer(task, System.nanoTime());
+	}
+
+	private boolean offer(Task<?> task, long deadline) {
+		if (this.queue.offerLast(task)) {
+			return true;
+		}
+		switch (this.overflowPolicy) {
+		case DROP_NEWEST:
+			break;
+
+		case DROP_OLDEST:
+			while (!this.queue.offerLast(task)) {
+				if (this.queue.pollFirst() != null) {
+					this.onDropped();
+				}
+			}
+			return false;
+
+		case BLOCK:
+			try {
+				if (this.queue.offerLast(task, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+					return true;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			break;
+		}
+		this.onDropped();
+		return false;
+	}
+
+	/**
+	 * Counts a dropped write and logs a warning, at most once per
+	 * {@link #DROPPED_WARNING_INTERVAL}.
+	 */
+	private void onDropped() {
+		this.dropped.increment();
+		this.droppedTotal.increment();
+		this.droppedSinceWarning.incrementAndGet();
+		final var now = System.nanoTime();
+		final var last = this.lastDroppedWarning.get();
+		if (now - last < DROPPED_WARNING_INTERVAL || !this.lastDroppedWarning.compareAndSet(last, now)) {
+			return;
+		}
+		this.log.warn("Timedata [" + this.timedata.id() + "] write queue is full (" + this.capacity + "). Dropped "
+				+ this.droppedSinceWarning.getAndSet(0) + " writes with Overflow-Policy " + this.overflowPolicy
+				+ "; " + this.getDroppedTotal() + " in total.");
+	}
+
+	/**
+	 * Moves all queued writes to another {@link TimedataWriter}, e.g. after a
+	 * change of the queue capacity.
+	 *
+	 * @param other the other {@link TimedataWriter}
+	 */
+	public void transferTo(TimedataWriter other) {
+		final var tasks = new ArrayList<Task<?>>();
+		this.queue.drainTo(tasks);
+		tasks.forEach(other::offer);
+	}
+
+	@Override
+	protected void forever() throws InterruptedException {
+		if (this.throttled) {
+			TimeUnit.MILLISECONDS.sleep(BACKPRESSURE_DELAY);
+		}
+		final var task = this.queue.takeFirst();
+		final var start = System.nanoTime();
+		this.wait.record(TimeUnit.NANOSECONDS.toMillis(start - task.created()));
+		try {
+			task.execute(this.timedata);
+			this.written.increment();
+		} catch (OpenemsException e) {
+			this.failed.increment();
+			this.log.warn("Timedata [" + this.timedata.id() + "] write failed for Edge=" + task.edgeId() + ": "
+					+ e.getMessage());
+		} catch (RuntimeException e) {
+			this.failed.increment();
+			this.log.warn("Timedata [" + this.timedata.id() + "] write failed for Edge=" + task.edgeId() + ": "
+					+ e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+		}
+		if (task.onDone() != null) {
+			task.onDone().run();
+		}
+		this.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		this.afterWrite.accept(this.timedata);
+	}
+
+	/**
+	 * Adds the metrics since the last call to the given map.
+	 *
+	 * <ul>
+	 * <li>Queue: number of queued writes
+	 * <li>Throttled: 1 if writes are throttled because of back-pressure
+	 * <li>Written: number of successful writes
+	 * <li>Dropped: number of writes dropped by the {@link OverflowPolicy}
+	 * <li>Failed: number of writes that failed in the {@link Timedata}
+	 * <li>LatencyP50/P99/Max: duration of writes in [ms]
+	 * <li>WaitP50/P99/Max: time of writes in the queue in [ms]
+	 * </ul>
+	 *
+	 * @param prefix  the prefix for the metric keys
+	 * @param metrics the metrics map
+	 */
+	public void debugMetrics(String prefix, Map<String, Number> metrics) {
+		metrics.put(prefix + "Queue", this.queue.size());
+		metrics.put(prefix + "Throttled", this.throttled ? 1 : 0);
+		metrics.put(prefix + "Written", this.written.sumThenReset());
+		metrics.put(prefix + "Dropped", this.dropped.sumThenReset());
+		metrics.put(prefix + "Failed", this.failed.sumThenReset());
+		this.latency.debugMetrics(prefix + "Latency", metrics);
+		this.wait.debugMetrics(prefix + "Wait", metrics);
+	}
+
+	/**
+	 * Returns a DebugLog String.
+	 *
+	 * @return debug log
+	 */
+	public String debugLog() {
+		return this.timedata.id() + ":" + this.queue.size() + "/" + this.capacity;
+	}
+
+}
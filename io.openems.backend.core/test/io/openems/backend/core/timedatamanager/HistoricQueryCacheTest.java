@@ -0,0 +1,111 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.backend.core.timedatamanager.HistoricQueryCache.Key;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+
+public class HistoricQueryCacheTest {
+
+	private static final ZonedDateTime FROM = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+	private static final ZonedDateTime TO = FROM.plusDays(1);
+	private static final Set<ChannelAddress> CHANNELS = Set.of(new ChannelAddress("_sum", "EssSoc"));
+
+	private static Key key(String edgeId) {
+		return Key.of("queryHistoricData", edgeId, FROM, TO, CHANNELS, null);
+	}
+
+	private static List<Integer> get(HistoricQueryCache sut, Key key, int weight) throws OpenemsNamedException {
+		return sut.get(key, true, List::size, () -> List.of(weight, weight));
+	}
+
+	private static long getMetric(HistoricQueryCache sut, String name) {
+		var metrics = new HashMap<String, Number>();
+		sut.debugMetrics("", metrics);
+		return metrics.get(name).longValue();
+	}
+
+	@Test
+	public void testHit() throws OpenemsNamedException {
+		var sut = new HistoricQueryCache(10, 60_000);
+		assertEquals(List.of(1, 1), get(sut, key("edge0"), 1));
+		assertEquals(List.of(1, 1), get(sut, key("edge0"), 2)); // from cache
+		assertEquals(List.of(3, 3), get(sut, key("edge1"), 3));
+		assertEquals(List.of(4, 4), sut.get(key("edge0"), false, List::size, () -> List.of(4, 4)));
+
+		var metrics = new HashMap<String, Number>();
+		sut.debugMetrics("", metrics);
+		assertEquals(1L, metrics.get("Hits"));
+		assertEquals(3L, metrics.get("Misses"));
+		assertEquals(2, metrics.get("Entries"));
+		assertEquals(4, metrics.get("Weight"));
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+		var sut = new HistoricQueryCache(10, 50);
+		assertEquals(List.of(1, 1), get(sut, key("edge0"), 1));
+		assertEquals(List.of(1, 1), get(sut, key("edge0"), 2));
+
+		Thread.sleep(100);
+		assertEquals(List.of(3, 3), get(sut, key("edge0"), 3));
+		assertEquals(2, getMetric(sut, "Misses"));
+	}
+
+	@Test
+	public void testWeight() throws OpenemsNamedException {
+		var sut = new HistoricQueryCache(5, 60_000);
+		get(sut, key("edge0"), 0);
+		get(sut, key("edge1"), 1);
+		get(sut, key("edge0"), 0); // edge0 is now most recently used
+
+		// Evicts least recently used edge1
+		get(sut, key("edge2"), 2);
+		assertEquals(2, getMetric(sut, "Entries"));
+		assertEquals(4, getMetric(sut, "Weight"));
+		assertEquals(List.of(0, 0), get(sut, key("edge0"), 9));
+		assertEquals(List.of(9, 9), get(sut, key("edge1"), 9));
+
+		// Results heavier than the cache are not cached
+		assertEquals(List.of(1, 1, 1, 1, 1, 1),
+				sut.get(key("edge3"), true, List::size, () -> List.of(1, 1, 1, 1, 1, 1)));
+		assertEquals(List.of(2, 2), get(sut, key("edge3"), 2));
+	}
+
+	@Test
+	public void testDisabled() throws OpenemsNamedException {
+		var sut = new HistoricQueryCache(0, 60_000);
+		assertEquals(List.of(), sut.get(key("edge0"), true, List::size, () -> List.of()));
+		assertEquals(List.of(1, 1), get(sut, key("edge0"), 1));
+		assertEquals(List.of(2, 2), get(sut, key("edge0"), 2));
+		assertEquals(0, getMetric(sut, "Entries"));
+	}
+
+	@Test
+	public void testInvalidate() throws OpenemsNamedException {
+		var sut = new HistoricQueryCache(10, 60_000);
+		get(sut, key("edge0"), 1);
+		get(sut, key("edge1"), 1);
+
+		sut.invalidate("edge0");
+		assertEquals(List.of(2, 2), get(sut, key("edge0"), 2));
+		assertEquals(List.of(1, 1), get(sut, key("edge1"), 2));
+
+		// Result of a query that overlaps an invalidation is not cached
+		assertEquals(List.of(3, 3), sut.get(key("edge2"), true, List::size, () -> {
+			sut.invalidate("edge2");
+			return List.of(3, 3);
+		}));
+		assertEquals(List.of(4, 4), get(sut, key("edge2"), 4));
+	}
+
+}
@@ -0,0 +1,44 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void test() {
+		var sut = new LatencyHistogram();
+		for (var i = 1; i <= 100; i++) {
+			sut.record(i);
+		}
+
+		var metrics = new HashMap<String, Number>();
+		sut.debugMetrics("Latency", metrics);
+		assertEquals(50L, metrics.get("LatencyP50"));
+		assertEquals(100L, metrics.get("LatencyP99"));
+		assertEquals(100L, metrics.get("LatencyMax"));
+
+		// Percentile is limited by the maximum
+		sut.record(3);
+		sut.debugMetrics("Latency", metrics);
+		assertEquals(3L, metrics.get("LatencyP50"));
+		assertEquals(3L, metrics.get("LatencyMax"));
+
+		// Beyond the last bucket
+		sut.record(1);
+		sut.record(60_000);
+		sut.debugMetrics("Latency", metrics);
+		assertEquals(1L, metrics.get("LatencyP50"));
+		assertEquals(60_000L, metrics.get("LatencyP99"));
+
+		// Reset after debugMetrics
+		sut.debugMetrics("Latency", metrics);
+		assertEquals(0L, metrics.get("LatencyP50"));
+		assertEquals(0L, metrics.get("LatencyP99"));
+		assertEquals(0L, metrics.get("LatencyMax"));
+	}
+
+}
@@ -0,0 +1,197 @@
+package io.openems.backend.core.timedatamanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+
+import io.openems.backend.common.timedata.Timedata;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+public class TimedataWriterTest {
+
+	private static final TimestampedDataNotification DATA = new TimestampedDataNotification(
+			TreeBasedTable.create());
+
+	private static Timedata createTimedata() {
+		return (Timedata) Proxy.newProxyInstance(TimedataWriterTest.class.getClassLoader(),
+				new Class<?>[] { Timedata.class }, (proxy, method, args) -> {
+					return switch (method.getName()) {
+					case "id" -> "timedata0";
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					default -> null;
+					};
+				});
+	}
+
+	private static boolean offer(TimedataWriter sut, List<String> written, String edgeId) {
+		return sut.offer(edgeId, DATA, (timedata, id, data) -> written.add(id));
+	}
+
+	private static long getDropped(TimedataWriter sut) {
+		var metrics = new HashMap<String, Number>();
+		sut.debugMetrics("", metrics);
+		return metrics.get("Dropped").longValue();
+	}
+
+	@Test
+	public void testDropNewest() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 2, OverflowPolicy.DROP_NEWEST, t -> {
+		});
+		assertTrue(offer(sut, written, "edge0"));
+		assertTrue(offer(sut, written, "edge1"));
+		assertFalse(offer(sut, written, "edge2"));
+		assertEquals(1, getDropped(sut));
+		assertEquals(1, sut.getDroppedTotal());
+
+		sut.forever();
+		sut.forever();
+		assertEquals(List.of("edge0", "edge1"), written);
+	}
+
+	@Test
+	public void testDropOldest() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 2, OverflowPolicy.DROP_OLDEST, t -> {
+		});
+		assertTrue(offer(sut, written, "edge0"));
+		assertTrue(offer(sut, written, "edge1"));
+		assertFalse(offer(sut, written, "edge2"));
+		assertEquals(1, getDropped(sut));
+
+		sut.forever();
+		sut.forever();
+		assertEquals(List.of("edge1", "edge2"), written);
+	}
+
+	@Test
+	public void testBlock() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 1, OverflowPolicy.BLOCK, t -> {
+		});
+		assertTrue(offer(sut, written, "edge0"));
+
+		// Blocks till the queue has space
+		var consumer = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+				sut.forever();
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		});
+		consumer.start();
+		assertTrue(offer(sut, written, "edge1"));
+		consumer.join();
+		assertEquals(0, getDropped(sut));
+
+		// Drops the new write after the timeout
+		var start = System.currentTimeMillis();
+		assertFalse(offer(sut, written, "edge2"));
+		assertTrue(System.currentTimeMillis() - start >= TimedataWriter.BLOCK_TIMEOUT);
+		assertEquals(1, getDropped(sut));
+
+		sut.forever();
+		assertEquals(List.of("edge0", "edge1"), written);
+	}
+
+	@Test
+	public void testBlockDeadline() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut1 = new TimedataWriter(createTimedata(), 1, OverflowPolicy.BLOCK, t -> {
+		});
+		var sut2 = new TimedataWriter(createTimedata(), 1, OverflowPolicy.BLOCK, t -> {
+		});
+		assertTrue(offer(sut1, written, "edge0"));
+		assertTrue(offer(sut2, written, "edge0"));
+
+		// Both full queues share one deadline
+		var start = System.currentTimeMillis();
+		var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+		assertFalse(sut1.offer("edge1", DATA, (timedata, id, data) -> written.add(id), null, deadline));
+		assertFalse(sut2.offer("edge1", DATA, (timedata, id, data) -> written.add(id), null, deadline));
+		var duration = System.currentTimeMillis() - start;
+		assertTrue(duration >= 200);
+		assertTrue(duration < 400);
+		assertEquals(1, sut1.getDroppedTotal());
+		assertEquals(1, sut2.getDroppedTotal());
+	}
+
+	@Test
+	public void testThrottled() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 2, OverflowPolicy.DROP_NEWEST, t -> {
+		});
+		offer(sut, written, "edge0");
+		offer(sut, written, "edge1");
+
+		sut.setThrottled(true);
+		var start = System.currentTimeMillis();
+		sut.forever();
+		assertTrue(System.currentTimeMillis() - start >= TimedataWriter.BACKPRESSURE_DELAY);
+
+		var metrics = new HashMap<String, Number>();
+		sut.debugMetrics("", metrics);
+		assertEquals(1, metrics.get("Throttled"));
+
+		sut.setThrottled(false);
+		sut.forever();
+		assertEquals(List.of("edge0", "edge1"), written);
+	}
+
+	@Test
+	public void testTransferTo() throws Throwable {
+		var written = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 2, OverflowPolicy.DROP_NEWEST, t -> {
+		});
+		offer(sut, written, "edge0");
+		offer(sut, written, "edge1");
+
+		var other = new TimedataWriter(sut.getTimedata(), 10, OverflowPolicy.DROP_NEWEST, t -> {
+		});
+		sut.transferTo(other);
+		assertEquals(0, sut.getQueueSize());
+		assertEquals(2, other.getQueueSize());
+
+		other.forever();
+		other.forever();
+		assertEquals(List.of("edge0", "edge1"), written);
+
+		var metrics = new HashMap<String, Number>();
+		other.debugMetrics("timedata0/", metrics);
+		assertEquals(2L, metrics.get("timedata0/Written"));
+		assertEquals(0L, metrics.get("timedata0/Failed"));
+	}
+
+	@Test
+	public void testOnDone() throws Throwable {
+		var events = new ArrayList<String>();
+		var sut = new TimedataWriter(createTimedata(), 2, OverflowPolicy.DROP_NEWEST, t -> {
+		});
+		sut.offer("edge0", DATA, (timedata, id, data) -> events.add("write"), () -> events.add("done"));
+		sut.offer("edge1", DATA, (timedata, id, data) -> {
+			throw new OpenemsException("failed");
+		}, () -> events.add("done"));
+		assertEquals(List.of(), events);
+
+		sut.forever();
+		assertEquals(List.of("write", "done"), events);
+
+		// Also after a failed write
+		sut.forever();
+		assertEquals(List.of("write", "done", "done"), events);
+	}
+
+}
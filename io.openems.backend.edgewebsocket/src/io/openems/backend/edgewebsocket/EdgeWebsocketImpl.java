@@ -1,6 +1,7 @@
 package io.openems.backend.edgewebsocket;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -33,6 +34,7 @@ import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.debugcycle.DebugLoggable;
+import io.openems.backend.common.edgewebsocket.EdgeCacheListener;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.metadata.AppCenterMetadata;
 import io.openems.backend.common.metadata.Metadata;
@@ -83,6 +85,13 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	protected volatile UiWebsocket uiWebsocket;
 
+	@Reference(//
+			cardinality = ReferenceCardinality.MULTIPLE, //
+			policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY //
+	)
+	protected volatile List<EdgeCacheListener> edgeCacheListeners;
+
 	private WebsocketServer server = null;
 	private Config config;
 
@@ -306,6 +315,27 @@ public class EdgeWebsocketImpl extends AbstractOpenemsBackendComponent
 			metrics.put(this.getId() + "/" + key, new JsonPrimitive(value));
 		});
 
+		// Memory of the EdgeCaches
+		var edges = 0;
+		var channels = 0L;
+		var memory = 0L;
+		var memoryMax = 0L;
+		for (var ws : this.server.getConnections()) {
+			WsData wsData = ws.getAttachment();
+			if (wsData == null) {
+				continue;
+			}
+			var edgeMemory = wsData.edgeCache.estimateMemoryUsage();
+			edges++;
+			channels += wsData.edgeCache.getChannelCount();
+			memory += edgeMemory;
+			memoryMax = Math.max(memoryMax, edgeMemory);
+		}
+		metrics.put(this.getId() + "/EdgeCacheChannels", new JsonPrimitive(channels));
+		metrics.put(this.getId() + "/EdgeCacheMemory", new JsonPrimitive(memory));
+		metrics.put(this.getId() + "/EdgeCacheMemoryAvg", new JsonPrimitive(edges == 0 ? 0 : memory / edges));
+		metrics.put(this.getId() + "/EdgeCacheMemoryMax", new JsonPrimitive(memoryMax));
+
 		return metrics;
 	}
 
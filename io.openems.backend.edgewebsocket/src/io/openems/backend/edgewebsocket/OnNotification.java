@@ -17,6 +17,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.AbstractDataNotification;
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.notification.LogMessageNotification;
@@ -60,6 +61,8 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			this.handleDataNotification(TimestampedDataNotification.from(notification), wsData);
 		case AggregatedDataNotification.METHOD ->
 			this.handleDataNotification(AggregatedDataNotification.from(notification), wsData);
+		case CompactDataNotification.METHOD -> this.handleDataNotification(
+				CompactDataNotification.from(notification).toDataNotification(wsData.getChannelDictionary()), wsData);
 		case ResendDataNotification.METHOD ->
 			this.handleResendDataNotification(ResendDataNotification.from(notification), wsData);
 		case SystemLogNotification.METHOD ->
@@ -137,6 +140,19 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			this.parent.uiWebsocket.sendSubscribedChannels(edgeId, wsData.edgeCache);
 		}
 
+		// Notify other listeners, e.g. Backend-to-Backend subscriptions
+		var edgeCacheListeners = this.parent.edgeCacheListeners;
+		if (edgeCacheListeners != null) {
+			for (var listener : edgeCacheListeners) {
+				try {
+					listener.onEdgeCacheUpdate(edgeId, wsData.edgeCache);
+				} catch (RuntimeException e) {
+					this.parent.logWarn(this.log, edgeId,
+							"Unable to notify EdgeCacheListener [" + listener + "]: " + e.getMessage());
+				}
+			}
+		}
+
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
 		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
@@ -10,9 +10,12 @@ import io.openems.backend.common.metadata.AppCenterHandler;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.base.JsonrpcRequest;
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
 import io.openems.common.jsonrpc.request.AppCenterRequest;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+import io.openems.common.utils.JsonUtils;
 
 public class OnRequest implements io.openems.common.websocket.OnRequest {
 
@@ -38,6 +41,10 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 					AppCenterRequest.from(request), edgeId);
 			break;
 
+		case SetChannelDictionaryRequest.METHOD:
+			resultFuture = this.handleSetChannelDictionaryRequest(wsData, SetChannelDictionaryRequest.from(request));
+			break;
+
 		}
 
 		if (resultFuture != null) {
@@ -47,4 +54,21 @@ public class OnRequest implements io.openems.common.websocket.OnRequest {
 		throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
 	}
 
+	/**
+	 * Handles a {@link SetChannelDictionaryRequest}.
+	 *
+	 * @param wsData  the WebSocket attachment
+	 * @param request the {@link SetChannelDictionaryRequest}
+	 * @return the Future JSON-RPC Response
+	 * @throws OpenemsNamedException on error
+	 */
+	private CompletableFuture<GenericJsonrpcResponseSuccess> handleSetChannelDictionaryRequest(WsData wsData,
+			SetChannelDictionaryRequest request) throws OpenemsNamedException {
+		var size = wsData.extendChannelDictionary(request.getOffset(), request.getAddresses());
+		return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId(), //
+				JsonUtils.buildJsonObject() //
+						.addProperty("size", size) //
+						.build()));
+	}
+
 }
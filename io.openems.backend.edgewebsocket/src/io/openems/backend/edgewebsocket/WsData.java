@@ -1,5 +1,7 @@
 package io.openems.backend.edgewebsocket;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -23,6 +25,12 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 	public final EdgeCache edgeCache = new EdgeCache();
 
+	/**
+	 * The append-only Channel-Address dictionary for compact data of this
+	 * connection. Replaced on every update; never modified in place.
+	 */
+	private volatile List<String> channelDictionary = List.of();
+
 	/**
 	 * Asserts that the Edge-ID is available (i.e. properly authenticated).
 	 *
@@ -69,6 +77,36 @@ public class WsData extends io.openems.common.websocket.WsData {
 		return this.edgeId;
 	}
 
+	/**
+	 * Extends the Channel-Address dictionary for compact data.
+	 *
+	 * @param offset    the index of the first address; 0 replaces the dictionary
+	 * @param addresses the Channel-Addresses
+	 * @return the new size of the dictionary
+	 * @throws OpenemsException if the offset does not match the current size
+	 */
+	public synchronized int extendChannelDictionary(int offset, List<String> addresses) throws OpenemsException {
+		final var current = offset == 0 ? List.<String>of() : this.channelDictionary;
+		if (offset != current.size()) {
+			throw new OpenemsException(
+					"Channel dictionary offset [" + offset + "] does not match size [" + current.size() + "]");
+		}
+		var dictionary = new ArrayList<String>(current.size() + addresses.size());
+		dictionary.addAll(current);
+		dictionary.addAll(addresses);
+		this.channelDictionary = dictionary;
+		return dictionary.size();
+	}
+
+	/**
+	 * Gets the Channel-Address dictionary for compact data.
+	 *
+	 * @return the dictionary
+	 */
+	public List<String> getChannelDictionary() {
+		return this.channelDictionary;
+	}
+
 	@Override
 	public String toString() {
 		return "EdgeWebsocket.WsData [" //
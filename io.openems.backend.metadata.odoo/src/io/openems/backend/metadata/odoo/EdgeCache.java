@@ -2,10 +2,13 @@ package io.openems.backend.metadata.odoo;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
@@ -13,6 +16,15 @@ import io.openems.backend.metadata.odoo.postgres.PgUtils;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.SemanticVersion;
 
+/**
+ * Caches the Edges of Odoo.
+ *
+ * <p>
+ * Lookups are lock-free, as they happen for every message of every Edge.
+ * Updates are serialized. The set of offline Edges is maintained on
+ * {@link MyEdge#setOnline(boolean)}, so that {@link #getAllOfflineEdges()} does
+ * not have to iterate all Edges.
+ */
 public class EdgeCache {
 
 	public static final int EXPECTED_CACHE_SIZE = 1_000;
@@ -22,19 +34,22 @@ public class EdgeCache {
 	/**
 	 * Map Edge-ID (String) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<String, MyEdge> edgeIdToEdge = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, MyEdge> edgeIdToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
-	 * Map Odoo-ID (Integer) to Edge-ID (String). Initialized with expected cache
-	 * size.
+	 * Map Odoo-ID (Integer) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<Integer, String> odooIdToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<Integer, MyEdge> odooIdToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
 
 	/**
-	 * Map Apikey (String) to Edge-ID (String). Initialized with expected cache
-	 * size.
+	 * Map Apikey (String) to Edge. Initialized with expected cache size.
 	 */
-	private final Map<String, String> apikeyToEdgeId = new HashMap<>(EXPECTED_CACHE_SIZE);
+	private final Map<String, MyEdge> apikeyToEdge = new ConcurrentHashMap<>(EXPECTED_CACHE_SIZE);
+
+	/**
+	 * Edges that are currently offline.
+	 */
+	private final Set<Edge> offlineEdges = ConcurrentHashMap.newKeySet(EXPECTED_CACHE_SIZE);
 
 	public EdgeCache(MetadataOdoo parent) {
 		this.parent = parent;
@@ -48,7 +63,7 @@ public class EdgeCache {
 	 * @throws SQLException     on error
 	 * @throws OpenemsException on error
 	 */
-	public synchronized MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
+	public MyEdge addOrUpdate(ResultSet rs) throws SQLException, OpenemsException {
 		// simple fields
 		var edgeId = PgUtils.getAsString(rs, EdgeDevice.NAME);
 		var odooId = PgUtils.getAsInt(rs, EdgeDevice.ID);
@@ -60,13 +75,35 @@ public class EdgeCache {
 		var producttype = PgUtils.getAsStringOrElse(rs, EdgeDevice.PRODUCTTYPE, "");
 		var lastmessage = PgUtils.getAsDateOrElse(rs, EdgeDevice.LASTMESSAGE, null);
 
+		return this.addOrUpdate(odooId, edgeId, apikey, comment, version, producttype, lastmessage);
+	}
+
+	/**
+	 * Adds a Edge or Updates an existing Edge.
+	 *
+	 * @param odooId      the Odoo-ID
+	 * @param edgeId      the Edge-ID
+	 * @param apikey      the Apikey
+	 * @param comment     the comment
+	 * @param version     the OpenEMS version
+	 * @param producttype the producttype
+	 * @param lastmessage the timestamp of the last message; or null
+	 * @return the new or updated Edge instance
+	 */
+	public synchronized MyEdge addOrUpdate(int odooId, String edgeId, String apikey, String comment, String version,
+			String producttype, ZonedDateTime lastmessage) {
 		var edge = this.edgeIdToEdge.get(edgeId);
 		if (edge == null) {
 			// This is new -> create instance of Edge
-			edge = new MyEdge(this.parent, odooId, edgeId, apikey, comment, version, producttype, lastmessage);
+			edge = new MyEdge(this.parent, this, odooId, edgeId, apikey, comment, version, producttype,
+					lastmessage);
+			if (edge.isOffline()) {
+				this.offlineEdges.add(edge);
+			}
+			this.odooIdToEdge.put(odooId, edge);
+			this.apikeyToEdge.put(apikey, edge);
+			// Publish last, so that all lookups are available
 			this.edgeIdToEdge.put(edgeId, edge);
-			this.odooIdToEdgeId.put(odooId, edgeId);
-			this.apikeyToEdgeId.put(apikey, edgeId);
 		} else {
 			// Edge exists -> update information
 			edge.setComment(comment);
@@ -78,13 +115,27 @@ public class EdgeCache {
 		return edge;
 	}
 
+	/**
+	 * Updates the set of offline Edges. Called by {@link MyEdge#setOnline(boolean)}.
+	 *
+	 * @param edge     the {@link MyEdge}
+	 * @param isOnline true if the Edge is online
+	 */
+	protected void onSetOnline(MyEdge edge, boolean isOnline) {
+		if (isOnline) {
+			this.offlineEdges.remove(edge);
+		} else {
+			this.offlineEdges.add(edge);
+		}
+	}
+
 	/**
 	 * Gets an Edge from its Edge-ID.
 	 *
 	 * @param edgeId the Edge-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromEdgeId(String edgeId) {
+	public MyEdge getEdgeFromEdgeId(String edgeId) {
 		return this.edgeIdToEdge.get(edgeId);
 	}
 
@@ -94,12 +145,8 @@ public class EdgeCache {
 	 * @param odooId the Odoo-ID
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeFromOdooId(int odooId) {
-		var edgeId = this.odooIdToEdgeId.get(odooId);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeFromOdooId(int odooId) {
+		return this.odooIdToEdge.get(odooId);
 	}
 
 	/**
@@ -108,12 +155,8 @@ public class EdgeCache {
 	 * @param apikey the Apikey
 	 * @return the Edge, or null
 	 */
-	public synchronized MyEdge getEdgeForApikey(String apikey) {
-		var edgeId = this.apikeyToEdgeId.get(apikey);
-		if (edgeId == null) {
-			return null;
-		}
-		return this.getEdgeFromEdgeId(edgeId);
+	public MyEdge getEdgeForApikey(String apikey) {
+		return this.apikeyToEdge.get(apikey);
 	}
 
 	/**
@@ -125,4 +168,13 @@ public class EdgeCache {
 		return Collections.unmodifiableCollection(this.edgeIdToEdge.values());
 	}
 
+	/**
+	 * Gets a snapshot of all offline Edges.
+	 *
+	 * @return a collection of Edges
+	 */
+	public Collection<Edge> getAllOfflineEdges() {
+		return List.copyOf(this.offlineEdges);
+	}
+
 }
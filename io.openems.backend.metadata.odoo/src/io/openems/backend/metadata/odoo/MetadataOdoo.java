@@ -200,7 +200,7 @@ public class MetadataOdoo extends AbstractMetadata implements AppCenterMetadata,
 
 	@Override
 	public Collection<Edge> getAllOfflineEdges() {
-		return this.edgeCache.getAllEdges().stream().filter(Edge::isOffline).toList();
+		return this.edgeCache.getAllOfflineEdges();
 	}
 
 	/**
@@ -6,16 +6,25 @@ import io.openems.backend.common.metadata.Edge;
 
 public class MyEdge extends Edge {
 
+	private final EdgeCache edgeCache;
 	private final int odooId;
 	private final String apikey;
 
-	public MyEdge(MetadataOdoo parent, int odooId, String edgeId, String apikey, String comment, String version,
-			String producttype, ZonedDateTime lastMessage) {
+	public MyEdge(MetadataOdoo parent, EdgeCache edgeCache, int odooId, String edgeId, String apikey, String comment,
+			String version, String producttype, ZonedDateTime lastMessage) {
 		super(parent, edgeId, comment, version, producttype, lastMessage);
+		this.edgeCache = edgeCache;
 		this.apikey = apikey;
 		this.odooId = odooId;
 	}
 
+	@Override
+	public synchronized void setOnline(boolean isOnline) {
+		// Update the index before the ON_SET_ONLINE event is sent
+		this.edgeCache.onSetOnline(this, isOnline);
+		super.setOnline(isOnline);
+	}
+
 	public int getOdooId() {
 		return this.odooId;
 	}
@@ -0,0 +1,151 @@
+package io.openems.backend.metadata.odoo;
+
+import static io.openems.backend.metadata.odoo.EdgeCacheTest.addEdge;
+import static io.openems.backend.metadata.odoo.EdgeCacheTest.createEdgeCache;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.backend.common.metadata.Edge;
+
+/**
+ * Measures the lookup throughput of the {@link EdgeCache} for 50.000 Edges
+ * under contention, compared to the previous implementation with
+ * 'synchronized' lookups on a HashMap.
+ *
+ * <p>
+ * Reader threads look up random Edge-IDs while one writer thread toggles the
+ * online state of Edges. Remove the {@link Ignore} annotation to run the
+ * benchmark.
+ */
+public class EdgeCacheBenchmark {
+
+	private static final int EDGES = 50_000;
+	private static final int READERS = Runtime.getRuntime().availableProcessors();
+	private static final long DURATION = 3_000; // [ms]
+	private static final int OFFLINE_ITERATIONS = 200;
+
+	private final Logger log = LoggerFactory.getLogger(EdgeCacheBenchmark.class);
+
+	@Test
+	@Ignore
+	public void benchmark() throws Exception {
+		var cache = createEdgeCache();
+		var edges = new ArrayList<MyEdge>(EDGES);
+		for (var i = 0; i < EDGES; i++) {
+			var edge = addEdge(cache, i);
+			edge.setOnline(i % 10 != 0);
+			edges.add(edge);
+		}
+
+		// Previous implementation
+		var synchronizedMap = new HashMap<String, MyEdge>();
+		edges.forEach(e -> synchronizedMap.put(e.getId(), e));
+
+		this.log.info("Edges: " + EDGES + ", Reader-Threads: " + READERS);
+		var before = lookups(edges, id -> {
+			synchronized (synchronizedMap) {
+				return synchronizedMap.get(id);
+			}
+		});
+		var after = lookups(edges, cache::getEdgeFromEdgeId);
+		assertTrue(before > 0);
+		assertTrue(after > 0);
+		this.log.info(String.format("%-25s synchronized: %8.1f M/s | EdgeCache: %8.1f M/s | Speed-up: %4.1fx",
+				"getEdgeFromEdgeId()", before, after, after / before));
+
+		// Both find the same offline Edges once the writer stopped
+		assertEquals(filterOffline(synchronizedMap).size(), cache.getAllOfflineEdges().size());
+		var streamNanos = measure(() -> filterOffline(synchronizedMap));
+		var indexNanos = measure(cache::getAllOfflineEdges);
+		this.log.info(String.format("%-25s stream: %10.0f ns/op | index: %10.0f ns/op | Speed-up: %4.1fx",
+				"getAllOfflineEdges()", streamNanos, indexNanos, streamNanos / indexNanos));
+	}
+
+	private static Collection<Edge> filterOffline(Map<String, MyEdge> map) {
+		synchronized (map) {
+			return map.values().stream().filter(Edge::isOffline).map(Edge.class::cast).toList();
+		}
+	}
+
+	/**
+	 * Runs lookups on all reader threads while toggling the online state.
+	 *
+	 * @param edges  the Edges
+	 * @param lookup the lookup function
+	 * @return the throughput in millions of lookups per second
+	 * @throws InterruptedException on error
+	 */
+	private static double lookups(ArrayList<MyEdge> edges, Function<String, MyEdge> lookup)
+			throws InterruptedException {
+		var ids = edges.stream().map(Edge::getId).toArray(String[]::new);
+		var stop = new AtomicBoolean(false);
+		var count = new LongAdder();
+		var started = new CountDownLatch(READERS + 1);
+		var threads = new ArrayList<Thread>();
+		for (var r = 0; r < READERS; r++) {
+			var seed = r;
+			threads.add(new Thread(() -> {
+				var i = seed * 7919;
+				var local = 0L;
+				started.countDown();
+				while (!stop.get()) {
+					for (var j = 0; j < 1_000; j++) {
+						i = (i + 104_729) % ids.length;
+						if (lookup.apply(ids[i]) != null) {
+							local++;
+						}
+					}
+				}
+				count.add(local);
+			}));
+		}
+		threads.add(new Thread(() -> {
+			var i = 0;
+			started.countDown();
+			while (!stop.get()) {
+				var edge = edges.get(i++ % edges.size());
+				edge.setOnline(!edge.isOnline());
+			}
+		}));
+		threads.forEach(Thread::start);
+		started.await();
+		Thread.sleep(DURATION);
+		stop.set(true);
+		for (var thread : threads) {
+			thread.join();
+		}
+		return count.sum() / (DURATION * 1_000.);
+	}
+
+	private static double measure(Supplier<?> supplier) {
+		var blackhole = 0L;
+		for (var i = 0; i < OFFLINE_ITERATIONS; i++) {
+			blackhole += supplier.get().hashCode();
+		}
+		var start = System.nanoTime();
+		for (var i = 0; i < OFFLINE_ITERATIONS; i++) {
+			blackhole += supplier.get().hashCode();
+		}
+		var duration = System.nanoTime() - start;
+		// Keeps the JIT from eliminating the calls
+		assertNotEquals(Long.MIN_VALUE, blackhole);
+		return (double) duration / OFFLINE_ITERATIONS;
+	}
+
+}
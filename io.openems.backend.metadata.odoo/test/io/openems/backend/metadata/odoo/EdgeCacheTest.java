@@ -0,0 +1,68 @@
+package io.openems.backend.metadata.odoo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.backend.common.test.DummyEventAdmin;
+import io.openems.common.utils.ReflectionUtils;
+
+public class EdgeCacheTest {
+
+	protected static EdgeCache createEdgeCache() throws Exception {
+		var metadata = new MetadataOdoo();
+		ReflectionUtils.setAttribute(MetadataOdoo.class, metadata, "eventAdmin", new DummyEventAdmin(e -> {
+		}));
+		return new EdgeCache(metadata);
+	}
+
+	protected static MyEdge addEdge(EdgeCache cache, int odooId) {
+		return cache.addOrUpdate(odooId, "edge" + odooId, "apikey" + odooId, "", "2024.1.1", "", null);
+	}
+
+	@Test
+	public void testLookups() throws Exception {
+		var cache = createEdgeCache();
+		var edge = addEdge(cache, 1);
+		addEdge(cache, 2);
+
+		assertSame(edge, cache.getEdgeFromEdgeId("edge1"));
+		assertSame(edge, cache.getEdgeFromOdooId(1));
+		assertSame(edge, cache.getEdgeForApikey("apikey1"));
+		assertNull(cache.getEdgeFromEdgeId("edge3"));
+		assertNull(cache.getEdgeFromOdooId(3));
+		assertNull(cache.getEdgeForApikey("apikey3"));
+		assertEquals(2, cache.getAllEdges().size());
+
+		// Update keeps the instance
+		assertSame(edge, cache.addOrUpdate(1, "edge1", "apikey1", "comment", "2024.1.2", "", null));
+		assertEquals("comment", edge.getComment());
+	}
+
+	@Test
+	public void testOfflineEdges() throws Exception {
+		var cache = createEdgeCache();
+		var edge1 = addEdge(cache, 1);
+		var edge2 = addEdge(cache, 2);
+
+		// Edges are initially offline
+		assertEquals(2, cache.getAllOfflineEdges().size());
+
+		edge1.setOnline(true);
+		var offline = cache.getAllOfflineEdges();
+		assertEquals(1, offline.size());
+		assertTrue(offline.contains(edge2));
+
+		edge2.setOnline(true);
+		assertTrue(cache.getAllOfflineEdges().isEmpty());
+
+		edge1.setOnline(false);
+		edge1.setOnline(false);
+		assertEquals(1, cache.getAllOfflineEdges().size());
+		assertTrue(cache.getAllOfflineEdges().contains(edge1));
+	}
+
+}
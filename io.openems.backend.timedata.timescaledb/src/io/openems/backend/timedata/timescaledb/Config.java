@@ -33,6 +33,12 @@ public @interface Config {
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Spill Directory", description = "Local directory for data that could not be written to TimescaleDB; it is replayed once the database is available again. Empty to disable.")
+	String spillDirectory() default "";
+
+	@AttributeDefinition(name = "Spill Max Size [MB]", description = "Maximum total size of the spill directory")
+	int spillMaxSize() default 1024;
+
 	String webconsole_configurationFactory_nameHint() default "Timedata.TimescaleDB";
 
 }
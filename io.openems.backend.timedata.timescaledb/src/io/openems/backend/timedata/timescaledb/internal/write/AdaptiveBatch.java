@@ -0,0 +1,69 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+/**
+ * Adapts the number of Points per COPY and the time to wait for a batch to fill
+ * up to the observed write latency.
+ *
+ * <p>
+ * Batches grow while full batches are written fast and shrink when a write
+ * takes longer than {@link #TARGET_LATENCY}. The flush interval follows the
+ * average latency, as flushing more often than a COPY takes only queues up
+ * writes.
+ */
+public class AdaptiveBatch {
+
+	public static final int MIN_BATCH_SIZE = 1_000;
+	public static final int MAX_BATCH_SIZE = 50_000;
+	public static final long TARGET_LATENCY = 2_000; // [ms]
+	public static final long MIN_WAIT = 1_000; // [ms]
+
+	private int batchSize = TimescaledbWriteHandler.MAX_POINTS_PER_WRITE;
+	private long averageLatency = 0; // [ms]
+
+	/**
+	 * Records a successful write.
+	 *
+	 * @param points   the number of written Points
+	 * @param duration the duration of the write in [ms]
+	 */
+	public synchronized void onWrite(int points, long duration) {
+		this.averageLatency = this.averageLatency == 0 //
+				? duration //
+				: (this.averageLatency * 7 + duration) / 8;
+
+		if (duration > TARGET_LATENCY) {
+			this.batchSize = Math.max(MIN_BATCH_SIZE, this.batchSize * 2 / 3);
+		} else if (points >= this.batchSize && duration < TARGET_LATENCY / 2) {
+			this.batchSize = Math.min(MAX_BATCH_SIZE, this.batchSize * 3 / 2);
+		}
+	}
+
+	/**
+	 * Gets the current maximum number of Points per write.
+	 *
+	 * @return the batch size
+	 */
+	public synchronized int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Gets the maximum time to wait for a batch to fill up.
+	 *
+	 * @return the wait time in [ms]
+	 */
+	public synchronized long getMaxWait() {
+		return Math.max(MIN_WAIT, Math.min(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT * 1000, //
+				this.averageLatency * 4));
+	}
+
+	/**
+	 * Gets the average write latency.
+	 *
+	 * @return the latency in [ms]
+	 */
+	public synchronized long getAverageLatency() {
+		return this.averageLatency;
+	}
+
+}
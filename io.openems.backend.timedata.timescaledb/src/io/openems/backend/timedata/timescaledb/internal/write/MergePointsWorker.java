@@ -1,12 +1,16 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -16,26 +20,77 @@ import io.openems.common.worker.AbstractImmediateWorker;
 
 public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWorker {
 
+	/**
+	 * Maximum number of concurrent writes per {@link Type} and {@link Priority}.
+	 * While one COPY is running, the next batch is already being merged.
+	 */
+	public static final int MAX_WRITES_IN_FLIGHT = 2;
+
 	private final HikariDataSource dataSource;
-	private final ExecutorService executor;
+	private final ScheduledExecutorService executor;
 	private final Type type;
 	private final Priority priority;
-	// TODO queue: delete old entries if full; like an EvictingQueue;
-	// https://github.com/google/guava/issues/3882
+	private final SpillQueue spillQueue;
 	private final BlockingQueue<POINT> queue = new ArrayBlockingQueue<>(TimescaledbWriteHandler.POINTS_QUEUE_SIZE);
+	private final AdaptiveBatch batch = new AdaptiveBatch();
+	private final Semaphore writesInFlight = new Semaphore(MAX_WRITES_IN_FLIGHT);
+
+	/** Points that did not fit into the queue; spilled once a batch is full. */
+	private final List<Point> overflow = new ArrayList<>();
+
+	private final LongAdder written = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+	private final LongAdder spilled = new LongAdder();
+	private final LongAdder replayed = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final AtomicLong lag = new AtomicLong();
 	private long countPoints = 0;
+	private volatile boolean lastWriteFailed = false;
 
-	public MergePointsWorker(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
+	public MergePointsWorker(HikariDataSource dataSource, ScheduledExecutorService executor, Type type,
+			Priority priority, SpillQueue spillQueue) {
 		this.dataSource = dataSource;
 		this.executor = executor;
 		this.type = type;
 		this.priority = priority;
+		this.spillQueue = spillQueue;
 	}
 
 	public BlockingQueue<POINT> getQueue() {
 		return this.queue;
 	}
 
+	/**
+	 * Adds a Point to the Queue.
+	 *
+	 * <p>
+	 * If the Queue is full, the Point is collected for the {@link SpillQueue}
+	 * instead of being dropped.
+	 *
+	 * @param point the Point
+	 * @return true if the Point was queued or spilled, false if it was dropped
+	 */
+	public boolean offer(POINT point) {
+		if (this.queue.offer(point)) {
+			return true;
+		}
+		if (this.spillQueue == null) {
+			this.dropped.increment();
+			return false;
+		}
+		final List<Point> points;
+		synchronized (this.overflow) {
+			this.overflow.add(point);
+			if (this.overflow.size() < this.batch.getBatchSize()) {
+				return true;
+			}
+			points = new ArrayList<>(this.overflow);
+			this.overflow.clear();
+		}
+		this.spill(points);
+		return true;
+	}
+
 	@Override
 	protected void forever() throws InterruptedException {
 		/**
@@ -43,8 +98,30 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 		 * TimescaleDB. This approach improves speed as not every single Point gets sent
 		 * via HTTP individually.
 		 */
-		// Poll and merge Points. Wait max 10 seconds in total.
-		var points = pollAndMergePoints(this.queue);
+		// Spill the remainder of the overflow, so that it is not kept in memory
+		List<Point> remainder = null;
+		synchronized (this.overflow) {
+			if (!this.overflow.isEmpty()) {
+				remainder = new ArrayList<>(this.overflow);
+				this.overflow.clear();
+			}
+		}
+		if (remainder != null) {
+			this.spill(remainder);
+		}
+
+		// Replay spilled Points while the database is healthy and the queue is low
+		if (this.spillQueue != null && !this.lastWriteFailed
+				&& this.queue.size() < this.batch.getBatchSize() / 2) {
+			var points = this.spillQueue.poll(this.type, this.priority);
+			if (points != null) {
+				this.replayed.add(points.size());
+				this.write(points);
+			}
+		}
+
+		// Poll and merge Points. Batch size and wait time adapt to the write latency.
+		var points = pollAndMergePoints(this.queue, this.batch.getBatchSize(), this.batch.getMaxWait());
 
 		if (points.isEmpty()) {
 			return;
@@ -53,37 +130,139 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 		this.countPoints += points.size();
 
 		// Write points async.
-		this.executor.execute(new WritePointsHandler(this.dataSource, this.type, this.priority, points));
+		this.write(points);
+	}
+
+	private void write(List<Point> points) throws InterruptedException {
+		// Blocks if too many writes are running; the queue then fills up and
+		// signals back-pressure
+		this.writesInFlight.acquire();
+		try {
+			this.executor.execute(new WritePointsHandler(this.dataSource, this.executor, this.type, this.priority,
+					points, new WritePointsHandler.Callback() {
+
+						@Override
+						public void onSuccess(List<Point> points, long duration, int retries) {
+							MergePointsWorker.this.onWriteSuccess(points, duration, retries);
+						}
+
+						@Override
+						public void onFailure(List<Point> points, int retries) {
+							MergePointsWorker.this.onWriteFailure(points, retries);
+						}
+					}));
+		} catch (RejectedExecutionException e) {
+			// Executor is shutting down
+			this.writesInFlight.release();
+			this.spill(points);
+		}
+	}
+
+	private void onWriteSuccess(List<Point> points, long duration, int retries) {
+		this.writesInFlight.release();
+		this.lastWriteFailed = false;
+		this.batch.onWrite(points.size(), duration);
+		this.written.add(points.size());
+		this.retries.add(retries);
+		var oldest = Long.MAX_VALUE;
+		for (var point : points) {
+			oldest = Math.min(oldest, point.timestamp.toInstant().toEpochMilli());
+		}
+		this.lag.set(Math.max(0, System.currentTimeMillis() - oldest));
+	}
+
+	private void onWriteFailure(List<Point> points, int retries) {
+		this.writesInFlight.release();
+		this.lastWriteFailed = true;
+		this.retries.add(retries);
+		this.spill(points);
+	}
+
+	private void spill(List<Point> points) {
+		if (this.spillQueue != null && this.spillQueue.spill(this.type, this.priority, points)) {
+			this.spilled.add(points.size());
+		} else {
+			this.dropped.add(points.size());
+		}
 	}
 
 	/**
-	 * Poll and merge Points. Wait max 10 seconds in total.
-	 * 
-	 * @param <POINT> the type of the Point
-	 * @param queue   the Queue of Points
+	 * Poll and merge Points.
+	 *
+	 * @param <POINT>   the type of the Point
+	 * @param queue     the Queue of Points
+	 * @param batchSize the maximum number of Points
+	 * @param maxWait   the maximum time to wait in [ms]
 	 * @return a list of Points
 	 * @throws InterruptedException on error
 	 */
-	private static <POINT extends Point> List<Point> pollAndMergePoints(BlockingQueue<POINT> queue)
-			throws InterruptedException {
-		final Instant maxWait = Instant.now().plusSeconds(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT);
-		List<Point> points = new ArrayList<>(TimescaledbWriteHandler.MAX_POINTS_PER_WRITE);
-		for (int i = 0; i < TimescaledbWriteHandler.MAX_POINTS_PER_WRITE; i++) {
-			var point = queue.poll(TimescaledbWriteHandler.MAX_AGGREGATE_WAIT, TimeUnit.SECONDS);
-			if (point == null) {
+	private static <POINT extends Point> List<Point> pollAndMergePoints(BlockingQueue<POINT> queue, int batchSize,
+			long maxWait) throws InterruptedException {
+		final var deadline = System.currentTimeMillis() + maxWait;
+		List<Point> points = new ArrayList<>(batchSize);
+		while (points.size() < batchSize) {
+			// Take everything that is already available
+			queue.drainTo(points, batchSize - points.size());
+			if (points.size() >= batchSize) {
 				break;
 			}
-			points.add(point);
-			if (Instant.now().isAfter(maxWait)) {
+			var remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) {
 				break;
 			}
+			var point = queue.poll(remaining, TimeUnit.MILLISECONDS);
+			if (point == null) {
+				break;
+			}
+			points.add(point);
 		}
 		return points;
 	}
 
+	/**
+	 * Is this worker in a back-pressure state, i.e. the queue is nearly full or
+	 * writes are failing.
+	 *
+	 * @return true for back-pressure
+	 */
+	public boolean isBackpressure() {
+		return this.lastWriteFailed //
+				|| this.queue.remainingCapacity() < TimescaledbWriteHandler.POINTS_QUEUE_SIZE / 5;
+	}
+
+	/**
+	 * Adds the metrics since the last call to the given map.
+	 *
+	 * <ul>
+	 * <li>Written: number of Points written to the database
+	 * <li>Spilled: number of Points written to the {@link SpillQueue}
+	 * <li>Replayed: number of Points read from the {@link SpillQueue}
+	 * <li>Dropped: number of lost Points
+	 * <li>Retries: number of retried writes
+	 * <li>Queue: number of Points in the queue
+	 * <li>BatchSize: the current adaptive batch size
+	 * <li>Latency: the average write latency in [ms]
+	 * <li>Lag: age of the oldest Point of the last write in [ms]
+	 * </ul>
+	 *
+	 * @param prefix  the prefix for the metric keys
+	 * @param metrics the metrics map
+	 */
+	public void debugMetrics(String prefix, Map<String, Number> metrics) {
+		metrics.put(prefix + "Written", this.written.sumThenReset());
+		metrics.put(prefix + "Spilled", this.spilled.sumThenReset());
+		metrics.put(prefix + "Replayed", this.replayed.sumThenReset());
+		metrics.put(prefix + "Dropped", this.dropped.sumThenReset());
+		metrics.put(prefix + "Retries", this.retries.sumThenReset());
+		metrics.put(prefix + "Queue", this.queue.size());
+		metrics.put(prefix + "BatchSize", this.batch.getBatchSize());
+		metrics.put(prefix + "Latency", this.batch.getAverageLatency());
+		metrics.put(prefix + "Lag", this.lag.get());
+	}
+
 	/**
 	 * Returns a DebugLog String.
-	 * 
+	 *
 	 * @return debug log
 	 */
 	public String debugLog() {
@@ -93,6 +272,11 @@ public class MergePointsWorker<POINT extends Point> extends AbstractImmediateWor
 				.append(TimescaledbWriteHandler.POINTS_QUEUE_SIZE) //
 				.append("|Total:") //
 				.append(this.countPoints) //
+				.append("|Batch:") //
+				.append(this.batch.getBatchSize()) //
+				.append("|Lag:") //
+				.append(this.lag.get()) //
+				.append("ms") //
 				.toString();
 	}
 }
@@ -3,7 +3,7 @@ package io.openems.backend.timedata.timescaledb.internal.write;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 
 import com.google.gson.JsonElement;
 import com.zaxxer.hikari.HikariDataSource;
@@ -34,7 +34,7 @@ public abstract class QueueHandler<T extends Point> {
 	 * @param channel   the channel
 	 * @param timestamp the timestamp
 	 * @param json      the value
-	 * @return true if the element was added to this queue, else false
+	 * @return true if the element was added to this queue or spilled, else false
 	 * @throws OpenemsNamedException on error
 	 */
 	public boolean offer(ChannelRecord channel, long timestamp, JsonElement json) throws OpenemsNamedException {
@@ -43,7 +43,7 @@ public abstract class QueueHandler<T extends Point> {
 		if (value == null) {
 			return false;
 		}
-		return this.mergePointsWorker.getQueue().offer(value);
+		return this.mergePointsWorker.offer(value);
 	}
 
 	public MergePointsWorker<T> getMergePointsWorker() {
@@ -79,26 +79,29 @@ public abstract class QueueHandler<T extends Point> {
 	 * @param type       the type of the handler
 	 * @param priority   the priority of the handler
 	 * @param dataSource the dataSource to get database connections
-	 * @param executor   the executor to execute writes
+	 * @param executor   the executor to execute and retry writes
+	 * @param spillQueue the {@link SpillQueue} for failed writes; null to drop
+	 *                   them
 	 * @return the handler
 	 */
 	public static QueueHandler<?> of(Type type, Priority priority, HikariDataSource dataSource,
-			ExecutorService executor) {
+			ScheduledExecutorService executor, SpillQueue spillQueue) {
 		switch (type) {
 		case INTEGER:
-			return new IntQueueHandler(dataSource, executor, type, priority);
+			return new IntQueueHandler(dataSource, executor, type, priority, spillQueue);
 		case FLOAT:
-			return new FloatQueueHandler(dataSource, executor, type, priority);
+			return new FloatQueueHandler(dataSource, executor, type, priority, spillQueue);
 		case STRING:
-			return new StringQueueHandler(dataSource, executor, type, priority);
+			return new StringQueueHandler(dataSource, executor, type, priority, spillQueue);
 		}
 		return null;
 	}
 
 	public static class IntQueueHandler extends QueueHandler<IntPoint> {
 
-		public IntQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<IntPoint>(dataSource, executor, type, priority), IntPoint.class);
+		public IntQueueHandler(HikariDataSource dataSource, ScheduledExecutorService executor, Type type,
+				Priority priority, SpillQueue spillQueue) {
+			super(new MergePointsWorker<IntPoint>(dataSource, executor, type, priority, spillQueue), IntPoint.class);
 		}
 
 		@Override
@@ -115,8 +118,10 @@ public abstract class QueueHandler<T extends Point> {
 
 	public static class FloatQueueHandler extends QueueHandler<FloatPoint> {
 
-		public FloatQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<FloatPoint>(dataSource, executor, type, priority), FloatPoint.class);
+		public FloatQueueHandler(HikariDataSource dataSource, ScheduledExecutorService executor, Type type,
+				Priority priority, SpillQueue spillQueue) {
+			super(new MergePointsWorker<FloatPoint>(dataSource, executor, type, priority, spillQueue),
+					FloatPoint.class);
 		}
 
 		@Override
@@ -133,8 +138,10 @@ public abstract class QueueHandler<T extends Point> {
 
 	public static class StringQueueHandler extends QueueHandler<StringPoint> {
 
-		public StringQueueHandler(HikariDataSource dataSource, ExecutorService executor, Type type, Priority priority) {
-			super(new MergePointsWorker<StringPoint>(dataSource, executor, type, priority), StringPoint.class);
+		public StringQueueHandler(HikariDataSource dataSource, ScheduledExecutorService executor, Type type,
+				Priority priority, SpillQueue spillQueue) {
+			super(new MergePointsWorker<StringPoint>(dataSource, executor, type, priority, spillQueue),
+					StringPoint.class);
 		}
 
 		@Override
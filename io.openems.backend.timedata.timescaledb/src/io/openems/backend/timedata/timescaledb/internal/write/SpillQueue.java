@@ -0,0 +1,228 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+
+/**
+ * A local on-disk queue for batches of Points that could not be written to
+ * TimescaleDB.
+ *
+ * <p>
+ * Every batch is stored in one file per {@link Type} and {@link Priority}. The
+ * total size is limited; if the limit is reached, further batches are
+ * rejected. Files of a previous run are picked up on start.
+ */
+public class SpillQueue {
+
+	private static final String SUFFIX = ".spill";
+	private static final int VERSION = 1;
+
+	private final Logger log = LoggerFactory.getLogger(SpillQueue.class);
+
+	private final Path directory;
+	private final long maxBytes;
+	private final Map<String, Deque<Path>> files = new HashMap<>();
+
+	private long bytes = 0;
+	private int count = 0;
+	private long sequence = 0;
+
+	/**
+	 * Creates a {@link SpillQueue}.
+	 *
+	 * @param directory the directory for spill files
+	 * @param maxBytes  the maximum total size of all spill files
+	 * @throws IOException if the directory is not usable
+	 */
+	public SpillQueue(Path directory, long maxBytes) throws IOException {
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		Files.createDirectories(directory);
+
+		// Pick up files of a previous run
+		try (var stream = Files.list(directory)) {
+			stream.filter(p -> p.getFileName().toString().endsWith(SUFFIX)) //
+					.sorted() //
+					.forEach(p -> {
+						var parts = p.getFileName().toString().replace(SUFFIX, "").split("-");
+						if (parts.length != 3) {
+							return;
+						}
+						try {
+							this.sequence = Math.max(this.sequence, Long.parseLong(parts[0]) + 1);
+							this.bytes += Files.size(p);
+							this.count++;
+							this.files.computeIfAbsent(parts[1] + "-" + parts[2], k -> new ArrayDeque<>()).add(p);
+						} catch (NumberFormatException | IOException e) {
+							this.log.warn("Ignoring spill file [" + p + "]: " + e.getMessage());
+						}
+					});
+		}
+	}
+
+	/**
+	 * Stores a batch of Points.
+	 *
+	 * @param type     the {@link Type}
+	 * @param priority the {@link Priority}
+	 * @param points   the Points
+	 * @return true if the batch was stored; false if the size limit is reached or
+	 *         on error
+	 */
+	public boolean spill(Type type, Priority priority, List<? extends Point> points) {
+		final long sequence;
+		synchronized (this) {
+			if (this.bytes >= this.maxBytes) {
+				return false;
+			}
+			sequence = this.sequence++;
+		}
+		final var key = type.name() + "-" + priority.name();
+		final var file = this.directory.resolve(String.format("%020d-%s%s", sequence, key, SUFFIX));
+		final var tmp = this.directory.resolve(file.getFileName() + ".tmp");
+		try {
+			try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(points.size());
+				for (var point : points) {
+					out.writeLong(point.timestamp.toInstant().toEpochMilli());
+					out.writeInt(point.channelId);
+					if (point instanceof IntPoint p) {
+						out.writeLong(p.value);
+					} else if (point instanceof FloatPoint p) {
+						out.writeDouble(p.value);
+					} else if (point instanceof StringPoint p) {
+						var value = p.value.getBytes(StandardCharsets.UTF_8);
+						out.writeInt(value.length);
+						out.write(value);
+					}
+				}
+			}
+			Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+			final var size = Files.size(file);
+			synchronized (this) {
+				this.bytes += size;
+				this.count++;
+				this.files.computeIfAbsent(key, k -> new ArrayDeque<>()).add(file);
+			}
+			return true;
+
+		} catch (IOException e) {
+			this.log.error("Unable to spill [" + points.size() + "] Points to [" + file + "]: " + e.getMessage());
+			try {
+				Files.deleteIfExists(tmp);
+			} catch (IOException e1) {
+				// ignore
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Removes and returns the oldest batch of Points for the given {@link Type}
+	 * and {@link Priority}.
+	 *
+	 * @param type     the {@link Type}
+	 * @param priority the {@link Priority}
+	 * @return the Points; null if there are none
+	 */
+	public List<Point> poll(Type type, Priority priority) {
+		final Path file;
+		synchronized (this) {
+			var queue = this.files.get(type.name() + "-" + priority.name());
+			if (queue == null || queue.isEmpty()) {
+				return null;
+			}
+			file = queue.poll();
+		}
+		try {
+			final var size = Files.size(file);
+			final List<Point> points;
+			try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+				if (in.readInt() != VERSION) {
+					throw new IOException("Unsupported version");
+				}
+				var length = in.readInt();
+				points = new ArrayList<>(length);
+				for (var i = 0; i < length; i++) {
+					var time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+					var channelId = in.readInt();
+					points.add(switch (type) {
+					case INTEGER -> new IntPoint(channelId, time, in.readLong());
+					case FLOAT -> new FloatPoint(channelId, time, in.readDouble());
+					case STRING -> {
+						var value = new byte[in.readInt()];
+						in.readFully(value);
+						yield new StringPoint(channelId, time, new String(value, StandardCharsets.UTF_8));
+					}
+					});
+				}
+			}
+			Files.delete(file);
+			synchronized (this) {
+				this.bytes -= size;
+				this.count--;
+			}
+			return points;
+
+		} catch (IOException e) {
+			this.log.error("Unable to read spilled Points from [" + file + "]: " + e.getMessage());
+			// Keep the file for manual inspection, but do not read it again
+			try {
+				var size = Files.size(file);
+				Files.move(file, this.directory.resolve(file.getFileName() + ".failed"));
+				synchronized (this) {
+					this.bytes -= size;
+					this.count--;
+				}
+			} catch (IOException e1) {
+				this.log.error("Unable to move spill file [" + file + "]: " + e1.getMessage());
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the total size of all spill files.
+	 *
+	 * @return the size in bytes
+	 */
+	public synchronized long getBytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * Gets the number of spilled batches.
+	 *
+	 * @return the number of files
+	 */
+	public synchronized int getCount() {
+		return this.count;
+	}
+
+}
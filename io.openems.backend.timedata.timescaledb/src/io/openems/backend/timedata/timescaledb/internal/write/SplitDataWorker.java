@@ -167,6 +167,15 @@ public class SplitDataWorker extends AbstractImmediateWorker {
 		}
 	}
 
+	/**
+	 * Is the source queue nearly full.
+	 * 
+	 * @return true for back-pressure
+	 */
+	public boolean isBackpressure() {
+		return this.sourceQueue.remainingCapacity() < TimescaledbWriteHandler.POINTS_QUEUE_SIZE / 5;
+	}
+
 	/**
 	 * Returns a DebugLog String.
 	 * 
@@ -1,12 +1,15 @@
 package io.openems.backend.timedata.timescaledb.internal.write;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -45,14 +48,20 @@ public class TimescaledbWriteHandler {
 	private final HikariDataSource dataSource;
 
 	/**
-	 * A {@link Executor} used solely for writes.
+	 * A {@link Executor} used solely for writes and their retries.
 	 */
-	private final ThreadPoolExecutor executor;
+	private final ScheduledThreadPoolExecutor executor;
 
 	private final boolean isReadOnly;
 
 	private final HashSet<String> enableWriteEdgeIds = new HashSet<>();
 
+	/**
+	 * A local {@link SpillQueue} for Points that could not be written; null if
+	 * disabled.
+	 */
+	private final SpillQueue spillQueue;
+
 	// #1 step: split data to points
 	private final SplitDataWorker splitPointsWorker;
 
@@ -66,16 +75,18 @@ public class TimescaledbWriteHandler {
 				config.host(), config.port(), config.database(), //
 				config.user(), config.password(), config.poolSize());
 
-		this.executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(config.poolSize(),
+		this.executor = (ScheduledThreadPoolExecutor) Executors.newScheduledThreadPool(config.poolSize(),
 				new ThreadFactoryBuilder().setNameFormat("TimescaleDB-%d").build());
 
+		this.spillQueue = createSpillQueue(config);
+
 		// Prepare typed merge points workers
 		this.queueHandler = new SimpleDoubleKeyMap<>(new EnumMap<>(Type.class), //
 				t -> new EnumMap<>(Priority.class));
 		for (var type : Type.values()) {
 			for (var priority : Priority.values()) {
 				this.queueHandler.put(type, priority, //
-						QueueHandler.of(type, priority, this.dataSource, this.executor));
+						QueueHandler.of(type, priority, this.dataSource, this.executor, this.spillQueue));
 			}
 		}
 
@@ -92,6 +103,22 @@ public class TimescaledbWriteHandler {
 		this.splitPointsWorker.activate("TimescaleDB-SplitPoints");
 	}
 
+	private SpillQueue createSpillQueue(Config config) {
+		if (config.spillDirectory() == null || config.spillDirectory().isBlank()) {
+			return null;
+		}
+		try {
+			var result = new SpillQueue(Paths.get(config.spillDirectory()), config.spillMaxSize() * 1024L * 1024L);
+			if (result.getCount() > 0) {
+				this.log.info("Found [" + result.getCount() + "] spilled batches in [" + config.spillDirectory() + "]");
+			}
+			return result;
+		} catch (IOException e) {
+			this.log.error("Unable to use spill directory [" + config.spillDirectory() + "]: " + e.getMessage());
+			return null;
+		}
+	}
+
 	private final Stream<QueueHandler<?>> streamHandler() {
 		return this.queueHandler.values().stream() //
 				.flatMap(t -> t.values().stream()); //
@@ -142,6 +169,10 @@ public class TimescaledbWriteHandler {
 		var sb = new StringBuilder() //
 				.append(ThreadPoolUtils.debugLog(this.executor)) //
 				.append(" SPLIT:").append(this.splitPointsWorker.debugLog());
+		if (this.spillQueue != null) {
+			sb.append(" SPILL:").append(this.spillQueue.getCount()).append("|").append(this.spillQueue.getBytes())
+					.append("B");
+		}
 		this.streamHandler().forEach((t) -> {
 			sb.append(" ").append(t.debugLog());
 		});
@@ -151,10 +182,39 @@ public class TimescaledbWriteHandler {
 	/**
 	 * Returns a DebugMetrics map.
 	 * 
+	 * <p>
+	 * Besides the thread pool metrics, contains the throughput and lag metrics per
+	 * {@link Type} and {@link Priority} (see
+	 * {@link MergePointsWorker#debugMetrics(String, Map)}).
+	 * 
 	 * @return metrics
 	 */
 	public Map<String, Number> debugMetrics() {
-		return ThreadPoolUtils.debugMetrics(this.executor);
+		var result = new HashMap<String, Number>(ThreadPoolUtils.debugMetrics(this.executor));
+		for (var type : Type.values()) {
+			for (var priority : Priority.values()) {
+				this.queueHandler.get(type, priority).getMergePointsWorker() //
+						.debugMetrics(type.name() + "/" + priority.name() + "/", result);
+			}
+		}
+		if (this.spillQueue != null) {
+			result.put("SpillBytes", this.spillQueue.getBytes());
+			result.put("SpillFiles", this.spillQueue.getCount());
+		}
+		result.put("Backpressure", this.isBackpressure() ? 1 : 0);
+		return result;
+	}
+
+	/**
+	 * Is the writer in a back-pressure state, i.e. queues are nearly full, writes
+	 * are failing or spilled data is waiting to be replayed.
+	 * 
+	 * @return true for back-pressure
+	 */
+	public boolean isBackpressure() {
+		return this.splitPointsWorker.isBackpressure() //
+				|| (this.spillQueue != null && this.spillQueue.getCount() > 0) //
+				|| this.streamHandler().anyMatch(h -> h.getMergePointsWorker().isBackpressure());
 	}
 
 	private boolean enableWriteToTimescaledb(String edgeId) {
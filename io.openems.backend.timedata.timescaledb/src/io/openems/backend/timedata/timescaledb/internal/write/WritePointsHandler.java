@@ -2,6 +2,9 @@ package io.openems.backend.timedata.timescaledb.internal.write;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,19 +17,57 @@ import de.bytefish.pgbulkinsert.util.PostgreSqlUtils;
 import io.openems.backend.timedata.timescaledb.internal.Priority;
 import io.openems.backend.timedata.timescaledb.internal.Type;
 
+/**
+ * Writes a batch of Points. Failed writes are retried by rescheduling this
+ * handler on the executor, so that no thread is blocked between the attempts.
+ */
 public class WritePointsHandler implements Runnable {
 
+	public static final int MAX_ATTEMPTS = 3;
+	public static final long RETRY_DELAY = 1_000; // [ms]; doubled on every retry
+
+	/**
+	 * Callback for the result of a {@link WritePointsHandler}.
+	 */
+	public static interface Callback {
+
+		/**
+		 * Called after the Points were written.
+		 *
+		 * @param points   the written Points
+		 * @param duration the duration of the successful write in [ms]
+		 * @param retries  the number of retries that were required
+		 */
+		public void onSuccess(List<Point> points, long duration, int retries);
+
+		/**
+		 * Called if the Points could not be written after {@link #MAX_ATTEMPTS}.
+		 *
+		 * @param points  the Points
+		 * @param retries the number of retries
+		 */
+		public void onFailure(List<Point> points, int retries);
+
+	}
+
 	private final Logger log = LoggerFactory.getLogger(WritePointsHandler.class);
 
 	private final HikariDataSource dataSource;
+	private final ScheduledExecutorService executor;
 	private final Type type;
 	private final List<Point> points;
 	private final Table table;
+	private final Callback callback;
 
-	public WritePointsHandler(HikariDataSource dataSource, Type type, Priority priority, List<Point> points) {
+	private int attempt = 0;
+
+	public WritePointsHandler(HikariDataSource dataSource, ScheduledExecutorService executor, Type type,
+			Priority priority, List<Point> points, Callback callback) {
 		this.dataSource = dataSource;
+		this.executor = executor;
 		this.type = type;
 		this.points = points;
+		this.callback = callback;
 
 		this.table = new SimpleRowWriter.Table(null, type.getRawTableName(priority), new String[] { //
 				"time", //
@@ -37,6 +78,26 @@ public class WritePointsHandler implements Runnable {
 
 	@Override
 	public void run() {
+		var start = System.currentTimeMillis();
+		if (this.write()) {
+			this.callback.onSuccess(this.points, System.currentTimeMillis() - start, this.attempt);
+			return;
+		}
+		if (this.attempt + 1 >= MAX_ATTEMPTS) {
+			this.callback.onFailure(this.points, this.attempt);
+			return;
+		}
+		var delay = RETRY_DELAY << this.attempt;
+		this.attempt++;
+		try {
+			this.executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// Executor is shutting down
+			this.callback.onFailure(this.points, this.attempt);
+		}
+	}
+
+	private boolean write() {
 		try (//
 				var con = this.dataSource.getConnection();
 				SimpleRowWriter writer = new SimpleRowWriter(this.table, PostgreSqlUtils.getPGConnection(con)) //
@@ -44,6 +105,7 @@ public class WritePointsHandler implements Runnable {
 			for (var point : this.points) {
 				writer.startRow(this.type.fillRow(point));
 			}
+			return true;
 
 		} catch (SQLException e) {
 			// 'Expected errors', e.g. PostgreSQL server stopped
@@ -56,6 +118,7 @@ public class WritePointsHandler implements Runnable {
 			e.printStackTrace();
 
 		}
+		return false;
 	}
 
 }
@@ -14,6 +14,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private String database;
 		private boolean isReadOnly;
 		private int poolSize;
+		private String spillDirectory;
+		private int spillMaxSize;
 
 		private Builder() {
 		}
@@ -58,6 +60,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setSpillDirectory(String spillDirectory) {
+			this.spillDirectory = spillDirectory;
+			return this;
+		}
+
+		public Builder setSpillMaxSize(int spillMaxSize) {
+			this.spillMaxSize = spillMaxSize;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -114,4 +126,14 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.poolSize;
 	}
 
+	@Override
+	public String spillDirectory() {
+		return this.builder.spillDirectory;
+	}
+
+	@Override
+	public int spillMaxSize() {
+		return this.builder.spillMaxSize;
+	}
+
 }
@@ -0,0 +1,29 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AdaptiveBatchTest {
+
+	@Test
+	public void test() {
+		var sut = new AdaptiveBatch();
+		var initial = sut.getBatchSize();
+
+		// Fast, full batch -> grow
+		sut.onWrite(initial, 100);
+		assertTrue(sut.getBatchSize() > initial);
+
+		// Slow write -> shrink
+		var grown = sut.getBatchSize();
+		sut.onWrite(grown, AdaptiveBatch.TARGET_LATENCY * 2);
+		assertTrue(sut.getBatchSize() < grown);
+
+		// Wait time is bounded
+		assertFalse(sut.getMaxWait() < AdaptiveBatch.MIN_WAIT);
+		assertFalse(sut.getMaxWait() > TimescaledbWriteHandler.MAX_AGGREGATE_WAIT * 1000);
+	}
+
+}
@@ -0,0 +1,82 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.FloatPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.IntPoint;
+import io.openems.backend.timedata.timescaledb.internal.write.Point.StringPoint;
+
+public class SpillQueueTest {
+
+	private static final ZonedDateTime TIME = ZonedDateTime.of(2023, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		var sut = new SpillQueue(this.folder.getRoot().toPath(), 1024 * 1024);
+		assertNull(sut.poll(Type.INTEGER, Priority.LOW));
+
+		assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(//
+				new IntPoint(1, TIME, 100), //
+				new IntPoint(2, TIME.plusSeconds(1), -5))));
+		assertTrue(sut.spill(Type.FLOAT, Priority.HIGH, List.of(//
+				new FloatPoint(3, TIME, 1.5))));
+		assertTrue(sut.spill(Type.STRING, Priority.LOW, List.of(//
+				new StringPoint(4, TIME, "\u00e4\u00f6\u00fc"))));
+		assertEquals(3, sut.getCount());
+		assertTrue(sut.getBytes() > 0);
+
+		// Other Priority is separated
+		assertNull(sut.poll(Type.INTEGER, Priority.HIGH));
+
+		var ints = sut.poll(Type.INTEGER, Priority.LOW);
+		assertEquals(2, ints.size());
+		var p0 = (IntPoint) ints.get(0);
+		assertEquals(1, p0.channelId);
+		assertEquals(TIME.toInstant(), p0.timestamp.toInstant());
+		assertEquals(100, p0.value);
+		assertEquals(-5, ((IntPoint) ints.get(1)).value);
+
+		assertEquals(1.5, ((FloatPoint) sut.poll(Type.FLOAT, Priority.HIGH).get(0)).value, 0.001);
+		assertEquals("\u00e4\u00f6\u00fc", ((StringPoint) sut.poll(Type.STRING, Priority.LOW).get(0)).value);
+
+		assertEquals(0, sut.getCount());
+		assertEquals(0, sut.getBytes());
+	}
+
+	@Test
+	public void testPickUpAndLimit() throws IOException {
+		var directory = this.folder.getRoot().toPath();
+		{
+			var sut = new SpillQueue(directory, 1);
+			assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIME, 1))));
+			assertFalse(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIME, 2))));
+		}
+		{
+			// Files of a previous run are picked up in order
+			var sut = new SpillQueue(directory, 1024 * 1024);
+			assertEquals(1, sut.getCount());
+			assertTrue(sut.spill(Type.INTEGER, Priority.LOW, List.of(new IntPoint(1, TIME, 3))));
+			assertEquals(1, ((IntPoint) sut.poll(Type.INTEGER, Priority.LOW).get(0)).value);
+			assertEquals(3, ((IntPoint) sut.poll(Type.INTEGER, Priority.LOW).get(0)).value);
+			assertNull(sut.poll(Type.INTEGER, Priority.LOW));
+		}
+	}
+
+}
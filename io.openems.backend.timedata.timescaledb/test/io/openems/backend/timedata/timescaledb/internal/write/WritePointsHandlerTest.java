@@ -0,0 +1,65 @@
+package io.openems.backend.timedata.timescaledb.internal.write;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.openems.backend.timedata.timescaledb.internal.Priority;
+import io.openems.backend.timedata.timescaledb.internal.Type;
+
+public class WritePointsHandlerTest {
+
+	private static class FailingDataSource extends HikariDataSource {
+
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			this.attempts.incrementAndGet();
+			throw new SQLException("Database is not available");
+		}
+	}
+
+	@Test
+	public void testRetryDoesNotBlockExecutor() throws Exception {
+		final var dataSource = new FailingDataSource();
+		final var executor = Executors.newSingleThreadScheduledExecutor();
+		final var failure = new CompletableFuture<Integer>();
+		try {
+			executor.execute(new WritePointsHandler(dataSource, executor, Type.INTEGER, Priority.LOW, List.of(),
+					new WritePointsHandler.Callback() {
+
+						@Override
+						public void onSuccess(List<Point> points, long duration, int retries) {
+							failure.completeExceptionally(new AssertionError("Unexpected success"));
+						}
+
+						@Override
+						public void onFailure(List<Point> points, int retries) {
+							failure.complete(retries);
+						}
+					}));
+
+			// The only thread of the executor is free while the retry is pending
+			var other = executor.submit(() -> dataSource.attempts.get());
+			assertEquals(1, other.get(WritePointsHandler.RETRY_DELAY / 2, TimeUnit.MILLISECONDS).intValue());
+
+			var retries = failure.get(WritePointsHandler.RETRY_DELAY * 4, TimeUnit.MILLISECONDS);
+			assertEquals(WritePointsHandler.MAX_ATTEMPTS - 1, retries.intValue());
+			assertEquals(WritePointsHandler.MAX_ATTEMPTS, dataSource.attempts.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
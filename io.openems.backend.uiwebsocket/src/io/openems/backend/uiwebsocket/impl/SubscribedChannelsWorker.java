@@ -0,0 +1,147 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.common.utils.ThreadPoolUtils;
+
+/**
+ * Forwards the subscribed Channels of an Edge to the UI sessions.
+ *
+ * <p>
+ * Keeps an index of Edge-ID to the {@link WsData} sessions that subscribed
+ * Channels of the Edge, so an incoming data notification only touches the
+ * interested sessions instead of all open connections.
+ *
+ * <p>
+ * Sending is decoupled from the Edge websocket threads: per Edge at most one
+ * fan-out is queued at a time; notifications that arrive while a fan-out is
+ * still queued are coalesced into it, as it reads the latest values from the
+ * {@link EdgeCache} anyway.
+ */
+public class SubscribedChannelsWorker {
+
+	private final Map<String, Set<WsData>> subscriptions = new ConcurrentHashMap<>();
+	private final Map<String, Long> pending = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
+
+	private final LongAdder fanOuts = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder sessions = new LongAdder();
+	private final AtomicLong latencySum = new AtomicLong();
+	private final LongAccumulator latencyMax = new LongAccumulator(Math::max, 0);
+
+	public SubscribedChannelsWorker(String name, int poolSize) {
+		this.executor = Executors.newFixedThreadPool(poolSize,
+				new ThreadFactoryBuilder().setNameFormat(name + ":FanOut-%d").build());
+	}
+
+	/**
+	 * Stops the {@link SubscribedChannelsWorker}.
+	 */
+	public void deactivate() {
+		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		this.subscriptions.clear();
+		this.pending.clear();
+	}
+
+	/**
+	 * Adds or removes a UI session to or from the index of an Edge.
+	 *
+	 * @param edgeId     the Edge-ID
+	 * @param wsData     the {@link WsData} of the UI session
+	 * @param subscribed true if the session subscribed Channels of the Edge
+	 */
+	public void updateSubscription(String edgeId, WsData wsData, boolean subscribed) {
+		if (subscribed) {
+			this.subscriptions.computeIfAbsent(edgeId, e -> ConcurrentHashMap.newKeySet()).add(wsData);
+		} else {
+			this.subscriptions.computeIfPresent(edgeId, (e, wsDatas) -> {
+				wsDatas.remove(wsData);
+				return wsDatas.isEmpty() ? null : wsDatas;
+			});
+		}
+	}
+
+	/**
+	 * Triggers sending the subscribed Channels of an Edge to all subscribed UI
+	 * sessions.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache} of the Edge
+	 */
+	public void sendSubscribedChannels(String edgeId, EdgeCache edgeCache) {
+		if (!this.subscriptions.containsKey(edgeId)) {
+			return;
+		}
+		if (this.pending.putIfAbsent(edgeId, System.nanoTime()) != null) {
+			// A fan-out for this Edge is already queued
+			this.coalesced.increment();
+			return;
+		}
+		try {
+			this.executor.execute(() -> this.fanOut(edgeId, edgeCache));
+		} catch (RejectedExecutionException e) {
+			this.pending.remove(edgeId);
+		}
+	}
+
+	private void fanOut(String edgeId, EdgeCache edgeCache) {
+		final var queued = this.pending.remove(edgeId);
+		final var wsDatas = this.subscriptions.get(edgeId);
+		if (wsDatas != null) {
+			for (var wsData : wsDatas) {
+				wsData.sendSubscribedChannels(edgeId, edgeCache);
+				this.sessions.increment();
+			}
+		}
+		if (queued != null) {
+			final var latency = System.nanoTime() - queued;
+			this.latencySum.addAndGet(latency);
+			this.latencyMax.accumulate(latency);
+		}
+		this.fanOuts.increment();
+	}
+
+	/**
+	 * Adds the metrics since the last call to the given map.
+	 *
+	 * <ul>
+	 * <li>SubscribedEdges: number of Edges with at least one subscribed session
+	 * <li>FanOuts: number of executed fan-outs
+	 * <li>FanOutCoalesced: number of notifications merged into a queued fan-out
+	 * <li>FanOutSessions: number of sessions that were sent to
+	 * <li>FanOutLatencyAvg/-Max: time from queueing to completion of a fan-out in
+	 * milliseconds
+	 * </ul>
+	 *
+	 * @param prefix  the prefix for the metric keys
+	 * @param metrics the metrics map
+	 */
+	public void debugMetrics(String prefix, Map<String, JsonElement> metrics) {
+		final var fanOuts = this.fanOuts.sumThenReset();
+		final var latencySum = this.latencySum.getAndSet(0);
+		final var latencyMax = this.latencyMax.getThenReset();
+		metrics.put(prefix + "SubscribedEdges", new JsonPrimitive(this.subscriptions.size()));
+		metrics.put(prefix + "FanOuts", new JsonPrimitive(fanOuts));
+		metrics.put(prefix + "FanOutCoalesced", new JsonPrimitive(this.coalesced.sumThenReset()));
+		metrics.put(prefix + "FanOutSessions", new JsonPrimitive(this.sessions.sumThenReset()));
+		metrics.put(prefix + "FanOutLatencyAvg",
+				new JsonPrimitive(fanOuts == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencySum / fanOuts)));
+		metrics.put(prefix + "FanOutLatencyMax", new JsonPrimitive(TimeUnit.NANOSECONDS.toMillis(latencyMax)));
+	}
+
+}
@@ -53,6 +53,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 	private static final String COMPONENT_ID = "uiwebsocket0";
 
 	protected WebsocketServer server = null;
+	protected SubscribedChannelsWorker subscribedChannelsWorker = null;
 
 	@Reference
 	protected volatile JsonRpcRequestHandler jsonRpcRequestHandler;
@@ -75,6 +76,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 	@Activate
 	private void activate(Config config) {
 		this.config = config;
+		this.subscribedChannelsWorker = new SubscribedChannelsWorker(this.getName(), config.poolSize());
 
 		if (this.metadata.isInitialized()) {
 			this.startServer();
@@ -84,6 +86,9 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 	@Deactivate
 	private void deactivate() {
 		this.stopServer();
+		if (this.subscribedChannelsWorker != null) {
+			this.subscribedChannelsWorker.deactivate();
+		}
 	}
 
 	/**
@@ -226,13 +231,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		if (this.server == null) {
 			return;
 		}
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData != null) {
-				wsData.sendSubscribedChannels(edgeId, edgeCache);
-			}
-		}
+		this.subscribedChannelsWorker.sendSubscribedChannels(edgeId, edgeCache);
 	}
 
 	/**
@@ -274,6 +273,7 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		this.server.debugMetrics().forEach((key, value) -> {
 			metrics.put(this.getId() + "/" + key, new JsonPrimitive(value));
 		});
+		this.subscribedChannelsWorker.debugMetrics(this.getId() + "/", metrics);
 
 		return metrics;
 	}
@@ -47,6 +47,17 @@ public class WsData extends io.openems.common.websocket.WsData {
 			}
 		}
 
+		/**
+		 * Are there subscribed Channels for the Edge?.
+		 *
+		 * @param edgeId the Edge-ID
+		 * @return true if at least one Channel is subscribed
+		 */
+		public synchronized boolean hasChannels(String edgeId) {
+			var subscribedChannels = this.subscribedChannels.get(edgeId);
+			return subscribedChannels != null && !subscribedChannels.isEmpty();
+		}
+
 		/**
 		 * Gets the values for subscribed Channels.
 		 * 
@@ -71,8 +82,10 @@ public class WsData extends io.openems.common.websocket.WsData {
 			return result.a();
 		}
 
-		protected void dispose() {
+		protected synchronized Set<String> dispose() {
+			var edgeIds = new HashSet<>(this.subscribedChannels.keySet());
 			this.subscribedChannels.clear();
+			return edgeIds;
 		}
 	}
 
@@ -97,7 +110,33 @@ public class WsData extends io.openems.common.websocket.WsData {
 	public void logout() {
 		this.unsetToken();
 		this.unsetUserId();
-		this.subscribedChannels.dispose();
+		this.disposeSubscribedChannels();
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		this.disposeSubscribedChannels();
+	}
+
+	private void disposeSubscribedChannels() {
+		for (var edgeId : this.subscribedChannels.dispose()) {
+			this.updateSubscription(edgeId);
+		}
+	}
+
+	/**
+	 * Updates the index of UI sessions with subscribed Channels for an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 */
+	private synchronized void updateSubscription(String edgeId) {
+		var worker = this.parent.parent.subscribedChannelsWorker;
+		if (worker == null) {
+			return;
+		}
+		worker.updateSubscription(edgeId, this,
+				this.isEdgeSubscribed(edgeId) && this.subscribedChannels.hasChannels(edgeId));
 	}
 
 	public synchronized void setUserId(String userId) {
@@ -188,6 +227,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 */
 	public synchronized void handleSubscribeChannelsRequest(String edgeId, SubscribeChannelsRequest request) {
 		this.subscribedChannels.handleSubscribeChannelsRequest(edgeId, request);
+		this.updateSubscription(edgeId);
 	}
 
 	/**
@@ -195,9 +235,18 @@ public class WsData extends io.openems.common.websocket.WsData {
 	 * 
 	 * @param edgeIds the edges to subscribe
 	 */
-	public void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+	public synchronized void handleSubscribeEdgesRequest(Set<String> edgeIds) {
 		// TODO maybe only add and remove on explicit request
+		var previousEdgeIds = this.subscribedEdges;
 		this.subscribedEdges = edgeIds;
+		for (var edgeId : previousEdgeIds) {
+			if (!edgeIds.contains(edgeId)) {
+				this.updateSubscription(edgeId);
+			}
+		}
+		for (var edgeId : edgeIds) {
+			this.updateSubscription(edgeId);
+		}
 	}
 
 	/**
@@ -222,7 +271,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 		} catch (OpenemsException e) {
 			// Log & stop subscribes
 			this.parent.logWarn(this.log, "Unable to send CurrentDataNotification: " + e.getMessage());
-			this.subscribedChannels.dispose();
+			this.disposeSubscribedChannels();
 		}
 	}
 
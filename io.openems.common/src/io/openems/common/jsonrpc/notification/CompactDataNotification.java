@@ -0,0 +1,139 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Notification for timestamped or aggregated data sent
+ * from Edge to Backend in compact form.
+ *
+ * <p>
+ * Instead of the Channel-Address every value refers to the index of the
+ * address in the dictionary that was negotiated via
+ * {@link SetChannelDictionaryRequest} for the current connection. Per
+ * timestamp the indices and values are alternating in one array.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "compactData",
+ *   "params": {
+ *     "aggregated": boolean,
+ *     "data": {
+ *       [timestamp: epoch in milliseconds]: [
+ *         [index]: number, [value]: {@link JsonElement}, ...
+ *       ]
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public class CompactDataNotification extends JsonrpcNotification {
+
+	public static final String METHOD = "compactData";
+
+	/**
+	 * Parses a {@link JsonrpcNotification} to a {@link CompactDataNotification}.
+	 *
+	 * @param notification the {@link JsonrpcNotification}
+	 * @return the {@link CompactDataNotification}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static CompactDataNotification from(JsonrpcNotification notification) throws OpenemsNamedException {
+		var p = notification.getParams();
+		var result = new CompactDataNotification(JsonUtils.getAsBoolean(p, "aggregated"));
+		for (var e : JsonUtils.getAsJsonObject(p, "data").entrySet()) {
+			var jValues = JsonUtils.getAsJsonArray(e.getValue());
+			if (jValues.size() % 2 != 0) {
+				throw new OpenemsException("Compact data for [" + e.getKey() + "] has an odd number of elements");
+			}
+			result.data.put(Long.parseLong(e.getKey()), jValues);
+		}
+		return result;
+	}
+
+	private final boolean aggregated;
+	private final TreeMap<Long, JsonArray> data = new TreeMap<>();
+
+	public CompactDataNotification(boolean aggregated) {
+		super(CompactDataNotification.METHOD);
+		this.aggregated = aggregated;
+	}
+
+	/**
+	 * Add timestamped data.
+	 *
+	 * @param timestamp the timestamp epoch in milliseconds
+	 * @param data      a map of Channel-Address to {@link JsonElement} value
+	 * @param indexOf   maps a Channel-Address to its dictionary index
+	 */
+	public void add(long timestamp, Map<String, JsonElement> data, ToIntFunction<String> indexOf) {
+		var jValues = this.data.computeIfAbsent(timestamp, t -> new JsonArray(data.size() * 2));
+		for (var entry : data.entrySet()) {
+			jValues.add(indexOf.applyAsInt(entry.getKey()));
+			jValues.add(entry.getValue());
+		}
+	}
+
+	/**
+	 * Is this aggregated data?.
+	 *
+	 * @return true for aggregated data; false for timestamped data
+	 */
+	public boolean isAggregated() {
+		return this.aggregated;
+	}
+
+	/**
+	 * Resolves the dictionary indices to a {@link TimestampedDataNotification} or
+	 * {@link AggregatedDataNotification}.
+	 *
+	 * @param dictionary the Channel-Address dictionary of the connection
+	 * @return the {@link AbstractDataNotification}
+	 * @throws OpenemsNamedException on unknown index
+	 */
+	public AbstractDataNotification toDataNotification(List<String> dictionary) throws OpenemsNamedException {
+		var table = TreeBasedTable.<Long, String, JsonElement>create();
+		for (var entry : this.data.entrySet()) {
+			var jValues = entry.getValue();
+			for (var i = 0; i < jValues.size(); i += 2) {
+				var index = JsonUtils.getAsInt(jValues.get(i));
+				if (index < 0 || index >= dictionary.size()) {
+					throw new OpenemsException("Channel dictionary index [" + index + "] is unknown. Size is ["
+							+ dictionary.size() + "]");
+				}
+				table.put(entry.getKey(), dictionary.get(index), jValues.get(i + 1));
+			}
+		}
+		if (this.aggregated) {
+			return new AggregatedDataNotification(table);
+		}
+		return new TimestampedDataNotification(table);
+	}
+
+	@Override
+	public JsonObject getParams() {
+		var jData = new JsonObject();
+		for (var entry : this.data.entrySet()) {
+			jData.add(entry.getKey().toString(), entry.getValue());
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("aggregated", this.aggregated) //
+				.add("data", jData) //
+				.build();
+	}
+
+}
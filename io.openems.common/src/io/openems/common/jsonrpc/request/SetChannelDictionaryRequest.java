@@ -0,0 +1,108 @@
+package io.openems.common.jsonrpc.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Represents a JSON-RPC Request from Edge to Backend to extend the
+ * Channel-Address dictionary of the current connection.
+ *
+ * <p>
+ * The dictionary is append-only for the lifetime of a connection: the index of
+ * a Channel-Address never changes, so a
+ * {@link io.openems.common.jsonrpc.notification.CompactDataNotification} can
+ * refer to Channels by their index. 'offset' is the number of addresses that
+ * are already known to the Backend; an 'offset' of 0 replaces the dictionary.
+ *
+ * <p>
+ * The Edge uses compact data only after a successful response. An error
+ * response (e.g. by a Backend that does not know this method) makes the Edge
+ * fall back to {@link io.openems.common.jsonrpc.notification.TimestampedDataNotification}
+ * and
+ * {@link io.openems.common.jsonrpc.notification.AggregatedDataNotification}.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": UUID,
+ *   "method": "setChannelDictionary",
+ *   "params": {
+ *     "offset": number,
+ *     "addresses": string[]
+ *   }
+ * }
+ * </pre>
+ */
+public class SetChannelDictionaryRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "setChannelDictionary";
+
+	/**
+	 * Create {@link SetChannelDictionaryRequest} from a template
+	 * {@link JsonrpcRequest}.
+	 *
+	 * @param r the template {@link JsonrpcRequest}
+	 * @return the {@link SetChannelDictionaryRequest}
+	 * @throws OpenemsNamedException on parse error
+	 */
+	public static SetChannelDictionaryRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		var p = r.getParams();
+		var offset = JsonUtils.getAsInt(p, "offset");
+		var jAddresses = JsonUtils.getAsJsonArray(p, "addresses");
+		var addresses = new ArrayList<String>(jAddresses.size());
+		for (var jAddress : jAddresses) {
+			addresses.add(JsonUtils.getAsString(jAddress));
+		}
+		return new SetChannelDictionaryRequest(r, offset, addresses);
+	}
+
+	private final int offset;
+	private final List<String> addresses;
+
+	private SetChannelDictionaryRequest(JsonrpcRequest request, int offset, List<String> addresses) {
+		super(request, SetChannelDictionaryRequest.METHOD);
+		this.offset = offset;
+		this.addresses = addresses;
+	}
+
+	public SetChannelDictionaryRequest(int offset, List<String> addresses) {
+		super(SetChannelDictionaryRequest.METHOD);
+		this.offset = offset;
+		this.addresses = addresses;
+	}
+
+	/**
+	 * Gets the index of the first address of this Request.
+	 *
+	 * @return the offset
+	 */
+	public int getOffset() {
+		return this.offset;
+	}
+
+	/**
+	 * Gets the Channel-Addresses starting at {@link #getOffset()}.
+	 *
+	 * @return the addresses
+	 */
+	public List<String> getAddresses() {
+		return this.addresses;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("offset", this.offset) //
+				.add("addresses", this.addresses.stream() //
+						.map(JsonPrimitive::new) //
+						.collect(JsonUtils.toJsonArray())) //
+				.build();
+	}
+}
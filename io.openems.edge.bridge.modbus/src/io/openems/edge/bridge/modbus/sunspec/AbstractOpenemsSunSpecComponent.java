@@ -1,5 +1,6 @@
 package io.openems.edge.bridge.modbus.sunspec;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -56,6 +57,13 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 
 	private boolean isSunSpecInitializationCompleted = false;
 
+	// The block headers found while reading the SunSpec blocks
+	private final List<SunSpecModelMap.Block> discoveredBlocks = new ArrayList<>();
+	private boolean isModelMapModified = false;
+
+	// Block headers are read in batches until a batch read fails
+	private boolean isBatchReadOfHeaders = true;
+
 	/**
 	 * Constructs a AbstractOpenemsSunSpecComponent.
 	 *
@@ -92,13 +100,11 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 				.collect(Collectors.toSet());
 
 		// Start the SunSpec read procedure...
-		this.isSunSpec().thenAccept(isSunSpec -> {
-			if (!isSunSpec) {
-				throw new IllegalArgumentException("This modbus device is not SunSpec!");
-			}
-
+		this.readIdentity().thenAccept(identity -> {
 			try {
-				this.readNextBlock(40_002, expectedBlocks).thenRun(() -> {
+				var modelMap = identity.flatMap(this::loadModelMap);
+				this.readBlocks(modelMap, expectedBlocks).thenRun(() -> {
+					identity.ifPresent(this::storeModelMap);
 					this.isSunSpecInitializationCompleted = true;
 					this.onSunSpecInitializationCompleted();
 				});
@@ -118,6 +124,76 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 		return this.modbusProtocol;
 	}
 
+	/**
+	 * Validates that this device complies to SunSpec specification and reads its
+	 * identity from the Common block.
+	 *
+	 * <p>
+	 * Reads the "SunS" identifier and the Common block at once. If this fails -
+	 * e.g. because the device is not reachable yet - waits for
+	 * {@link #isSunSpec()} and tries once more; if the Common block is still not
+	 * readable at once, the identity is not available.
+	 *
+	 * @return a future identity as in {@link SunSpecModelMap#parseIdentity(int[])};
+	 *         completes exceptionally if this device is not SunSpec
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<Optional<String>> readIdentity() throws OpenemsException {
+		final var result = new CompletableFuture<Optional<String>>();
+		this.readIdentityOnce(result).thenAccept(isRead -> {
+			if (isRead) {
+				return;
+			}
+			try {
+				this.isSunSpec().thenAccept(isSunSpec -> {
+					if (!isSunSpec) {
+						result.completeExceptionally(new IllegalArgumentException("This modbus device is not SunSpec!"));
+						return;
+					}
+					try {
+						this.readIdentityOnce(result).thenAccept(isReadAgain -> {
+							if (!isReadAgain) {
+								// Common block is not readable at once; SunSpec model map is not cached
+								result.complete(Optional.empty());
+							}
+						});
+					} catch (OpenemsException e) {
+						result.completeExceptionally(e);
+					}
+				});
+			} catch (OpenemsException e) {
+				result.completeExceptionally(e);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Reads the "SunS" identifier and the Common block at once, without trying
+	 * again on error.
+	 *
+	 * @param result completed with the identity if the registers were read
+	 * @return a future true if the registers were read; false on error
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<Boolean> readIdentityOnce(CompletableFuture<Optional<String>> result)
+			throws OpenemsException {
+		return ModbusUtils.readELementsOnce(this.modbusProtocol,
+				generateWordElements(SunSpecModelMap.SUNSPEC_START_ADDRESS, SunSpecModelMap.IDENTITY_LENGTH), false)
+				.thenApply(values -> {
+					if (values == null) {
+						return false;
+					}
+					var registers = toRegisters(values);
+					if ((registers[0] << 16 | registers[1]) == SunSpecModelMap.SUNSPEC_IDENTIFIER) {
+						result.complete(SunSpecModelMap.parseIdentity(registers));
+					} else {
+						result.completeExceptionally(new IllegalArgumentException("This modbus device is not SunSpec!"));
+					}
+					return true;
+				});
+	}
+
 	/**
 	 * Validates that this device complies to SunSpec specification.
 	 *
@@ -129,9 +205,10 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 	 */
 	private CompletableFuture<Boolean> isSunSpec() throws OpenemsException {
 		final var result = new CompletableFuture<Boolean>();
-		ModbusUtils.readELementOnce(this.modbusProtocol, new UnsignedDoublewordElement(40_000), true)
+		ModbusUtils.readELementOnce(this.modbusProtocol,
+				new UnsignedDoublewordElement(SunSpecModelMap.SUNSPEC_START_ADDRESS), true) //
 				.thenAccept(value -> {
-					if (value == 0x53756e53) {
+					if (value == SunSpecModelMap.SUNSPEC_IDENTIFIER) {
 						result.complete(true);
 					} else {
 						result.complete(false);
@@ -141,20 +218,95 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 	}
 
 	/**
-	 * Reads the next SunSpec block.
+	 * Restores the {@link SunSpecModelMap} of this device.
+	 *
+	 * @param identity the device identity
+	 * @return the {@link SunSpecModelMap}; empty if it is not available
+	 */
+	private Optional<SunSpecModelMap> loadModelMap(String identity) {
+		var file = SunSpecModelMap.getFile(identity, this.readFromCommonBlockNo);
+		if (file.isEmpty()) {
+			return Optional.empty();
+		}
+		try {
+			return SunSpecModelMap.load(file.get(), identity, this.readFromCommonBlockNo);
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to read SunSpec model map [" + file.get() + "]: " + e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Stores the {@link SunSpecModelMap} of this device, if block headers were
+	 * read from the device.
+	 *
+	 * @param identity the device identity
+	 */
+	private void storeModelMap(String identity) {
+		if (!this.isModelMapModified || this.discoveredBlocks.isEmpty()) {
+			return;
+		}
+		var isComplete = this.discoveredBlocks.get(this.discoveredBlocks.size() - 1)
+				.blockId() == SunSpecModelMap.END_OF_MAP;
+		var modelMap = new SunSpecModelMap(identity, this.readFromCommonBlockNo, List.copyOf(this.discoveredBlocks),
+				isComplete);
+		SunSpecModelMap.getFile(identity, this.readFromCommonBlockNo).ifPresent(file -> {
+			try {
+				modelMap.store(file);
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to write SunSpec model map [" + file + "]: " + e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Reads the SunSpec blocks.
+	 *
+	 * <p>
+	 * Block headers of a restored {@link SunSpecModelMap} are used without reading
+	 * them again. Reading continues on the device if the model map ends before all
+	 * expected blocks were found.
+	 *
+	 * @param modelMap        the restored {@link SunSpecModelMap}
+	 * @param remainingBlocks the remaining blocks expected to read
+	 * @return a future that completes once reading the blocks finished
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<Void> readBlocks(Optional<SunSpecModelMap> modelMap, Set<Integer> remainingBlocks)
+			throws OpenemsException {
+		var startAddress = SunSpecModelMap.FIRST_BLOCK_ADDRESS;
+		if (modelMap.isPresent()) {
+			this.logInfo(this.log, "Restored SunSpec model map for [" + modelMap.get().identity() + "]");
+			for (var block : modelMap.get().blocks()) {
+				if (remainingBlocks.isEmpty()) {
+					return CompletableFuture.completedFuture(null);
+				}
+				this.discoveredBlocks.add(block);
+				if (!this.handleBlock(block, remainingBlocks)) {
+					return CompletableFuture.completedFuture(null);
+				}
+				startAddress = block.nextStartAddress();
+			}
+		}
+		return this.readNextBlocks(startAddress, remainingBlocks);
+	}
+
+	/**
+	 * Reads the next SunSpec blocks from the device.
 	 *
 	 * @param startAddress    the startAddress
 	 * @param remainingBlocks the remaining blocks expected to read
-	 * @return a future that completes once reading the block finished
+	 * @return a future that completes once reading the blocks finished
 	 * @throws OpenemsException on error
 	 */
-	private CompletableFuture<Void> readNextBlock(int startAddress, Set<Integer> remainingBlocks)
+	private CompletableFuture<Void> readNextBlocks(int startAddress, Set<Integer> remainingBlocks)
 			throws OpenemsException {
 		final var finished = new CompletableFuture<Void>();
 
 		// Finish if all expected Blocks have been read
 		if (remainingBlocks.isEmpty()) {
 			finished.complete(null);
+			return finished;
 		}
 
 		/*
@@ -165,71 +317,142 @@ public abstract class AbstractOpenemsSunSpecComponent extends AbstractOpenemsMod
 		 * and that some blocks are not read - especially when one component is used for
 		 * multiple devices like single and three phase inverter.
 		 */
-		this.readElementsOnceTyped(new UnsignedWordElement(startAddress), new UnsignedWordElement(startAddress + 1))
-				.thenAccept(values -> {
-					int blockId = values.get(0);
+		this.readBlockHeaders(startAddress).thenAccept(blocks -> {
+			if (blocks.isEmpty()) {
+				finished.complete(null);
+				return;
+			}
+			this.isModelMapModified = true;
+			for (var block : blocks) {
+				this.discoveredBlocks.add(block);
+				if (!this.handleBlock(block, remainingBlocks)) {
+					finished.complete(null);
+					return;
+				}
+			}
 
-					// END_OF_MAP
-					if (blockId == 0xFFFF) {
-						finished.complete(null);
-						return;
-					}
+			// Read next blocks recursively
+			var nextBlockStartAddress = blocks.get(blocks.size() - 1).nextStartAddress();
+			try {
+				final var readNextBlocksFuture = this.readNextBlocks(nextBlockStartAddress, remainingBlocks);
+				// Announce finished when next blocks (recursively) are finished
+				readNextBlocksFuture.thenRun(() -> {
+					finished.complete(null);
+				});
+			} catch (OpenemsException e) {
+				this.logWarn(this.log,
+						"Error while reading SunSpec-Model starting at [" + nextBlockStartAddress + "]: " + e.getMessage());
+				e.printStackTrace();
+				finished.complete(null); // announce finish immediately to not get stuck
+			}
+		});
+		return finished;
+	}
 
-					// Handle SunSpec Block
-					if (blockId == 1 /* SunSpecModel.S_1 */) {
-						this.commonBlockCounter++;
-					}
+	/**
+	 * Reads the block headers starting at the given address.
+	 *
+	 * <p>
+	 * Reads {@link #MAXIMUM_TASK_LENGTH} registers at once and parses all block
+	 * headers within. If this fails - e.g. because the registers exceed the
+	 * SunSpec map of the device - only the block header at the given address is
+	 * read, and all further block headers are read one by one.
+	 *
+	 * @param startAddress the address of the first block header
+	 * @return a future list of block headers; empty on error
+	 * @throws OpenemsException on error
+	 */
+	private CompletableFuture<List<SunSpecModelMap.Block>> readBlockHeaders(int startAddress)
+			throws OpenemsException {
+		final var result = new CompletableFuture<List<SunSpecModelMap.Block>>();
+		final CompletableFuture<List<Integer>> batch = this.isBatchReadOfHeaders //
+				? ModbusUtils.readELementsOnce(this.modbusProtocol,
+						generateWordElements(startAddress, MAXIMUM_TASK_LENGTH), false) //
+				: CompletableFuture.completedFuture(null);
+		batch.thenAccept(values -> {
+			if (values != null) {
+				result.complete(SunSpecModelMap.parseHeaders(startAddress, toRegisters(values)));
+				return;
+			}
+
+			this.isBatchReadOfHeaders = false;
+			try {
+				this.readElementsOnceTyped(new UnsignedWordElement(startAddress),
+						new UnsignedWordElement(startAddress + 1)) //
+						.thenAccept(header -> result.complete(List.of(//
+								new SunSpecModelMap.Block(startAddress, header.get(0), header.get(1)))));
+			} catch (OpenemsException e) {
+				this.logWarn(this.log, "Error while reading SunSpec block header starting at [" + startAddress
+						+ "]: " + e.getMessage());
+				e.printStackTrace();
+				result.complete(List.of());
+			}
+		});
+		return result;
+	}
 
-					if (this.commonBlockCounter != this.readFromCommonBlockNo) {
-						// ignore all SunSpec blocks before 'startFromCommonBlockNo' was passed
+	/**
+	 * Handles a SunSpec block header.
+	 *
+	 * @param block           the {@link SunSpecModelMap.Block}
+	 * @param remainingBlocks the remaining blocks expected to read
+	 * @return true if reading should continue with the next block
+	 */
+	private boolean handleBlock(SunSpecModelMap.Block block, Set<Integer> remainingBlocks) {
+		var blockId = block.blockId();
+		var startAddress = block.startAddress();
 
-					} else {
+		// END_OF_MAP
+		if (blockId == SunSpecModelMap.END_OF_MAP) {
+			return false;
+		}
 
-						// Should this Block be considered?
-						var activeEntry = this.getActiveModelForId(blockId);
-						if (activeEntry != null) {
-							var sunSpecModel = activeEntry.getKey();
-							var priority = activeEntry.getValue();
-							try {
-								this.addBlock(startAddress, sunSpecModel, priority);
-								remainingBlocks.remove(activeEntry.getKey().getBlockId());
-							} catch (OpenemsException e) {
-								this.logWarn(this.log, "Error while adding SunSpec-Model [" + blockId
-										+ "] starting at [" + startAddress + "]: " + e.getMessage());
-								e.printStackTrace();
-							}
+		// Handle SunSpec Block
+		if (blockId == 1 /* SunSpecModel.S_1 */) {
+			this.commonBlockCounter++;
+		}
 
-						} else {
-							// This block is not considered, because the Model is not active
-							this.logInfo(this.log,
-									"Ignoring SunSpec-Model [" + blockId + "] starting at [" + startAddress + "]");
-						}
-					}
+		if (this.commonBlockCounter != this.readFromCommonBlockNo) {
+			// ignore all SunSpec blocks before 'startFromCommonBlockNo' was passed
 
-					// Stop reading if all expectedBlocks have been read
-					if (remainingBlocks.isEmpty()) {
-						finished.complete(null);
-						return;
-					}
+		} else {
 
-					// Read next block recursively
-					var nextBlockStartAddress = startAddress + 2 + values.get(1);
-					try {
+			// Should this Block be considered?
+			var activeEntry = this.getActiveModelForId(blockId);
+			if (activeEntry != null) {
+				var sunSpecModel = activeEntry.getKey();
+				var priority = activeEntry.getValue();
+				try {
+					this.addBlock(startAddress, sunSpecModel, priority);
+					remainingBlocks.remove(activeEntry.getKey().getBlockId());
+				} catch (OpenemsException e) {
+					this.logWarn(this.log, "Error while adding SunSpec-Model [" + blockId + "] starting at ["
+							+ startAddress + "]: " + e.getMessage());
+					e.printStackTrace();
+				}
 
-						final var readNextBlockFuture = this.readNextBlock(nextBlockStartAddress, remainingBlocks);
-						// Announce finished when next block (recursively) is finished
-						readNextBlockFuture.thenRun(() -> {
-							finished.complete(null);
-						});
-					} catch (OpenemsException e) {
-						this.logWarn(this.log, "Error while adding SunSpec-Model [" + blockId + "] starting at ["
-								+ startAddress + "]: " + e.getMessage());
-						e.printStackTrace();
-						finished.complete(null); // announce finish immediately to not get stuck
-					}
+			} else {
+				// This block is not considered, because the Model is not active
+				this.logInfo(this.log, "Ignoring SunSpec-Model [" + blockId + "] starting at [" + startAddress + "]");
+			}
+		}
 
-				});
-		return finished;
+		// Stop reading if all expectedBlocks have been read
+		return !remainingBlocks.isEmpty();
+	}
+
+	private static UnsignedWordElement[] generateWordElements(int startAddress, int length) {
+		var result = new UnsignedWordElement[length];
+		for (var i = 0; i < length; i++) {
+			result[i] = new UnsignedWordElement(startAddress + i);
+		}
+		return result;
+	}
+
+	private static int[] toRegisters(List<Integer> values) {
+		return values.stream() //
+				.mapToInt(v -> v == null ? 0 : v) //
+				.toArray();
 	}
 
 	/**
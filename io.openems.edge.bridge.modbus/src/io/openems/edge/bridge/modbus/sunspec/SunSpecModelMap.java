@@ -0,0 +1,223 @@
+package io.openems.edge.bridge.modbus.sunspec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import io.openems.common.OpenemsConstants;
+
+/**
+ * The layout of SunSpec blocks of a device, as found by walking the block
+ * headers from address 40002.
+ *
+ * <p>
+ * A model map is stored in the 'sunspec' sub-directory of the OpenEMS data
+ * directory per device identity, i.e. Manufacturer, Model, Version and
+ * Serial-Number of the first Common block. Components with the same identity
+ * restore it on activation instead of reading the block headers one by one.
+ *
+ * @param identity              the device identity; see
+ *                              {@link #parseIdentity(int[])}
+ * @param readFromCommonBlockNo the Common block number the blocks were read for
+ * @param blocks                the {@link Block}s in the order of the map
+ * @param isComplete            true if the map ends with END_OF_MAP
+ */
+public record SunSpecModelMap(String identity, int readFromCommonBlockNo, List<Block> blocks, boolean isComplete) {
+
+	protected static final String MODEL_MAP_PATH = "sunspec";
+
+	/**
+	 * The first register of the SunSpec map; holds the "SunS" identifier.
+	 */
+	public static final int SUNSPEC_START_ADDRESS = 40_000;
+
+	/**
+	 * The address of the first block header, i.e. of the Common block.
+	 */
+	public static final int FIRST_BLOCK_ADDRESS = SUNSPEC_START_ADDRESS + 2;
+
+	/**
+	 * The number of registers to read to get the "SunS" identifier, the header of
+	 * the Common block and all of its identifying points.
+	 */
+	public static final int IDENTITY_LENGTH = 2 + 2 + 65;
+
+	/**
+	 * The "SunS" identifier.
+	 */
+	public static final int SUNSPEC_IDENTIFIER = 0x53756e53;
+
+	/**
+	 * Block-ID of END_OF_MAP.
+	 */
+	public static final int END_OF_MAP = 0xFFFF;
+
+	private static final int FILE_VERSION = 1;
+
+	/**
+	 * The header of a SunSpec block.
+	 *
+	 * @param startAddress the address of the header
+	 * @param blockId      the Block-ID
+	 * @param length       the length of the block without header
+	 */
+	public record Block(int startAddress, int blockId, int length) {
+
+		/**
+		 * Gets the address of the header of the next block.
+		 *
+		 * @return the address
+		 */
+		public int nextStartAddress() {
+			return this.startAddress + 2 + this.length;
+		}
+	}
+
+	/**
+	 * Parses the block headers within consecutive registers.
+	 *
+	 * <p>
+	 * Parsing stops at END_OF_MAP, which is included in the result, or when the
+	 * next header is not completely within the registers.
+	 *
+	 * @param startAddress the address of the first register; must be a header
+	 * @param registers    the register values
+	 * @return the {@link Block}s
+	 */
+	public static List<Block> parseHeaders(int startAddress, int[] registers) {
+		var result = new ArrayList<Block>();
+		var offset = 0;
+		while (offset + 1 < registers.length) {
+			var block = new Block(startAddress + offset, registers[offset], registers[offset + 1]);
+			result.add(block);
+			if (block.blockId() == END_OF_MAP) {
+				break;
+			}
+			offset += 2 + block.length();
+		}
+		return result;
+	}
+
+	/**
+	 * Parses the device identity from the registers starting at
+	 * {@link #SUNSPEC_START_ADDRESS}.
+	 *
+	 * @param registers at least {@link #IDENTITY_LENGTH} register values
+	 * @return the identity in the form "Manufacturer|Model|Version|Serial-Number";
+	 *         empty if this is not a SunSpec device with a Common block
+	 */
+	public static Optional<String> parseIdentity(int[] registers) {
+		if (registers.length < IDENTITY_LENGTH //
+				|| (registers[0] << 16 | registers[1]) != SUNSPEC_IDENTIFIER //
+				|| registers[2] != 1 /* SunSpecModel.S_1 */) {
+			return Optional.empty();
+		}
+		// Points of the Common block after the header: Mn (16), Md (16), Opt (8), Vr
+		// (8), SN (16)
+		var identity = String.join("|", //
+				parseString(registers, 4, 16), //
+				parseString(registers, 20, 16), //
+				parseString(registers, 44, 8), //
+				parseString(registers, 52, 16));
+		if (identity.replace("|", "").isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(identity);
+	}
+
+	private static String parseString(int[] registers, int offset, int length) {
+		var bytes = new byte[length * 2];
+		for (var i = 0; i < length; i++) {
+			bytes[i * 2] = (byte) (registers[offset + i] >> 8);
+			bytes[i * 2 + 1] = (byte) registers[offset + i];
+		}
+		return new String(bytes, StandardCharsets.US_ASCII).replace("\0", "").trim();
+	}
+
+	/**
+	 * Gets the file for the given device.
+	 *
+	 * @param identity              the device identity
+	 * @param readFromCommonBlockNo the Common block number
+	 * @return the {@link Path}; empty if the OpenEMS data directory is not
+	 *         configured
+	 */
+	public static Optional<Path> getFile(String identity, int readFromCommonBlockNo) {
+		var dataDir = OpenemsConstants.getOpenemsDataDir();
+		if (dataDir.isBlank()) {
+			return Optional.empty();
+		}
+		var name = UUID.nameUUIDFromBytes((identity + "|" + readFromCommonBlockNo).getBytes(StandardCharsets.UTF_8));
+		return Optional.of(Paths.get(dataDir, MODEL_MAP_PATH, name.toString()));
+	}
+
+	/**
+	 * Restores a model map from a file.
+	 *
+	 * @param file                  the {@link Path}
+	 * @param identity              the expected device identity
+	 * @param readFromCommonBlockNo the expected Common block number
+	 * @return the {@link SunSpecModelMap}; empty if the file does not exist or
+	 *         does not match
+	 * @throws IOException on error
+	 */
+	public static Optional<SunSpecModelMap> load(Path file, String identity, int readFromCommonBlockNo)
+			throws IOException {
+		if (!Files.exists(file)) {
+			return Optional.empty();
+		}
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION //
+					|| !in.readUTF().equals(identity) //
+					|| in.readInt() != readFromCommonBlockNo) {
+				return Optional.empty();
+			}
+			var isComplete = in.readBoolean();
+			var size = in.readInt();
+			var blocks = new ArrayList<Block>(size);
+			for (var i = 0; i < size; i++) {
+				blocks.add(new Block(in.readInt(), in.readInt(), in.readInt()));
+			}
+			if (blocks.isEmpty() || blocks.get(0).startAddress() != FIRST_BLOCK_ADDRESS) {
+				return Optional.empty();
+			}
+			return Optional.of(new SunSpecModelMap(identity, readFromCommonBlockNo, List.copyOf(blocks), isComplete));
+		}
+	}
+
+	/**
+	 * Stores the model map in a file.
+	 *
+	 * @param file the {@link Path}
+	 * @throws IOException on error
+	 */
+	public void store(Path file) throws IOException {
+		var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.createDirectories(file.getParent());
+		try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(FILE_VERSION);
+			out.writeUTF(this.identity);
+			out.writeInt(this.readFromCommonBlockNo);
+			out.writeBoolean(this.isComplete);
+			out.writeInt(this.blocks.size());
+			for (var block : this.blocks) {
+				out.writeInt(block.startAddress());
+				out.writeInt(block.blockId());
+				out.writeInt(block.length());
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
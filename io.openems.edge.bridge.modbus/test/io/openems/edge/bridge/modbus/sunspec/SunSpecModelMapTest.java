@@ -0,0 +1,109 @@
+package io.openems.edge.bridge.modbus.sunspec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.edge.bridge.modbus.sunspec.SunSpecModelMap.Block;
+
+public class SunSpecModelMapTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void putString(int[] registers, int offset, String value) {
+		var bytes = value.getBytes();
+		for (var i = 0; i < bytes.length; i++) {
+			registers[offset + i / 2] |= (bytes[i] & 0xFF) << (i % 2 == 0 ? 8 : 0);
+		}
+	}
+
+	private static int[] createIdentityRegisters() {
+		var registers = new int[SunSpecModelMap.IDENTITY_LENGTH];
+		registers[0] = 0x5375; // "Su"
+		registers[1] = 0x6e53; // "nS"
+		registers[2] = 1;
+		registers[3] = 66;
+		putString(registers, 4, "Manufacturer");
+		putString(registers, 20, "Model X");
+		putString(registers, 44, "1.2.3 ");
+		putString(registers, 52, "SN-4711");
+		return registers;
+	}
+
+	@Test
+	public void testParseIdentity() {
+		var registers = createIdentityRegisters();
+		assertEquals(Optional.of("Manufacturer|Model X|1.2.3|SN-4711"), SunSpecModelMap.parseIdentity(registers));
+
+		// Not SunSpec
+		registers[1] = 0;
+		assertEquals(Optional.empty(), SunSpecModelMap.parseIdentity(registers));
+
+		// No identity
+		assertEquals(Optional.empty(), SunSpecModelMap.parseIdentity(new int[] { 0x5375, 0x6e53, 1, 66 }));
+		registers = new int[SunSpecModelMap.IDENTITY_LENGTH];
+		registers[0] = 0x5375;
+		registers[1] = 0x6e53;
+		registers[2] = 1;
+		assertEquals(Optional.empty(), SunSpecModelMap.parseIdentity(registers));
+	}
+
+	@Test
+	public void testParseHeaders() {
+		var registers = new int[20];
+		registers[0] = 1;
+		registers[1] = 4;
+		registers[6] = 101;
+		registers[7] = 2;
+		registers[10] = 0xFFFF;
+		registers[11] = 0;
+		assertEquals(List.of(//
+				new Block(40_002, 1, 4), //
+				new Block(40_008, 101, 2), //
+				new Block(40_012, 0xFFFF, 0)), //
+				SunSpecModelMap.parseHeaders(40_002, registers));
+		assertEquals(40_014, new Block(40_008, 101, 4).nextStartAddress());
+
+		// Next header is not completely within the registers
+		registers[7] = 11;
+		assertEquals(List.of(//
+				new Block(40_002, 1, 4), //
+				new Block(40_008, 101, 11)), //
+				SunSpecModelMap.parseHeaders(40_002, registers));
+	}
+
+	@Test
+	public void testLoadAndStore() throws Exception {
+		var file = this.folder.getRoot().toPath().resolve("sunspec").resolve("map");
+		assertEquals(Optional.empty(), SunSpecModelMap.load(file, "identity", 1));
+
+		var sut = new SunSpecModelMap("identity", 1, List.of(//
+				new Block(40_002, 1, 66), //
+				new Block(40_070, 101, 50), //
+				new Block(40_122, 0xFFFF, 0)), true);
+		sut.store(file);
+
+		var restored = SunSpecModelMap.load(file, "identity", 1);
+		assertTrue(restored.isPresent());
+		assertEquals(sut, restored.get());
+		assertTrue(restored.get().isComplete());
+
+		// Other device or other Common block
+		assertFalse(SunSpecModelMap.load(file, "other", 1).isPresent());
+		assertFalse(SunSpecModelMap.load(file, "identity", 2).isPresent());
+
+		// Overwrite
+		sut = new SunSpecModelMap("identity", 1, List.of(new Block(40_002, 1, 66)), false);
+		sut.store(file);
+		assertEquals(Optional.of(sut), SunSpecModelMap.load(file, "identity", 1));
+	}
+
+}
@@ -1,9 +1,7 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,6 +17,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.value.PastValues;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
@@ -34,7 +33,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final TreeMap<LocalDateTime, Value<T>> pastValues = new TreeMap<>();
+	private final PastValues<T> pastValues;
 
 	/**
 	 * The 'next' value of the Channel. Copied to 'active' in
@@ -51,6 +50,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = new PastValues<>(this, Channel.MAX_AGE_OF_PAST_VALUES);
 
 		// validate Type
 		if (!this.validateType(channelDoc.getType(), type)) {
@@ -120,8 +120,9 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 				this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, newValue));
 			}
 
-			// Additionally append to 'pastValues'
-			this.appendPastValue(newValue);
+			// Additionally append to 'pastValues'; deletes entries that are elder than
+			// MAX_AGE_OF_PAST_VALUES
+			this.pastValues.append(newValue);
 
 		} catch (RuntimeException e) {
 			var component = this.parent != null ? this.parent.id() : "";
@@ -131,19 +132,6 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		}
 	}
 
-	/**
-	 * Appends a value to `pastValues` and deletes entries that are elder than
-	 * {@link Channel#MAX_AGE_OF_PAST_VALUES}.
-	 * 
-	 * @param value a new {@link Value}
-	 */
-	private void appendPastValue(Value<T> value) {
-		final var compareTime = value.getTimestamp().minus(Channel.MAX_AGE_OF_PAST_VALUES);
-		this.pastValues.put(value.getTimestamp(), value);
-		// changes to sub map are also applied to the backed map
-		this.pastValues.headMap(compareTime).clear();
-	}
-
 	@Override
 	public ChannelAddress address() {
 		return new ChannelAddress(this.parent.id(), this.channelId().id());
@@ -294,13 +282,8 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return false;
 	}
 
-	/**
-	 * Gets the past values for this Channel.
-	 *
-	 * @return a map of recording time and historic value at that time
-	 */
 	@Override
-	public TreeMap<LocalDateTime, Value<T>> getPastValues() {
+	public PastValues<T> getPastValues() {
 		return this.pastValues;
 	}
 
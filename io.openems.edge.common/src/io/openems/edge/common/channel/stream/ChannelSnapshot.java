@@ -0,0 +1,212 @@
+package io.openems.edge.common.channel.stream;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * An immutable snapshot of the values of all readable Channels of all enabled
+ * Components, taken once per Cycle by the {@link ChannelStream}.
+ *
+ * <p>
+ * Every Channel keeps its 'slot' for its lifetime, i.e. the index of its value
+ * in consecutive snapshots. Values are held as primitives and are only boxed
+ * or converted to JSON on request.
+ */
+public final class ChannelSnapshot {
+
+	/**
+	 * The static information of a Channel in a {@link ChannelSnapshot}; shared by
+	 * all snapshots.
+	 *
+	 * @param index               the index of the slot
+	 * @param address             the {@link ChannelAddress}
+	 * @param key                 the {@link ChannelAddress} as String
+	 * @param type                the {@link OpenemsType}
+	 * @param persistencePriority the {@link PersistencePriority}
+	 * @param channel             the {@link Channel}, e.g. to access its
+	 *                            {@link Channel#getPastValues()}
+	 */
+	public static record Slot(int index, ChannelAddress address, String key, OpenemsType type,
+			PersistencePriority persistencePriority, Channel<?> channel) {
+	}
+
+	protected static final ChannelSnapshot EMPTY = new ChannelSnapshot(0, Instant.MIN, new Slot[0], new long[0],
+			new String[0], new BitSet(), Map.of());
+
+	private final long cycle;
+	private final Instant timestamp;
+	private final Slot[] slots;
+	private final long[] values;
+	private final String[] strings;
+	private final BitSet defined;
+	private final Map<ChannelAddress, Slot> slotsByAddress;
+
+	protected ChannelSnapshot(long cycle, Instant timestamp, Slot[] slots, long[] values, String[] strings,
+			BitSet defined, Map<ChannelAddress, Slot> slotsByAddress) {
+		this.cycle = cycle;
+		this.timestamp = timestamp;
+		this.slots = slots;
+		this.values = values;
+		this.strings = strings;
+		this.defined = defined;
+		this.slotsByAddress = slotsByAddress;
+	}
+
+	/**
+	 * Gets the number of the Cycle this snapshot was taken in.
+	 *
+	 * @return the Cycle number; zero for an empty snapshot
+	 */
+	public long getCycle() {
+		return this.cycle;
+	}
+
+	/**
+	 * Gets the timestamp this snapshot was taken at.
+	 *
+	 * @return the {@link Instant}
+	 */
+	public Instant getTimestamp() {
+		return this.timestamp;
+	}
+
+	/**
+	 * Gets the number of slots, i.e. one more than the highest slot index.
+	 *
+	 * @return the number of slots
+	 */
+	public int size() {
+		return this.slots.length;
+	}
+
+	/**
+	 * Gets the {@link Slot} at the given index.
+	 *
+	 * @param index the slot index
+	 * @return the {@link Slot}; null if the slot is not used
+	 */
+	public Slot getSlot(int index) {
+		return index < this.slots.length ? this.slots[index] : null;
+	}
+
+	/**
+	 * Gets the index of the slot of the Channel with the given
+	 * {@link ChannelAddress}.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the slot index; -1 if the Channel is not part of this snapshot
+	 */
+	public int indexOf(ChannelAddress address) {
+		var slot = this.slotsByAddress.get(address);
+		if (slot == null || this.getSlot(slot.index()) != slot) {
+			return -1;
+		}
+		return slot.index();
+	}
+
+	/**
+	 * Calls the consumer for the index of every used slot with a Channel of at
+	 * least the given {@link PersistencePriority}.
+	 *
+	 * @param priority the minimum {@link PersistencePriority}
+	 * @param consumer the consumer of the slot index
+	 */
+	public void forEach(PersistencePriority priority, IntConsumer consumer) {
+		for (var index = 0; index < this.slots.length; index++) {
+			var slot = this.slots[index];
+			if (slot != null && slot.persistencePriority().isAtLeast(priority)) {
+				consumer.accept(index);
+			}
+		}
+	}
+
+	/**
+	 * Is the value of the Channel in the given slot defined?.
+	 *
+	 * @param index the slot index
+	 * @return true if the value is defined
+	 */
+	public boolean isDefined(int index) {
+		return this.defined.get(index);
+	}
+
+	/**
+	 * Gets the value of the Channel in the given slot.
+	 *
+	 * @param index the slot index
+	 * @return the value in its {@link OpenemsType}; null if not defined
+	 */
+	public Object getValue(int index) {
+		if (!this.defined.get(index)) {
+			return null;
+		}
+		var value = this.values[index];
+		return switch (this.slots[index].type()) {
+		case BOOLEAN -> value != 0;
+		case SHORT -> (short) value;
+		case INTEGER -> (int) value;
+		case LONG -> value;
+		case FLOAT -> (float) Double.longBitsToDouble(value);
+		case DOUBLE -> Double.longBitsToDouble(value);
+		case STRING -> this.strings[index];
+		};
+	}
+
+	/**
+	 * Gets the value of the Channel in the given slot as JSON; like
+	 * {@link io.openems.edge.common.channel.value.Value#asJson()}.
+	 *
+	 * @param index the slot index
+	 * @return the value as {@link JsonElement}
+	 */
+	public JsonElement getAsJson(int index) {
+		if (!this.defined.get(index)) {
+			return JsonNull.INSTANCE;
+		}
+		var value = this.values[index];
+		return switch (this.slots[index].type()) {
+		case BOOLEAN -> new JsonPrimitive(value != 0 ? 1 : 0);
+		case SHORT -> new JsonPrimitive((short) value);
+		case INTEGER -> new JsonPrimitive((int) value);
+		case LONG -> new JsonPrimitive(value);
+		case FLOAT -> new JsonPrimitive((float) Double.longBitsToDouble(value));
+		case DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(value));
+		case STRING -> new JsonPrimitive(this.strings[index]);
+		};
+	}
+
+	/**
+	 * Is the Channel value in the given slot equal to the one in the other
+	 * snapshot?.
+	 *
+	 * @param other the other {@link ChannelSnapshot}
+	 * @param index the slot index
+	 * @return true if the same Channel has the same value in both snapshots
+	 */
+	protected boolean isEqual(ChannelSnapshot other, int index) {
+		if (other.getSlot(index) != this.getSlot(index)) {
+			return false;
+		}
+		if (this.getSlot(index) == null) {
+			return true;
+		}
+		if (this.defined.get(index) != other.defined.get(index)) {
+			return false;
+		}
+		return this.values[index] == other.values[index] //
+				&& Objects.equals(this.strings[index], other.strings[index]);
+	}
+
+}
@@ -0,0 +1,279 @@
+package io.openems.edge.common.channel.stream;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.stream.ChannelSnapshot.Slot;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.TypeUtils;
+
+/**
+ * Publishes a {@link ChannelSnapshot} of all readable Channels once per Cycle,
+ * after the process image was switched, together with the set of Channels that
+ * changed since the previous Cycle.
+ *
+ * <p>
+ * Data exporters like Backend-Api, MQTT-Api or Timedata services
+ * {@link #subscribe(PersistencePriority)} instead of scanning all Channels
+ * themselves. A {@link Subscription} collects the changes of all Cycles till it
+ * is polled, so it can be handled at its own rate, e.g. asynchronously.
+ *
+ * <p>
+ * Channels are only scanned if there is at least one {@link Subscription}.
+ */
+public class ChannelStream {
+
+	/**
+	 * The Channels that changed since the previous poll of a {@link Subscription}.
+	 *
+	 * @param snapshot the latest {@link ChannelSnapshot}
+	 * @param changed  the indices of the slots that changed
+	 * @param isAll    true if all Channels are reported, e.g. on the first poll
+	 */
+	public static record Changes(ChannelSnapshot snapshot, BitSet changed, boolean isAll) {
+
+		/**
+		 * Calls the consumer for the slot index of every changed Channel.
+		 *
+		 * @param consumer the consumer of the slot index
+		 */
+		public void forEach(IntConsumer consumer) {
+			this.changed.stream().forEach(consumer);
+		}
+
+		/**
+		 * Gets the number of changed Channels.
+		 *
+		 * @return the number of Channels
+		 */
+		public int size() {
+			return this.changed.cardinality();
+		}
+	}
+
+	/**
+	 * A subscription to the changes of Channels of at least a given
+	 * {@link PersistencePriority}.
+	 */
+	public final class Subscription implements AutoCloseable {
+
+		private final PersistencePriority priority;
+
+		private ChannelSnapshot snapshot = ChannelSnapshot.EMPTY;
+		private BitSet pending = new BitSet();
+		private boolean isAll = true;
+
+		private Subscription(PersistencePriority priority) {
+			this.priority = priority;
+		}
+
+		private synchronized void onPublish(ChannelSnapshot snapshot, BitSet changed) {
+			this.snapshot = snapshot;
+			if (!this.isAll) {
+				this.pending.or(changed);
+			}
+		}
+
+		/**
+		 * Gets the Channels that changed since the previous poll.
+		 *
+		 * <p>
+		 * Channels that disappeared in the meantime are not reported.
+		 *
+		 * @return the {@link Changes}
+		 */
+		public synchronized Changes poll() {
+			var changed = new BitSet();
+			var snapshot = this.snapshot;
+			if (snapshot == ChannelSnapshot.EMPTY) {
+				// Nothing was published since subscribing
+				return new Changes(snapshot, changed, false);
+			}
+			if (this.isAll) {
+				snapshot.forEach(this.priority, changed::set);
+			} else {
+				this.pending.stream().forEach(index -> {
+					var slot = snapshot.getSlot(index);
+					if (slot != null && slot.persistencePriority().isAtLeast(this.priority)) {
+						changed.set(index);
+					}
+				});
+			}
+			var result = new Changes(snapshot, changed, this.isAll);
+			this.pending = new BitSet();
+			this.isAll = false;
+			return result;
+		}
+
+		/**
+		 * Reports the given {@link Changes} again on the next poll, e.g. if sending
+		 * them failed.
+		 *
+		 * @param changes the {@link Changes}
+		 */
+		public synchronized void retry(Changes changes) {
+			if (changes.isAll()) {
+				this.isAll = true;
+			} else {
+				this.pending.or(changes.changed());
+			}
+		}
+
+		/**
+		 * Reports all Channels on the next poll.
+		 */
+		public synchronized void requestAll() {
+			this.isAll = true;
+		}
+
+		@Override
+		public void close() {
+			ChannelStream.this.subscriptions.remove(this);
+		}
+	}
+
+	private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	// Only accessed by the publishing thread
+	private final IdentityHashMap<Channel<?>, Slot> slots = new IdentityHashMap<>();
+	private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+	private Map<ChannelAddress, Slot> slotsByAddress = Map.of();
+	private int nextSlot = 0;
+	private long cycle = 0;
+
+	private volatile ChannelSnapshot latest = ChannelSnapshot.EMPTY;
+
+	/**
+	 * Subscribes to the changes of all Channels of at least the given
+	 * {@link PersistencePriority}. The first poll reports all Channels.
+	 *
+	 * @param priority the minimum {@link PersistencePriority}
+	 * @return the {@link Subscription}; close it to unsubscribe
+	 */
+	public Subscription subscribe(PersistencePriority priority) {
+		var result = new Subscription(priority);
+		this.subscriptions.add(result);
+		return result;
+	}
+
+	/**
+	 * Gets the latest published {@link ChannelSnapshot}.
+	 *
+	 * @return the {@link ChannelSnapshot}; empty if nothing was published yet
+	 */
+	public ChannelSnapshot getLatest() {
+		return this.latest;
+	}
+
+	/**
+	 * Takes a {@link ChannelSnapshot} of all readable Channels of the given
+	 * Components and publishes it to all {@link Subscription}s. To be called once
+	 * per Cycle after the process image was switched.
+	 *
+	 * @param components the enabled {@link OpenemsComponent}s
+	 * @param timestamp  the timestamp of the Cycle
+	 */
+	public synchronized void publish(Collection<? extends OpenemsComponent> components, Instant timestamp) {
+		if (this.subscriptions.isEmpty()) {
+			return;
+		}
+		final var previous = this.latest;
+		var size = Math.max(this.nextSlot, 16);
+		var slots = new Slot[size];
+		var values = new long[size];
+		var strings = new String[size];
+		var defined = new BitSet(size);
+		var isSlotsChanged = false;
+
+		for (var component : components) {
+			try {
+				for (var channel : component.channels()) {
+					var doc = channel.channelDoc();
+					if (doc.getAccessMode() == AccessMode.WRITE_ONLY) {
+						// Ignore WRITE_ONLY Channels
+						continue;
+					}
+					var slot = this.slots.get(channel);
+					if (slot == null) {
+						var address = channel.address();
+						var index = this.freeSlots.isEmpty() ? this.nextSlot++ : this.freeSlots.poll();
+						slot = new Slot(index, address, address.toString(), channel.getType(),
+								doc.getPersistencePriority(), channel);
+						this.slots.put(channel, slot);
+						isSlotsChanged = true;
+					}
+					var index = slot.index();
+					if (index >= slots.length) {
+						size = Math.max(index + 1, slots.length * 2);
+						slots = Arrays.copyOf(slots, size);
+						values = Arrays.copyOf(values, size);
+						strings = Arrays.copyOf(strings, size);
+					}
+					slots[index] = slot;
+
+					var value = TypeUtils.getAsType(slot.type(), channel.value().get());
+					if (value == null) {
+						continue;
+					}
+					defined.set(index);
+					switch (slot.type()) {
+					case BOOLEAN -> values[index] = (Boolean) value ? 1 : 0;
+					case SHORT, INTEGER, LONG -> values[index] = ((Number) value).longValue();
+					case FLOAT, DOUBLE -> values[index] = Double.doubleToLongBits(((Number) value).doubleValue());
+					case STRING -> strings[index] = (String) value;
+					}
+				}
+			} catch (ConcurrentModificationException e) {
+				// Channels of this Component were dynamically added or removed; they are
+				// reported again with the next snapshot
+			}
+		}
+
+		// Release the slots of disappeared Channels
+		final var current = slots;
+		isSlotsChanged |= this.slots.values().removeIf(slot -> {
+			var index = slot.index();
+			if (index < current.length && current[index] == slot) {
+				return false;
+			}
+			this.freeSlots.add(index);
+			return true;
+		});
+		if (isSlotsChanged) {
+			var slotsByAddress = new HashMap<ChannelAddress, Slot>();
+			for (var slot : this.slots.values()) {
+				slotsByAddress.put(slot.address(), slot);
+			}
+			this.slotsByAddress = Collections.unmodifiableMap(slotsByAddress);
+		}
+
+		final var snapshot = new ChannelSnapshot(++this.cycle, timestamp, slots, values, strings, defined,
+				this.slotsByAddress);
+		final var changed = new BitSet(size);
+		for (var index = 0; index < Math.max(size, previous.size()); index++) {
+			if (!snapshot.isEqual(previous, index)) {
+				changed.set(index);
+			}
+		}
+
+		this.latest = snapshot;
+		for (var subscription : this.subscriptions) {
+			subscription.onPublish(snapshot, changed);
+		}
+	}
+
+}
@@ -0,0 +1,564 @@
+package io.openems.edge.common.channel.value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAmount;
+import java.util.HashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Holds the past values of a {@link Channel} in a type-specialized ring buffer.
+ *
+ * <p>
+ * Timestamps are kept as primitive 'long' (microseconds of the
+ * {@link LocalDateTime}), values as primitive 'int', 'long' or 'double' arrays
+ * depending on the {@link OpenemsType} of the Channel, and UNDEFINED values are
+ * marked in a bit-set. Entries are sorted by timestamp; entries that are older
+ * than the configured maximum age (relative to the latest entry) are dropped on
+ * {@link #append(Value)}.
+ *
+ * <p>
+ * Values are addressed by an index from '0' (oldest) to 'size() - 1' (latest).
+ * Range queries take a 'fromIndex' (inclusive) and a 'toIndex' (exclusive) and
+ * do not allocate.
+ *
+ * <p>
+ * This class is not thread-safe. It is written during the process image switch
+ * of the Channel and should only be read synchronously with the Cycle.
+ *
+ * @param <T> the type of the Channel
+ */
+public final class PastValues<T> {
+
+	private static final int INITIAL_CAPACITY = 8;
+
+	private final Channel<T> channel;
+	private final OpenemsType type;
+	private final long maxAge;
+
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private long[] undefined = new long[1];
+	private int[] intValues;
+	private long[] longValues;
+	private double[] doubleValues;
+	private Object[] objectValues;
+
+	/** Physical index of the oldest entry. */
+	private int head = 0;
+	private int size = 0;
+
+	public PastValues(Channel<T> channel, TemporalAmount maxAge) {
+		this.channel = channel;
+		this.type = channel.getType();
+		this.maxAge = Duration.from(maxAge).toNanos() / 1_000;
+		switch (this.type) {
+		case BOOLEAN, SHORT, INTEGER -> this.intValues = new int[INITIAL_CAPACITY];
+		case LONG -> this.longValues = new long[INITIAL_CAPACITY];
+		case FLOAT, DOUBLE -> this.doubleValues = new double[INITIAL_CAPACITY];
+		case STRING -> this.objectValues = new Object[INITIAL_CAPACITY];
+		}
+	}
+
+	/**
+	 * Appends a {@link Value} and deletes entries that are older than the maximum
+	 * age.
+	 *
+	 * <p>
+	 * A value with the same timestamp as the latest entry replaces it. A value
+	 * with an older timestamp (e.g. after the system clock was set back) replaces
+	 * all entries with the same or a later timestamp.
+	 *
+	 * @param value the {@link Value}
+	 */
+	public void append(Value<T> value) {
+		final var timestamp = toMicros(value.getTimestamp());
+
+		// Keep entries sorted
+		while (this.size > 0 && this.timestamps[this.physical(this.size - 1)] >= timestamp) {
+			this.size--;
+		}
+
+		// Remove entries that are too old
+		final var compareTime = timestamp - this.maxAge;
+		while (this.size > 0 && this.timestamps[this.head] < compareTime) {
+			this.head = (this.head + 1) & (this.timestamps.length - 1);
+			this.size--;
+		}
+
+		if (this.size == this.timestamps.length) {
+			this.grow();
+		}
+
+		final var index = this.physical(this.size);
+		this.timestamps[index] = timestamp;
+		this.set(index, value.get());
+		this.size++;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Is this {@link PastValues} empty?.
+	 *
+	 * @return true if there are no entries
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets the index of the latest entry with a timestamp strictly before the
+	 * given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the index or -1 if there is no such entry
+	 */
+	public int lowerIndex(LocalDateTime timestamp) {
+		return this.ceilingIndex(toMicros(timestamp)) - 1;
+	}
+
+	/**
+	 * Gets the index of the latest entry with a timestamp before or equal to the
+	 * given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the index or -1 if there is no such entry
+	 */
+	public int floorIndex(LocalDateTime timestamp) {
+		return this.ceilingIndex(toMicros(timestamp) + 1) - 1;
+	}
+
+	/**
+	 * Gets the index of the oldest entry with a timestamp after or equal to the
+	 * given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the index or {@link #size()} if there is no such entry
+	 */
+	public int ceilingIndex(LocalDateTime timestamp) {
+		return this.ceilingIndex(toMicros(timestamp));
+	}
+
+	private int ceilingIndex(long timestamp) {
+		var low = 0;
+		var high = this.size;
+		while (low < high) {
+			var mid = (low + high) >>> 1;
+			if (this.timestamps[this.physical(mid)] < timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Gets the timestamp of an entry.
+	 *
+	 * @param index the index
+	 * @return the timestamp
+	 */
+	public LocalDateTime getTimestamp(int index) {
+		return fromMicros(this.timestamps[this.checkedPhysical(index)]);
+	}
+
+	/**
+	 * Is the value of an entry defined?.
+	 *
+	 * @param index the index
+	 * @return true if the value is not UNDEFINED
+	 */
+	public boolean isDefined(int index) {
+		return this.isDefinedPhysical(this.checkedPhysical(index));
+	}
+
+	/**
+	 * Gets the value of an entry as 'long'. Only for numeric and boolean Channels.
+	 * Returns '0' for UNDEFINED values; check {@link #isDefined(int)} first.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	public long getAsLong(int index) {
+		return this.getAsLongPhysical(this.checkedPhysical(index));
+	}
+
+	/**
+	 * Gets the value of an entry as 'double'. Only for numeric and boolean
+	 * Channels. Returns '0' for UNDEFINED values; check {@link #isDefined(int)}
+	 * first.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	public double getAsDouble(int index) {
+		return this.getAsDoublePhysical(this.checkedPhysical(index));
+	}
+
+	/**
+	 * Gets the (boxed) value of an entry.
+	 *
+	 * @param index the index
+	 * @return the value or null if it is UNDEFINED
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		final var physical = this.checkedPhysical(index);
+		if (!this.isDefinedPhysical(physical)) {
+			return null;
+		}
+		return (T) switch (this.type) {
+		case BOOLEAN -> Boolean.valueOf(this.intValues[physical] != 0);
+		case SHORT -> Short.valueOf((short) this.intValues[physical]);
+		case INTEGER -> Integer.valueOf(this.intValues[physical]);
+		case LONG -> Long.valueOf(this.longValues[physical]);
+		case FLOAT -> Float.valueOf((float) this.doubleValues[physical]);
+		case DOUBLE -> Double.valueOf(this.doubleValues[physical]);
+		case STRING -> this.objectValues[physical];
+		};
+	}
+
+	/**
+	 * Gets an entry as {@link Value}.
+	 *
+	 * @param index the index
+	 * @return the {@link Value}
+	 */
+	public Value<T> getValue(int index) {
+		return new Value<>(this.channel, this.get(index), this.getTimestamp(index));
+	}
+
+	/**
+	 * Counts the defined values in the given range.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the number of defined values
+	 */
+	public int countDefined(int fromIndex, int toIndex) {
+		var result = 0;
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			if (this.isDefinedPhysical(this.physical(i))) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sums the defined values in the given range as 'long'. Only for numeric and
+	 * boolean Channels.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the sum; '0' if there are no defined values
+	 */
+	public long sumAsLong(int fromIndex, int toIndex) {
+		var result = 0L;
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical)) {
+				result += this.getAsLongPhysical(physical);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Sums the defined values in the given range as 'double'. Only for numeric and
+	 * boolean Channels.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the sum; '0' if there are no defined values
+	 */
+	public double sumAsDouble(int fromIndex, int toIndex) {
+		var result = 0.;
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical)) {
+				result += this.getAsDoublePhysical(physical);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the average of the defined values in the given range. Only for numeric
+	 * and boolean Channels.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the average; {@link Double#NaN} if there are no defined values
+	 */
+	public double average(int fromIndex, int toIndex) {
+		final var count = this.countDefined(fromIndex, toIndex);
+		if (count == 0) {
+			return Double.NaN;
+		}
+		return switch (this.type) {
+		case FLOAT, DOUBLE -> this.sumAsDouble(fromIndex, toIndex) / count;
+		case BOOLEAN, SHORT, INTEGER, LONG -> (double) this.sumAsLong(fromIndex, toIndex) / count;
+		case STRING -> Double.NaN;
+		};
+	}
+
+	/**
+	 * Gets the maximum of the defined values in the given range as 'long'. Only
+	 * for numeric and boolean Channels.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the maximum; {@link Long#MIN_VALUE} if there are no defined values
+	 */
+	public long maxAsLong(int fromIndex, int toIndex) {
+		var result = Long.MIN_VALUE;
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical)) {
+				result = Math.max(result, this.getAsLongPhysical(physical));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the maximum of the defined values in the given range as 'double'. Only
+	 * for numeric and boolean Channels.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the maximum; {@link Double#NaN} if there are no defined values
+	 */
+	public double maxAsDouble(int fromIndex, int toIndex) {
+		var result = Double.NaN;
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical)) {
+				final var value = this.getAsDoublePhysical(physical);
+				if (Double.isNaN(result) || value > result) {
+					result = value;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the index of the first defined value in the given range.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the index or -1 if there is no defined value
+	 */
+	public int firstDefinedIndex(int fromIndex, int toIndex) {
+		for (var i = Math.max(0, fromIndex); i < Math.min(this.size, toIndex); i++) {
+			if (this.isDefinedPhysical(this.physical(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the index of the last defined value in the given range.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the index or -1 if there is no defined value
+	 */
+	public int lastDefinedIndex(int fromIndex, int toIndex) {
+		for (var i = Math.min(this.size, toIndex) - 1; i >= Math.max(0, fromIndex); i--) {
+			if (this.isDefinedPhysical(this.physical(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the index of the most frequent defined value in the given range; on a
+	 * tie the value that appears latest in the range wins. Only for numeric and
+	 * boolean Channels, e.g. to aggregate the options of an
+	 * {@link io.openems.edge.common.channel.EnumDoc} Channel. Allocates a map of
+	 * the counts per value.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return the index or -1 if there is no defined value
+	 */
+	public int mostFrequentIndex(int fromIndex, int toIndex) {
+		final var from = Math.max(0, fromIndex);
+		final var to = Math.min(this.size, toIndex);
+		final var counts = new HashMap<Long, Integer>();
+		var maxCount = 0;
+		for (var i = from; i < to; i++) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical)) {
+				maxCount = Math.max(maxCount, counts.merge(this.getAsLongPhysical(physical), 1, Integer::sum));
+			}
+		}
+
+		// pick latest value with most appearances
+		for (var i = to - 1; i >= from; i--) {
+			final var physical = this.physical(i);
+			if (this.isDefinedPhysical(physical) && counts.get(this.getAsLongPhysical(physical)) == maxCount) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Streams the entries in the given range as {@link Value}s. Convenience
+	 * method; allocates one {@link Value} per entry.
+	 *
+	 * @param fromIndex the first index (inclusive)
+	 * @param toIndex   the last index (exclusive)
+	 * @return a {@link Stream} of {@link Value}s, from oldest to latest
+	 */
+	public Stream<Value<T>> stream(int fromIndex, int toIndex) {
+		return IntStream.range(Math.max(0, fromIndex), Math.min(this.size, toIndex)) //
+				.mapToObj(this::getValue);
+	}
+
+	/**
+	 * Streams all entries as {@link Value}s. Convenience method; allocates one
+	 * {@link Value} per entry.
+	 *
+	 * @return a {@link Stream} of {@link Value}s, from oldest to latest
+	 */
+	public Stream<Value<T>> stream() {
+		return this.stream(0, this.size);
+	}
+
+	private void set(int physical, T value) {
+		final var word = physical >>> 6;
+		final var bit = 1L << physical;
+		if (value == null) {
+			this.undefined[word] |= bit;
+			if (this.objectValues != null) {
+				this.objectValues[physical] = null;
+			}
+			return;
+		}
+		this.undefined[word] &= ~bit;
+		switch (this.type) {
+		case BOOLEAN -> this.intValues[physical] = ((Boolean) value) ? 1 : 0;
+		case SHORT, INTEGER -> this.intValues[physical] = ((Number) value).intValue();
+		case LONG -> this.longValues[physical] = ((Number) value).longValue();
+		case FLOAT, DOUBLE -> this.doubleValues[physical] = ((Number) value).doubleValue();
+		case STRING -> this.objectValues[physical] = value;
+		}
+	}
+
+	private boolean isDefinedPhysical(int physical) {
+		return (this.undefined[physical >>> 6] & (1L << physical)) == 0;
+	}
+
+	private long getAsLongPhysical(int physical) {
+		return switch (this.type) {
+		case BOOLEAN, SHORT, INTEGER -> this.intValues[physical];
+		case LONG -> this.longValues[physical];
+		case FLOAT, DOUBLE -> (long) this.doubleValues[physical];
+		case STRING -> throw new IllegalArgumentException("Channel [" + this.channel.address() + "] is STRING");
+		};
+	}
+
+	private double getAsDoublePhysical(int physical) {
+		return switch (this.type) {
+		case BOOLEAN, SHORT, INTEGER -> this.intValues[physical];
+		case LONG -> this.longValues[physical];
+		case FLOAT, DOUBLE -> this.doubleValues[physical];
+		case STRING -> throw new IllegalArgumentException("Channel [" + this.channel.address() + "] is STRING");
+		};
+	}
+
+	private int physical(int index) {
+		return (this.head + index) & (this.timestamps.length - 1);
+	}
+
+	private int checkedPhysical(int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException("Index [" + index + "] out of bounds for size [" + this.size + "]");
+		}
+		return this.physical(index);
+	}
+
+	/**
+	 * Doubles the capacity and moves the oldest entry to physical index '0'.
+	 */
+	private void grow() {
+		final var oldCapacity = this.timestamps.length;
+		final var newCapacity = oldCapacity << 1;
+		final var undefined = new long[Math.max(1, newCapacity >>> 6)];
+		for (var i = 0; i < this.size; i++) {
+			if (!this.isDefinedPhysical(this.physical(i))) {
+				undefined[i >>> 6] |= 1L << i;
+			}
+		}
+		this.timestamps = this.unwrap(this.timestamps, new long[newCapacity], oldCapacity);
+		if (this.intValues != null) {
+			this.intValues = this.unwrap(this.intValues, new int[newCapacity], oldCapacity);
+		}
+		if (this.longValues != null) {
+			this.longValues = this.unwrap(this.longValues, new long[newCapacity], oldCapacity);
+		}
+		if (this.doubleValues != null) {
+			this.doubleValues = this.unwrap(this.doubleValues, new double[newCapacity], oldCapacity);
+		}
+		if (this.objectValues != null) {
+			this.objectValues = this.unwrap(this.objectValues, new Object[newCapacity], oldCapacity);
+		}
+		this.undefined = undefined;
+		this.head = 0;
+	}
+
+	/**
+	 * Copies the ring buffer 'source' in logical order to the beginning of
+	 * 'target'. Must be called before 'head' is reset.
+	 *
+	 * @param <A>         the array type
+	 * @param source      the source array
+	 * @param target      the target array
+	 * @param oldCapacity the capacity of the source array
+	 * @return the target array
+	 */
+	private <A> A unwrap(A source, A target, int oldCapacity) {
+		final var firstPart = Math.min(this.size, oldCapacity - this.head);
+		System.arraycopy(source, this.head, target, 0, firstPart);
+		System.arraycopy(source, 0, target, firstPart, this.size - firstPart);
+		return target;
+	}
+
+	private static long toMicros(LocalDateTime timestamp) {
+		return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+	}
+
+	private static LocalDateTime fromMicros(long micros) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+				(int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+	}
+
+}
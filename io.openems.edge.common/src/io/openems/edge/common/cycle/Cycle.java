@@ -6,6 +6,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.stream.ChannelStream;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
@@ -27,6 +28,16 @@ public interface Cycle extends OpenemsComponent {
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.LONG) //
 				.unit(Unit.MILLISECONDS)),
+		/**
+		 * Measured duration of switching the process image of all Channels in [ms].
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Long
+		 * </ul>
+		 */
+		PROCESS_IMAGE_DURATION(Doc.of(OpenemsType.LONG) //
+				.unit(Unit.MILLISECONDS)),
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 *
@@ -88,6 +99,35 @@ public interface Cycle extends OpenemsComponent {
 		this.getMeasuredCycleTimeChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getProcessImageDurationChannel() {
+		return this.channel(ChannelId.PROCESS_IMAGE_DURATION);
+	}
+
+	/**
+	 * Gets the measured duration of the process image switch in [ms]. See
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Long> getProcessImageDuration() {
+		return this.getProcessImageDurationChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PROCESS_IMAGE_DURATION} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setProcessImageDuration(long value) {
+		this.getProcessImageDurationChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#IGNORE_DISABLED_CONTROLLER}.
 	 *
@@ -124,4 +164,12 @@ public interface Cycle extends OpenemsComponent {
 	 */
 	public int getCycleTime();
 
+	/**
+	 * Gets the {@link ChannelStream}, that publishes a snapshot of all Channel
+	 * values once per Cycle after the process image was switched.
+	 *
+	 * @return the {@link ChannelStream}
+	 */
+	public ChannelStream getChannelStream();
+
 }
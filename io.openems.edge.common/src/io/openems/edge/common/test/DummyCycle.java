@@ -1,5 +1,6 @@
 package io.openems.edge.common.test;
 
+import io.openems.edge.common.channel.stream.ChannelStream;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
 
@@ -9,6 +10,7 @@ import io.openems.edge.common.cycle.Cycle;
 public class DummyCycle extends AbstractDummyOpenemsComponent<DummyCycle> implements Cycle {
 
 	private final int cycleTime;
+	private final ChannelStream channelStream = new ChannelStream();
 
 	public DummyCycle(int cycleTime) {
 		super("_cycle", //
@@ -28,4 +30,9 @@ public class DummyCycle extends AbstractDummyOpenemsComponent<DummyCycle> implem
 		return this.cycleTime;
 	}
 
+	@Override
+	public ChannelStream getChannelStream() {
+		return this.channelStream;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package io.openems.edge.common.channel.stream;
+
+import static io.openems.edge.common.test.TestUtils.withValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.stream.ChannelStream.Changes;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ChannelStreamTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			INTEGER(Doc.of(OpenemsType.INTEGER) //
+					.persistencePriority(PersistencePriority.HIGH)), //
+			FLOAT(Doc.of(OpenemsType.FLOAT) //
+					.persistencePriority(PersistencePriority.HIGH)), //
+			STRING(Doc.of(OpenemsType.STRING) //
+					.persistencePriority(PersistencePriority.HIGH)), //
+			BOOLEAN(Doc.of(OpenemsType.BOOLEAN) //
+					.persistencePriority(PersistencePriority.LOW)), //
+			WRITE_ONLY(Doc.of(OpenemsType.INTEGER) //
+					.accessMode(AccessMode.WRITE_ONLY) //
+					.persistencePriority(PersistencePriority.HIGH)), //
+			;
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent(String id) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					ChannelId.values() //
+			);
+			super.activate(null, id, "", true);
+		}
+	}
+
+	private static Map<String, JsonElement> toMap(Changes changes) {
+		var result = new HashMap<String, JsonElement>();
+		var snapshot = changes.snapshot();
+		changes.forEach(index -> result.put(snapshot.getSlot(index).key(), snapshot.getAsJson(index)));
+		return result;
+	}
+
+	@Test
+	public void test() {
+		var sut = new ChannelStream();
+		var component = new DummyComponent("component0");
+		var components = List.of(component);
+
+		// Channels are only scanned with Subscriptions
+		sut.publish(components, Instant.ofEpochSecond(1));
+		assertEquals(0, sut.getLatest().getCycle());
+
+		var subscription = sut.subscribe(PersistencePriority.HIGH);
+		assertEquals(0, subscription.poll().size());
+
+		withValue(component, DummyComponent.ChannelId.INTEGER, 1);
+		withValue(component, DummyComponent.ChannelId.FLOAT, 1.5F);
+		withValue(component, DummyComponent.ChannelId.BOOLEAN, true);
+		sut.publish(components, Instant.ofEpochSecond(2));
+
+		// First poll reports all Channels of at least HIGH priority
+		var changes = subscription.poll();
+		assertTrue(changes.isAll());
+		assertEquals(1, changes.snapshot().getCycle());
+		assertEquals(Instant.ofEpochSecond(2), changes.snapshot().getTimestamp());
+		assertEquals(Map.of(//
+				"component0/State", JsonNull.INSTANCE, //
+				"component0/Integer", new JsonPrimitive(1), //
+				"component0/Float", new JsonPrimitive(1.5F), //
+				"component0/String", JsonNull.INSTANCE), toMap(changes));
+
+		// Nothing changed
+		sut.publish(components, Instant.ofEpochSecond(3));
+		assertEquals(0, subscription.poll().size());
+
+		// Changes of several Cycles are collected till the next poll
+		withValue(component, DummyComponent.ChannelId.INTEGER, 2);
+		sut.publish(components, Instant.ofEpochSecond(4));
+		withValue(component, DummyComponent.ChannelId.STRING, "foo");
+		withValue(component, DummyComponent.ChannelId.BOOLEAN, false);
+		sut.publish(components, Instant.ofEpochSecond(5));
+		changes = subscription.poll();
+		assertFalse(changes.isAll());
+		assertEquals(Map.of(//
+				"component0/Integer", new JsonPrimitive(2), //
+				"component0/String", new JsonPrimitive("foo")), toMap(changes));
+
+		// Retry
+		subscription.retry(changes);
+		sut.publish(components, Instant.ofEpochSecond(6));
+		assertEquals(toMap(changes), toMap(subscription.poll()));
+
+		// Values of the Snapshot
+		var snapshot = sut.getLatest();
+		var values = new HashMap<String, Object>();
+		snapshot.forEach(PersistencePriority.VERY_LOW, index -> {
+			values.put(snapshot.getSlot(index).key(), snapshot.getValue(index));
+		});
+		assertEquals(2, values.get("component0/Integer"));
+		assertEquals(1.5F, values.get("component0/Float"));
+		assertEquals("foo", values.get("component0/String"));
+		assertEquals(false, values.get("component0/Boolean"));
+		assertFalse(values.containsKey("component0/WriteOnly"));
+
+		// Lookup by ChannelAddress
+		var index = snapshot.indexOf(new ChannelAddress("component0", "Integer"));
+		assertEquals(2, snapshot.getValue(index));
+		assertSame(component.channel(DummyComponent.ChannelId.INTEGER), snapshot.getSlot(index).channel());
+		assertEquals(-1, snapshot.indexOf(new ChannelAddress("component0", "WriteOnly")));
+		assertEquals(-1, snapshot.indexOf(new ChannelAddress("component1", "Integer")));
+
+		// Component disappears; a new one takes its slots
+		sut.publish(List.of(), Instant.ofEpochSecond(7));
+		assertEquals(0, subscription.poll().size());
+		sut.publish(List.of(), Instant.ofEpochSecond(8));
+		var other = new DummyComponent("component1");
+		withValue(other, DummyComponent.ChannelId.INTEGER, 2);
+		sut.publish(List.of(other), Instant.ofEpochSecond(9));
+		assertEquals(Map.of(//
+				"component1/State", JsonNull.INSTANCE, //
+				"component1/Integer", new JsonPrimitive(2), //
+				"component1/Float", JsonNull.INSTANCE, //
+				"component1/String", JsonNull.INSTANCE), toMap(subscription.poll()));
+		assertEquals(snapshot.size(), sut.getLatest().size());
+		assertEquals(-1, sut.getLatest().indexOf(new ChannelAddress("component0", "Integer")));
+		assertEquals(2, sut.getLatest().getValue(sut.getLatest().indexOf(new ChannelAddress("component1", "Integer"))));
+		assertEquals(index, snapshot.indexOf(new ChannelAddress("component0", "Integer")));
+
+		// Request all
+		subscription.requestAll();
+		sut.publish(List.of(other), Instant.ofEpochSecond(10));
+		assertEquals(4, subscription.poll().size());
+
+		// Unsubscribe
+		subscription.close();
+		sut.publish(List.of(other), Instant.ofEpochSecond(11));
+		assertEquals(Instant.ofEpochSecond(10), sut.getLatest().getTimestamp());
+		assertNull(sut.getLatest().getSlot(1000));
+	}
+
+}
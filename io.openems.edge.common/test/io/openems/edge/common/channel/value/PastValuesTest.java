@@ -0,0 +1,77 @@
+package io.openems.edge.common.channel.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.Test;
+
+import io.openems.edge.common.test.DummyCycle;
+
+public class PastValuesTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 0, 0);
+
+	@Test
+	public void test() {
+		var channel = new DummyCycle(1000).getMeasuredCycleTimeChannel();
+		var sut = new PastValues<Long>(channel, Duration.ofSeconds(10));
+		assertTrue(sut.isEmpty());
+
+		for (var i = 0; i < 100; i++) {
+			sut.append(new Value<>(channel, i % 5 == 0 ? null : Long.valueOf(i), START.plusSeconds(i)));
+		}
+
+		// Keeps only values of the last 10 seconds
+		assertEquals(11, sut.size());
+		assertEquals(START.plusSeconds(89), sut.getTimestamp(0));
+		assertEquals(Long.valueOf(89), sut.get(0));
+		assertFalse(sut.isDefined(1)); // 90
+		assertNull(sut.get(1));
+
+		// Range queries
+		assertEquals(-1, sut.floorIndex(START.plusSeconds(88)));
+		assertEquals(0, sut.floorIndex(START.plusSeconds(89)));
+		assertEquals(0, sut.lowerIndex(START.plusSeconds(90)));
+		assertEquals(2, sut.ceilingIndex(START.plusSeconds(90).plusNanos(1_000)));
+		assertEquals(11, sut.ceilingIndex(START.plusSeconds(100)));
+
+		// Aggregations ignore UNDEFINED values
+		assertEquals(9, sut.countDefined(0, sut.size()));
+		assertEquals(89 + 91 + 92 + 93 + 94 + 96 + 97 + 98 + 99, sut.sumAsLong(0, sut.size()));
+		assertEquals(99, sut.maxAsLong(0, sut.size()));
+		assertEquals(91.5, sut.average(2, 4), 0.001);
+		assertEquals(2, sut.firstDefinedIndex(1, sut.size()));
+		assertEquals(5, sut.lastDefinedIndex(0, 7));
+		assertTrue(Double.isNaN(sut.average(1, 2)));
+
+		// Same timestamp replaces the latest value
+		sut.append(new Value<>(channel, 1000L, START.plusSeconds(99)));
+		assertEquals(11, sut.size());
+		assertEquals(Long.valueOf(1000), sut.get(10));
+	}
+
+	@Test
+	public void testMostFrequentIndex() {
+		var channel = new DummyCycle(1000).getMeasuredCycleTimeChannel();
+		var sut = new PastValues<Long>(channel, Duration.ofSeconds(10));
+		assertEquals(-1, sut.mostFrequentIndex(0, sut.size()));
+
+		var values = new Long[] { 1L, 2L, null, 2L, 1L, 2L, 3L };
+		for (var i = 0; i < values.length; i++) {
+			sut.append(new Value<>(channel, values[i], START.plusSeconds(i)));
+		}
+
+		assertEquals(5, sut.mostFrequentIndex(0, sut.size()));
+		// Tie within the range: the latest value in the range wins, not the latest
+		// value overall
+		assertEquals(4, sut.mostFrequentIndex(0, 5));
+		assertEquals(6, sut.mostFrequentIndex(6, 7));
+		assertEquals(-1, sut.mostFrequentIndex(2, 3));
+	}
+
+}
@@ -0,0 +1,201 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.Arrays;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.stream.ChannelSnapshot;
+
+/**
+ * Incrementally aggregates the values of one {@link Channel} within one
+ * aggregation period.
+ *
+ * <p>
+ * {@link #update(Object, long)} is only called in Cycles in which the value in
+ * the {@link ChannelSnapshot} changed. Every value is weighted with the number
+ * of Cycles it was active, so the result is the same as if every Cycle was
+ * added. {@link #getAggregated(long)} returns the aggregated value of the
+ * current period without iterating the values again; {@link #reset()} starts
+ * the next period with the latest value, so that even Channels whose value did
+ * not change within a period get aggregated.
+ *
+ * <p>
+ * Aggregation rules:
+ * <ul>
+ * <li>cumulated Units: maximum
+ * <li>numeric and boolean Channels: average, rounded for non-floating types
+ * <li>{@link EnumDoc} Channels: the option with the most appearances; on a tie
+ * the latest one
+ * <li>String Channels: the first value
+ * </ul>
+ */
+public class ChannelAggregator {
+
+	private final Channel<?> channel;
+	private final OpenemsType type;
+	private final boolean isCumulated;
+	private final boolean isEnum;
+
+	/** The latest value and the Cycle since which it is active. */
+	private Object value = null;
+	private long since = -1;
+
+	private long count = 0;
+	private long sumLong = 0;
+	private double sumDouble = 0;
+	private long maxLong = Long.MIN_VALUE;
+	private double maxDouble = Double.NEGATIVE_INFINITY;
+	private String firstString = null;
+
+	/** Per-option counters for {@link EnumDoc} Channels. */
+	private int[] optionValues = null;
+	private long[] optionCounts = null;
+	private long[] optionLastSeen = null;
+	private int options = 0;
+
+	public ChannelAggregator(Channel<?> channel) {
+		this.channel = channel;
+		this.type = channel.getType();
+		this.isCumulated = channel.channelDoc().getUnit().isCumulated();
+		this.isEnum = channel.channelDoc() instanceof EnumDoc;
+		if (this.isEnum) {
+			this.optionValues = new int[4];
+			this.optionCounts = new long[4];
+			this.optionLastSeen = new long[4];
+		}
+	}
+
+	/**
+	 * Gets the {@link Channel}.
+	 *
+	 * @return the {@link Channel}
+	 */
+	public Channel<?> getChannel() {
+		return this.channel;
+	}
+
+	/**
+	 * Sets a new value of the {@link Channel}.
+	 *
+	 * @param value the new value in the {@link OpenemsType} of the Channel; null if
+	 *              not defined
+	 * @param cycle the Cycle since which the value is active
+	 */
+	public void update(Object value, long cycle) {
+		this.addUntil(cycle);
+		this.value = value;
+	}
+
+	/**
+	 * Starts a new aggregation period with the latest value.
+	 */
+	public void reset() {
+		this.count = 0;
+		this.sumLong = 0;
+		this.sumDouble = 0;
+		this.maxLong = Long.MIN_VALUE;
+		this.maxDouble = Double.NEGATIVE_INFINITY;
+		this.firstString = null;
+		this.options = 0;
+	}
+
+	/**
+	 * Gets the aggregated value of the current period.
+	 *
+	 * @param cycle the last Cycle of the period
+	 * @return the aggregated value; {@link JsonNull} if there was no defined value
+	 */
+	public JsonElement getAggregated(long cycle) {
+		this.addUntil(cycle + 1);
+		if (this.count == 0) {
+			return JsonNull.INSTANCE;
+		}
+		if (this.isEnum) {
+			// pick the value with most appearances; latest on a tie
+			var best = 0;
+			for (var i = 1; i < this.options; i++) {
+				if (this.optionCounts[i] > this.optionCounts[best] //
+						|| this.optionCounts[i] == this.optionCounts[best]
+								&& this.optionLastSeen[i] > this.optionLastSeen[best]) {
+					best = i;
+				}
+			}
+			return new JsonPrimitive(this.optionValues[best]);
+		}
+		return switch (this.type) {
+		case DOUBLE, FLOAT -> this.isCumulated //
+				? new JsonPrimitive(this.maxDouble) //
+				: new JsonPrimitive(this.sumDouble / this.count);
+		// round averages to their type
+		case BOOLEAN, LONG, INTEGER, SHORT -> this.isCumulated //
+				? new JsonPrimitive(this.maxLong) //
+				: new JsonPrimitive(Math.round((double) this.sumLong / this.count));
+		// return first string for now
+		case STRING -> new JsonPrimitive(this.firstString);
+		};
+	}
+
+	/**
+	 * Adds the latest value for the Cycles till the given one, exclusive.
+	 *
+	 * @param cycle the Cycle
+	 */
+	private void addUntil(long cycle) {
+		if (this.since >= 0 && cycle > this.since) {
+			this.add(this.value, cycle - this.since);
+		}
+		this.since = cycle;
+	}
+
+	private void add(Object value, long weight) {
+		if (value == null) {
+			return;
+		}
+		this.count += weight;
+		switch (this.type) {
+		case DOUBLE, FLOAT -> {
+			final var v = ((Number) value).doubleValue();
+			this.sumDouble += v * weight;
+			this.maxDouble = Math.max(this.maxDouble, v);
+		}
+		case BOOLEAN, LONG, INTEGER, SHORT -> {
+			final var v = value instanceof Boolean b ? (b ? 1L : 0L) : ((Number) value).longValue();
+			this.sumLong += v * weight;
+			this.maxLong = Math.max(this.maxLong, v);
+			if (this.isEnum) {
+				this.addOption((int) v, weight);
+			}
+		}
+		case STRING -> {
+			if (this.firstString == null) {
+				this.firstString = value.toString();
+			}
+		}
+		}
+	}
+
+	private void addOption(int value, long weight) {
+		for (var i = 0; i < this.options; i++) {
+			if (this.optionValues[i] == value) {
+				this.optionCounts[i] += weight;
+				this.optionLastSeen[i] = this.count;
+				return;
+			}
+		}
+		if (this.options == this.optionValues.length) {
+			this.optionValues = Arrays.copyOf(this.optionValues, this.options * 2);
+			this.optionCounts = Arrays.copyOf(this.optionCounts, this.options * 2);
+			this.optionLastSeen = Arrays.copyOf(this.optionLastSeen, this.options * 2);
+		}
+		this.optionValues[this.options] = value;
+		this.optionCounts[this.options] = weight;
+		this.optionLastSeen[this.options] = this.count;
+		this.options++;
+	}
+
+}
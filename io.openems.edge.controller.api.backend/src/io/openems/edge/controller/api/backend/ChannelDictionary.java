@@ -0,0 +1,140 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.function.ThrowingFunction;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+
+/**
+ * Holds the Channel-Address dictionary of the current Backend connection for
+ * {@link CompactDataNotification}s.
+ *
+ * <p>
+ * Addresses are appended in the order they appear and keep their index for the
+ * lifetime of the connection, so new Channels (e.g. after an EdgeConfig
+ * change) only require sending the new addresses. An address is used in
+ * compact form only after the Backend acknowledged it. If the Backend does not
+ * support {@link SetChannelDictionaryRequest}, compact data is disabled until
+ * the next connection.
+ */
+public class ChannelDictionary {
+
+	private final Map<String, Integer> indices = new HashMap<>();
+	private final List<String> addresses = new ArrayList<>();
+
+	/** Number of addresses that were acknowledged by the Backend. */
+	private int acknowledged = 0;
+	/** Number of addresses that were sent to the Backend. */
+	private int sent = 0;
+	private boolean isPending = false;
+	private boolean isUnsupported = false;
+	/** Incremented on every {@link #reset()} to ignore stale responses. */
+	private int connection = 0;
+
+	/**
+	 * Resets the dictionary, e.g. on a new connection.
+	 */
+	public synchronized void reset() {
+		this.indices.clear();
+		this.addresses.clear();
+		this.acknowledged = 0;
+		this.sent = 0;
+		this.isPending = false;
+		this.isUnsupported = false;
+		this.connection++;
+	}
+
+	/**
+	 * Adds unknown Channel-Addresses and sends them to the Backend, unless a
+	 * previous update is still pending.
+	 *
+	 * @param addresses the Channel-Addresses
+	 * @param sender    sends the {@link SetChannelDictionaryRequest}
+	 */
+	public synchronized void update(Collection<String> addresses,
+			ThrowingFunction<SetChannelDictionaryRequest, CompletableFuture<JsonrpcResponseSuccess>, OpenemsNamedException> sender) {
+		if (this.isUnsupported) {
+			return;
+		}
+		for (var address : addresses) {
+			if (!this.indices.containsKey(address)) {
+				this.indices.put(address, this.addresses.size());
+				this.addresses.add(address);
+			}
+		}
+		if (this.isPending || this.sent == this.addresses.size()) {
+			return;
+		}
+
+		final var connection = this.connection;
+		final var offset = this.sent;
+		final var size = this.addresses.size();
+		final var request = new SetChannelDictionaryRequest(offset,
+				List.copyOf(this.addresses.subList(offset, size)));
+		this.isPending = true;
+		this.sent = size;
+		try {
+			sender.apply(request).whenComplete((response, throwable) -> {
+				this.onResponse(connection, size, throwable);
+			});
+		} catch (OpenemsNamedException e) {
+			this.onResponse(connection, size, e);
+		}
+	}
+
+	private synchronized void onResponse(int connection, int size, Throwable throwable) {
+		if (connection != this.connection) {
+			// Response for a previous connection
+			return;
+		}
+		this.isPending = false;
+		if (throwable == null) {
+			this.acknowledged = size;
+		} else if (throwable instanceof OpenemsNamedException e
+				&& e.getError() == OpenemsError.JSONRPC_UNHANDLED_METHOD) {
+			// Backend does not support compact data
+			this.isUnsupported = true;
+		} else {
+			// Resend the complete dictionary on next update
+			this.acknowledged = 0;
+			this.sent = 0;
+		}
+	}
+
+	/**
+	 * Encodes data as {@link CompactDataNotification}.
+	 *
+	 * @param aggregated true for aggregated data
+	 * @param timestamp  the timestamp epoch in milliseconds
+	 * @param data       a map of Channel-Address to {@link JsonElement} value
+	 * @return the {@link CompactDataNotification}; null if at least one address
+	 *         was not yet acknowledged by the Backend
+	 */
+	public synchronized CompactDataNotification encode(boolean aggregated, long timestamp,
+			Map<String, JsonElement> data) {
+		if (this.acknowledged == 0) {
+			return null;
+		}
+		for (var address : data.keySet()) {
+			var index = this.indices.get(address);
+			if (index == null || index >= this.acknowledged) {
+				return null;
+			}
+		}
+		var result = new CompactDataNotification(aggregated);
+		result.add(timestamp, data, this.indices::get);
+		return result;
+	}
+
+}
@@ -50,6 +50,9 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Resend values Persistence Priority", description = "Resend only Channels with a Persistence Priority greater-or-equals this. Should match with the persistence priority configured in your timedata.")
 	PersistencePriority resendPriority() default PersistencePriority.HIGH;
 
+	@AttributeDefinition(name = "Compact data", description = "Send Channel values with a Channel-Address dictionary if the Backend supports it.")
+	boolean compactData() default true;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
@@ -119,6 +119,10 @@ public class ControllerApiBackendImpl extends AbstractOpenemsComponent
 		// initialize ApiWorker
 		this.apiWorker.setTimeoutSeconds(config.apiTimeout());
 
+		// Subscribe to Channel values
+		this.sendChannelValuesWorker.activate(this.cycle.getChannelStream(), config.persistencePriority(),
+				config.aggregationPriority());
+
 		// Get URI
 		URI uri = null;
 		try {
@@ -26,7 +26,8 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 		var message = new EdgeConfigNotification(config);
 		this.parent.websocket.sendMessage(message);
 
-		// Send all Channel values
+		// Negotiate a new Channel-Address dictionary and send all Channel values
+		this.parent.sendChannelValuesWorker.resetChannelDictionary();
 		this.parent.sendChannelValuesWorker.sendValuesOfAllChannelsOnce();
 
 		// Trigger resending data
@@ -1,55 +1,50 @@
 package io.openems.edge.controller.api.backend;
 
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
-
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
-import java.util.stream.Collector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.TreeBasedTable;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonPrimitive;
 
-import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.timedata.DurationUnit;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.ThreadPoolUtils;
-import io.openems.edge.common.channel.Channel;
-import io.openems.edge.common.channel.EnumDoc;
-import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.type.TypeUtils;
+import io.openems.edge.common.channel.stream.ChannelSnapshot;
+import io.openems.edge.common.channel.stream.ChannelStream;
+import io.openems.edge.common.channel.stream.ChannelStream.Changes;
+import io.openems.edge.common.channel.stream.ChannelStream.Subscription;
 
 /**
  * Method {@link #collectData()} is called Synchronously with the Core.Cycle to
  * collect values of Channels. Sending of values is then delegated to an
- * asynchronous task.
+ * asynchronous task, that polls the changed Channels from its
+ * {@link Subscription} to the {@link ChannelStream} of the Cycle.
  *
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
  * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ *
+ * <p>
+ * If the Backend supports it, values are sent as
+ * {@link io.openems.common.jsonrpc.notification.CompactDataNotification} using
+ * the {@link ChannelDictionary} of the current connection.
  */
 public class SendChannelValuesWorker {
 
@@ -77,16 +72,46 @@ public class SendChannelValuesWorker {
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Provides the Channels that changed since the last successful send.
 	 */
-	private Map<String, JsonElement> lastAllValues = ImmutableMap.of();
+	private volatile Subscription subscription = null;
+
+	/**
+	 * Provides the Channels that changed since the previous Cycle for aggregation.
+	 */
+	private volatile Subscription aggregationSubscription = null;
+	private PersistencePriority aggregationPriority = null;
 
 	private Instant lastSendAggregatedDataTimestamp;
 
+	/**
+	 * Aggregates the Channel values of the current aggregation period, indexed by
+	 * the slot in the {@link ChannelSnapshot}; updated for changed Channels only.
+	 */
+	private ChannelAggregator[] aggregators = new ChannelAggregator[0];
+
+	private final ChannelDictionary channelDictionary = new ChannelDictionary();
+
 	protected SendChannelValuesWorker(ControllerApiBackendImpl parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Subscribes to the {@link ChannelStream}.
+	 *
+	 * @param channelStream       the {@link ChannelStream} of the Cycle
+	 * @param priority            the minimum {@link PersistencePriority} of
+	 *                            Channels
+	 * @param aggregationPriority the minimum {@link PersistencePriority} of
+	 *                            aggregated Channels
+	 */
+	public synchronized void activate(ChannelStream channelStream, PersistencePriority priority,
+			PersistencePriority aggregationPriority) {
+		this.subscription = channelStream.subscribe(priority);
+		this.aggregationSubscription = channelStream.subscribe(aggregationPriority);
+		this.aggregationPriority = aggregationPriority;
+	}
+
 	/**
 	 * Triggers sending all Channel values once.
 	 */
@@ -95,12 +120,27 @@ public class SendChannelValuesWorker {
 		this.sendValuesOfAllChannelsAggregated.set(true);
 	}
 
+	/**
+	 * Resets the {@link ChannelDictionary}; to be called on a new connection.
+	 */
+	public void resetChannelDictionary() {
+		this.channelDictionary.reset();
+	}
+
 	/**
 	 * Stops the {@link SendChannelValuesWorker}.
 	 */
 	public void deactivate() {
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		var subscription = this.subscription;
+		if (subscription != null) {
+			subscription.close();
+		}
+		var aggregationSubscription = this.aggregationSubscription;
+		if (aggregationSubscription != null) {
+			aggregationSubscription.close();
+		}
 	}
 
 	/**
@@ -108,15 +148,18 @@ public class SendChannelValuesWorker {
 	 * triggers asynchronous sending.
 	 */
 	public synchronized void collectData() {
-		var now = Instant.now(this.parent.componentManager.getClock());
+		final var subscription = this.subscription;
+		if (subscription == null) {
+			return;
+		}
 
-		// Update the values of all channels
-		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
-		final var aggregatedValues = this.collectAggregatedData(enabledComponents);
+		// Update the aggregated values of all changed channels
+		final var changes = this.aggregationSubscription.poll();
+		final var aggregatedValues = this.collectAggregatedData(changes.snapshot());
+		this.updateAggregators(changes);
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		this.executor.execute(new SendTask(this, subscription));
 		if (aggregatedValues != null && !aggregatedValues.isEmpty()) {
 			aggregatedValues.rowMap().forEach((timestamp, data) -> {
 				this.executor.execute(new SendAggregatedDataTask(this, Instant.ofEpochMilli(timestamp), data));
@@ -125,43 +168,30 @@ public class SendChannelValuesWorker {
 	}
 
 	/**
-	 * Cycles through all Channels and collects the value.
+	 * Adds the new values of the changed Channels to their
+	 * {@link ChannelAggregator}.
 	 *
-	 * @param enabledComponents the enabled components
-	 * @return collected data
+	 * @param changes the {@link Changes} since the previous Cycle
 	 */
-	private ImmutableMap<String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
-		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(//
-							ImmutableMap.toImmutableMap(//
-									c -> c.address().toString(), //
-									c -> c.value().asJson(), //
-									// simple/stupid merge function to avoid
-									// 'java.lang.IllegalArgumentException Duplicate Key'
-									(t, u) -> {
-										this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
-										return t;
-									}));
-		} catch (Exception e) {
-			// ConcurrentModificationException can happen if Channels are dynamically added
-			// or removed
-			this.parent.logWarn(this.log, "Unable to collect date: " + e.getMessage());
-			return ImmutableMap.of();
+	private void updateAggregators(Changes changes) {
+		final var snapshot = changes.snapshot();
+		final var cycle = snapshot.getCycle();
+		if (this.aggregators.length < snapshot.size()) {
+			this.aggregators = Arrays.copyOf(this.aggregators, snapshot.size());
 		}
+		changes.forEach(index -> {
+			final var slot = snapshot.getSlot(index);
+			var aggregator = this.aggregators[index];
+			if (aggregator == null || aggregator.getChannel() != slot.channel()) {
+				// New Channel or slot was reused for another Channel
+				aggregator = new ChannelAggregator(slot.channel());
+				this.aggregators[index] = aggregator;
+			}
+			aggregator.update(snapshot.getValue(index), cycle);
+		});
 	}
 
-	private TreeBasedTable<Long, String, JsonElement> collectAggregatedData(List<OpenemsComponent> enabledComponents) {
-		final var now = LocalDateTime.now(this.parent.componentManager.getClock());
-		final var endTime = now.truncatedTo(DurationUnit.ofMinutes(AGGREGATION_MINUTES));
-		final var startTime = endTime.minusMinutes(AGGREGATION_MINUTES);
-
+	private TreeBasedTable<Long, String, JsonElement> collectAggregatedData(ChannelSnapshot snapshot) {
 		final var timestamp = Instant.now().truncatedTo(DurationUnit.ofMinutes(AGGREGATION_MINUTES)) //
 				.minus(AGGREGATION_MINUTES, ChronoUnit.MINUTES);
 		if (this.lastSendAggregatedDataTimestamp == null) {
@@ -176,158 +206,55 @@ public class SendChannelValuesWorker {
 
 		final var sendAllChannels = this.sendValuesOfAllChannelsAggregated.getAndSet(false);
 
+		// Take a snapshot of the ChannelAggregators of all existing Channels and start
+		// the next aggregation period; the period ended with the previous Cycle
+		final var lastCycle = snapshot.getCycle() - 1;
 		final var table = TreeBasedTable.<Long, String, JsonElement>create();
-		enabledComponents.stream() //
-				.flatMap(component -> component.channels().stream()) //
-				.filter(channel -> // Ignore WRITE_ONLY Channels
-				channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-						// Ignore Low-Priority Channels
-						&& channel.channelDoc().getPersistencePriority()
-								.isAtLeast(this.parent.config.aggregationPriority()))
-				.forEach(channel -> {
-					try {
-						// This is the highest timestamp before `startTime`. If existing it is used for
-						// the tailMap to make sure we get a Value even for Channels where the value has
-						// not changed within the last 5 minutes.
-						var channelStartTime = Optional.ofNullable(channel.getPastValues().floorKey(startTime))
-								.orElse(startTime);
-
-						var value = channel.getPastValues() //
-								.tailMap(channelStartTime, true) //
-								.entrySet() //
-								.stream() //
-								.filter(e -> e.getKey().isBefore(endTime)) //
-								.filter(e -> e.getValue().isDefined()).map(e -> e.getValue().get()) //
-								.collect(aggregateCollector(channel.channelDoc().getUnit().isCumulated(), //
-										channel.getType()));
-
-						// TODO aggregation should be modifiable in Doc e. g. not every EnumDoc may want
-						// this behaviour
-						if (channel.channelDoc() instanceof EnumDoc) {
-							value = aggregateEnumChannel(channel, channelStartTime, endTime);
-						}
-
-						if (!sendAllChannels && value.isJsonNull()) {
-							return;
-						}
-						table.put(timestampMillis, channel.address().toString(), value);
-					} catch (IllegalArgumentException e) {
-						// unable to collect data because types are not matching the expected one
-						e.printStackTrace();
-					}
-				});
-		return table;
-	}
-
-	// TODO aggregation should be moved to doc
-	protected static JsonElement aggregateEnumChannel(//
-			Channel<?> channel, //
-			LocalDateTime channelStartTime, //
-			LocalDateTime endTime //
-	) {
-		final var doc = channel.channelDoc();
-		if (!(doc instanceof EnumDoc)) {
-			return JsonNull.INSTANCE;
-		}
-		final var numberOfValuesPerOption = channel.getPastValues() //
-				.tailMap(channelStartTime, true) //
-				.entrySet() //
-				.stream() //
-				.filter(e -> e.getKey().isBefore(endTime)) //
-				.filter(e -> e.getValue().isDefined()) //
-				.map(e -> (Integer) e.getValue().get()) //
-				.collect(groupingBy(Function.identity(), counting()));
-
-		final var values = numberOfValuesPerOption.entrySet().stream() //
-				.sorted((o1, o2) -> Long.compare(o2.getValue(), o1.getValue())) //
-				.toList();
-
-		final var maxValues = new ArrayList<Integer>();
-		var maxCount = -1L;
-		for (var entry : values) {
-			if (entry.getValue() < maxCount) {
-				break;
+		final var aggregators = new ChannelAggregator[snapshot.size()];
+		snapshot.forEach(this.aggregationPriority, index -> {
+			final var slot = snapshot.getSlot(index);
+			final var aggregator = index < this.aggregators.length ? this.aggregators[index] : null;
+			if (aggregator == null || aggregator.getChannel() != slot.channel()) {
+				return;
 			}
-			if (entry.getValue() == maxCount) {
-				maxValues.add(entry.getKey());
-				continue;
-			}
-			maxCount = entry.getValue();
-			maxValues.clear();
-			maxValues.add(entry.getKey());
-		}
+			aggregators[index] = aggregator;
 
-		// pick first value with most appearances
-		for (var entry : channel.getPastValues().descendingMap().entrySet()) {
-			for (var optionValue : maxValues) {
-				if (!entry.getValue().isDefined()) {
-					continue;
-				}
-				final var entryValue = entry.getValue().get();
-				if (((Integer) entryValue).intValue() == optionValue) {
-					return new JsonPrimitive(optionValue);
-				}
+			final var value = aggregator.getAggregated(lastCycle);
+			aggregator.reset();
+			if (!sendAllChannels && value.isJsonNull()) {
+				return;
 			}
-		}
-		return JsonNull.INSTANCE;
-	}
-
-	protected static Collector<Object, ?, JsonElement> aggregateCollector(//
-			final boolean isCumulated, //
-			final OpenemsType type //
-	) {
-		return Collector.of(ArrayList::new, //
-				(a, b) -> a.add(b), //
-				(a, b) -> {
-					b.addAll(a);
-					return b;
-				}, //
-				t -> aggregate(isCumulated, type, t) //
-		);
+			table.put(timestampMillis, slot.key(), value);
+		});
+		this.aggregators = aggregators;
+		return table;
 	}
 
-	protected static JsonElement aggregate(boolean isCumulated, OpenemsType type, Collection<Object> values)
-			throws IllegalArgumentException {
-		switch (type) {
-		case DOUBLE, FLOAT -> {
-			final var stream = values.stream() //
-					.mapToDouble(item -> TypeUtils.getAsType(OpenemsType.DOUBLE, item));
-			if (isCumulated) {
-				final var maxOpt = stream.max();
-				if (maxOpt.isPresent()) {
-					return new JsonPrimitive(maxOpt.getAsDouble());
-				}
-			} else {
-				final var avgOpt = stream.average();
-				if (avgOpt.isPresent()) {
-					return new JsonPrimitive(avgOpt.getAsDouble());
-				}
-			}
-		}
-		// round averages to their type
-		case BOOLEAN, LONG, INTEGER, SHORT -> {
-			final var stream = values.stream() //
-					.mapToLong(item -> TypeUtils.getAsType(OpenemsType.LONG, item));
-			if (isCumulated) {
-				final var maxOpt = stream.max();
-				if (maxOpt.isPresent()) {
-					return new JsonPrimitive(maxOpt.getAsLong());
-				}
-			} else {
-				final var avgOpt = stream.average();
-				if (avgOpt.isPresent()) {
-					return new JsonPrimitive(Math.round(avgOpt.getAsDouble()));
-				}
-			}
-		}
-		case STRING -> {
-			// return first string for now
-			for (var item : values) {
-				return new JsonPrimitive(TypeUtils.<String>getAsType(type, item));
+	/**
+	 * Creates the JSON-RPC notification for the given values; compact if possible.
+	 *
+	 * @param aggregated true for aggregated data
+	 * @param timestamp  the timestamp epoch in milliseconds
+	 * @param values     the values to be sent
+	 * @param addresses  the addresses of all collected Channels
+	 * @return a {@link JsonrpcNotification}
+	 */
+	private JsonrpcNotification createNotification(boolean aggregated, long timestamp,
+			Map<String, JsonElement> values, Collection<String> addresses) {
+		if (this.parent.config.compactData()) {
+			this.channelDictionary.update(addresses, this.parent.websocket::sendRequest);
+			var message = this.channelDictionary.encode(aggregated, timestamp, values);
+			if (message != null) {
+				return message;
 			}
 		}
-		}
-		return JsonNull.INSTANCE;
+
+		// Fallback for old Backends and unacknowledged Channel-Addresses
+		final AbstractDataNotification message = aggregated //
+				? new AggregatedDataNotification() //
+				: new TimestampedDataNotification();
+		message.add(timestamp, values);
+		return message;
 	}
 
 	/*
@@ -336,56 +263,45 @@ public class SendChannelValuesWorker {
 	private static class SendTask implements Runnable {
 
 		private final SendChannelValuesWorker parent;
-		private final Instant timestamp;
-		private final Map<String, JsonElement> allValues;
+		private final Subscription subscription;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp, Map<String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Subscription subscription) {
 			this.parent = parent;
-			this.timestamp = timestamp;
-			this.allValues = allValues;
+			this.subscription = subscription;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Map<String, JsonElement> lastAllValues;
-
+			final var now = Instant.now(this.parent.parent.componentManager.getClock());
 			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableMap.of();
+				// Send values of all Channels if explicitly asked for
+				this.subscription.requestAll();
 
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
+			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, now)
 					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableMap.of();
+				// Send values of all Channels once in a while
+				this.subscription.requestAll();
+			}
 
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
+			// Collect changed values
+			final var changes = this.subscription.poll();
+			final var snapshot = changes.snapshot();
+			if (snapshot.getCycle() == 0) {
+				// Nothing was published yet
+				return;
 			}
+			var sendValuesMap = new HashMap<String, JsonElement>(changes.size());
+			changes.forEach(index -> {
+				sendValuesMap.put(snapshot.getSlot(index).key(), snapshot.getAsJson(index));
+			});
 
 			// Round timestamp to Global Cycle-Time
 			final var cycleTime = this.parent.parent.cycle.getCycleTime();
-			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
-
-			// Prepare message values
-			var sendValuesMap = new HashMap<String, JsonElement>();
-
-			// Collect Changed values
-			for (var entry : this.allValues.entrySet()) {
-				var channelAddress = entry.getKey();
-				var value = entry.getValue();
-				if (!Objects.equals(value, lastAllValues.get(channelAddress))) {
-					sendValuesMap.put(channelAddress, value);
-				}
-			}
+			final var timestampMillis = snapshot.getTimestamp().toEpochMilli() / cycleTime * cycleTime;
 
 			// Create JSON-RPC notification
-			var message = new TimestampedDataNotification();
-			message.add(timestampMillis, sendValuesMap);
+			var message = this.parent.createNotification(false, timestampMillis, sendValuesMap,
+					sendValuesMap.keySet());
 
 			// Debug-Log
 			if (this.parent.parent.config.debugMode()) {
@@ -398,11 +314,13 @@ public class SendChannelValuesWorker {
 
 			if (wasSent) {
 				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
+				if (changes.isAll()) {
+					// all values were sent
+					this.parent.lastSendValuesOfAllChannels = now;
 				}
+			} else {
+				// Send the values again with the next changes
+				this.subscription.retry(changes);
 			}
 
 		}
@@ -425,8 +343,8 @@ public class SendChannelValuesWorker {
 
 		@Override
 		public void run() {
-			final var message = new AggregatedDataNotification();
-			message.add(this.timestamp.toEpochMilli(), this.allValues);
+			final var message = this.parent.createNotification(true, this.timestamp.toEpochMilli(), this.allValues,
+					this.allValues.keySet());
 
 			final var wasSent = this.parent.parent.websocket.sendMessage(message);
 
@@ -0,0 +1,104 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.jsonrpc.notification.CompactDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.request.SetChannelDictionaryRequest;
+
+public class ChannelDictionaryTest {
+
+	private static final String SUM_STATE = "_sum/State";
+	private static final String ESS_SOC = "_sum/EssSoc";
+	private static final String GRID_POWER = "_sum/GridActivePower";
+
+	@Test
+	public void testCompact() throws Exception {
+		var sut = new ChannelDictionary();
+		var requests = new ArrayList<SetChannelDictionaryRequest>();
+		var futures = new ArrayList<CompletableFuture<JsonrpcResponseSuccess>>();
+		var values = Map.of(SUM_STATE, new JsonPrimitive(0), ESS_SOC, new JsonPrimitive(50));
+
+		// Not yet acknowledged
+		sut.update(values.keySet(), request -> {
+			requests.add(request);
+			var future = new CompletableFuture<JsonrpcResponseSuccess>();
+			futures.add(future);
+			return future;
+		});
+		assertEquals(1, requests.size());
+		assertEquals(0, requests.get(0).getOffset());
+		assertEquals(2, requests.get(0).getAddresses().size());
+		assertNull(sut.encode(false, 1000L, values));
+
+		// Acknowledged
+		futures.get(0).complete(new GenericJsonrpcResponseSuccess(requests.get(0).getId()));
+		var message = sut.encode(false, 1000L, values);
+		assertNotNull(message);
+
+		// Decode at Backend
+		var backendDictionary = new ArrayList<>(requests.get(0).getAddresses());
+		var decoded = CompactDataNotification.from((JsonrpcNotification) JsonrpcMessage.from(message.toString())) //
+				.toDataNotification(backendDictionary);
+		assertTrue(decoded instanceof TimestampedDataNotification);
+		assertEquals(new JsonPrimitive(50), decoded.getData().get(1000L, ESS_SOC));
+		assertEquals(new JsonPrimitive(0), decoded.getData().get(1000L, SUM_STATE));
+
+		// New Channel: only new address is sent; not compact until acknowledged
+		var newValues = Map.of(GRID_POWER, new JsonPrimitive(-300));
+		sut.update(List.of(SUM_STATE, ESS_SOC, GRID_POWER), request -> {
+			requests.add(request);
+			return CompletableFuture.completedFuture(new GenericJsonrpcResponseSuccess(request.getId()));
+		});
+		assertEquals(2, requests.get(1).getOffset());
+		assertEquals(List.of(GRID_POWER), requests.get(1).getAddresses());
+		backendDictionary.addAll(requests.get(1).getAddresses());
+		decoded = sut.encode(true, 2000L, newValues).toDataNotification(backendDictionary);
+		assertEquals(new JsonPrimitive(-300), decoded.getData().get(2000L, GRID_POWER));
+	}
+
+	@Test
+	public void testFallbackForOldBackend() throws Exception {
+		var sut = new ChannelDictionary();
+		var values = Map.of(SUM_STATE, new JsonPrimitive(0));
+		var count = new int[1];
+		sut.update(values.keySet(), request -> {
+			count[0]++;
+			return CompletableFuture.failedFuture(OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod()));
+		});
+		assertNull(sut.encode(false, 1000L, values));
+
+		// Do not ask again on this connection
+		sut.update(List.of(SUM_STATE, ESS_SOC), request -> {
+			count[0]++;
+			return new CompletableFuture<>();
+		});
+		assertEquals(1, count[0]);
+
+		// Ask again after reconnect
+		sut.reset();
+		sut.update(values.keySet(), request -> {
+			count[0]++;
+			return new CompletableFuture<>();
+		});
+		assertEquals(2, count[0]);
+	}
+
+}
@@ -3,16 +3,15 @@ package io.openems.edge.controller.api.backend;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
-import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
-import com.google.common.collect.Lists;
+import com.google.gson.JsonElement;
 
-import io.openems.common.function.ThrowingFunction;
+import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
 import io.openems.common.types.OptionsEnum;
-import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -21,125 +20,123 @@ import io.openems.edge.controller.api.backend.SendChannelValuesWorkerTest.DummyC
 public class SendChannelValuesWorkerTest {
 
 	@Test
-	public void testAggregateNaturalCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(true, OpenemsType.LONG, //
-				Lists.newArrayList(2, 4));
+	public void testAggregateNaturalCumulated() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_CUMULATED_LONG_CHANNEL, 2L, 4L);
 		assertEquals(4, value.getAsLong());
 	}
 
 	@Test
-	public void testAggregateNaturalNotCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(false, OpenemsType.LONG, //
-				Lists.newArrayList(2, 7));
+	public void testAggregateNaturalNotCumulated() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_LONG_CHANNEL, 2L, 7L);
 		assertEquals(5, value.getAsLong());
 	}
 
 	@Test
-	public void testAggregateFloatingCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(true, OpenemsType.DOUBLE, //
-				Lists.newArrayList(2.23, 4.75));
+	public void testAggregateFloatingCumulated() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_CUMULATED_DOUBLE_CHANNEL, 2.23, 4.75);
 		assertEquals(4.75, value.getAsDouble(), 0);
 	}
 
 	@Test
-	public void testAggregateFloatingNotCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(false, OpenemsType.DOUBLE, //
-				Lists.newArrayList(2.9, 7.1));
+	public void testAggregateFloatingNotCumulated() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_DOUBLE_CHANNEL, 2.9, 7.1);
 		assertEquals(5, value.getAsDouble(), 0);
 	}
 
 	@Test
-	public void testAggregateStringCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(true, OpenemsType.STRING, //
-				Lists.newArrayList("a", "b", "c", "d", "e"));
+	public void testAggregateString() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_STRING_CHANNEL, "a", "b", "c", "d", "e");
 		assertEquals("a", value.getAsString());
 	}
 
 	@Test
-	public void testAggregateStringNotCumulated() {
-		final var value = SendChannelValuesWorker.aggregate(false, OpenemsType.STRING, //
-				Lists.newArrayList("a", "b", "c", "d", "e"));
-		assertEquals("a", value.getAsString());
+	public void testAggregateStartsWithLatestValue() throws Exception {
+		final var component = new DummyComponent("component0");
+		final var channel = component.channel(DummyComponent.ChannelId.DUMMY_LONG_CHANNEL);
+		final var aggregator = new ChannelAggregator(channel);
+		aggregator.update(2L, 1);
+		aggregator.update(4L, 2);
+		assertEquals(3, aggregator.getAggregated(2).getAsLong());
+
+		// Value did not change within the next period
+		aggregator.reset();
+		assertEquals(4, aggregator.getAggregated(4).getAsLong());
 	}
 
 	@Test
-	public void testAggregateEnumDocExactValueInsteadOfRounded() throws Exception {
-		testAggregateEnumChannel(3, channel -> {
-			writeValue(channel, DummyEnum.VALUE_1);
-			writeValue(channel, DummyEnum.VALUE_3);
-			writeValue(channel, DummyEnum.VALUE_3);
+	public void testAggregateWeightedByCycles() throws Exception {
+		final var component = new DummyComponent("component0");
+		final var channel = component.channel(DummyComponent.ChannelId.DUMMY_LONG_CHANNEL);
+		final var aggregator = new ChannelAggregator(channel);
 
-			return DummyEnum.VALUE_3;
-		});
+		// Only changes are reported: 2 is active in Cycles 1 to 3, 6 in Cycle 4
+		aggregator.update(2L, 1);
+		aggregator.update(6L, 4);
+		assertEquals(3, aggregator.getAggregated(4).getAsLong());
 	}
 
 	@Test
-	public void testAggregateEnumChannelHandleNulls() throws Exception {
-		testAggregateEnumChannel(4, channel -> {
-			writeValue(channel, DummyEnum.VALUE_1);
-			writeValue(channel, null);
-			writeValue(channel, DummyEnum.VALUE_3);
-			writeValue(channel, DummyEnum.VALUE_3);
+	public void testAggregateHandleNulls() throws Exception {
+		final var value = aggregate(DummyComponent.ChannelId.DUMMY_LONG_CHANNEL, null, 2L, null, 7L);
+		assertEquals(5, value.getAsLong());
+		assertTrue(aggregate(DummyComponent.ChannelId.DUMMY_LONG_CHANNEL, (Object) null).isJsonNull());
+	}
 
-			return DummyEnum.VALUE_3;
-		});
+	@Test
+	public void testAggregateEnumDocExactValueInsteadOfRounded() throws Exception {
+		final var value = aggregateEnum(DummyEnum.VALUE_1, DummyEnum.VALUE_3, DummyEnum.VALUE_3);
+		assertEquals(DummyEnum.VALUE_3.getValue(), value);
 	}
 
 	@Test
-	public void testAggregateEnumChannelSameAmountButLatests() throws Exception {
-		testAggregateEnumChannel(4, channel -> {
-			writeValue(channel, DummyEnum.VALUE_1);
-			writeValue(channel, DummyEnum.VALUE_1);
-			writeValue(channel, DummyEnum.VALUE_3);
-			writeValue(channel, DummyEnum.VALUE_3);
+	public void testAggregateEnumChannelHandleNulls() throws Exception {
+		final var value = aggregateEnum(DummyEnum.VALUE_1, null, DummyEnum.VALUE_3, DummyEnum.VALUE_3);
+		assertEquals(DummyEnum.VALUE_3.getValue(), value);
+	}
 
-			return DummyEnum.VALUE_3;
-		});
+	@Test
+	public void testAggregateEnumChannelSameAmountButLatests() throws Exception {
+		final var value = aggregateEnum(DummyEnum.VALUE_1, DummyEnum.VALUE_1, DummyEnum.VALUE_3, DummyEnum.VALUE_3);
+		assertEquals(DummyEnum.VALUE_3.getValue(), value);
 	}
 
 	@Test
 	public void testAggregateEnumChannelSameAmountButLatestsWithAll() throws Exception {
-		testAggregateEnumChannel(3, channel -> {
-			writeValue(channel, DummyEnum.VALUE_1);
-			writeValue(channel, DummyEnum.VALUE_2);
-			writeValue(channel, DummyEnum.VALUE_3);
-
-			return DummyEnum.VALUE_3;
-		});
+		final var value = aggregateEnum(DummyEnum.VALUE_1, DummyEnum.VALUE_2, DummyEnum.VALUE_3);
+		assertEquals(DummyEnum.VALUE_3.getValue(), value);
 	}
 
 	@Test
 	public void testAggregateEnumChannelSameAmountButLatestsWithAllViceVersa() throws Exception {
-		testAggregateEnumChannel(3, channel -> {
-			writeValue(channel, DummyEnum.VALUE_3);
-			writeValue(channel, DummyEnum.VALUE_2);
-			writeValue(channel, DummyEnum.VALUE_1);
-
-			return DummyEnum.VALUE_1;
-		});
+		final var value = aggregateEnum(DummyEnum.VALUE_3, DummyEnum.VALUE_2, DummyEnum.VALUE_1);
+		assertEquals(DummyEnum.VALUE_1.getValue(), value);
 	}
 
-	private static void testAggregateEnumChannel(int numberOfValues,
-			ThrowingFunction<Channel<?>, DummyEnum, Exception> test) throws Exception {
-		final var component = new DummyComponent("component0");
-		final var channel = component.<Channel<DummyEnum>>channel(DummyComponent.ChannelId.DUMMY_ENUM_CHANNEL);
-		final var start = LocalDateTime.now();
-		final var expectedValue = test.apply(channel);
-		final var end = LocalDateTime.now().plusSeconds(1);
-
-		assertEquals(numberOfValues, channel.getPastValues().size());
-
-		final var aggregatedValue = SendChannelValuesWorker.aggregateEnumChannel(channel, start, end);
+	private static int aggregateEnum(DummyEnum... values) throws Exception {
+		final var aggregatedValue = aggregate(DummyComponent.ChannelId.DUMMY_ENUM_CHANNEL, Stream.of(values) //
+				.map(value -> value == null ? null : value.getValue()) //
+				.toArray());
 		assertTrue(aggregatedValue.isJsonPrimitive());
 		assertTrue(aggregatedValue.getAsJsonPrimitive().isNumber());
-		assertEquals(expectedValue.getValue(), aggregatedValue.getAsInt());
+		return aggregatedValue.getAsInt();
 	}
 
-	private static void writeValue(Channel<?> channel, Object value) throws InterruptedException {
-		// Needs sleep to not overwrite the latest value
-		Thread.sleep(1);
-		channel.setNextValue(value);
-		channel.nextProcessImage();
+	/**
+	 * Aggregates the given values as if each was active for one Cycle.
+	 *
+	 * @param channelId the {@link DummyComponent.ChannelId}
+	 * @param values    the values
+	 * @return the aggregated value
+	 */
+	private static JsonElement aggregate(DummyComponent.ChannelId channelId, Object... values) throws Exception {
+		final var component = new DummyComponent("component0");
+		final var channel = component.channel(channelId);
+		final var aggregator = new ChannelAggregator(channel);
+		var cycle = 0;
+		for (var value : values) {
+			aggregator.update(value, ++cycle);
+		}
+		return aggregator.getAggregated(cycle);
 	}
 
 	public static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
@@ -181,6 +178,13 @@ public class SendChannelValuesWorkerTest {
 			 * Dummy state channels for testing.
 			 */
 			DUMMY_ENUM_CHANNEL(Doc.of(DummyEnum.values())), //
+			DUMMY_LONG_CHANNEL(Doc.of(OpenemsType.LONG)), //
+			DUMMY_CUMULATED_LONG_CHANNEL(Doc.of(OpenemsType.LONG) //
+					.unit(Unit.CUMULATED_WATT_HOURS)), //
+			DUMMY_DOUBLE_CHANNEL(Doc.of(OpenemsType.DOUBLE)), //
+			DUMMY_CUMULATED_DOUBLE_CHANNEL(Doc.of(OpenemsType.DOUBLE) //
+					.unit(Unit.CUMULATED_WATT_HOURS)), //
+			DUMMY_STRING_CHANNEL(Doc.of(OpenemsType.STRING)), //
 			;
 
 			private final Doc doc;
@@ -1,12 +1,17 @@
 package io.openems.edge.controller.api.modbus;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +29,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.common.modbusslave.ModbusRecord;
@@ -44,7 +50,7 @@ import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolRequest;
 import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolResponse;
 
 public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
-		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	public static final int UNIT_ID = 1;
 	public static final int DEFAULT_PORT = 502;
@@ -67,6 +73,18 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 	 */
 	private final TreeMap<Integer, String> components = new TreeMap<>();
 
+	/**
+	 * The current {@link RegisterImage}; replaced once per Cycle.
+	 */
+	private volatile RegisterImage registerImage = RegisterImage.EMPTY;
+
+	/**
+	 * Component-IDs of disabled Components that were read from in the last Cycle.
+	 */
+	private Set<String> disabledComponentIds = Set.of();
+
+	private long lastRegisterImageUpdate = System.nanoTime();
+
 	private ConfigRecord config;
 
 	protected synchronized void addComponent(OpenemsComponent component) {
@@ -337,16 +355,32 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 			return;
 		}
 
-		this.updateCycleValues();
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.updateCycleValues();
+			this.updateRegisterImage();
+
+			final var now = System.nanoTime();
+			this.processImage.updateRequestChannels(now - this.lastRegisterImageUpdate);
+			this.lastRegisterImageUpdate = now;
+			break;
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	/**
 	 * Once every cycle: update the values for each registered
 	 * {@link ModbusRecordCycleValue}.
 	 */
-	private void updateCycleValues() {
+	private synchronized void updateCycleValues() {
 		this.records.values() //
 				.stream() //
 				.filter(r -> r instanceof ModbusRecordCycleValue) //
@@ -361,6 +395,43 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 				});
 	}
 
+	/**
+	 * Once every cycle: materialize the values of all {@link ModbusRecord}s to a
+	 * new {@link RegisterImage}, that replaces the current one.
+	 */
+	private synchronized void updateRegisterImage() {
+		final var components = new HashMap<String, OpenemsComponent>();
+		final var disabledComponentIds = new TreeSet<String>();
+		this.registerImage = RegisterImage.from(this.records, record -> {
+			var component = components.computeIfAbsent(String.valueOf(record.getComponentId()), id -> {
+				var cmp = this.getPossiblyDisabledComponent(record.getComponentId());
+				if (cmp != null && !cmp.isEnabled()) {
+					disabledComponentIds.add(cmp.id());
+					return null;
+				}
+				return cmp;
+			});
+			return record.getValue(component);
+		});
+
+		// Warn only on change; not every Cycle
+		if (!disabledComponentIds.equals(this.disabledComponentIds)) {
+			if (!disabledComponentIds.isEmpty()) {
+				this.logWarn(this.log, "Trying to access disabled Components " + disabledComponentIds);
+			}
+			this.disabledComponentIds = disabledComponentIds;
+		}
+	}
+
+	/**
+	 * Gets the current {@link RegisterImage}.
+	 *
+	 * @return the {@link RegisterImage}
+	 */
+	protected RegisterImage getRegisterImage() {
+		return this.registerImage;
+	}
+
 	@Override
 	protected void logDebug(Logger log, String message) {
 		super.logDebug(log, message);
@@ -2,7 +2,11 @@ package io.openems.edge.controller.api.modbus;
 
 import io.openems.common.channel.Debounce;
 import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.FloatReadChannel;
+import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -19,7 +23,22 @@ public interface ModbusTcpApi extends OpenemsComponent {
 				.text("A configured Component is not available")), //
 		PROCESS_IMAGE_FAULT(Doc.of(Level.FAULT) //
 				.debounce(50, Debounce.FALSE_VALUES_IN_A_ROW_TO_SET_FALSE) //
-				.text("Invalid Modbus Function call. Only FC3, FC4, FC6 and FC16 are supported"));
+				.text("Invalid Modbus Function call. Only FC3, FC4, FC6 and FC16 are supported")), //
+		INPUT_REGISTERS_REQUESTS(Doc.of(OpenemsType.INTEGER) //
+				.text("Requests per second for Input Registers (FC4)")), //
+		INPUT_REGISTERS_LATENCY(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Maximum latency of requests for Input Registers (FC4) since the last Cycle")), //
+		HOLDING_REGISTERS_REQUESTS(Doc.of(OpenemsType.INTEGER) //
+				.text("Requests per second for Holding Registers (FC3, FC16)")), //
+		HOLDING_REGISTERS_LATENCY(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Maximum latency of requests for Holding Registers (FC3, FC16) since the last Cycle")), //
+		SINGLE_REGISTER_REQUESTS(Doc.of(OpenemsType.INTEGER) //
+				.text("Requests per second for a single Holding Register (FC6)")), //
+		SINGLE_REGISTER_LATENCY(Doc.of(OpenemsType.FLOAT) //
+				.unit(Unit.MILLISECONDS) //
+				.text("Maximum latency of requests for a single Holding Register (FC6) since the last Cycle"));
 
 		private final Doc doc;
 
@@ -147,4 +166,58 @@ public interface ModbusTcpApi extends OpenemsComponent {
 	public default void _setComponentMissingFault(boolean value) {
 		this.getComponentMissingFaultChannel().setNextValue(value);
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#INPUT_REGISTERS_REQUESTS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getInputRegistersRequestsChannel() {
+		return this.channel(ChannelId.INPUT_REGISTERS_REQUESTS);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#INPUT_REGISTERS_LATENCY}.
+	 *
+	 * @return the Channel
+	 */
+	public default FloatReadChannel getInputRegistersLatencyChannel() {
+		return this.channel(ChannelId.INPUT_REGISTERS_LATENCY);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#HOLDING_REGISTERS_REQUESTS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getHoldingRegistersRequestsChannel() {
+		return this.channel(ChannelId.HOLDING_REGISTERS_REQUESTS);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#HOLDING_REGISTERS_LATENCY}.
+	 *
+	 * @return the Channel
+	 */
+	public default FloatReadChannel getHoldingRegistersLatencyChannel() {
+		return this.channel(ChannelId.HOLDING_REGISTERS_LATENCY);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SINGLE_REGISTER_REQUESTS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSingleRegisterRequestsChannel() {
+		return this.channel(ChannelId.SINGLE_REGISTER_REQUESTS);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SINGLE_REGISTER_LATENCY}.
+	 *
+	 * @return the Channel
+	 */
+	public default FloatReadChannel getSingleRegisterLatencyChannel() {
+		return this.channel(ChannelId.SINGLE_REGISTER_LATENCY);
+	}
 }
@@ -1,5 +1,8 @@
 package io.openems.edge.controller.api.modbus;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,12 +17,12 @@ import com.ghgande.j2mod.modbus.procimg.SimpleDigitalIn;
 import com.ghgande.j2mod.modbus.procimg.SimpleDigitalOut;
 import com.ghgande.j2mod.modbus.procimg.SimpleInputRegister;
 
-import io.openems.edge.common.component.OpenemsComponent;
-import io.openems.edge.common.modbusslave.ModbusRecord;
-import io.openems.edge.common.modbusslave.ModbusRecordUint16Reserved;
+import io.openems.edge.common.channel.FloatReadChannel;
+import io.openems.edge.common.channel.IntegerReadChannel;
 
 /**
- * This implementation answers Modbus-TCP Slave requests.
+ * This implementation answers Modbus-TCP Slave requests from the current
+ * {@link RegisterImage}.
  */
 public class MyProcessImage implements ProcessImage {
 
@@ -27,33 +30,37 @@ public class MyProcessImage implements ProcessImage {
 
 	protected final AbstractModbusTcpApi parent;
 
+	private final RequestMetrics inputRegisters = new RequestMetrics();
+	private final RequestMetrics holdingRegisters = new RequestMetrics();
+	private final RequestMetrics singleRegister = new RequestMetrics();
+
 	protected MyProcessImage(AbstractModbusTcpApi parent) {
 		this.parent = parent;
 	}
 
 	@Override
-	public synchronized InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
+		final var start = System.nanoTime();
+		this.parent.logDebug(this.log, "Reading Input Registers. Address [" + offset + "] Count [" + count + "].");
 		try {
-			this.parent.logDebug(this.log, "Reading Input Registers. Address [" + offset + "] Count [" + count + "].");
-			var registers = this.getRegisterRange(offset, count);
-			var result = new Register[registers.length];
-			for (var i = 0; i < registers.length; i++) {
-				result[i] = registers[i];
-			}
-			this.parent._setProcessImageFault(false);
-			return result;
-
-		} catch (Exception e) {
-			this.parent._setProcessImageFault(true);
-			e.printStackTrace();
-			throw new MyIllegalAddressException(this, e.getMessage());
+			return this.getRange(offset, count);
+		} finally {
+			this.inputRegisters.record(start);
 		}
 	}
 
 	@Override
-	public synchronized Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
+		final var start = System.nanoTime();
 		this.parent.logDebug(this.log, "Reading Registers. Address [" + offset + "] Count [" + count + "].");
+		try {
+			return this.getRange(offset, count);
+		} finally {
+			this.holdingRegisters.record(start);
+		}
+	}
 
+	private Register[] getRange(int offset, int count) throws MyIllegalAddressException {
 		try {
 			/*
 			 * Apply limitation from
@@ -65,30 +72,29 @@ public class MyProcessImage implements ProcessImage {
 				throw new MyIllegalAddressException(this, "Invalid length: " + length + "; max. 126 registers allowed");
 			}
 
-			var records = this.parent.records.subMap(offset, offset + count);
+			final var image = this.parent.getRegisterImage();
 			var result = new Register[count];
 			for (var i = 0; i < count;) {
 				// Get record for modbus address
 				var ref = i + offset;
-				var record = records.get(ref);
-				if (record == null) {
-					record = new ModbusRecordUint16Reserved(ref);
+				var words = image.getWords(ref);
+				if (words == 0) {
+					result[i] = image.getReserved(ref);
+					i++;
+					continue;
 				}
 
-				// Get Registers from Record
-				var registers = this.getRecordValueRegisters(record);
-
 				// make sure this Record fits
-				if (result.length < i + registers.length) {
+				if (result.length < i + words) {
 					throw new MyIllegalAddressException(this,
 							"Record for Modbus address [" + ref + "] does not fit in Result.");
 				}
-				for (var j = 0; j < registers.length; j++) {
-					result[i + j] = registers[j];
+				for (var j = 0; j < words; j++) {
+					result[i + j] = image.getRegister(ref + j);
 				}
 
 				// increase i by word length
-				i += registers.length;
+				i += words;
 			}
 			this.parent._setProcessImageFault(false);
 			return result;
@@ -100,65 +106,73 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized Register getRegister(int ref) throws MyIllegalAddressException {
+	public Register getRegister(int ref) throws MyIllegalAddressException {
+		final var start = System.nanoTime();
 		this.parent.logDebug(this.log, "Get Register. Address [" + ref + "].");
 
 		try {
-			var record = this.parent.records.get(ref);
+			final var image = this.parent.getRegisterImage();
+			var words = image.getWords(ref);
 
 			// make sure the ModbusRecord is available
-			if (record == null) {
+			if (words == 0) {
 				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is not available.");
 			}
 
-			// Get Registers from Record
-			var registers = this.getRecordValueRegisters(record);
-
 			// make sure this Record requires only one Register/Word
-			if (registers.length > 1) {
+			if (words > 1) {
 				throw new MyIllegalAddressException(this,
 						"Record for Modbus address [" + ref + "] requires more than one Register.");
 			}
 
 			this.parent._setProcessImageFault(false);
-			return registers[0];
+			// j2mod echoes the written value of FC6 from this Register; use a copy to
+			// keep the shared image untouched
+			return image.getRegister(ref).copy();
 
 		} catch (Exception e) {
 			this.parent._setProcessImageFault(true);
 			throw new MyIllegalAddressException(this, e.getMessage());
+
+		} finally {
+			this.singleRegister.record(start);
 		}
 	}
 
 	/**
-	 * Get value as byte-array and convert it to InputRegisters.
-	 *
-	 * @param record the record
-	 * @return the Register
+	 * Counts requests and their maximum latency.
 	 */
-	private Register[] getRecordValueRegisters(ModbusRecord record) {
-		var result = new MyRegister[record.getType().getWords()];
-		final OpenemsComponent component;
-		{
-			var cmp = this.parent.getPossiblyDisabledComponent(record.getComponentId());
-			if (cmp != null && !cmp.isEnabled()) {
-				this.parent.logWarn(this.log, "Trying to access disabled Component [" + cmp.id() + "] for " + record);
-				component = null;
-			} else {
-				component = cmp;
-			}
+	private static class RequestMetrics {
+		private final LongAdder requests = new LongAdder();
+		private final AtomicLong maxLatency = new AtomicLong(); // [ns]
+
+		private void record(long start) {
+			this.requests.increment();
+			final var latency = System.nanoTime() - start;
+			this.maxLatency.accumulateAndGet(latency, Math::max);
 		}
 
-		var value = record.getValue(component);
-		for (var j = 0; j < value.length / 2; j++) {
-			result[j] = new MyRegister(j, value[j * 2], value[j * 2 + 1], //
-					/*
-					 * On Set-Value event:
-					 */
-					register -> {
-						record.writeValue(register.getIndex(), register.getByte1(), register.getByte2());
-					});
+		private void updateChannels(IntegerReadChannel requestsChannel, FloatReadChannel latencyChannel,
+				long duration) {
+			final var requests = this.requests.sumThenReset();
+			final var latency = this.maxLatency.getAndSet(0);
+			requestsChannel.setNextValue(duration > 0 ? Math.round(requests * 1_000_000_000F / duration) : null);
+			latencyChannel.setNextValue(requests > 0 ? latency / 1_000_000F : null);
 		}
-		return result;
+	}
+
+	/**
+	 * Sets the request rate and latency Channels and resets the counters.
+	 *
+	 * @param duration the time since the last call in [ns]
+	 */
+	protected void updateRequestChannels(long duration) {
+		this.inputRegisters.updateChannels(this.parent.getInputRegistersRequestsChannel(),
+				this.parent.getInputRegistersLatencyChannel(), duration);
+		this.holdingRegisters.updateChannels(this.parent.getHoldingRegistersRequestsChannel(),
+				this.parent.getHoldingRegistersLatencyChannel(), duration);
+		this.singleRegister.updateChannels(this.parent.getSingleRegisterRequestsChannel(),
+				this.parent.getSingleRegisterLatencyChannel(), duration);
 	}
 
 	/**********************************************
@@ -167,21 +181,21 @@ public class MyProcessImage implements ProcessImage {
 	 */
 
 	@Override
-	public synchronized InputRegister getInputRegister(int ref) {
+	public InputRegister getInputRegister(int ref) {
 		this.parent.logWarn(this.log, "getInputRegister is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleInputRegister(0);
 	}
 
 	@Override
-	public synchronized int getInputRegisterCount() {
+	public int getInputRegisterCount() {
 		this.parent.logWarn(this.log, "getInputRegisterCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized DigitalOut[] getDigitalOutRange(int offset, int count) {
+	public DigitalOut[] getDigitalOutRange(int offset, int count) {
 		this.parent.logWarn(this.log, "getDigitalOutRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		var result = new DigitalOut[count];
@@ -192,21 +206,21 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized DigitalOut getDigitalOut(int ref) {
+	public DigitalOut getDigitalOut(int ref) {
 		this.parent.logWarn(this.log, "getDigitalOut is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleDigitalOut(false);
 	}
 
 	@Override
-	public synchronized int getDigitalOutCount() {
+	public int getDigitalOutCount() {
 		this.parent.logWarn(this.log, "getDigitalOutCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized DigitalIn[] getDigitalInRange(int offset, int count) {
+	public DigitalIn[] getDigitalInRange(int offset, int count) {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		var result = new DigitalIn[count];
@@ -217,62 +231,62 @@ public class MyProcessImage implements ProcessImage {
 	}
 
 	@Override
-	public synchronized DigitalIn getDigitalIn(int ref) {
+	public DigitalIn getDigitalIn(int ref) {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		return new SimpleDigitalIn(false);
 	}
 
 	@Override
-	public synchronized int getDigitalInCount() {
+	public int getDigitalInCount() {
 		this.parent.logWarn(this.log, "getDigitalInRange is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized int getRegisterCount() {
+	public int getRegisterCount() {
 		this.parent.logWarn(this.log, "getRegisterCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized File getFile(int ref) {
+	public File getFile(int ref) {
 		this.parent.logWarn(this.log, "getFile is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized File getFileByNumber(int ref) {
+	public File getFileByNumber(int ref) {
 		this.parent.logWarn(this.log, "getFileByNumber is not implemented");
 		return null;
 	}
 
 	@Override
-	public synchronized int getFileCount() {
+	public int getFileCount() {
 		this.parent.logWarn(this.log, "getFileByNumber is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
 	}
 
 	@Override
-	public synchronized FIFO getFIFO(int ref) {
+	public FIFO getFIFO(int ref) {
 		this.parent.logWarn(this.log, "getFIFO is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized FIFO getFIFOByAddress(int ref) {
+	public FIFO getFIFOByAddress(int ref) {
 		this.parent.logWarn(this.log, "getFIFOByAddress is not implemented");
 		this.parent._setProcessImageFault(true);
 		return null;
 	}
 
 	@Override
-	public synchronized int getFIFOCount() {
+	public int getFIFOCount() {
 		this.parent.logWarn(this.log, "getFIFOCount is not implemented");
 		this.parent._setProcessImageFault(true);
 		return 0;
@@ -7,19 +7,55 @@ import com.ghgande.j2mod.modbus.procimg.Register;
 /**
  * Largely copied from
  * {@link com.ghgande.j2mod.modbus.procimg.SynchronizedAbstractRegister}.
+ *
+ * <p>
+ * Registers of a {@link RegisterImage} are shared between requests of all
+ * Modbus masters, so setting a value on a shared Register does not change it;
+ * the new value is only forwarded to the callback. Use {@link #copy()} to get a
+ * Register for a single request that also takes the new value.
  */
 public class MyRegister implements Register {
 
 	private final int index;
 	private final Consumer<MyRegister> onSetCallback;
+	private final boolean isShared;
 	private byte byte1;
 	private byte byte2;
 
 	public MyRegister(int index, byte byte1, byte byte2, Consumer<MyRegister> callback) {
+		this(index, byte1, byte2, callback, false);
+	}
+
+	private MyRegister(int index, byte byte1, byte byte2, Consumer<MyRegister> callback, boolean isShared) {
 		this.index = index;
 		this.byte1 = byte1;
 		this.byte2 = byte2;
 		this.onSetCallback = callback;
+		this.isShared = isShared;
+	}
+
+	/**
+	 * Creates a {@link MyRegister} that is shared between requests and never
+	 * changes its value.
+	 *
+	 * @param index    the index of the word within its record
+	 * @param byte1    the first byte
+	 * @param byte2    the second byte
+	 * @param callback called with a new {@link MyRegister} on set-value
+	 * @return the {@link MyRegister}
+	 */
+	protected static MyRegister shared(int index, byte byte1, byte byte2, Consumer<MyRegister> callback) {
+		return new MyRegister(index, byte1, byte2, callback, true);
+	}
+
+	/**
+	 * Creates a copy of this Register for a single request, e.g. for a write via
+	 * FC6 that echoes the new value.
+	 *
+	 * @return a new, not shared {@link MyRegister}
+	 */
+	public MyRegister copy() {
+		return new MyRegister(this.index, this.byte1, this.byte2, this.onSetCallback);
 	}
 
 	protected int getIndex() {
@@ -55,6 +91,10 @@ public class MyRegister implements Register {
 	}
 
 	protected void setValue(byte byte1, byte byte2) {
+		if (this.isShared) {
+			this.copy().setValue(byte1, byte2);
+			return;
+		}
 		this.byte1 = byte1;
 		this.byte2 = byte2;
 		this.onSetCallback.accept(this);
@@ -66,7 +106,7 @@ public class MyRegister implements Register {
 	}
 
 	@Override
-	public final synchronized void setValue(short s) {
+	public final void setValue(short s) {
 		this.setValue((byte) (0xff & s >> 8), (byte) (0xff & s));
 	}
 
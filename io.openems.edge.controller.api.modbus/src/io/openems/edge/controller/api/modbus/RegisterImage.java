@@ -0,0 +1,132 @@
+package io.openems.edge.controller.api.modbus;
+
+import java.util.SortedMap;
+import java.util.function.Function;
+
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16Reserved;
+
+/**
+ * An immutable image of all Modbus registers.
+ *
+ * <p>
+ * The image is materialized once per Cycle from the {@link ModbusRecord}s, so
+ * that Modbus requests are answered by copying {@link MyRegister}s from arrays,
+ * without locking and without encoding Channel values per request. Writes to a
+ * {@link MyRegister} are forwarded to its {@link ModbusRecord}.
+ */
+public class RegisterImage {
+
+	/** An image without any registers. */
+	public static final RegisterImage EMPTY = new RegisterImage(new MyRegister[0], new byte[0], new MyRegister[0]);
+
+	/** The registers of all records by address. */
+	private final MyRegister[] registers;
+	/** The number of words of the record starting at an address; 0 if none. */
+	private final byte[] words;
+	/** Reserved registers for addresses where no record starts. */
+	private final MyRegister[] reserved;
+
+	private RegisterImage(MyRegister[] registers, byte[] words, MyRegister[] reserved) {
+		this.registers = registers;
+		this.words = words;
+		this.reserved = reserved;
+	}
+
+	/**
+	 * Creates a {@link RegisterImage}.
+	 *
+	 * @param records  the {@link ModbusRecord}s by start address
+	 * @param getValue gets the current value of a {@link ModbusRecord}
+	 * @return the {@link RegisterImage}
+	 */
+	public static RegisterImage from(SortedMap<Integer, ModbusRecord> records,
+			Function<ModbusRecord, byte[]> getValue) {
+		if (records.isEmpty()) {
+			return EMPTY;
+		}
+		var lastAddress = records.lastKey();
+		var length = lastAddress + records.get(lastAddress).getType().getWords();
+		var registers = new MyRegister[length];
+		var words = new byte[length];
+		for (var entry : records.entrySet()) {
+			var address = entry.getKey();
+			var record = entry.getValue();
+			var value = getValue.apply(record);
+			words[address] = (byte) record.getType().getWords();
+			for (var j = 0; j < value.length / 2 && address + j < length; j++) {
+				registers[address + j] = MyRegister.shared(j, value[j * 2], value[j * 2 + 1], //
+						/*
+						 * On Set-Value event:
+						 */
+						register -> {
+							record.writeValue(register.getIndex(), register.getByte1(), register.getByte2());
+						});
+			}
+		}
+		var reserved = new MyRegister[length];
+		for (var address = 0; address < length; address++) {
+			if (words[address] == 0) {
+				reserved[address] = createReserved(address);
+			}
+		}
+		return new RegisterImage(registers, words, reserved);
+	}
+
+	/**
+	 * Gets the number of words of the record starting at the given address.
+	 *
+	 * @param address the Modbus address
+	 * @return the number of words; 0 if no record starts at this address
+	 */
+	public int getWords(int address) {
+		if (address < 0 || address >= this.words.length) {
+			return 0;
+		}
+		return this.words[address];
+	}
+
+	/**
+	 * Gets the register of a record at the given address.
+	 *
+	 * @param address the Modbus address
+	 * @return the {@link MyRegister}; null if there is no record
+	 */
+	public MyRegister getRegister(int address) {
+		if (address < 0 || address >= this.registers.length) {
+			return null;
+		}
+		return this.registers[address];
+	}
+
+	/**
+	 * Gets a reserved register for an address where no record starts.
+	 *
+	 * @param address the Modbus address
+	 * @return the {@link MyRegister}
+	 */
+	public MyRegister getReserved(int address) {
+		if (address >= 0 && address < this.reserved.length && this.reserved[address] != null) {
+			return this.reserved[address];
+		}
+		return createReserved(address);
+	}
+
+	/**
+	 * Gets the number of addresses covered by this image.
+	 *
+	 * @return the length
+	 */
+	public int length() {
+		return this.words.length;
+	}
+
+	private static MyRegister createReserved(int address) {
+		var record = new ModbusRecordUint16Reserved(address);
+		var value = record.getValue();
+		return MyRegister.shared(0, value[0], value[1], register -> {
+			record.writeValue(register.getIndex(), register.getByte1(), register.getByte2());
+		});
+	}
+
+}
@@ -0,0 +1,49 @@
+package io.openems.edge.controller.api.modbus;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.msg.WriteSingleRegisterResponse;
+import com.ghgande.j2mod.modbus.procimg.SimpleRegister;
+
+import io.openems.common.utils.ReflectionUtils;
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16;
+import io.openems.edge.controller.api.modbus.readwrite.ControllerApiModbusTcpReadWriteImpl;
+
+public class MyProcessImageTest {
+
+	@Test
+	public void testWriteSingleRegister() throws Exception {
+		var written = new ArrayList<Integer>();
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16(0, "Uint16", (short) 1234) {
+			@Override
+			public void writeValue(int index, byte byte1, byte byte2) {
+				written.add((byte1 & 0xff) << 8 | byte2 & 0xff);
+			}
+		});
+
+		var parent = new ControllerApiModbusTcpReadWriteImpl();
+		ReflectionUtils.setAttribute(AbstractModbusTcpApi.class, parent, "registerImage",
+				RegisterImage.from(records, record -> record.getValue(null)));
+		var sut = new MyProcessImage(parent);
+
+		// FC6 like com.ghgande.j2mod.modbus.msg.WriteSingleRegisterRequest
+		var register = sut.getRegister(0);
+		register.setValue(new SimpleRegister(42).toBytes());
+		var response = new WriteSingleRegisterResponse(0, register.getValue());
+
+		assertEquals(42, response.getRegisterValue());
+		assertEquals(List.of(42), written);
+
+		// The shared image is unchanged
+		assertEquals(1234, parent.getRegisterImage().getRegister(0).getValue());
+		assertEquals(1234, sut.getRegister(0).getValue());
+	}
+}
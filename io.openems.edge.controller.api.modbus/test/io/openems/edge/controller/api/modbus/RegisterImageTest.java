@@ -0,0 +1,69 @@
+package io.openems.edge.controller.api.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import io.openems.edge.common.modbusslave.ModbusRecord;
+import io.openems.edge.common.modbusslave.ModbusRecordFloat32;
+import io.openems.edge.common.modbusslave.ModbusRecordUint16;
+
+public class RegisterImageTest {
+
+	@Test
+	public void testEmpty() {
+		var image = RegisterImage.from(new TreeMap<>(), record -> record.getValue(null));
+		assertSame(RegisterImage.EMPTY, image);
+		assertEquals(0, image.getWords(0));
+		assertNull(image.getRegister(0));
+		assertEquals(0xFFFF, image.getReserved(0).getValue());
+	}
+
+	@Test
+	public void testFrom() {
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16(0, "Uint16", (short) 1234));
+		records.put(3, new ModbusRecordFloat32(3, "Float32", 2500F));
+
+		var image = RegisterImage.from(records, record -> record.getValue(null));
+		assertEquals(5, image.length());
+
+		assertEquals(1, image.getWords(0));
+		assertEquals(1234, image.getRegister(0).getValue());
+
+		// Gap
+		assertEquals(0, image.getWords(1));
+		assertEquals(0xFFFF, image.getReserved(1).getValue());
+
+		// Second word of a record is not the start of a record
+		assertEquals(2, image.getWords(3));
+		assertEquals(0, image.getWords(4));
+		var bytes = ByteBuffer.allocate(4) //
+				.put(image.getRegister(3).toBytes()) //
+				.put(image.getRegister(4).toBytes()) //
+				.rewind();
+		assertEquals(2500F, bytes.getFloat(), 0.001F);
+
+		// Out of range
+		assertEquals(0, image.getWords(5));
+		assertNull(image.getRegister(-1));
+		assertEquals(0xFFFF, image.getReserved(100).getValue());
+	}
+
+	@Test
+	public void testWriteDoesNotChangeImage() {
+		var records = new TreeMap<Integer, ModbusRecord>();
+		records.put(0, new ModbusRecordUint16(0, "Uint16", (short) 1234));
+
+		var image = RegisterImage.from(records, record -> record.getValue(null));
+		var register = image.getRegister(0);
+		register.setValue(42);
+		assertEquals(1234, register.getValue());
+		assertEquals(1234, image.getRegister(0).getValue());
+	}
+}
@@ -27,6 +27,7 @@ import io.openems.common.types.EdgeConfig;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.timedata.api.Timedata;
@@ -56,6 +57,9 @@ public class ControllerApiMqttImpl extends AbstractOpenemsComponent
 	@Reference
 	protected ComponentManager componentManager;
 
+	@Reference
+	protected Cycle cycle;
+
 	protected Config config;
 
 	private String topicPrefix;
@@ -77,6 +81,9 @@ public class ControllerApiMqttImpl extends AbstractOpenemsComponent
 		this.topicPrefix = String.format(ControllerApiMqtt.TOPIC_PREFIX, config.clientId());
 
 		super.activate(context, config.id(), config.alias(), config.enabled());
+		if (this.isEnabled()) {
+			this.sendChannelValuesWorker.activate(this.cycle.getChannelStream(), config.persistencePriority());
+		}
 		this.mqttConnector.connect(config.uri(), config.clientId(), config.username(), config.password())
 				.thenAccept(client -> {
 					this.mqttClient = client;
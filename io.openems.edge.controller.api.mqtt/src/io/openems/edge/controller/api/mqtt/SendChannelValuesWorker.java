@@ -4,9 +4,6 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -16,20 +13,19 @@ import org.eclipse.paho.mqttv5.common.packet.MqttProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.google.gson.JsonElement;
 
-import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
-import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.channel.stream.ChannelStream;
+import io.openems.edge.common.channel.stream.ChannelStream.Subscription;
 
 /**
  * Method {@link #collectData()} is called Synchronously with the Core.Cycle to
- * collect values of Channels. Sending of values is then delegated to an
- * asynchronous task.
+ * trigger sending of Channel values. Sending is delegated to an asynchronous
+ * task, that polls the changed Channels from its {@link Subscription} to the
+ * {@link ChannelStream} of the Cycle.
  *
  * <p>
  * The logic tries to send changed values once per Cycle and all values once
@@ -67,14 +63,24 @@ public class SendChannelValuesWorker {
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Provides the Channels that changed since the last successful send.
 	 */
-	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
+	private volatile Subscription subscription = null;
 
 	protected SendChannelValuesWorker(ControllerApiMqttImpl parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Subscribes to the {@link ChannelStream}.
+	 *
+	 * @param channelStream the {@link ChannelStream} of the Cycle
+	 * @param priority      the minimum {@link PersistencePriority} of Channels
+	 */
+	public synchronized void activate(ChannelStream channelStream, PersistencePriority priority) {
+		this.subscription = channelStream.subscribe(priority);
+	}
+
 	/**
 	 * Triggers sending all Channel values once.
 	 */
@@ -88,57 +94,24 @@ public class SendChannelValuesWorker {
 	public void deactivate() {
 		// Shutdown executor
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
+		var subscription = this.subscription;
+		if (subscription != null) {
+			subscription.close();
+		}
 	}
 
 	/**
-	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects all the data and
-	 * triggers asynchronous sending.
+	 * Called synchronously on AFTER_PROCESS_IMAGE event. Triggers asynchronous
+	 * sending.
 	 */
 	public synchronized void collectData() {
-		var now = Instant.now(this.parent.componentManager.getClock());
-
-		// Update the values of all channels
-		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		final var subscription = this.subscription;
+		if (subscription == null) {
+			return;
+		}
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
-	}
-
-	/**
-	 * Cycles through all Channels and collects the value.
-	 *
-	 * @param enabledComponents the enabled components
-	 * @return collected data
-	 */
-	private ImmutableTable<String, String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
-		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(ImmutableTable.toImmutableTable(c -> c.address().getComponentId(),
-							c -> c.address().getChannelId(), c -> c.value().asJson()));
-			// TODO remove values for disappeared components
-//			final Set<String> enabledComponentIds = enabledComponents.stream() //
-//					.map(c -> c.id()) //
-//					.collect(Collectors.toSet());
-//			this.lastValues.rowMap().entrySet().stream() //
-//					.filter(row -> !enabledComponentIds.contains(row.getKey())) //
-//					.forEach(row -> {
-//						row.getValue().entrySet().parallelStream() //
-//								.forEach(column -> {
-//									this.publish(row.getKey() + "/" + column.getKey(), JsonNull.INSTANCE.toString());
-//								});
-//					});
-		} catch (Exception e) {
-			// ConcurrentModificationException can happen if Channels are dynamically added
-			// or removed
-			return ImmutableTable.of();
-		}
+		this.executor.execute(new SendTask(this, subscription));
 	}
 
 	/*
@@ -148,55 +121,48 @@ public class SendChannelValuesWorker {
 	private static class SendTask implements Runnable {
 
 		private final SendChannelValuesWorker parent;
-		private final Instant timestamp;
-		private final ImmutableTable<String, String, JsonElement> allValues;
+		private final Subscription subscription;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableTable<String, String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Subscription subscription) {
 			this.parent = parent;
-			this.timestamp = timestamp;
-			this.allValues = allValues;
+			this.subscription = subscription;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Table<String, String, JsonElement> lastAllValues;
-
+			final var now = Instant.now(this.parent.parent.componentManager.getClock());
 			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableTable.of();
+				// Send values of all Channels if explicitly asked for
+				this.subscription.requestAll();
 
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
+			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, now)
 					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableTable.of();
+				// Send values of all Channels once in a while
+				this.subscription.requestAll();
+			}
 
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
+			final var changes = this.subscription.poll();
+			final var snapshot = changes.snapshot();
+			if (snapshot.getCycle() == 0) {
+				// Nothing was published yet
+				return;
 			}
 
 			// Send changed values
 			var allSendSuccessful = true;
 			List<String> sendTopics = new ArrayList<>();
-			for (Entry<String, Map<String, JsonElement>> row : this.allValues.rowMap().entrySet()) {
-				for (Entry<String, JsonElement> column : row.getValue().entrySet()) {
-					if (!Objects.equals(column.getValue(), lastAllValues.get(row.getKey(), column.getKey()))) {
-						var subtopic = row.getKey() + "/" + column.getKey();
-						sendTopics.add(subtopic);
-						if (!this.publish(row.getKey() + "/" + column.getKey(), column.getValue().toString())) {
-							allSendSuccessful = false;
-						}
-					}
+			final var changed = changes.changed();
+			for (var index = changed.nextSetBit(0); index >= 0; index = changed.nextSetBit(index + 1)) {
+				var address = snapshot.getSlot(index).address();
+				var subtopic = address.getComponentId() + "/" + address.getChannelId();
+				sendTopics.add(subtopic);
+				if (!this.publish(subtopic, snapshot.getAsJson(index).toString())) {
+					allSendSuccessful = false;
 				}
 			}
 
 			// Update lastUpdate timestamp
-			this.publish(ControllerApiMqtt.TOPIC_CHANNEL_LAST_UPDATE, String.valueOf(this.timestamp));
+			this.publish(ControllerApiMqtt.TOPIC_CHANNEL_LAST_UPDATE, String.valueOf(snapshot.getTimestamp()));
 
 			// Successful?
 			if (allSendSuccessful) {
@@ -204,14 +170,14 @@ public class SendChannelValuesWorker {
 						+ StringUtils.toShortString(String.join(", ", sendTopics), 100));
 
 				// update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
+				if (changes.isAll()) {
+					// all values were sent
+					this.parent.lastSendValuesOfAllChannels = now;
 				}
 			} else {
 				this.parent.parent.logWarn(this.parent.log, "Error while sending MQTT topics: "
 						+ StringUtils.toShortString(String.join(", ", sendTopics), 100));
+				this.subscription.retry(changes);
 			}
 		}
 
@@ -10,6 +10,7 @@ import io.openems.common.test.TimeLeapClock;
 import io.openems.edge.common.sum.DummySum;
 import io.openems.edge.common.test.ComponentTest;
 import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.common.test.DummyCycle;
 
 public class ControllerApiMqttImplTest {
 
@@ -21,6 +22,7 @@ public class ControllerApiMqttImplTest {
 				ZoneOffset.UTC);
 		new ComponentTest(new ControllerApiMqttImpl()) //
 				.addReference("componentManager", new DummyComponentManager(clock)) //
+				.addReference("cycle", new DummyCycle(1000)) //
 				.addComponent(new DummySum()) //
 				.activate(MyConfig.create() //
 						.setId(CTRL_ID) //
@@ -7,6 +7,8 @@ import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Server;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +18,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.user.UserService;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.controller.api.common.ApiWorker;
@@ -23,7 +26,7 @@ import io.openems.edge.controller.api.rest.readonly.ControllerApiRestReadOnlyImp
 import io.openems.edge.timedata.api.Timedata;
 
 public abstract class AbstractRestApi extends AbstractOpenemsComponent
-		implements RestApi, Controller, OpenemsComponent {
+		implements RestApi, Controller, OpenemsComponent, EventHandler {
 
 	public static final boolean DEFAULT_DEBUG_MODE = true;
 
@@ -33,6 +36,7 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 	private final String implementationName;
 
 	private Server server = null;
+	private RestHandler restHandler = null;
 	private boolean isDebugModeEnabled = DEFAULT_DEBUG_MODE;
 
 	public AbstractRestApi(String implementationName, io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
@@ -71,7 +75,8 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 		 */
 		try {
 			this.server = new Server(port);
-			this.server.setHandler(new RestHandler(this));
+			this.restHandler = new RestHandler(this);
+			this.server.setHandler(this.restHandler);
 			this.server.addBean(new AcceptRateLimit(10, 5, TimeUnit.SECONDS, this.server));
 			this.server.addBean(new ConnectionLimit(connectionlimit, this.server));
 			this.server.start();
@@ -98,6 +103,22 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 		}
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled() || this.restHandler == null) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.restHandler.onCycle();
+			break;
+
+		case EdgeEventConstants.TOPIC_CONFIG_UPDATE:
+			this.restHandler.onConfigUpdate();
+			break;
+		}
+	}
+
 	@Override
 	public void run() throws OpenemsNamedException {
 		this.apiWorker.run();
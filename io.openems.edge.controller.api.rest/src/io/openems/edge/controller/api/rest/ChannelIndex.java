@@ -0,0 +1,194 @@
+package io.openems.edge.controller.api.rest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * An immutable index of the Channels of a list of {@link OpenemsComponent}s by
+ * Component-ID and Channel-ID.
+ *
+ * <p>
+ * IDs that do not contain any regular expression characters are looked up
+ * directly; all other IDs are matched using a compiled {@link Pattern} that is
+ * cached across requests.
+ */
+public class ChannelIndex {
+
+	/** Maximum number of cached compiled {@link Pattern}s. */
+	protected static final int MAX_CACHED_PATTERNS = 1_000;
+
+	private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+	private static final AtomicLong NEXT_VERSION = new AtomicLong();
+
+	private final List<OpenemsComponent> components;
+	private final long version;
+	private final Map<String, Map<String, Channel<?>>> channelsByComponentId;
+
+	private ChannelIndex(List<OpenemsComponent> components) {
+		this.components = components;
+		this.version = NEXT_VERSION.incrementAndGet();
+		this.channelsByComponentId = new LinkedHashMap<>();
+		for (var component : components) {
+			var channels = new LinkedHashMap<String, Channel<?>>();
+			for (var channel : component.channels()) {
+				channels.put(channel.channelId().id(), channel);
+			}
+			this.channelsByComponentId.put(component.id(), channels);
+		}
+	}
+
+	/**
+	 * Builds a {@link ChannelIndex}.
+	 *
+	 * @param components the list of {@link OpenemsComponent}s
+	 * @return the {@link ChannelIndex}
+	 */
+	public static ChannelIndex from(List<OpenemsComponent> components) {
+		return new ChannelIndex(components);
+	}
+
+	/**
+	 * Is this {@link ChannelIndex} built from the given list of
+	 * {@link OpenemsComponent}s?
+	 *
+	 * <p>
+	 * The ComponentManager returns the same list instance as long as the enabled
+	 * Components did not change, so this is a cheap identity check.
+	 *
+	 * @param components the list of {@link OpenemsComponent}s
+	 * @return true if the index is up-to-date
+	 */
+	public boolean isFor(List<OpenemsComponent> components) {
+		return this.components == components;
+	}
+
+	/**
+	 * Gets the version of this {@link ChannelIndex}; every new index has a higher
+	 * version.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Gets the Channels that match the {@link ChannelAddress}; regular
+	 * expressions are allowed.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return a list of matching {@link Channel}s
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	public List<Channel<?>> getChannels(ChannelAddress channelAddress) throws PatternSyntaxException {
+		var result = new ArrayList<Channel<?>>();
+		this.addChannels(channelAddress, result);
+		return result;
+	}
+
+	/**
+	 * Gets the Channels that match any of the {@link ChannelAddress}es; regular
+	 * expressions are allowed. Every Channel is contained only once.
+	 *
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a list of matching {@link Channel}s
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	public List<Channel<?>> getChannels(List<ChannelAddress> channelAddresses) throws PatternSyntaxException {
+		var result = new LinkedHashSet<Channel<?>>();
+		for (var channelAddress : channelAddresses) {
+			this.addChannels(channelAddress, result);
+		}
+		return new ArrayList<>(result);
+	}
+
+	private void addChannels(ChannelAddress channelAddress, Collection<Channel<?>> result)
+			throws PatternSyntaxException {
+		var componentId = channelAddress.getComponentId();
+		var channelId = channelAddress.getChannelId();
+		if (isLiteral(componentId)) {
+			var channels = this.channelsByComponentId.get(componentId);
+			if (channels != null) {
+				addChannels(channels, channelId, result);
+			}
+			return;
+		}
+		var componentPattern = getPattern(componentId);
+		for (var entry : this.channelsByComponentId.entrySet()) {
+			if (componentPattern.matcher(entry.getKey()).matches()) {
+				addChannels(entry.getValue(), channelId, result);
+			}
+		}
+	}
+
+	private static void addChannels(Map<String, Channel<?>> channels, String channelId,
+			Collection<Channel<?>> result) throws PatternSyntaxException {
+		if (isLiteral(channelId)) {
+			var channel = channels.get(channelId);
+			if (channel != null) {
+				result.add(channel);
+			}
+			return;
+		}
+		var channelPattern = getPattern(channelId);
+		for (var entry : channels.entrySet()) {
+			if (channelPattern.matcher(entry.getKey()).matches()) {
+				result.add(entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Gets a compiled {@link Pattern} from the cache.
+	 *
+	 * @param regex the regular expression
+	 * @return the {@link Pattern}
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	protected static Pattern getPattern(String regex) throws PatternSyntaxException {
+		var pattern = PATTERNS.get(regex);
+		if (pattern != null) {
+			return pattern;
+		}
+		pattern = Pattern.compile(regex);
+		if (PATTERNS.size() >= MAX_CACHED_PATTERNS) {
+			// Patterns are cheap to recompile; avoid unbounded growth from arbitrary URLs
+			PATTERNS.clear();
+		}
+		PATTERNS.put(regex, pattern);
+		return pattern;
+	}
+
+	/**
+	 * Does the ID only consist of characters that match themselves in a regular
+	 * expression?
+	 *
+	 * @param id the Component-ID or Channel-ID
+	 * @return true if the ID can be looked up directly
+	 */
+	private static boolean isLiteral(String id) {
+		if (id.isEmpty()) {
+			return false;
+		}
+		for (var i = 0; i < id.length(); i++) {
+			var c = id.charAt(i);
+			if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
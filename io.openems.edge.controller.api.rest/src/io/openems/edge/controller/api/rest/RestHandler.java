@@ -4,6 +4,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
@@ -11,8 +12,8 @@ import java.util.Map;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
@@ -60,14 +61,44 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class RestHandler extends AbstractHandler {
 
+	/** Maximum number of serialized responses cached per Cycle. */
+	private static final int MAX_CACHED_RESPONSES = 1_000;
+
+	private static record CachedResponse(String eTag, String body) {
+	}
+
 	private final Logger log = LoggerFactory.getLogger(RestHandler.class);
 
 	private final AbstractRestApi parent;
+	private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+	private volatile ChannelIndex channelIndex = null;
+
+	/** Number of Cycles since start; zero while Channel values are unknown. */
+	private volatile long cycle = 0;
 
 	public RestHandler(AbstractRestApi parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Called after the process image was switched, i.e. Channel values might have
+	 * changed.
+	 */
+	protected void onCycle() {
+		this.cycle++;
+		this.responses.clear();
+	}
+
+	/**
+	 * Called on configuration update, i.e. Components or Channels might have
+	 * changed.
+	 */
+	protected void onConfigUpdate() {
+		this.channelIndex = null;
+		this.responses.clear();
+	}
+
 	@Override
 	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
 			throws IOException {
@@ -167,6 +198,9 @@ public class RestHandler extends AbstractHandler {
 		case "channel":
 			return this.handleChannel(user, remainingTargets, baseRequest, request, response);
 
+		case "channels":
+			return this.handleChannels(user, remainingTargets, baseRequest, request, response);
+
 		default:
 			throw new OpenemsException("Unhandled REST target [" + thisTarget + "]");
 		}
@@ -201,6 +235,40 @@ public class RestHandler extends AbstractHandler {
 		}
 	}
 
+	/**
+	 * Handles a bulk read of multiple Channels, e.g.
+	 * '/rest/channels?address=_sum/EssSoc&address=meter0/Active.*'.
+	 *
+	 * @param user        the {@link User}
+	 * @param targets     the remaining targets
+	 * @param baseRequest the HTTP GET base-request
+	 * @param request     the HTTP GET request
+	 * @param response    the result to be returned
+	 * @return false if request cannot be handled or ok response was not sent
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleChannels(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
+
+		if (!targets.isEmpty()) {
+			throw new OpenemsException("Unexpected arguments to handle Channels");
+		}
+		if (!request.getMethod().equals("GET")) {
+			throw new OpenemsException("Unhandled REST Channels request method [" + request.getMethod() + "]");
+		}
+		var addresses = request.getParameterValues("address");
+		if (addresses == null || addresses.length == 0) {
+			throw new OpenemsException("Missing parameter [address] to handle Channels");
+		}
+		var channelAddresses = new ArrayList<ChannelAddress>(addresses.length);
+		for (var address : addresses) {
+			channelAddresses.add(ChannelAddress.fromString(address));
+		}
+
+		return this.handleGet(user, channelAddresses, false, baseRequest, request, response);
+	}
+
 	/**
 	 * Handles HTTP GET request.
 	 *
@@ -216,51 +284,134 @@ public class RestHandler extends AbstractHandler {
 			HttpServletResponse response) throws OpenemsNamedException {
 		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
 
-		var components = this.parent.getComponentManager().getEnabledComponents();
-		var channels = getChannels(components, channelAddress);
+		// if this a request for a single channel only return a single JsonObject, not
+		// an array (for compatibility to previous versions)
+		return this.handleGet(user, List.of(channelAddress), true, baseRequest, request, response);
+	}
 
-		// Return with error when no matching channel was found
-		if (channels.size() == 0) {
-			if (this.parent.isDebugModeEnabled()) {
-				this.parent.logWarn(this.log, "REST call by User [" + user.getName() + "]: GET Channel ["
-						+ channelAddress.toString() + "] Result [No Match]");
-			}
-			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			return false;
+	/**
+	 * Handles HTTP GET request for one or more {@link ChannelAddress}es.
+	 *
+	 * <p>
+	 * Responses carry an ETag that depends on the requested addresses and changes
+	 * with every Cycle and with every change of the enabled Components. Requests
+	 * with a matching 'If-None-Match' header are answered with '304 Not
+	 * Modified'; otherwise identical requests within one Cycle share the
+	 * serialized response.
+	 *
+	 * @param user             the {@link User}
+	 * @param channelAddresses the ChannelAddresses (may include RegExp)
+	 * @param unwrapSingle     return a single JsonObject if exactly one Channel
+	 *                         matches
+	 * @param baseRequest      the HTTP GET base-request
+	 * @param request          the HTTP GET request
+	 * @param response         the result to be returned
+	 * @return false if request cannot be handled or ok response was not sent
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleGet(User user, List<ChannelAddress> channelAddresses, boolean unwrapSingle,
+			Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+			throws OpenemsNamedException {
+		var index = this.getChannelIndex();
+		var key = (unwrapSingle ? "channel:" : "channels:") + channelAddresses.toString();
+		var eTag = this.getETag(index, key);
+		var cached = this.responses.get(key);
+		if (eTag != null && eTag.equals(request.getHeader("If-None-Match")) //
+				&& cached != null && cached.eTag().equals(eTag)) {
+			// The same request was already answered with this ETag
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+			response.setHeader("ETag", eTag);
+			baseRequest.setHandled(true);
+			return true;
 		}
 
-		// Creating JSON response for all matched channels
-		var channeljson = new JsonArray();
-		for (Channel<?> channel : channels) {
-			var j = new JsonObject();
-			// name
-			j.addProperty("address", channel.address().toString());
-			// type
-			j.addProperty("type", channel.getType().name());
-			// accessMode
-			var accessMode = channel.channelDoc().getAccessMode();
-			j.addProperty("accessMode", accessMode.getAbbreviation());
-			// text
-			j.addProperty("text", channel.channelDoc().getText());
-			// unit
-			j.addProperty("unit", channel.channelDoc().getUnit().symbol);
-			// value
-			if (accessMode != AccessMode.WRITE_ONLY) {
-				j.add("value", channel.value().asJson());
+		String body;
+		if (cached != null && cached.eTag().equals(eTag)) {
+			body = cached.body();
+
+		} else {
+			var channels = index.getChannels(channelAddresses);
+
+			// Return with error when no matching channel was found
+			if (channels.size() == 0) {
+				if (this.parent.isDebugModeEnabled()) {
+					this.parent.logWarn(this.log, "REST call by User [" + user.getName() + "]: GET Channel "
+							+ channelAddresses.toString() + " Result [No Match]");
+				}
+				response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+				return false;
+			}
+
+			// Creating JSON response for all matched channels
+			var channeljson = new JsonArray();
+			for (Channel<?> channel : channels) {
+				channeljson.add(toJson(channel));
 			}
-			channeljson.add(j);
-		}
+			var result = unwrapSingle && channeljson.size() == 1 ? channeljson.get(0) : channeljson;
+			body = result.toString();
 
-		// if this a request for a single channel only return a single JsonObject, not
-		// an array (for compatibility to previous versions)
-		var result = channeljson.size() == 1 ? channeljson.get(0) : channeljson;
+			if (eTag != null && this.responses.size() < MAX_CACHED_RESPONSES) {
+				this.responses.put(key, new CachedResponse(eTag, body));
+			}
+		}
 
 		if (this.parent.isDebugModeEnabled()) {
-			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: GET Channel ["
-					+ channelAddress.toString() + "] Result [" + result.toString() + "]");
+			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: GET Channel "
+					+ channelAddresses.toString() + " Result [" + body + "]");
+		}
+
+		return this.sendOkResponse(baseRequest, response, body, eTag);
+	}
+
+	/**
+	 * Gets the {@link ChannelIndex} for the currently enabled Components; rebuilds
+	 * it if required.
+	 *
+	 * @return the {@link ChannelIndex}
+	 */
+	private ChannelIndex getChannelIndex() {
+		var components = this.parent.getComponentManager().getEnabledComponents();
+		var index = this.channelIndex;
+		if (index == null || !index.isFor(components)) {
+			index = ChannelIndex.from(components);
+			this.channelIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the ETag for responses with Channel values.
+	 *
+	 * @param index the {@link ChannelIndex}
+	 * @param key   identifies the requested addresses
+	 * @return the ETag; null before the first Cycle
+	 */
+	private String getETag(ChannelIndex index, String key) {
+		var cycle = this.cycle;
+		if (cycle == 0) {
+			return null;
 		}
+		return "\"" + index.getVersion() + "-" + cycle + "-" + Integer.toHexString(key.hashCode()) + "\"";
+	}
 
-		return this.sendOkResponse(baseRequest, response, result);
+	private static JsonObject toJson(Channel<?> channel) {
+		var j = new JsonObject();
+		// name
+		j.addProperty("address", channel.address().toString());
+		// type
+		j.addProperty("type", channel.getType().name());
+		// accessMode
+		var accessMode = channel.channelDoc().getAccessMode();
+		j.addProperty("accessMode", accessMode.getAbbreviation());
+		// text
+		j.addProperty("text", channel.channelDoc().getText());
+		// unit
+		j.addProperty("unit", channel.channelDoc().getUnit().symbol);
+		// value
+		if (accessMode != AccessMode.WRITE_ONLY) {
+			j.add("value", channel.value().asJson());
+		}
+		return j;
 	}
 
 	/**
@@ -274,11 +425,7 @@ public class RestHandler extends AbstractHandler {
 	 */
 	protected static List<Channel<?>> getChannels(List<OpenemsComponent> components, ChannelAddress channelAddress)
 			throws PatternSyntaxException {
-		return components.stream() //
-				.filter(component -> Pattern.matches(channelAddress.getComponentId(), component.id())) //
-				.flatMap(component -> component.channels().stream()) //
-				.filter(channel -> Pattern.matches(channelAddress.getChannelId(), channel.channelId().id())) //
-				.toList();
+		return ChannelIndex.from(components).getChannels(channelAddress);
 	}
 
 	private void sendErrorResponse(Request baseRequest, HttpServletResponse response, UUID jsonrpcId, Throwable ex) {
@@ -307,11 +454,19 @@ public class RestHandler extends AbstractHandler {
 
 	private boolean sendOkResponse(Request baseRequest, HttpServletResponse response, JsonElement data)
 			throws OpenemsException {
+		return this.sendOkResponse(baseRequest, response, data.toString(), null);
+	}
+
+	private boolean sendOkResponse(Request baseRequest, HttpServletResponse response, String body, String eTag)
+			throws OpenemsException {
 		try {
 			response.setContentType("application/json");
 			response.setStatus(HttpServletResponse.SC_OK);
+			if (eTag != null) {
+				response.setHeader("ETag", eTag);
+			}
 			baseRequest.setHandled(true);
-			response.getWriter().write(data.toString());
+			response.getWriter().write(body);
 			return true;
 		} catch (IOException e) {
 			throw new OpenemsException("Unable to send Ok-Response: " + e.getMessage());
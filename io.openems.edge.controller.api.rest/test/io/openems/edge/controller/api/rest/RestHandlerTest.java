@@ -1,6 +1,9 @@
 package io.openems.edge.controller.api.rest;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
@@ -59,4 +62,33 @@ public class RestHandlerTest {
 		}
 	}
 
+	@Test
+	public void testChannelIndex() {
+		var foo0 = new DummyComponent("foo0");
+		var bar0 = new DummyComponent("bar0");
+		var components = List.<OpenemsComponent>of(foo0, bar0);
+		var index = ChannelIndex.from(components);
+
+		assertTrue(index.isFor(components));
+		assertFalse(index.isFor(List.<OpenemsComponent>of(foo0, bar0)));
+		assertTrue(ChannelIndex.from(components).getVersion() > index.getVersion());
+
+		// Multiple addresses; every Channel only once
+		var result = index.getChannels(List.of(//
+				new ChannelAddress("bar0", "DummyChannel"), //
+				new ChannelAddress(".*", "DummyChannel"), //
+				new ChannelAddress("foo0", "State")));
+		assertEquals(3, result.size());
+		assertEquals(bar0.channel("DummyChannel"), result.get(0));
+		assertEquals(foo0.channel("DummyChannel"), result.get(1));
+		assertEquals(foo0.channel("State"), result.get(2));
+
+		// Unknown literal IDs
+		assertEquals(0, index.getChannels(new ChannelAddress("xyz0", "DummyChannel")).size());
+		assertEquals(0, index.getChannels(new ChannelAddress("foo0", "Xyz")).size());
+
+		// Compiled patterns are cached
+		assertSame(ChannelIndex.getPattern("Dummy.*"), ChannelIndex.getPattern("Dummy.*"));
+	}
+
 }
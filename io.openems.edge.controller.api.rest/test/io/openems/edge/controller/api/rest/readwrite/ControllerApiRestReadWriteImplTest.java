@@ -1,6 +1,8 @@
 package io.openems.edge.controller.api.rest.readwrite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
@@ -85,6 +87,12 @@ public class ControllerApiRestReadWriteImplTest {
 				.addProperty("value", 1234) //
 				.build(), channelGet);
 
+		// Bulk GET successful as GUEST
+		var channelsGet = sendGetRequest(port, GUEST,
+				"/rest/channels?address=dummy0/ReadChannel&address=dummy0/Read.*&address=dummy0/WriteChannel");
+		assertEquals(2, channelsGet.getAsJsonArray().size());
+		assertEquals(channelGet, channelsGet.getAsJsonArray().get(0));
+
 		// POST successful as OWNER
 		var channelPost = sendPostRequest(port, OWNER, "/rest/channel/dummy0/WriteChannel", JsonUtils.buildJsonObject() //
 				.addProperty("value", 4321) //
@@ -95,6 +103,25 @@ public class ControllerApiRestReadWriteImplTest {
 						.output(new ChannelAddress("dummy0", "WriteChannel"), 4321) //
 						.output(new ChannelAddress(CTRL_ID, "ApiWorkerLog"), "dummy0/WriteChannel:4321"));
 
+		// Conditional GET
+		var first = sendConditionalGetRequest(port, GUEST, "/rest/channel/dummy0/ReadChannel", null);
+		assertEquals(200, first.status());
+		assertNotNull(first.eTag());
+		assertEquals(304,
+				sendConditionalGetRequest(port, GUEST, "/rest/channel/dummy0/ReadChannel", first.eTag()).status());
+
+		// Other addresses do not match the ETag
+		var other = sendConditionalGetRequest(port, GUEST, "/rest/channel/dummy0/WriteChannel", first.eTag());
+		assertEquals(200, other.status());
+		assertNotEquals(first.eTag(), other.eTag());
+		assertEquals(200, sendConditionalGetRequest(port, GUEST, "/rest/channels?address=dummy0/ReadChannel",
+				first.eTag()).status());
+
+		// ETag changes with the next Cycle
+		test.next(new TestCase());
+		assertEquals(200,
+				sendConditionalGetRequest(port, GUEST, "/rest/channel/dummy0/ReadChannel", first.eTag()).status());
+
 		// POST fails as GUEST
 		try {
 			sendPostRequest(port, GUEST, "/rest/channel/dummy0/WriteChannel", JsonUtils.buildJsonObject() //
@@ -134,6 +161,27 @@ public class ControllerApiRestReadWriteImplTest {
 		return sendRequest(port, "POST", password, endpoint, request);
 	}
 
+	private static record ConditionalResponse(int status, String eTag) {
+	}
+
+	private static ConditionalResponse sendConditionalGetRequest(int port, String password, String endpoint,
+			String ifNoneMatch) throws IOException {
+		var url = new URL("http://127.0.0.1:" + port + endpoint);
+		var con = (HttpURLConnection) url.openConnection();
+		con.setRequestProperty("Authorization",
+				"Basic " + new String(Base64.getEncoder().encode(("x:" + password).getBytes())));
+		if (ifNoneMatch != null) {
+			con.setRequestProperty("If-None-Match", ifNoneMatch);
+		}
+		con.setConnectTimeout(5000);
+		con.setReadTimeout(50000);
+		try {
+			return new ConditionalResponse(con.getResponseCode(), con.getHeaderField("ETag"));
+		} finally {
+			con.disconnect();
+		}
+	}
+
 	private static JsonElement sendRequest(int port, String requestMethod, String password, String endpoint,
 			JsonObject request) throws OpenemsNamedException {
 		try {
@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.openems.common.channel.PersistencePriority;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -34,9 +35,11 @@ import io.openems.common.jsonrpc.request.SubscribeSystemLogRequest;
 import io.openems.common.types.EdgeConfig;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.common.websocket.AbstractWebsocketServer.DebugMode;
+import io.openems.edge.common.channel.stream.ChannelStream.Subscription;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.user.User;
 import io.openems.edge.common.user.UserService;
@@ -73,12 +76,16 @@ public class ControllerApiWebsocketImpl extends AbstractOpenemsComponent
 	@Reference
 	protected UserService userService;
 
+	@Reference
+	private Cycle cycle;
+
 	@Reference(policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.OPTIONAL)
 	private volatile Timedata timedata = null;
 
 	protected WebsocketServer server = null;
 
 	private ScheduledExecutorService executor;
+	private Subscription subscription = null;
 
 	public ControllerApiWebsocketImpl() {
 		super(//
@@ -103,6 +110,7 @@ public class ControllerApiWebsocketImpl extends AbstractOpenemsComponent
 				new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
 
 		this.apiWorker.setTimeoutSeconds(config.apiTimeout());
+		this.subscription = this.cycle.getChannelStream().subscribe(PersistencePriority.VERY_LOW);
 		this.startServer(config.port(), POOL_SIZE, DebugMode.OFF);
 	}
 
@@ -110,6 +118,9 @@ public class ControllerApiWebsocketImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.subscription != null) {
+			this.subscription.close();
+		}
 		this.stopServer();
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 	}
@@ -209,9 +220,10 @@ public class ControllerApiWebsocketImpl extends AbstractOpenemsComponent
 			break;
 
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			final var snapshot = this.subscription.poll().snapshot();
 			for (var ws : this.server.getConnections()) {
 				WsData wsData = ws.getAttachment();
-				wsData.sendSubscribedChannels();
+				wsData.sendSubscribedChannels(snapshot);
 			}
 			break;
 		}
@@ -21,6 +21,7 @@ import io.openems.common.jsonrpc.notification.EdgeRpcNotification;
 import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.stream.ChannelSnapshot;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.user.User;
 
@@ -49,7 +50,16 @@ public class WsData extends io.openems.common.websocket.WsData {
 			}
 		}
 
-		public Map<String, JsonElement> getChannelValues(ComponentManager componentManager) {
+		/**
+		 * Gets the values of the subscribed Channels. Values are taken from the
+		 * {@link ChannelSnapshot}; Channels that are not part of it (e.g. WRITE_ONLY
+		 * Channels) are read via the {@link ComponentManager}.
+		 *
+		 * @param snapshot         the latest {@link ChannelSnapshot}
+		 * @param componentManager the {@link ComponentManager}
+		 * @return a map of Channel-Address to value
+		 */
+		public Map<String, JsonElement> getChannelValues(ChannelSnapshot snapshot, ComponentManager componentManager) {
 			var subscribedChannels = this.subscribedChannels;
 			if (subscribedChannels == null || subscribedChannels.isEmpty()) {
 				return Collections.emptyMap();
@@ -57,6 +67,11 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 			var result = new HashMap<String, JsonElement>(subscribedChannels.size());
 			for (var channel : subscribedChannels) {
+				var index = snapshot.indexOf(channel);
+				if (index >= 0) {
+					result.put(channel.toString(), snapshot.getAsJson(index));
+					continue;
+				}
 				JsonElement value;
 				try {
 					Channel<?> c = componentManager.getChannel(channel);
@@ -181,9 +196,11 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	/**
 	 * Sends the subscribed Channels to the UI session.
+	 *
+	 * @param snapshot the latest {@link ChannelSnapshot}
 	 */
-	public void sendSubscribedChannels() {
-		var values = this.subscribedChannels.getChannelValues(this.parent.componentManager);
+	public void sendSubscribedChannels(ChannelSnapshot snapshot) {
+		var values = this.subscribedChannels.getChannelValues(snapshot, this.parent.componentManager);
 		if (values.isEmpty()) {
 			return;
 		}
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import io.openems.edge.common.test.AbstractComponentTest.TestCase;
 import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.common.test.DummyCycle;
 import io.openems.edge.controller.test.ControllerTest;
 
 public class ControllerApiWebsocketImplTest {
@@ -14,6 +15,7 @@ public class ControllerApiWebsocketImplTest {
 	public void test() throws Exception {
 		new ControllerTest(new ControllerApiWebsocketImpl()) //
 				.addReference("componentManager", new DummyComponentManager()) //
+				.addReference("cycle", new DummyCycle(1000)) //
 				.activate(MyConfig.create() //
 						.setId(CTRL_ID) //
 						.setApiTimeout(60) //
@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -185,10 +184,11 @@ public class ControllerEssEmergencyCapacityReserveImpl extends AbstractOpenemsCo
 	 */
 	private OptionalInt getLastValidSoc(IntegerReadChannel channel) {
 		// get first defined value
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.findFirst();
+		final var pastValues = channel.getPastValues();
+		final var index = pastValues.firstDefinedIndex(0, pastValues.size());
+		if (index < 0) {
+			return OptionalInt.empty();
+		}
+		return OptionalInt.of((int) pastValues.getAsLong(index));
 	}
 }
@@ -26,7 +26,6 @@ import io.openems.common.utils.DateUtils;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -463,11 +462,12 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 */
 	public static OptionalInt getLastValidValue(IntegerReadChannel channel) {
 		// Possibly shift "getLastValidValue" to AbstractReadChannels
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.findFirst();
+		final var pastValues = channel.getPastValues();
+		final var index = pastValues.firstDefinedIndex(0, pastValues.size());
+		if (index < 0) {
+			return OptionalInt.empty();
+		}
+		return OptionalInt.of((int) pastValues.getAsLong(index));
 	}
 
 	/**
@@ -477,10 +477,12 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 * @return Last defined value
 	 */
 	private static Optional<Boolean> getLastValidValue(StateChannel channel) {
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.map(Value::get).findFirst();
+		final var pastValues = channel.getPastValues();
+		final var index = pastValues.firstDefinedIndex(0, pastValues.size());
+		if (index < 0) {
+			return Optional.empty();
+		}
+		return Optional.of(pastValues.get(index));
 	}
 
 	/**
@@ -491,11 +493,12 @@ public abstract class AbstractFixStateOfCharge extends AbstractOpenemsComponent
 	 * @return Last defined value from given {@link LongReadChannel}
 	 */
 	public static OptionalLong getLastValidValue(LongReadChannel channel) {
-		return channel.getPastValues().values() //
-				.stream() //
-				.filter(Value::isDefined) //
-				.mapToLong(Value::get) //
-				.findFirst();
+		final var pastValues = channel.getPastValues();
+		final var index = pastValues.firstDefinedIndex(0, pastValues.size());
+		if (index < 0) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(pastValues.getAsLong(index));
 	}
 
 	/**
@@ -12,7 +12,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -21,7 +20,6 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.DateUtils;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -305,11 +303,17 @@ public class DelayCharge {
 		// active, to avoid standby of the inverter directly after it.
 		var minimumPowerFactor = MINIMUM_POWER_FACTOR;
 
-		boolean delayChargeMinimumReached = this.parent.getDelayChargeStateChannel().getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).with(ChronoField.MINUTE_OF_DAY, 5),
-						true)
-				.values().stream().filter(Value::isDefined)
-				.filter(channel -> channel.asEnum() == DelayChargeState.ACTIVE_LIMIT).findAny().isPresent();
+		var delayChargeStates = this.parent.getDelayChargeStateChannel().getPastValues();
+		var delayChargeMinimumReached = false;
+		for (var i = delayChargeStates.ceilingIndex(
+				LocalDateTime.now(this.parent.componentManager.getClock()).with(ChronoField.MINUTE_OF_DAY, 5)); //
+				i < delayChargeStates.size(); i++) {
+			if (delayChargeStates.isDefined(i)
+					&& delayChargeStates.getAsLong(i) == DelayChargeState.ACTIVE_LIMIT.getValue()) {
+				delayChargeMinimumReached = true;
+				break;
+			}
+		}
 
 		minimumPowerFactor = delayChargeMinimumReached ? minimumPowerFactor * 0.5F : minimumPowerFactor;
 		var minimumPower = Math.round(capacity * minimumPowerFactor);
@@ -355,23 +359,17 @@ public class DelayCharge {
 		IntegerReadChannel delayChargeLimitRawChannel = this.parent.getRawDelayChargeLimitChannel();
 		this.parent._setRawDelayChargeLimit(calculatedPower);
 
-		var pastLimits = delayChargeLimitRawChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
-				.values().stream().filter(Value::isDefined).mapToInt(Value::get);
-
-		var currentLimit = IntStream.of(calculatedPower);
-
-		// Concat the limit values of the last 900 seconds with the current limit
-		var limits = IntStream.concat(pastLimits, currentLimit); //
+		var pastLimits = delayChargeLimitRawChannel.getPastValues();
+		var fromIndex = pastLimits
+				.ceilingIndex(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900));
 
-		// Get the average of the past values including the current
-		var limitValueOpt = limits.average();
-
-		if (!limitValueOpt.isPresent()) {
-			return null;
-		}
+		// Get the average of the limit values of the last 900 seconds including the
+		// current limit
+		var sum = pastLimits.sumAsLong(fromIndex, pastLimits.size()) + calculatedPower;
+		var count = pastLimits.countDefined(fromIndex, pastLimits.size()) + 1;
+		var limitValue = (double) sum / count;
 
-		return TypeUtils.getAsType(OpenemsType.INTEGER, Math.round(limitValueOpt.getAsDouble()));
+		return TypeUtils.getAsType(OpenemsType.INTEGER, Math.round(limitValue));
 	}
 
 	/**
@@ -34,6 +34,9 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Max charge power from the grid [W]", description = "Maximum charge power from the grid")
 	int maxChargePowerFromGrid() default 5000;
 
+	@AttributeDefinition(name = "Optimizer threads", description = "Number of threads for the evaluation of schedules. '1' evaluates on the optimizer thread.")
+	int optimizerThreads() default 1;
+
 	@AttributeDefinition(name = "Ess target filter", description = "This is auto-generated by 'Ess-ID'.")
 	String ess_target() default "(enabled=true)";
 
@@ -46,6 +46,12 @@ public interface TimeOfUseTariffController extends Controller, OpenemsComponent
 		 */
 		SOLVE_DURATION(Doc.of(OpenemsType.INTEGER) //
 				.unit(Unit.MILLISECONDS)),
+		OPTIMIZER_GENERATIONS(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of generations of the last optimization")), //
+		OPTIMIZER_BEST_GENERATION(Doc.of(OpenemsType.INTEGER) //
+				.text("Generation in which the best schedule of the last optimization was found")), //
+		OPTIMIZER_BEST_COST(Doc.of(OpenemsType.DOUBLE) //
+				.text("Predicted cost of the best schedule of the last optimization")), //
 		CHARGE_DISCHARGE_ENERGY(Doc.of(OpenemsType.INTEGER) //
 				.text("Charge/Discharge energy calculated for the period.")), //
 		GRID_ENERGY(Doc.of(OpenemsType.INTEGER) //
@@ -16,6 +16,8 @@ import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -34,6 +36,7 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.osgi.service.metatype.annotations.Designate;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 
 import io.openems.common.exceptions.OpenemsError;
@@ -119,6 +122,7 @@ public class TimeOfUseTariffControllerImpl extends AbstractOpenemsComponent
 	private ManagedSymmetricEss ess;
 
 	private Optimizer optimizer = null;
+	private ExecutorService optimizerExecutor = null;
 
 	public TimeOfUseTariffControllerImpl() {
 		super(//
@@ -138,6 +142,16 @@ public class TimeOfUseTariffControllerImpl extends AbstractOpenemsComponent
 			return;
 		}
 
+		// Evaluate schedules in parallel if configured
+		final Executor executor;
+		if (config.optimizerThreads() > 1) {
+			this.optimizerExecutor = Executors.newFixedThreadPool(config.optimizerThreads(),
+					new ThreadFactoryBuilder().setNameFormat("TimeOfUseTariff-Optimizer-%d").build());
+			executor = this.optimizerExecutor;
+		} else {
+			executor = Runnable::run; // current thread
+		}
+
 		/* Run Worker once now and afterwards every 15 minutes */
 		this.optimizer = new Optimizer(() -> Context.create() //
 				.predictorManager(this.predictorManager) //
@@ -149,6 +163,10 @@ public class TimeOfUseTariffControllerImpl extends AbstractOpenemsComponent
 				.maxChargePowerFromGrid(config.maxChargePowerFromGrid()) //
 				.maxChargePowerFromGrid(config.maxChargePowerFromGrid()) //
 				.solveDurationChannel(this.channel(TimeOfUseTariffController.ChannelId.SOLVE_DURATION)) //
+				.generationsChannel(this.channel(TimeOfUseTariffController.ChannelId.OPTIMIZER_GENERATIONS)) //
+				.bestGenerationChannel(this.channel(TimeOfUseTariffController.ChannelId.OPTIMIZER_BEST_GENERATION)) //
+				.bestCostChannel(this.channel(TimeOfUseTariffController.ChannelId.OPTIMIZER_BEST_COST)) //
+				.executor(executor) //
 				.build());
 		final AtomicReference<Future<?>> future = new AtomicReference<>();
 		future.set(this.taskExecutor.submit(this.optimizer));
@@ -173,6 +191,9 @@ public class TimeOfUseTariffControllerImpl extends AbstractOpenemsComponent
 	protected void deactivate() {
 		shutdownAndAwaitTermination(this.taskExecutor, 0);
 		shutdownAndAwaitTermination(this.triggerExecutor, 0);
+		if (this.optimizerExecutor != null) {
+			shutdownAndAwaitTermination(this.optimizerExecutor, 0);
+		}
 		super.deactivate();
 	}
 
@@ -1,7 +1,9 @@
 package io.openems.edge.controller.ess.timeofusetariff.optimizer;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import io.openems.edge.common.channel.DoubleReadChannel;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.controller.ess.emergencycapacityreserve.ControllerEssEmergencyCapacityReserve;
 import io.openems.edge.controller.ess.limittotaldischarge.ControllerEssLimitTotalDischarge;
@@ -18,7 +20,11 @@ public record Context(//
 		List<ControllerEssLimitTotalDischarge> ctrlLimitTotalDischarges, //
 		ControlMode controlMode, //
 		int maxChargePowerFromGrid, //
-		IntegerReadChannel solveDurationChannel) {
+		IntegerReadChannel solveDurationChannel, //
+		IntegerReadChannel generationsChannel, //
+		IntegerReadChannel bestGenerationChannel, //
+		DoubleReadChannel bestCostChannel, //
+		Executor executor) {
 
 	public static class Builder {
 		private PredictorManager predictorManager;
@@ -29,6 +35,10 @@ public record Context(//
 		private ControlMode controlMode;
 		private int maxChargePowerFromGrid;
 		private IntegerReadChannel solveDurationChannel;
+		private IntegerReadChannel generationsChannel;
+		private IntegerReadChannel bestGenerationChannel;
+		private DoubleReadChannel bestCostChannel;
+		private Executor executor = Runnable::run; // current thread
 
 		/**
 		 * The {@link PredictorManager}.
@@ -121,6 +131,51 @@ public record Context(//
 			return this;
 		}
 
+		/**
+		 * The generationsChannel.
+		 * 
+		 * @param generationsChannel the generationsChannel
+		 * @return myself
+		 */
+		public Builder generationsChannel(IntegerReadChannel generationsChannel) {
+			this.generationsChannel = generationsChannel;
+			return this;
+		}
+
+		/**
+		 * The bestGenerationChannel.
+		 * 
+		 * @param bestGenerationChannel the bestGenerationChannel
+		 * @return myself
+		 */
+		public Builder bestGenerationChannel(IntegerReadChannel bestGenerationChannel) {
+			this.bestGenerationChannel = bestGenerationChannel;
+			return this;
+		}
+
+		/**
+		 * The bestCostChannel.
+		 * 
+		 * @param bestCostChannel the bestCostChannel
+		 * @return myself
+		 */
+		public Builder bestCostChannel(DoubleReadChannel bestCostChannel) {
+			this.bestCostChannel = bestCostChannel;
+			return this;
+		}
+
+		/**
+		 * The {@link Executor} for the fitness evaluation. Defaults to the current
+		 * thread.
+		 * 
+		 * @param executor the {@link Executor}
+		 * @return myself
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
 		/**
 		 * Builds the {@link Context}.
 		 * 
@@ -129,7 +184,8 @@ public record Context(//
 		public Context build() {
 			return new Context(this.predictorManager, this.timeOfUseTariff, this.ess,
 					this.ctrlEmergencyCapacityReserves, this.ctrlLimitTotalDischarges, this.controlMode,
-					this.maxChargePowerFromGrid, this.solveDurationChannel);
+					this.maxChargePowerFromGrid, this.solveDurationChannel, this.generationsChannel,
+					this.bestGenerationChannel, this.bestCostChannel, this.executor);
 		}
 	}
 
@@ -39,7 +39,9 @@ public class Optimizer implements Runnable {
 				.filter(RandomGeneratorFactory::isStatistical) //
 				.sorted((f, g) -> Integer.compare(g.stateBits(), f.stateBits())).findFirst()
 				.orElse(RandomGeneratorFactory.of("Random"));
-		RandomRegistry.random(rgf.create());
+		// Use the factory, so that every thread gets its own generator during
+		// parallel evaluation
+		RandomRegistry.random(rgf);
 	}
 
 	@Override
@@ -50,7 +52,15 @@ public class Optimizer implements Runnable {
 			var params = this.getParams();
 
 			// Find best Schedule
-			var schedule = Simulator.getBestSchedule(params);
+			var context = this.context.get();
+			var schedule = Simulator.getBestSchedule(params, context.executor(), statistics -> {
+				context.generationsChannel().setNextValue(statistics.generations());
+				context.bestGenerationChannel().setNextValue(statistics.bestGeneration());
+				context.bestCostChannel().setNextValue(statistics.bestCost() / 1000000);
+				this.log.info("# Optimizer statistics: Generations [" + statistics.generations()
+						+ "] Best-Generation [" + statistics.bestGeneration() + "] Memo-Hit-Rate ["
+						+ statistics.memoHitRate() + "%]");
+			});
 
 			// Re-Simulate and keep best Schedule
 			var periods = new TreeMap<ZonedDateTime, Period>();
@@ -10,7 +10,12 @@ import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.time.Duration.ofMinutes;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -94,6 +99,34 @@ public class Simulator {
 		return cost;
 	}
 
+	/**
+	 * Stop the evolution if the best fitness did not improve for this number of
+	 * generations, when starting without an existing Schedule.
+	 */
+	public static final int STEADY_FITNESS_GENERATIONS = 20_000;
+
+	/**
+	 * Stop the evolution if the best fitness did not improve for this number of
+	 * generations, when starting with an existing Schedule. The initial population
+	 * is already close to the optimum in this case.
+	 */
+	public static final int STEADY_FITNESS_GENERATIONS_WARM_START = 2_000;
+
+	/** Maximum number of memoized fitness values per optimization run. */
+	public static final int MAX_FITNESS_MEMO_SIZE = 20_000;
+
+	/**
+	 * Statistics of an optimization run.
+	 * 
+	 * @param generations    the total number of generations
+	 * @param bestGeneration the generation in which the best schedule was found
+	 * @param bestCost       the cost of the best schedule
+	 * @param memoHitRate    the ratio of fitness evaluations that were served from
+	 *                       the memo in [%]
+	 */
+	public static record Statistics(long generations, long bestGeneration, double bestCost, int memoHitRate) {
+	}
+
 	/**
 	 * Runs the optimization with default settings.
 	 * 
@@ -101,10 +134,27 @@ public class Simulator {
 	 * @return the best schedule
 	 */
 	protected static StateMachine[] getBestSchedule(Params p) {
-		return getBestSchedule(p, null, null);
+		return getBestSchedule(p, Runnable::run /* current thread */, null);
 	}
 
 	protected static StateMachine[] getBestSchedule(Params p, Integer populationSize, Integer limit) {
+		return getBestSchedule(p, Runnable::run /* current thread */, populationSize, limit, null);
+	}
+
+	/**
+	 * Runs the optimization.
+	 * 
+	 * @param p          the {@link Params}
+	 * @param executor   the {@link Executor} for fitness evaluation
+	 * @param statistics a {@link Consumer} for the {@link Statistics}; or null
+	 * @return the best schedule
+	 */
+	protected static StateMachine[] getBestSchedule(Params p, Executor executor, Consumer<Statistics> statistics) {
+		return getBestSchedule(p, executor, null, null, statistics);
+	}
+
+	protected static StateMachine[] getBestSchedule(Params p, Executor executor, Integer populationSize,
+			Integer limit, Consumer<Statistics> statistics) {
 		// Return pure BALANCING Schedule if no predictions are available
 		if (p.numberOfPeriods() == 0 || p.predictionsAreEmpty()) {
 			System.out.println("Fallback to DEFAULT BALANCING Schedule");
@@ -113,30 +163,74 @@ public class Simulator {
 					.toArray(StateMachine[]::new);
 		}
 
+		// Identical Genotypes (e.g. after crossover of similar parents) are evaluated
+		// only once
+		final var memo = new ConcurrentHashMap<String, Double>();
+		final var memoHits = new LongAdder();
+		final var memoMisses = new LongAdder();
+
 		var gtf = Genotype.of(IntegerChromosome.of(IntegerGene.of(0, p.states().length)), p.numberOfPeriods()); //
 		var eval = (Function<Genotype<IntegerGene>, Double>) (gt) -> {
+			var key = new char[p.numberOfPeriods()];
 			var modes = new StateMachine[p.numberOfPeriods()];
 			for (var i = 0; i < modes.length; i++) {
-				modes[i] = p.states()[gt.get(i).get(0).intValue()];
+				var state = gt.get(i).get(0).intValue();
+				key[i] = (char) state;
+				modes[i] = p.states()[state];
 			}
-			return calculateCost(p, modes);
+			var memoKey = new String(key);
+			var cost = memo.get(memoKey);
+			if (cost != null) {
+				memoHits.increment();
+				return cost;
+			}
+			memoMisses.increment();
+			cost = calculateCost(p, modes);
+			if (memo.size() < MAX_FITNESS_MEMO_SIZE) {
+				memo.put(memoKey, cost);
+			}
+			return cost;
 		};
 		var engine = Engine //
 				.builder(eval, gtf) //
-				.executor(Runnable::run) // current thread
+				.executor(executor) //
 				.minimizing();
 		if (populationSize != null) {
 			engine.populationSize(populationSize); //
 		}
+		var steadyFitness = p.existingSchedule().length > 0 //
+				? STEADY_FITNESS_GENERATIONS_WARM_START //
+				: STEADY_FITNESS_GENERATIONS;
 		Stream<EvolutionResult<IntegerGene, Double>> stream = engine.build() //
 				.stream(buildInitialPopulation(p)) //
-				.limit(bySteadyFitness(20_000)) //
+				.limit(bySteadyFitness(steadyFitness)) //
 				.limit(byExecutionTime(ofMinutes(11))); //
 		if (limit != null) {
 			stream = stream.limit(limit); // apply optional limit
 		}
+
+		// Track convergence
+		final var bestCost = new AtomicReference<Double>();
+		final var bestGeneration = new AtomicLong();
+		final var generations = new AtomicLong();
 		var bestGt = stream //
+				.peek(r -> {
+					generations.set(r.generation());
+					var cost = r.bestFitness();
+					if (bestCost.get() == null || cost < bestCost.get()) {
+						bestCost.set(cost);
+						bestGeneration.set(r.generation());
+					}
+				}) //
 				.collect(toBestGenotype());
+
+		if (statistics != null) {
+			var hits = memoHits.sum();
+			var total = hits + memoMisses.sum();
+			statistics.accept(new Statistics(generations.get(), bestGeneration.get(),
+					bestCost.get() == null ? 0. : bestCost.get(), total == 0 ? 0 : (int) (hits * 100 / total)));
+		}
+
 		return IntStream.range(0, p.numberOfPeriods()) //
 				.mapToObj(period -> p.states()[bestGt.get(period).get(0).intValue()]) //
 				.toArray(StateMachine[]::new);
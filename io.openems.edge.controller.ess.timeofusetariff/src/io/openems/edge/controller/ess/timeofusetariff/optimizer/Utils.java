@@ -18,6 +18,7 @@ import static java.util.Arrays.stream;
 import static java.util.stream.IntStream.concat;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -36,6 +37,7 @@ import com.google.gson.JsonPrimitive;
 import io.jenetics.Genotype;
 import io.jenetics.IntegerChromosome;
 import io.jenetics.IntegerGene;
+import io.jenetics.util.RandomRegistry;
 import io.openems.common.exceptions.InvalidValueException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
@@ -387,24 +389,70 @@ public final class Utils {
 		};
 	}
 
+	/**
+	 * Number of mutated copies of the existingSchedule that are added to the
+	 * initial population.
+	 */
+	public static final int INITIAL_POPULATION_VARIANTS = 20;
+
+	/** Probability of a gene of a variant to be mutated. */
+	public static final double INITIAL_POPULATION_MUTATION_PROBABILITY = 0.05;
+
 	/**
 	 * Gets the current existingSchedule (i.e. the bestGenotype of last optimization
 	 * run) as {@link Genotype} to serve as initial population.
 	 * 
+	 * <p>
+	 * The existingSchedule is already shifted by the elapsed periods (see
+	 * {@link Params.Builder#existingSchedule(TreeMap)}). If it is available, the
+	 * initial population additionally contains a pure BALANCING schedule and
+	 * {@link #INITIAL_POPULATION_VARIANTS} mutated copies of the existingSchedule,
+	 * so that the evolution starts close to the previous optimum.
+	 * 
 	 * @param p the {@link Params}
-	 * @return the {@link Genotype}
+	 * @return the {@link Genotype}s; the first one represents the existingSchedule
 	 */
 	public static List<Genotype<IntegerGene>> buildInitialPopulation(Params p) {
 		var states = List.of(p.states());
-		return List.of(//
-				Genotype.of(//
-						IntStream.range(0, p.numberOfPeriods()) //
-								// Map to state index; not-found maps to '-1', corrected to '0'
-								.map(i -> fitWithin(0, p.states().length, states.indexOf(//
-										p.existingSchedule().length > i ? p.existingSchedule()[i] //
-												: 0 // fill remaining with '0'
-								))) //
-								.mapToObj(state -> IntegerChromosome.of(IntegerGene.of(state, 0, p.states().length))) //
-								.toList()));
+		var existing = IntStream.range(0, p.numberOfPeriods()) //
+				// Map to state index; not-found maps to '-1', corrected to '0'
+				.map(i -> fitWithin(0, p.states().length, states.indexOf(//
+						p.existingSchedule().length > i ? p.existingSchedule()[i] //
+								: 0 // fill remaining with '0'
+				))) //
+				.toArray();
+		var result = new ArrayList<Genotype<IntegerGene>>();
+		result.add(toGenotype(p, existing));
+		if (p.existingSchedule().length == 0) {
+			return result;
+		}
+
+		// Pure BALANCING
+		var balancing = states.indexOf(BALANCING);
+		if (balancing != -1) {
+			result.add(toGenotype(p, IntStream.range(0, p.numberOfPeriods()) //
+					.map(i -> balancing) //
+					.toArray()));
+		}
+
+		// Mutated copies of the existingSchedule
+		var random = RandomRegistry.random();
+		for (var v = 0; v < INITIAL_POPULATION_VARIANTS; v++) {
+			var variant = existing.clone();
+			for (var i = 0; i < variant.length; i++) {
+				if (random.nextDouble() < INITIAL_POPULATION_MUTATION_PROBABILITY) {
+					variant[i] = random.nextInt(p.states().length);
+				}
+			}
+			result.add(toGenotype(p, variant));
+		}
+		return result;
+	}
+
+	private static Genotype<IntegerGene> toGenotype(Params p, int[] stateIndexes) {
+		return Genotype.of(//
+				IntStream.of(stateIndexes) //
+						.mapToObj(state -> IntegerChromosome.of(IntegerGene.of(state, 0, p.states().length))) //
+						.toList());
 	}
 }
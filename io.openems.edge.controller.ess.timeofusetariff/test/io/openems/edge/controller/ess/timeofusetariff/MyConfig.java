@@ -13,6 +13,7 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private ControlMode controlMode;
 		private int maxPower;
 		private RiskLevel riskLevel;
+		private int optimizerThreads = 1;
 
 		private Builder() {
 		}
@@ -47,6 +48,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setOptimizerThreads(int optimizerThreads) {
+			this.optimizerThreads = optimizerThreads;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -93,6 +99,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.riskLevel;
 	}
 
+	@Override
+	public int optimizerThreads() {
+		return this.builder.optimizerThreads;
+	}
+
 	@Override
 	public String ess_target() {
 		return ConfigUtils.generateReferenceTargetFilter(this.id(), this.ess_id());
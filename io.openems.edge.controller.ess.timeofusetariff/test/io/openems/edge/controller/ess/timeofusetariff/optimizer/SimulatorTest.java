@@ -19,13 +19,16 @@ import static java.util.stream.Collectors.joining;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -80,6 +83,42 @@ public class SimulatorTest {
 		assertArrayEquals(existingSchedule, Arrays.copyOfRange(s, 0, existingSchedule.length));
 	}
 
+	@Test
+	public void testGetBestScheduleParallel() {
+		var p = Params.create() //
+				.time(TIME) //
+				.essAvailableEnergy((int) (22000 * 0.1)) //
+				.essCapacity(22000) //
+				.essMaxEnergyPerPeriod(toEnergy(10000)) //
+				.maxBuyFromGrid(toEnergy(8000)) //
+				.productions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.consumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.prices(hourlyToQuarterly(interpolateArray(PRICES_888_20231106))) //
+				.states(BALANCING, DELAY_DISCHARGE, CHARGE) //
+				.existingSchedule(CHARGE, DELAY_DISCHARGE, CHARGE, BALANCING) //
+				.build();
+		var executor = Executors.newFixedThreadPool(2);
+		try {
+			var statistics = new AtomicReference<Simulator.Statistics>();
+			var s = getBestSchedule(p, executor, //
+					/* populationSize */ null, //
+					/* limit */ 10, //
+					statistics::set);
+
+			var result = statistics.get();
+			assertEquals(10, result.generations());
+			assertTrue(result.bestGeneration() <= result.generations());
+			assertEquals(calculateCost(p, s), result.bestCost(), 0.001);
+			// Best schedule is never worse than the existing schedule
+			assertTrue(result.bestCost() <= calculateCost(p, Utils.buildInitialPopulation(p).get(0).stream() //
+					.map(c -> p.states()[c.get(0).intValue()]) //
+					.toArray(StateMachine[]::new)));
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	@Test
 	@Ignore
 	public void testOnlyBalancing888d20231106() {
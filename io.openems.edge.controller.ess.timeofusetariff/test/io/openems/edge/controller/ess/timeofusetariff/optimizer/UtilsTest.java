@@ -8,6 +8,7 @@ import static io.openems.edge.controller.ess.timeofusetariff.TestData.PRICES_888
 import static io.openems.edge.controller.ess.timeofusetariff.TestData.PRODUCTION_888_20231106;
 import static io.openems.edge.controller.ess.timeofusetariff.optimizer.SimulatorTest.TIME;
 import static io.openems.edge.controller.ess.timeofusetariff.optimizer.SimulatorTest.hourlyToQuarterly;
+import static io.openems.edge.controller.ess.timeofusetariff.optimizer.Utils.INITIAL_POPULATION_VARIANTS;
 import static io.openems.edge.controller.ess.timeofusetariff.optimizer.Utils.buildInitialPopulation;
 import static io.openems.edge.controller.ess.timeofusetariff.optimizer.Utils.calculateCharge100;
 import static io.openems.edge.controller.ess.timeofusetariff.optimizer.Utils.calculateStateChargeEnergy;
@@ -19,6 +20,7 @@ import static java.lang.Integer.MIN_VALUE;
 import static java.util.Arrays.stream;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -166,6 +168,27 @@ public class UtilsTest {
 			assertEquals(0 /* BALANCING */, gt.get(4).get(0).intValue());
 			assertEquals(0 /* BALANCING */, gt.get(5).get(0).intValue()); // default
 		}
-
+		{
+			var population = buildInitialPopulation(Params.create() //
+					.productions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.consumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.prices(hourlyToQuarterly(interpolateArray(PRICES_888_20231106))) //
+					.states(BALANCING, DELAY_DISCHARGE, CHARGE) //
+					.existingSchedule(CHARGE, DELAY_DISCHARGE) //
+					.build());
+			// existingSchedule, pure BALANCING and mutated variants
+			assertEquals(2 + INITIAL_POPULATION_VARIANTS, population.size());
+			assertTrue(population.get(1).stream().allMatch(c -> c.get(0).intValue() == 0 /* BALANCING */));
+		}
+		{
+			var population = buildInitialPopulation(Params.create() //
+					.productions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.consumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+					.prices(hourlyToQuarterly(interpolateArray(PRICES_888_20231106))) //
+					.states(BALANCING, DELAY_DISCHARGE, CHARGE) //
+					.build());
+			// No existingSchedule
+			assertEquals(1, population.size());
+		}
 	}
 }
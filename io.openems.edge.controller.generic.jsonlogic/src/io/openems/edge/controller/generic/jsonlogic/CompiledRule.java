@@ -0,0 +1,522 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.github.meiskalt7.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.meiskalt7.jsonlogic.evaluator.JsonLogicExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.ConcatenateExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.InExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.LogExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MathExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.MergeExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.NotExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.meiskalt7.jsonlogic.evaluator.expressions.SubstringExpression;
+import io.github.meiskalt7.jsonlogic.utils.ArrayLike;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+
+/**
+ * A JsonLogic rule that is compiled once into a tree of {@link Node}s.
+ *
+ * <p>
+ * Every {@code var} is bound to its {@link Channel} by
+ * {@link #bind(ComponentManager)}, so evaluating the rule neither parses JSON
+ * nor looks up Channels. Literals, {@code var}, {@code if}, {@code and},
+ * {@code or}, numeric comparisons and equality of numbers are evaluated
+ * without allocating memory; the remaining operators that only depend on their
+ * arguments are delegated to the json-logic-java library with pre-allocated
+ * argument lists.
+ *
+ * <p>
+ * The semantics follow the json-logic-java library. Rules that need access to
+ * the whole data object (e.g. {@code map}, {@code missing}) or that would fail
+ * in the library are not compiled; see {@link #compile(String)}.
+ *
+ * <p>
+ * Instances are not thread-safe; they are meant to be evaluated by the Cycle
+ * thread of one Controller.
+ */
+public class CompiledRule {
+
+	/**
+	 * Operators that only depend on their evaluated arguments.
+	 */
+	private static final Map<String, PreEvaluatedArgumentsExpression> DELEGATES = Stream.of(//
+			MathExpression.ADD, MathExpression.SUBTRACT, MathExpression.MULTIPLY, MathExpression.DIVIDE,
+			MathExpression.MODULO, MathExpression.MIN, MathExpression.MAX, //
+			NotExpression.SINGLE, NotExpression.DOUBLE, //
+			ConcatenateExpression.INSTANCE, SubstringExpression.INSTANCE, //
+			InExpression.INSTANCE, MergeExpression.INSTANCE, LogExpression.STDOUT) //
+			.collect(Collectors.toUnmodifiableMap(JsonLogicExpression::key, Function.identity()));
+
+	/**
+	 * Operators that are evaluated by {@link Node}s of this class.
+	 */
+	private static final Set<String> OPERATORS = Set.of("if", "?:", "and", "or", "<", "<=", ">", ">=", "==", "!=",
+			"===", "!==");
+
+	private final Node root;
+	private final List<Var> vars;
+
+	private CompiledRule(Node root, List<Var> vars) {
+		this.root = root;
+		this.vars = Collections.unmodifiableList(vars);
+	}
+
+	/**
+	 * Compiles a JsonLogic rule.
+	 *
+	 * @param rule the JsonLogic rule as String
+	 * @return the {@link CompiledRule}; empty if the rule uses operators that
+	 *         cannot be compiled and has to be applied by the json-logic-java
+	 *         library
+	 * @throws OpenemsNamedException on JSON or {@link ChannelAddress} parse error
+	 */
+	public static Optional<CompiledRule> compile(String rule) throws OpenemsNamedException {
+		var vars = new ArrayList<Var>();
+		var root = compile(JsonUtils.parse(rule), vars);
+		if (root == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new CompiledRule(root, vars));
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress}es of all {@code var}s in the rule.
+	 *
+	 * @return a list of {@link ChannelAddress}es
+	 */
+	public List<ChannelAddress> getChannelAddresses() {
+		return this.vars.stream() //
+				.map(node -> node.address) //
+				.toList();
+	}
+
+	/**
+	 * Binds every {@code var} to its {@link Channel}. Has to be called before the
+	 * first evaluation and whenever the enabled Components changed.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @throws OpenemsNamedException if a Channel is not available
+	 */
+	public void bind(ComponentManager componentManager) throws OpenemsNamedException {
+		for (var var : this.vars) {
+			var.channel = componentManager.getChannel(var.address);
+		}
+	}
+
+	/**
+	 * Evaluates the rule with the current values of the bound Channels.
+	 *
+	 * <p>
+	 * Returned arrays are reused by the next evaluation.
+	 *
+	 * @return the result
+	 * @throws JsonLogicEvaluationException on error
+	 */
+	public Object evaluate() throws JsonLogicEvaluationException {
+		return this.root.evaluate();
+	}
+
+	/**
+	 * Compiles a JSON element.
+	 *
+	 * @param json the {@link JsonElement}
+	 * @param vars collects the {@link Var} nodes
+	 * @return the {@link Node}; null if the element cannot be compiled
+	 * @throws OpenemsNamedException on {@link ChannelAddress} parse error
+	 */
+	private static Node compile(JsonElement json, List<Var> vars) throws OpenemsNamedException {
+		if (json.isJsonNull()) {
+			return Constant.NULL;
+		}
+		if (json.isJsonPrimitive()) {
+			return new Constant(toObject(json.getAsJsonPrimitive()));
+		}
+		if (json.isJsonArray()) {
+			var elements = compile(json.getAsJsonArray(), vars);
+			if (elements == null) {
+				return null;
+			}
+			return Array.of(elements);
+		}
+
+		var object = json.getAsJsonObject();
+		if (object.size() != 1) {
+			return null;
+		}
+		var entry = object.entrySet().iterator().next();
+		var operator = entry.getKey();
+		var value = entry.getValue();
+
+		if (operator.equals("var")) {
+			if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+				// Default values and array access are left to the library
+				return null;
+			}
+			var var = new Var(ChannelAddress.fromString(value.getAsString()));
+			vars.add(var);
+			return var;
+		}
+
+		if (!OPERATORS.contains(operator) && !DELEGATES.containsKey(operator)) {
+			return null;
+		}
+
+		final Node[] args;
+		if (value.isJsonArray()) {
+			args = compile(value.getAsJsonArray(), vars);
+		} else {
+			var arg = compile(value, vars);
+			args = arg == null ? null : new Node[] { arg };
+		}
+		if (args == null) {
+			return null;
+		}
+
+		return switch (operator) {
+		case "if", "?:" -> new If(args);
+		case "and" -> args.length == 0 ? null : new Logic(true, args);
+		case "or" -> args.length == 0 ? null : new Logic(false, args);
+		case "<", "<=", ">", ">=" -> Comparison.of(operator, args);
+		case "==" -> args.length != 2 ? null : new Equality(EqualityExpression.INSTANCE, false, args);
+		case "!=" -> args.length != 2 ? null : new Equality(EqualityExpression.INSTANCE, true, args);
+		case "===" -> args.length != 2 ? null : new Equality(StrictEqualityExpression.INSTANCE, false, args);
+		case "!==" -> args.length != 2 ? null : new Equality(StrictEqualityExpression.INSTANCE, true, args);
+		default -> new Delegate(DELEGATES.get(operator), args);
+		};
+	}
+
+	private static Node[] compile(JsonArray json, List<Var> vars) throws OpenemsNamedException {
+		var result = new Node[json.size()];
+		for (var i = 0; i < result.length; i++) {
+			result[i] = compile(json.get(i), vars);
+			if (result[i] == null) {
+				return null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a {@link JsonPrimitive} like the json-logic-java library does.
+	 *
+	 * @param json the {@link JsonPrimitive}
+	 * @return a Double, Boolean or String
+	 */
+	private static Object toObject(JsonPrimitive json) {
+		if (json.isNumber()) {
+			return json.getAsDouble();
+		}
+		if (json.isBoolean()) {
+			return json.getAsBoolean();
+		}
+		return json.getAsString();
+	}
+
+	/**
+	 * Converts a value to double for numeric comparison.
+	 *
+	 * @param value the value
+	 * @return the double value; NaN if the value is not numeric
+	 */
+	private static double toDouble(Object value) {
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		if (value instanceof String string) {
+			try {
+				return Double.parseDouble(string);
+			} catch (NumberFormatException e) {
+				return Double.NaN;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Converts a Channel value before it is passed to the library, which provides
+	 * all numbers as Doubles.
+	 *
+	 * @param value the value
+	 * @return the converted value
+	 */
+	private static Object transform(Object value) {
+		if (value instanceof Number number) {
+			return number.doubleValue();
+		}
+		return value;
+	}
+
+	private abstract static class Node {
+
+		protected abstract Object evaluate() throws JsonLogicEvaluationException;
+
+		protected boolean test() throws JsonLogicEvaluationException {
+			return JsonLogic.truthy(this.evaluate());
+		}
+
+	}
+
+	private static final class Constant extends Node {
+
+		private static final Constant NULL = new Constant(null);
+
+		private final Object value;
+		private final boolean truthy;
+
+		private Constant(Object value) {
+			this.value = value;
+			this.truthy = JsonLogic.truthy(value);
+		}
+
+		@Override
+		protected Object evaluate() {
+			return this.value;
+		}
+
+		@Override
+		protected boolean test() {
+			return this.truthy;
+		}
+	}
+
+	private static final class Var extends Node {
+
+		private final ChannelAddress address;
+		private Channel<?> channel;
+
+		private Var(ChannelAddress address) {
+			this.address = address;
+		}
+
+		@Override
+		protected Object evaluate() {
+			return this.channel.value().get();
+		}
+	}
+
+	private static final class Array extends Node {
+
+		private final Node[] elements;
+		private final Object[] values;
+		private final List<Object> list;
+
+		private Array(Node[] elements) {
+			this.elements = elements;
+			this.values = new Object[elements.length];
+			this.list = Arrays.asList(this.values);
+		}
+
+		private static Node of(Node[] elements) {
+			var values = new Object[elements.length];
+			for (var i = 0; i < elements.length; i++) {
+				if (!(elements[i] instanceof Constant constant)) {
+					return new Array(elements);
+				}
+				values[i] = constant.value;
+			}
+			return new Constant(Collections.unmodifiableList(Arrays.asList(values)));
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			for (var i = 0; i < this.elements.length; i++) {
+				this.values[i] = transform(this.elements[i].evaluate());
+			}
+			return this.list;
+		}
+
+		@Override
+		protected boolean test() {
+			return this.elements.length > 0;
+		}
+	}
+
+	private static final class If extends Node {
+
+		private final Node[] args;
+
+		private If(Node[] args) {
+			this.args = args;
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			var i = 0;
+			for (; i < this.args.length - 1; i += 2) {
+				if (this.args[i].test()) {
+					return this.args[i + 1].evaluate();
+				}
+			}
+			if (i < this.args.length) {
+				// Else
+				return this.args[i].evaluate();
+			}
+			return null;
+		}
+	}
+
+	private static final class Logic extends Node {
+
+		private final boolean isAnd;
+		private final Node[] args;
+
+		private Logic(boolean isAnd, Node[] args) {
+			this.isAnd = isAnd;
+			this.args = args;
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			Object result = null;
+			for (var arg : this.args) {
+				result = arg.evaluate();
+				if (JsonLogic.truthy(result) != this.isAnd) {
+					return result;
+				}
+			}
+			return result;
+		}
+	}
+
+	private static final class Comparison extends Node {
+
+		private enum Operator {
+			LT, LTE, GT, GTE;
+
+			private boolean apply(double left, double right) {
+				return switch (this) {
+				case LT -> left < right;
+				case LTE -> left <= right;
+				case GT -> left > right;
+				case GTE -> left >= right;
+				};
+			}
+		}
+
+		private final Operator operator;
+		private final Node[] args;
+
+		private Comparison(Operator operator, Node[] args) {
+			this.operator = operator;
+			this.args = args;
+		}
+
+		private static Node of(String operator, Node[] args) {
+			var op = switch (operator) {
+			case "<" -> Operator.LT;
+			case "<=" -> Operator.LTE;
+			case ">" -> Operator.GT;
+			default -> Operator.GTE;
+			};
+			if (args.length == 2 //
+					|| args.length == 3 && (op == Operator.LT || op == Operator.LTE)) {
+				return new Comparison(op, args);
+			}
+			return null;
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			return this.test();
+		}
+
+		@Override
+		protected boolean test() throws JsonLogicEvaluationException {
+			// Non-numeric values are never in order; comparisons with NaN are false
+			var left = toDouble(this.args[0].evaluate());
+			var right = toDouble(this.args[1].evaluate());
+			if (this.args.length == 2) {
+				return this.operator.apply(left, right);
+			}
+			var last = toDouble(this.args[2].evaluate());
+			return this.operator.apply(left, right) && this.operator.apply(right, last);
+		}
+	}
+
+	private static final class Equality extends Node {
+
+		private final PreEvaluatedArgumentsExpression expression;
+		private final boolean negate;
+		private final Node left;
+		private final Node right;
+		private final Object[] values = new Object[2];
+		private final List<Object> list = Arrays.asList(this.values);
+
+		private Equality(PreEvaluatedArgumentsExpression expression, boolean negate, Node[] args) {
+			this.expression = expression;
+			this.negate = negate;
+			this.left = args[0];
+			this.right = args[1];
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			return this.test();
+		}
+
+		@Override
+		protected boolean test() throws JsonLogicEvaluationException {
+			var left = this.left.evaluate();
+			var right = this.right.evaluate();
+			final boolean result;
+			if (left instanceof Number l && right instanceof Number r) {
+				result = Double.doubleToLongBits(l.doubleValue()) == Double.doubleToLongBits(r.doubleValue());
+			} else {
+				this.values[0] = transform(left);
+				this.values[1] = transform(right);
+				result = (Boolean) this.expression.evaluate(this.list, null);
+			}
+			return result != this.negate;
+		}
+	}
+
+	private static final class Delegate extends Node {
+
+		private final PreEvaluatedArgumentsExpression expression;
+		private final Node[] args;
+		private final Object[] values;
+		private final List<Object> list;
+
+		private Delegate(PreEvaluatedArgumentsExpression expression, Node[] args) {
+			this.expression = expression;
+			this.args = args;
+			this.values = new Object[args.length];
+			this.list = Arrays.asList(this.values);
+		}
+
+		@Override
+		protected Object evaluate() throws JsonLogicEvaluationException {
+			for (var i = 0; i < this.args.length; i++) {
+				this.values[i] = transform(this.args[i].evaluate());
+			}
+			if (this.values.length == 1 && ArrayLike.isEligible(this.values[0])) {
+				// A single array argument is spread, like in the library
+				return this.expression.evaluate(new ArrayLike(this.values[0]), null);
+			}
+			return this.expression.evaluate(this.list, null);
+		}
+	}
+
+}
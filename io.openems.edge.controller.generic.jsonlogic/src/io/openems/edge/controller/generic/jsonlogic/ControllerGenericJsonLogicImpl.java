@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -13,6 +14,8 @@ import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 
@@ -22,6 +25,7 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
@@ -37,9 +41,29 @@ import io.openems.edge.controller.api.Controller;
 public class ControllerGenericJsonLogicImpl extends AbstractOpenemsComponent
 		implements ControllerGenericJsonLogic, Controller, OpenemsComponent {
 
+	private final Logger log = LoggerFactory.getLogger(ControllerGenericJsonLogicImpl.class);
 	private final JsonLogic jsonLogic = new JsonLogic();
 	private final List<ChannelAddress> channelAddresses = new ArrayList<>();
 
+	/**
+	 * Channels of the 'var' entries by ChannelAddress; only used if the rule is
+	 * not compiled.
+	 */
+	private final Map<String, Channel<?>> channels = new HashMap<>();
+	private final Map<String, Object> data = new HashMap<>();
+
+	/**
+	 * Caches the WriteChannels of the result by ChannelAddress.
+	 */
+	private final Map<String, WriteChannel<?>> writeChannels = new HashMap<>();
+
+	/**
+	 * The enabled Components the Channels were bound to; null if not bound.
+	 */
+	private List<OpenemsComponent> boundComponents = null;
+
+	private Optional<CompiledRule> compiledRule = Optional.empty();
+
 	@Reference
 	private ComponentManager componentManager;
 
@@ -58,7 +82,11 @@ public class ControllerGenericJsonLogicImpl extends AbstractOpenemsComponent
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.config = config;
 
-		this.recursivelyParseVars(JsonUtils.parse(config.rule()));
+		this.compiledRule = CompiledRule.compile(config.rule());
+		if (this.compiledRule.isEmpty()) {
+			this.logInfo(this.log, "Rule uses operators that cannot be compiled; falling back to JsonLogic library");
+			this.recursivelyParseVars(JsonUtils.parse(config.rule()));
+		}
 	}
 
 	@Override
@@ -99,31 +127,80 @@ public class ControllerGenericJsonLogicImpl extends AbstractOpenemsComponent
 
 	@Override
 	public void run() throws OpenemsNamedException {
-		// Read JsonLogic data from Channels
-		Map<String, Object> data = new HashMap<>();
-		for (ChannelAddress channelAddress : this.channelAddresses) {
-			Object value = this.componentManager.getChannel(channelAddress).value().get();
-			data.put(channelAddress.toString(), value);
+		final var start = System.nanoTime();
+		try {
+			this.bindChannels();
+
+			// Apply JsonLogic rule
+			List<?> result;
+			try {
+				result = (List<?>) this.evaluate();
+			} catch (JsonLogicException e) {
+				throw new OpenemsException("JsonLogicException: " + e.getMessage());
+			} catch (ClassCastException e) {
+				throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
+			}
+
+			// Get Set-Channel requests
+			for (var i = 0; i < result.size(); i++) {
+				var request = (List<?>) result.get(i);
+				var channel = this.getWriteChannel((String) request.get(0));
+				channel.setNextWriteValueFromObject(request.get(1));
+			}
+
+		} finally {
+			this._setEvaluationTime((System.nanoTime() - start) / 1_000_000.);
 		}
+	}
 
-		// Apply JsonLogic rule
-		List<?> result;
-		try {
-			result = (List<?>) this.jsonLogic.apply(this.config.rule(), data);
-		} catch (JsonLogicException e) {
-			throw new OpenemsException("JsonLogicException: " + e.getMessage());
-		} catch (ClassCastException e) {
-			throw new OpenemsException("Result is not a JsonArray: " + e.getMessage());
+	/**
+	 * Binds the Channels of the 'var' entries if the enabled Components changed.
+	 *
+	 * @throws OpenemsNamedException if a Channel is not available
+	 */
+	private void bindChannels() throws OpenemsNamedException {
+		var components = this.componentManager.getEnabledComponents();
+		if (components == this.boundComponents) {
+			return;
+		}
+		// Stay unbound on error, to retry in the next Cycle
+		this.boundComponents = null;
+		this.writeChannels.clear();
+		if (this.compiledRule.isPresent()) {
+			this.compiledRule.get().bind(this.componentManager);
+		} else {
+			this.channels.clear();
+			for (var channelAddress : this.channelAddresses) {
+				this.channels.put(channelAddress.toString(), this.componentManager.getChannel(channelAddress));
+			}
+		}
+		this.boundComponents = components;
+	}
+
+	/**
+	 * Evaluates the rule with the current Channel values.
+	 *
+	 * @return the result
+	 * @throws JsonLogicException on error
+	 */
+	private Object evaluate() throws JsonLogicException {
+		if (this.compiledRule.isPresent()) {
+			return this.compiledRule.get().evaluate();
+		}
+		// Read JsonLogic data from Channels
+		for (var entry : this.channels.entrySet()) {
+			this.data.put(entry.getKey(), entry.getValue().value().get());
 		}
+		return this.jsonLogic.apply(this.config.rule(), this.data);
+	}
 
-		// Get Set-Channel requests
-		for (Object entry : result) {
-			List<?> request = (List<?>) entry;
-			var channelAddress = ChannelAddress.fromString((String) request.get(0));
-			WriteChannel<?> channel = this.componentManager.getChannel(channelAddress);
-			Object value = request.get(1);
-			channel.setNextWriteValueFromObject(value);
+	private WriteChannel<?> getWriteChannel(String channelAddress) throws OpenemsNamedException {
+		var channel = this.writeChannels.get(channelAddress);
+		if (channel == null) {
+			channel = this.componentManager.getChannel(ChannelAddress.fromString(channelAddress));
+			this.writeChannels.put(channelAddress, channel);
 		}
+		return channel;
 	}
 }
 
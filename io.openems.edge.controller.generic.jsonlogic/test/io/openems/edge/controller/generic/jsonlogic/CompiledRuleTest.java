@@ -0,0 +1,98 @@
+package io.openems.edge.controller.generic.jsonlogic;
+
+import static io.openems.edge.common.test.TestUtils.withValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.meiskalt7.jsonlogic.JsonLogic;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class CompiledRuleTest {
+
+	private static final String ESS_SOC = "_sum/EssSoc";
+	private static final String VAR_ESS_SOC = "{\"var\":\"" + ESS_SOC + "\"}";
+
+	private static final List<String> RULES = List.of(//
+			"{\"if\":[{\"<\":[" + VAR_ESS_SOC + ",50]},[[\"ess0/SetActivePowerEquals\",5000]],"
+					+ "[[\"ess0/SetActivePowerEquals\",-2000]]]}", //
+			"{\"if\":[{\">\":[" + VAR_ESS_SOC + ",50]},\"high\",{\">\":[" + VAR_ESS_SOC + ",30]},\"medium\"]}", //
+			"{\"and\":[{\">=\":[" + VAR_ESS_SOC + ",20]},{\"<=\":[20," + VAR_ESS_SOC + ",50]}]}", //
+			"{\"or\":[{\"==\":[" + VAR_ESS_SOC + ",40]},{\"!\":" + VAR_ESS_SOC + "}]}", //
+			"{\"?:\":[{\"!==\":[" + VAR_ESS_SOC + ",null]},\"available\",\"missing\"]}", //
+			"{\"!=\":[" + VAR_ESS_SOC + ",\"40\"]}", //
+			"[[\"ess0/SetActivePowerEquals\",{\"*\":[" + VAR_ESS_SOC + ",100]}]]", //
+			"[[\"ess0/SetActivePowerEquals\"," + VAR_ESS_SOC + "]]", //
+			"{\"max\":[" + VAR_ESS_SOC + ",\"50\"]}", //
+			"{\"in\":[{\"cat\":[\"a\",\"b\"]},[\"ab\",\"c\"]]}" //
+	);
+
+	@Test
+	public void testEquivalence() throws Exception {
+		var jsonLogic = new JsonLogic();
+		var sum = new DummySum();
+		var componentManager = new DummyComponentManager() //
+				.addComponent(sum);
+
+		for (var rule : RULES) {
+			var sut = CompiledRule.compile(rule).get();
+			sut.bind(componentManager);
+			for (var soc : Arrays.asList(40, 60, null)) {
+				withValue(sum, Sum.ChannelId.ESS_SOC, soc);
+				var data = new HashMap<String, Object>();
+				data.put(ESS_SOC, soc);
+
+				assertEquals(rule + " with " + soc, //
+						jsonLogic.apply(rule, data), //
+						sut.evaluate());
+			}
+		}
+	}
+
+	@Test
+	public void testBind() throws Exception {
+		var sut = CompiledRule.compile("{\"+\":[" + VAR_ESS_SOC + ",1]}").get();
+		assertEquals(List.of(ChannelAddress.fromString(ESS_SOC)), sut.getChannelAddresses());
+
+		var sum0 = new DummySum();
+		withValue(sum0, Sum.ChannelId.ESS_SOC, 10);
+		sut.bind(new DummyComponentManager().addComponent(sum0));
+		assertEquals(11.0, sut.evaluate());
+
+		// Re-bind after Component changed
+		var sum1 = new DummySum();
+		withValue(sum1, Sum.ChannelId.ESS_SOC, 20);
+		sut.bind(new DummyComponentManager().addComponent(sum1));
+		assertEquals(21.0, sut.evaluate());
+	}
+
+	@Test
+	public void testNumbersAsDouble() throws Exception {
+		var sut = CompiledRule.compile("[[\"ess0/SetActivePowerEquals\",{\"var\":\"_sum/GridBuyActiveEnergy\"}]]")
+				.get();
+		var sum = new DummySum();
+		withValue(sum, Sum.ChannelId.GRID_BUY_ACTIVE_ENERGY, 1000L);
+		sut.bind(new DummyComponentManager().addComponent(sum));
+
+		// Long Channel values are provided as Double like Integers
+		assertEquals(List.of(List.of("ess0/SetActivePowerEquals", 1000.0)), sut.evaluate());
+	}
+
+	@Test
+	public void testNotCompiled() throws Exception {
+		assertFalse(CompiledRule.compile("{}").isPresent());
+		assertFalse(CompiledRule.compile("{\"var\":[\"" + ESS_SOC + "\",0]}").isPresent());
+		assertFalse(CompiledRule.compile("{\"missing\":[\"" + ESS_SOC + "\"]}").isPresent());
+		assertFalse(CompiledRule.compile("{\"map\":[[1,2],{\"*\":[{\"var\":\"\"},2]}]}").isPresent());
+		assertFalse(CompiledRule.compile("{\">\":[1]}").isPresent());
+	}
+
+}
@@ -26,7 +26,6 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.WriteChannel;
-import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -156,22 +155,22 @@ public class ControllerIoChannelSingleThresholdImpl extends AbstractOpenemsCompo
 
 		// Get average input value of the last 'minimumSwitchingTime' seconds
 		IntegerReadChannel inputChannel = this.componentManager.getChannel(inputChannelAddress);
-		var values = inputChannel.getPastValues().tailMap(
-				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()),
-				true).values();
-
-		// make sure we have at least one value
-		if (values.isEmpty()) {
-			values = new ArrayList<>();
-			values.add(inputChannel.value());
+		var pastValues = inputChannel.getPastValues();
+		var fromIndex = pastValues.ceilingIndex(
+				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(this.config.minimumSwitchingTime()));
+
+		double inputValueAverage;
+		if (fromIndex < pastValues.size()) {
+			inputValueAverage = pastValues.average(fromIndex, pastValues.size());
+		} else {
+			// make sure we have at least one value
+			var value = inputChannel.value();
+			inputValueAverage = value.isDefined() ? value.get() : Double.NaN;
 		}
 
-		var inputValueOpt = values.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
 		int inputValue;
-		if (inputValueOpt.isPresent()) {
-			inputValue = (int) Math.round(inputValueOpt.getAsDouble());
+		if (!Double.isNaN(inputValueAverage)) {
+			inputValue = (int) Math.round(inputValueAverage);
 
 			/*
 			 * Power value (switchedLoadPower) of the output device is added to the input
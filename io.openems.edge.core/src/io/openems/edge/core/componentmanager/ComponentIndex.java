@@ -0,0 +1,332 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Holds an in-memory index of all registered {@link OpenemsComponent}
+ * services.
+ *
+ * <p>
+ * The index is maintained from OSGi {@link ServiceEvent}s. Every change creates
+ * a new immutable {@link Snapshot}; lookups only read the current Snapshot via
+ * a volatile field and never query the OSGi service registry.
+ *
+ * <p>
+ * Services are fetched outside of the internal lock, as
+ * {@link BundleContext#getService(ServiceReference)} might activate the
+ * Component, which in turn might call back into the {@link ComponentManager}.
+ */
+public class ComponentIndex implements ServiceListener {
+
+	private static final String FILTER = "(" + Constants.OBJECTCLASS + "=" + OpenemsComponent.class.getName() + ")";
+
+	private final Logger log = LoggerFactory.getLogger(ComponentIndex.class);
+	private final BundleContext bundleContext;
+	private final Object lock = new Object();
+
+	/**
+	 * Registered Components by OSGi 'service.id'; modified only while holding
+	 * 'lock'.
+	 */
+	private final Map<Long, Entry> entries = new LinkedHashMap<>();
+
+	/**
+	 * OSGi 'service.id's whose service is currently being fetched; modified only
+	 * while holding 'lock'.
+	 */
+	private final Set<Long> pending = new HashSet<>();
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	public ComponentIndex(BundleContext bundleContext) {
+		this.bundleContext = bundleContext;
+	}
+
+	/**
+	 * Registers the {@link ServiceListener} and reads all currently registered
+	 * Components.
+	 *
+	 * @throws InvalidSyntaxException on invalid filter; should never happen
+	 */
+	public void activate() throws InvalidSyntaxException {
+		// Add listener first, so that no event gets lost. Duplicates are handled via
+		// 'service.id'.
+		this.bundleContext.addServiceListener(this, FILTER);
+		for (var reference : this.bundleContext.getServiceReferences(OpenemsComponent.class, null)) {
+			this.register(reference);
+		}
+	}
+
+	/**
+	 * Unregisters the {@link ServiceListener} and releases all services.
+	 */
+	public void deactivate() {
+		this.bundleContext.removeServiceListener(this);
+		final List<Entry> entries;
+		synchronized (this.lock) {
+			entries = new ArrayList<>(this.entries.values());
+			this.entries.clear();
+			this.pending.clear();
+			this.snapshot = Snapshot.EMPTY;
+		}
+		for (var entry : entries) {
+			this.ungetService(entry.reference);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public void serviceChanged(ServiceEvent event) {
+		var reference = (ServiceReference<OpenemsComponent>) event.getServiceReference();
+		switch (event.getType()) {
+		case ServiceEvent.REGISTERED:
+		case ServiceEvent.MODIFIED:
+			this.register(reference);
+			break;
+		case ServiceEvent.MODIFIED_ENDMATCH:
+		case ServiceEvent.UNREGISTERING:
+			this.unregister(reference);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Gets the {@link BundleContext} this index was created for.
+	 *
+	 * @return the {@link BundleContext}
+	 */
+	public BundleContext getBundleContext() {
+		return this.bundleContext;
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}.
+	 *
+	 * @return the {@link Snapshot}; never null
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Adds or updates the {@link Entry} for a {@link ServiceReference}. Must be
+	 * called without holding 'lock'.
+	 *
+	 * @param reference the {@link ServiceReference}
+	 */
+	private void register(ServiceReference<OpenemsComponent> reference) {
+		var serviceId = getServiceId(reference);
+		synchronized (this.lock) {
+			var existing = this.entries.get(serviceId);
+			if (existing != null) {
+				// Only the service properties changed
+				this.entries.put(serviceId, Entry.from(reference, existing.component));
+				this.updateSnapshot();
+				return;
+			}
+			this.pending.add(serviceId);
+		}
+
+		var component = this.bundleContext.getService(reference);
+
+		synchronized (this.lock) {
+			var isPending = this.pending.remove(serviceId);
+			if (component == null) {
+				if (isPending) {
+					this.log.warn("Unable to get Component [" + reference.getProperty("id") + "] for service.id ["
+							+ serviceId + "]. It is added on its next service event.");
+				}
+				return;
+			}
+			if (isPending && !this.entries.containsKey(serviceId)) {
+				this.entries.put(serviceId, Entry.from(reference, component));
+				this.updateSnapshot();
+				return;
+			}
+		}
+
+		// Unregistered or added by another thread in the meantime
+		this.ungetService(reference);
+	}
+
+	/**
+	 * Removes the {@link Entry} for a {@link ServiceReference}.
+	 *
+	 * @param reference the {@link ServiceReference}
+	 */
+	private void unregister(ServiceReference<OpenemsComponent> reference) {
+		var serviceId = getServiceId(reference);
+		final Entry entry;
+		synchronized (this.lock) {
+			this.pending.remove(serviceId);
+			entry = this.entries.remove(serviceId);
+			if (entry == null) {
+				return;
+			}
+			this.updateSnapshot();
+		}
+		this.ungetService(entry.reference);
+	}
+
+	private void ungetService(ServiceReference<OpenemsComponent> reference) {
+		try {
+			this.bundleContext.ungetService(reference);
+		} catch (IllegalStateException e) {
+			// BundleContext is not valid anymore
+		}
+	}
+
+	/**
+	 * Creates a new {@link Snapshot}. Must be called while holding 'lock'.
+	 */
+	private void updateSnapshot() {
+		this.snapshot = new Snapshot(this.entries.values());
+	}
+
+	private static Long getServiceId(ServiceReference<?> reference) {
+		return (Long) reference.getProperty(Constants.SERVICE_ID);
+	}
+
+	/**
+	 * One registered {@link OpenemsComponent} service with its relevant service
+	 * properties.
+	 */
+	private static record Entry(ServiceReference<OpenemsComponent> reference, OpenemsComponent component, String id,
+			boolean enabled, boolean isComponentManager, Set<String> objectClasses) {
+
+		private static Entry from(ServiceReference<OpenemsComponent> reference, OpenemsComponent component) {
+			var objectClasses = (String[]) reference.getProperty(Constants.OBJECTCLASS);
+			return new Entry(reference, component, //
+					Objects.toString(reference.getProperty("id"), null), //
+					Boolean.parseBoolean(Objects.toString(reference.getProperty("enabled"), "false")), //
+					ComponentManager.SINGLETON_SERVICE_PID.equals(reference.getProperty("service.factoryPid")), //
+					objectClasses == null ? ImmutableSet.of() : ImmutableSet.copyOf(objectClasses));
+		}
+	}
+
+	/**
+	 * An immutable view of all registered {@link OpenemsComponent}s at one point
+	 * in time.
+	 */
+	public static class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+		private final List<Entry> entries;
+		private final List<OpenemsComponent> enabledComponents;
+		private final List<OpenemsComponent> allComponents;
+		private final ImmutableListMultimap<String, Entry> entriesById;
+		private final Map<Class<?>, List<?>> enabledComponentsByType = new ConcurrentHashMap<>();
+
+		private Snapshot(Iterable<Entry> entries) {
+			var entriesBuilder = ImmutableList.<Entry>builder();
+			var enabled = ImmutableList.<OpenemsComponent>builder();
+			var all = ImmutableList.<OpenemsComponent>builder();
+			var byId = ImmutableListMultimap.<String, Entry>builder();
+			for (var entry : entries) {
+				entriesBuilder.add(entry);
+				if (!entry.isComponentManager) {
+					all.add(entry.component);
+					if (entry.enabled) {
+						enabled.add(entry.component);
+					}
+				}
+				if (entry.id != null) {
+					byId.put(entry.id, entry);
+				}
+			}
+			this.entries = entriesBuilder.build();
+			this.enabledComponents = enabled.build();
+			this.allComponents = all.build();
+			this.entriesById = byId.build();
+		}
+
+		/**
+		 * Gets all enabled Components, excluding the {@link ComponentManager}.
+		 *
+		 * @return an immutable list of Components
+		 */
+		public List<OpenemsComponent> getEnabledComponents() {
+			return this.enabledComponents;
+		}
+
+		/**
+		 * Gets all Components, excluding the {@link ComponentManager}.
+		 *
+		 * @return an immutable list of Components
+		 */
+		public List<OpenemsComponent> getAllComponents() {
+			return this.allComponents;
+		}
+
+		/**
+		 * Gets all enabled Components that are registered as a service of the given
+		 * type. The result is computed once per type and Snapshot.
+		 *
+		 * @param <T>   the type
+		 * @param clazz the service type
+		 * @return an immutable list of Components
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+			return (List<T>) this.enabledComponentsByType.computeIfAbsent(clazz, c -> {
+				var className = c.getName();
+				var result = new ArrayList<T>();
+				for (var entry : this.entries) {
+					if (entry.enabled && entry.objectClasses.contains(className)) {
+						result.add((T) entry.component);
+					}
+				}
+				return ImmutableList.copyOf(result);
+			});
+		}
+
+		/**
+		 * Gets a Component by its ID. If multiple services with the same ID exist
+		 * (e.g. while a Component is being reconfigured), the enabled one is preferred.
+		 *
+		 * @param componentId    the Component-ID
+		 * @param hasToBeEnabled if the Component has to be enabled
+		 * @return the Component or null if not found
+		 */
+		public OpenemsComponent getComponent(String componentId, boolean hasToBeEnabled) {
+			OpenemsComponent disabled = null;
+			for (var entry : this.entriesById.get(componentId)) {
+				if (entry.enabled) {
+					return entry.component;
+				}
+				if (disabled == null) {
+					disabled = entry.component;
+				}
+			}
+			return hasToBeEnabled ? null : disabled;
+		}
+	}
+
+}
@@ -72,6 +72,12 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	protected BundleContext bundleContext;
 
+	/**
+	 * Index of all registered Components. Null if there is no
+	 * {@link BundleContext}, e.g. in JUnit tests.
+	 */
+	private volatile ComponentIndex componentIndex = null;
+
 	@Reference(cardinality = ReferenceCardinality.OPTIONAL)
 	private volatile ClockProvider clockProvider = null;
 
@@ -102,6 +108,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	private void activate(ComponentContext componentContext, BundleContext bundleContext) throws OpenemsException {
 		super.activate(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
+		this.updateComponentIndex(bundleContext);
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.activate(this.id());
@@ -116,6 +123,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	private void modified(ComponentContext componentContext, BundleContext bundleContext) {
 		super.modified(componentContext, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.bundleContext = bundleContext;
+		this.updateComponentIndex(bundleContext);
 
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.modified(this.id());
@@ -134,27 +142,77 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 		for (ComponentManagerWorker worker : this.workers) {
 			worker.deactivate();
 		}
+
+		var componentIndex = this.componentIndex;
+		this.componentIndex = null;
+		if (componentIndex != null) {
+			componentIndex.deactivate();
+		}
+	}
+
+	/**
+	 * (Re)creates the {@link ComponentIndex} if the {@link BundleContext} changed.
+	 *
+	 * @param bundleContext the {@link BundleContext}; null in JUnit tests
+	 */
+	private synchronized void updateComponentIndex(BundleContext bundleContext) {
+		var previous = this.componentIndex;
+		if (previous != null) {
+			if (previous.getBundleContext() == bundleContext) {
+				return;
+			}
+			previous.deactivate();
+		}
+		if (bundleContext == null) {
+			// Can be null in JUnit tests
+			this.componentIndex = null;
+			return;
+		}
+		var componentIndex = new ComponentIndex(bundleContext);
+		try {
+			componentIndex.activate();
+			this.componentIndex = componentIndex;
+		} catch (InvalidSyntaxException e) {
+			// filter invalid; should never happen
+			e.printStackTrace();
+			this.componentIndex = null;
+		}
 	}
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
-		return this.getComponentsViaService("(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))");
+		var componentIndex = this.componentIndex;
+		if (componentIndex == null) {
+			// Can be null in JUnit tests
+			return Collections.emptyList();
+		}
+		return componentIndex.getSnapshot().getEnabledComponents();
 	}
 
 	@Override
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz) {
-		return this.getComponentsViaService(clazz, "(enabled=true)");
+		var componentIndex = this.componentIndex;
+		if (componentIndex == null) {
+			// Can be null in JUnit tests
+			return Collections.emptyList();
+		}
+		return componentIndex.getSnapshot().getEnabledComponentsOfType(clazz);
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
-		return this.getComponentsViaService("(!(service.factoryPid=" + ComponentManager.SINGLETON_SERVICE_PID + "))");
+		var componentIndex = this.componentIndex;
+		if (componentIndex == null) {
+			// Can be null in JUnit tests
+			return Collections.emptyList();
+		}
+		return componentIndex.getSnapshot().getAllComponents();
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId, true);
+		var component = this.getComponentViaIndex(componentId, true);
 		if (component != null) {
 			return (T) component;
 		}
@@ -165,7 +223,7 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@SuppressWarnings("unchecked")
 	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
 			throws OpenemsNamedException {
-		var component = this.getComponentViaService(componentId);
+		var component = this.getComponentViaIndex(componentId, false);
 		if (component != null) {
 			return (T) component;
 		}
@@ -173,82 +231,19 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	}
 
 	/**
-	 * Gets the components via OSGi service reference.
-	 *
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private List<OpenemsComponent> getComponentsViaService(String filter) {
-		return this.getComponentsViaService(OpenemsComponent.class, filter);
-	}
-
-	/**
-	 * Gets the components via OSGi service reference.
-	 * 
-	 * @param <T>    the class type
-	 * @param clazz  The class under whose name the service was registered. Must not
-	 *               be {@code null}.
-	 * @param filter the filter for the components
-	 * @return the components matching the filter
-	 */
-	private <T> List<T> getComponentsViaService(Class<T> clazz, String filter) {
-		if (this.bundleContext == null) {
-			// Can be null in JUnit tests
-			return Collections.emptyList();
-		}
-
-		try {
-			var serviceReferences = this.bundleContext.getServiceReferences(clazz, filter);
-
-			var allComponents = new ArrayList<T>(serviceReferences.size());
-			for (var reference : serviceReferences) {
-				var component = this.bundleContext.getService(reference);
-				if (component == null) {
-					continue;
-				}
-				allComponents.add(component);
-				this.bundleContext.ungetService(reference);
-			}
-			return allComponents;
-
-		} catch (InvalidSyntaxException e) {
-			// filter invalid
-			e.printStackTrace();
-			return Collections.emptyList();
-		}
-	}
-
-	/**
-	 * Gets the component via OSGi service reference. Be careful, that the Component
-	 * might not be 'enabled'.
+	 * Gets the component via the {@link ComponentIndex}.
 	 *
-	 * @param <T>         the type of the component
-	 * @param componentId the id of the component
-	 * @return the component or null if not found
-	 */
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId) {
-		return this.getComponentViaService(componentId, false);
-	}
-
-	/**
-	 * Gets the component via OSGi service reference.
-	 *
-	 * @param <T>            the type of the component
 	 * @param componentId    the id of the component
 	 * @param hasToBeEnabled if the component has to be enabled
 	 * @return the component or null if not found
 	 */
-	@SuppressWarnings("unchecked")
-	private <T extends OpenemsComponent> T getComponentViaService(String componentId, boolean hasToBeEnabled) {
-		var filter = "(id=" + componentId + ")";
-		if (hasToBeEnabled) {
-			filter = "(&(enabled=true)" + filter + ")";
-		}
-		var components = this.getComponentsViaService(filter);
-		if (components.isEmpty()) {
+	private OpenemsComponent getComponentViaIndex(String componentId, boolean hasToBeEnabled) {
+		var componentIndex = this.componentIndex;
+		if (componentIndex == null) {
+			// Can be null in JUnit tests
 			return null;
 		}
-		return (T) components.get(0);
+		return componentIndex.getSnapshot().getComponent(componentId, hasToBeEnabled);
 	}
 
 	@Override
@@ -13,6 +13,9 @@ import io.openems.edge.common.cycle.Cycle;
 	@AttributeDefinition(name = "Cycle-Time", description = "The duration of one global OpenEMS Cycle in [ms]")
 	int cycleTime() default Cycle.DEFAULT_CYCLE_TIME;
 
+	@AttributeDefinition(name = "Process-Image Threads", description = "Number of threads that switch the process image of all Channels in parallel. '1' switches on the Cycle thread.")
+	int processImageThreads() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Core Cycle";
 
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
+import java.util.Queue;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -20,6 +22,7 @@ import org.slf4j.Logger;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.channel.stream.ChannelStream;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -59,6 +62,23 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 
 	private Config config = null;
 
+	/**
+	 * Switches the process image of all Components; recreated on configuration
+	 * change.
+	 */
+	protected volatile ProcessImageSwitcher processImageSwitcher = new ProcessImageSwitcher(1);
+
+	/**
+	 * Replaced {@link ProcessImageSwitcher}s; shut down by the {@link CycleWorker}
+	 * once the current Cycle finished with them.
+	 */
+	private final Queue<ProcessImageSwitcher> replacedProcessImageSwitchers = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Publishes the Channel values after the process image was switched.
+	 */
+	protected final ChannelStream channelStream = new ChannelStream();
+
 	@Reference(//
 			policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
@@ -87,6 +107,7 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	private void activate(ComponentContext context, Config config) throws OpenemsException {
 		super.activate(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.config = config;
+		this.applyProcessImageThreads(config.processImageThreads());
 		this.worker.activate(this.id());
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
@@ -98,6 +119,7 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	private void modified(ComponentContext context, Config config) throws OpenemsNamedException {
 		super.modified(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.config = config;
+		this.applyProcessImageThreads(config.processImageThreads());
 		this.worker.modified(this.id());
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
@@ -110,6 +132,38 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	protected void deactivate() {
 		super.deactivate();
 		this.worker.deactivate();
+		this.processImageSwitcher.deactivate();
+		this.shutdownReplacedProcessImageSwitchers();
+	}
+
+	/**
+	 * Replaces the {@link ProcessImageSwitcher} if the number of threads changed.
+	 *
+	 * <p>
+	 * The Cycle might currently be switching the process image with the previous
+	 * {@link ProcessImageSwitcher}, so it is only shut down after the Cycle
+	 * finished with it.
+	 *
+	 * @param threads the configured number of threads
+	 */
+	private synchronized void applyProcessImageThreads(int threads) {
+		var previous = this.processImageSwitcher;
+		if (previous.getThreads() == Math.max(1, threads)) {
+			return;
+		}
+		this.processImageSwitcher = new ProcessImageSwitcher(threads);
+		this.replacedProcessImageSwitchers.add(previous);
+	}
+
+	/**
+	 * Shuts down all replaced {@link ProcessImageSwitcher}s. Called by the
+	 * {@link CycleWorker} after the process image was switched.
+	 */
+	protected void shutdownReplacedProcessImageSwitchers() {
+		ProcessImageSwitcher switcher;
+		while ((switcher = this.replacedProcessImageSwitchers.poll()) != null) {
+			switcher.deactivate();
+		}
 	}
 
 	@Override
@@ -131,4 +185,9 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		return Cycle.DEFAULT_CYCLE_TIME;
 	}
 
+	@Override
+	public ChannelStream getChannelStream() {
+		return this.channelStream;
+	}
+
 }
@@ -1,6 +1,8 @@
 package io.openems.edge.core.cycle;
 
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,13 +54,12 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
+			var processImageStopwatch = Stopwatch.createStarted();
+			var components = this.parent.componentManager.getEnabledComponents().stream() //
+					.filter(c -> c.isEnabled() && !(c instanceof Sum) && c != this.parent) //
+					.collect(Collectors.toList());
+			this.parent.processImageSwitcher.nextProcessImage(components);
+			this.parent.shutdownReplacedProcessImageSwitchers();
 			this.parent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
@@ -70,6 +71,13 @@ public class CycleWorker extends AbstractWorker {
 			this.parent.sumComponent.channels().forEach(channel -> {
 				channel.nextProcessImage();
 			});
+			this.parent._setProcessImageDuration(processImageStopwatch.elapsed(TimeUnit.MILLISECONDS));
+
+			/*
+			 * Publish the Channel values to data exporters
+			 */
+			this.parent.channelStream.publish(this.parent.componentManager.getEnabledComponents(),
+					Instant.now(this.parent.componentManager.getClock()));
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
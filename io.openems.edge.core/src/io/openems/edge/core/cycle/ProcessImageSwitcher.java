@@ -0,0 +1,135 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Switches the process image of all Channels of a set of OpenEMS Components.
+ *
+ * <p>
+ * With one thread the switch is executed directly on the calling (Cycle)
+ * thread. With more threads the Components are partitioned - balanced by their
+ * number of Channels - and each partition is handled by one worker thread. All
+ * Channels of one Component are always switched by the same thread in their
+ * natural order, so 'onUpdate' and 'onChange' callbacks of a Component keep
+ * their sequence.
+ */
+public class ProcessImageSwitcher {
+
+	private final int threads;
+	private final ExecutorService executor;
+
+	public ProcessImageSwitcher(int threads) {
+		this.threads = Math.max(1, threads);
+		if (this.threads > 1) {
+			this.executor = Executors.newFixedThreadPool(this.threads,
+					new ThreadFactoryBuilder().setNameFormat("Core.Cycle:ProcessImage-%d").setDaemon(true).build());
+		} else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Gets the configured number of threads.
+	 *
+	 * @return the number of threads; at least 1
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * Switches to the next process image for all Channels of the given
+	 * Components. Blocks until all Channels have been switched.
+	 *
+	 * @param components the {@link OpenemsComponent}s
+	 * @throws InterruptedException on interrupt while waiting for the workers
+	 */
+	public void nextProcessImage(Collection<OpenemsComponent> components) throws InterruptedException {
+		if (this.executor == null || components.size() < 2) {
+			components.forEach(ProcessImageSwitcher::nextProcessImage);
+			return;
+		}
+
+		var tasks = new ArrayList<Callable<Void>>(this.threads);
+		for (var partition : partition(components, this.threads)) {
+			if (partition.isEmpty()) {
+				continue;
+			}
+			tasks.add(() -> {
+				partition.forEach(ProcessImageSwitcher::nextProcessImage);
+				return null;
+			});
+		}
+		for (var future : this.executor.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				// Exceptions inside a Channel are already handled in nextProcessImage()
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Shuts down the worker threads. A process image switch that is currently
+	 * running is completed.
+	 */
+	public void deactivate() {
+		if (this.executor != null) {
+			this.executor.shutdown();
+		}
+	}
+
+	/**
+	 * Switches to the next process image for all Channels of one Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	private static void nextProcessImage(OpenemsComponent component) {
+		component.channels().forEach(channel -> {
+			channel.nextProcessImage();
+		});
+	}
+
+	/**
+	 * Partitions the Components into the given number of partitions, balanced by
+	 * their number of Channels (greedy 'largest first').
+	 *
+	 * @param components    the {@link OpenemsComponent}s
+	 * @param numberOfParts the number of partitions
+	 * @return a list of partitions
+	 */
+	protected static List<List<OpenemsComponent>> partition(Collection<OpenemsComponent> components,
+			int numberOfParts) {
+		var result = new ArrayList<List<OpenemsComponent>>(numberOfParts);
+		var loads = new int[numberOfParts];
+		for (var i = 0; i < numberOfParts; i++) {
+			result.add(new ArrayList<>());
+		}
+		var sorted = new ArrayList<>(components);
+		sorted.sort(Comparator.comparingInt((OpenemsComponent c) -> c.channels().size()).reversed());
+		for (var component : sorted) {
+			var min = 0;
+			for (var i = 1; i < numberOfParts; i++) {
+				if (loads[i] < loads[min]) {
+					min = i;
+				}
+			}
+			result.get(min).add(component);
+			loads[min] += component.channels().size();
+		}
+		return result;
+	}
+
+}
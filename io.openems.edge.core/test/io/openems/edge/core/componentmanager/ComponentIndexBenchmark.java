@@ -0,0 +1,118 @@
+package io.openems.edge.core.componentmanager;
+
+import static io.openems.edge.core.componentmanager.ComponentIndexTest.createBundleContext;
+import static io.openems.edge.core.componentmanager.ComponentIndexTest.createReference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.test.DummyCycle;
+
+/**
+ * Compares the lookup cost of the previous per-call OSGi LDAP filter lookup
+ * with the {@link ComponentIndex} for 500 Components.
+ *
+ * <p>
+ * The 'LDAP' variant parses the filter string and matches it against the
+ * properties of every registered service - which is what the OSGi framework
+ * does for every call to 'getServiceReferences()'. Remove the {@link Ignore}
+ * annotation to run the benchmark.
+ */
+public class ComponentIndexBenchmark {
+
+	private static final int COMPONENTS = 500;
+	private static final int WARMUP = 20_000;
+	private static final int ITERATIONS = 100_000;
+
+	private final Logger log = LoggerFactory.getLogger(ComponentIndexBenchmark.class);
+
+	@Test
+	@Ignore
+	public void benchmark() throws Exception {
+		var services = new HashMap<ServiceReference<?>, OpenemsComponent>();
+		for (var i = 0; i < COMPONENTS; i++) {
+			services.put(createReference("component" + i, i % 10 != 0, i % 5 == 0 ? Cycle.class : Object.class),
+					new DummyCycle(1000));
+		}
+		var index = new ComponentIndex(createBundleContext(services));
+		index.activate();
+
+		var references = new ArrayList<>(services.keySet());
+		this.run("getEnabledComponents()", //
+				() -> ldap(references, services, "(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))"), //
+				() -> index.getSnapshot().getEnabledComponents());
+		this.run("getEnabledComponentsOfType()", //
+				() -> ldap(references, services, "(&(objectClass=" + Cycle.class.getName() + ")(enabled=true))"), //
+				() -> index.getSnapshot().getEnabledComponentsOfType(Cycle.class));
+		this.run("getComponent()", //
+				() -> ldap(references, services, "(&(enabled=true)(id=component" + (COMPONENTS - 1) + "))"), //
+				() -> index.getSnapshot().getComponent("component" + (COMPONENTS - 1), true));
+
+		index.deactivate();
+	}
+
+	private static List<OpenemsComponent> ldap(List<ServiceReference<?>> references,
+			Map<ServiceReference<?>, OpenemsComponent> services, String filterString) {
+		try {
+			var filter = FrameworkUtil.createFilter(filterString);
+			var result = new ArrayList<OpenemsComponent>();
+			for (var reference : references) {
+				if (filter.match(reference)) {
+					result.add(services.get(reference));
+				}
+			}
+			return result;
+		} catch (InvalidSyntaxException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	private void run(String name, Supplier<?> before, Supplier<?> after) {
+		// Both lookups find the same number of Components
+		assertEquals(count(before.get()), count(after.get()));
+
+		var beforeNanos = measure(before);
+		var afterNanos = measure(after);
+		this.log.info(String.format("%-30s LDAP: %10.1f ns/op | Index: %8.1f ns/op | Speed-up: %6.0fx", name,
+				beforeNanos, afterNanos, beforeNanos / afterNanos));
+	}
+
+	private static int count(Object result) {
+		if (result instanceof Collection<?> c) {
+			return c.size();
+		}
+		return result == null ? 0 : 1;
+	}
+
+	private static double measure(Supplier<?> supplier) {
+		var blackhole = 0L;
+		for (var i = 0; i < WARMUP; i++) {
+			blackhole += supplier.get().hashCode();
+		}
+		var start = System.nanoTime();
+		for (var i = 0; i < ITERATIONS; i++) {
+			blackhole += supplier.get().hashCode();
+		}
+		var duration = System.nanoTime() - start;
+		// Keeps the JIT from eliminating the calls
+		assertNotEquals(Long.MIN_VALUE, blackhole);
+		return (double) duration / ITERATIONS;
+	}
+
+}
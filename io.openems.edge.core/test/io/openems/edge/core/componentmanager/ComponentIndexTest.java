@@ -0,0 +1,175 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceReference;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.test.DummyCycle;
+
+public class ComponentIndexTest {
+
+	private static final AtomicLong SERVICE_ID = new AtomicLong();
+
+	/**
+	 * Creates a {@link ServiceReference} for an {@link OpenemsComponent}.
+	 *
+	 * @param id          the Component-ID
+	 * @param enabled     the 'enabled' property
+	 * @param serviceType the registered service types
+	 * @return the {@link ServiceReference}
+	 */
+	@SuppressWarnings("unchecked")
+	protected static ServiceReference<OpenemsComponent> createReference(String id, boolean enabled,
+			Class<?>... serviceType) {
+		var properties = new Hashtable<String, Object>();
+		properties.put(Constants.SERVICE_ID, SERVICE_ID.incrementAndGet());
+		properties.put("id", id);
+		properties.put("enabled", enabled);
+		var objectClasses = new String[serviceType.length + 1];
+		objectClasses[0] = OpenemsComponent.class.getName();
+		for (var i = 0; i < serviceType.length; i++) {
+			objectClasses[i + 1] = serviceType[i].getName();
+		}
+		properties.put(Constants.OBJECTCLASS, objectClasses);
+		return (ServiceReference<OpenemsComponent>) Proxy.newProxyInstance(
+				ComponentIndexTest.class.getClassLoader(), new Class<?>[] { ServiceReference.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getProperty":
+						return properties.get(args[0]);
+					case "getPropertyKeys":
+						return properties.keySet().toArray(new String[properties.size()]);
+					case "getProperties":
+						return properties;
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					default:
+						return null;
+					}
+				});
+	}
+
+	/**
+	 * Creates a minimal {@link BundleContext} that serves the given services.
+	 *
+	 * @param services the registered services
+	 * @return the {@link BundleContext}
+	 */
+	protected static BundleContext createBundleContext(Map<ServiceReference<?>, OpenemsComponent> services) {
+		return (BundleContext) Proxy.newProxyInstance(ComponentIndexTest.class.getClassLoader(),
+				new Class<?>[] { BundleContext.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getService":
+						return services.get(args[0]);
+					case "getServiceReferences":
+						return new ArrayList<>(services.keySet());
+					case "ungetService":
+						return true;
+					default:
+						return null;
+					}
+				});
+	}
+
+	@Test
+	public void test() throws Exception {
+		var services = new ConcurrentHashMap<ServiceReference<?>, OpenemsComponent>();
+		var cycle0 = new DummyCycle(1000);
+		var cycle0Reference = createReference("cycle0", true, Cycle.class);
+		services.put(cycle0Reference, cycle0);
+
+		var sut = new ComponentIndex(createBundleContext(services));
+		sut.activate();
+		assertEquals(List.of(cycle0), sut.getSnapshot().getEnabledComponents());
+		assertEquals(List.of(cycle0), sut.getSnapshot().getEnabledComponentsOfType(Cycle.class));
+
+		// Register disabled Component
+		var cycle1 = new DummyCycle(1000);
+		var cycle1Reference = createReference("cycle1", false, Cycle.class);
+		services.put(cycle1Reference, cycle1);
+		sut.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, cycle1Reference));
+		assertEquals(List.of(cycle0), sut.getSnapshot().getEnabledComponents());
+		assertEquals(List.of(cycle0, cycle1), sut.getSnapshot().getAllComponents());
+		assertNull(sut.getSnapshot().getComponent("cycle1", true));
+		assertSame(cycle1, sut.getSnapshot().getComponent("cycle1", false));
+
+		// Unregister Component
+		var snapshot = sut.getSnapshot();
+		sut.serviceChanged(new ServiceEvent(ServiceEvent.UNREGISTERING, cycle0Reference));
+		assertEquals(List.of(), sut.getSnapshot().getEnabledComponentsOfType(Cycle.class));
+		assertNull(sut.getSnapshot().getComponent("cycle0", false));
+
+		// Previous Snapshot is not modified
+		assertSame(cycle0, snapshot.getComponent("cycle0", true));
+
+		sut.deactivate();
+		assertEquals(List.of(), sut.getSnapshot().getAllComponents());
+	}
+
+	@Test
+	public void testServiceNotAvailable() throws Exception {
+		var services = new ConcurrentHashMap<ServiceReference<?>, OpenemsComponent>();
+		var sut = new ComponentIndex(createBundleContext(services));
+		sut.activate();
+
+		// getService() returns null, e.g. on failed activation
+		var cycle0 = new DummyCycle(1000);
+		var cycle0Reference = createReference("cycle0", true, Cycle.class);
+		sut.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, cycle0Reference));
+		assertEquals(List.of(), sut.getSnapshot().getAllComponents());
+
+		// Added on next service event
+		services.put(cycle0Reference, cycle0);
+		sut.serviceChanged(new ServiceEvent(ServiceEvent.MODIFIED, cycle0Reference));
+		assertEquals(List.of(cycle0), sut.getSnapshot().getAllComponents());
+	}
+
+	@Test
+	public void testGetServiceWithCallback() throws Exception {
+		var services = new ConcurrentHashMap<ServiceReference<?>, OpenemsComponent>();
+		var cycle0 = new DummyCycle(1000);
+		var cycle0Reference = createReference("cycle0", true, Cycle.class);
+		services.put(cycle0Reference, cycle0);
+		var cycle1 = new DummyCycle(1000);
+		var cycle1Reference = createReference("cycle1", true, Cycle.class);
+		services.put(cycle1Reference, cycle1);
+
+		// Activating 'cycle1' registers 'cycle0' on another thread, like SCR
+		// activating a dependency
+		var delegate = createBundleContext(services);
+		var sut = new AtomicReference<ComponentIndex>();
+		var bundleContext = (BundleContext) Proxy.newProxyInstance(ComponentIndexTest.class.getClassLoader(),
+				new Class<?>[] { BundleContext.class }, (proxy, method, args) -> {
+					if (method.getName().equals("getService") && args[0] == cycle1Reference) {
+						var thread = new Thread(() -> sut.get()
+								.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, cycle0Reference)));
+						thread.start();
+						thread.join(5_000);
+					}
+					return method.invoke(delegate, args);
+				});
+		sut.set(new ComponentIndex(bundleContext));
+		sut.get().serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, cycle1Reference));
+		assertEquals(List.of(cycle0, cycle1), sut.get().getSnapshot().getEnabledComponents());
+	}
+
+}
@@ -0,0 +1,50 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyCycle;
+
+public class ProcessImageSwitcherTest {
+
+	@Test
+	public void testNextProcessImage() throws InterruptedException {
+		var components = new ArrayList<OpenemsComponent>();
+		for (var i = 0; i < 10; i++) {
+			var component = new DummyCycle(1000);
+			component._setMeasuredCycleTime(i);
+			components.add(component);
+		}
+
+		var sut = new ProcessImageSwitcher(3);
+		try {
+			sut.nextProcessImage(components);
+		} finally {
+			sut.deactivate();
+		}
+
+		for (var i = 0; i < 10; i++) {
+			assertEquals(Long.valueOf(i), ((DummyCycle) components.get(i)).getMeasuredCycleTime().get());
+		}
+	}
+
+	@Test
+	public void testPartition() {
+		List<OpenemsComponent> components = new ArrayList<>();
+		for (var i = 0; i < 7; i++) {
+			components.add(new DummyCycle(1000));
+		}
+
+		var partitions = ProcessImageSwitcher.partition(components, 3);
+		assertEquals(3, partitions.size());
+		assertEquals(3, partitions.get(0).size());
+		assertEquals(2, partitions.get(1).size());
+		assertEquals(2, partitions.get(2).size());
+	}
+
+}
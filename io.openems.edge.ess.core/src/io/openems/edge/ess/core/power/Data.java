@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -40,6 +41,12 @@ public class Data {
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
 
+	/**
+	 * Incremented on every change that might influence the result of a solve,
+	 * i.e. of Constraints, Ess and Inverters.
+	 */
+	private final AtomicLong version = new AtomicLong();
+
 	private boolean symmetricMode = EssPower.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
 
@@ -86,6 +93,7 @@ public class Data {
 	}
 
 	private synchronized void updateInverters() {
+		this.version.incrementAndGet();
 		this.inverters.clear();
 
 		// Create inverters and add them to list
@@ -109,11 +117,31 @@ public class Data {
 	protected synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.version.incrementAndGet();
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
 	}
 
+	/**
+	 * Marks the data as changed, e.g. because Channel values of the Ess - which
+	 * are used for the generic and static Constraints - might have changed.
+	 */
+	protected void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Gets the current version of the data. The version changes whenever a
+	 * Constraint, Ess or Inverter was added or removed, on
+	 * {@link #initializeCycle()} and on {@link #invalidate()}.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.version.get();
+	}
+
 	protected List<ManagedSymmetricEss> getEsss() {
 		return this.esss;
 	}
@@ -124,10 +152,13 @@ public class Data {
 
 	protected void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.version.incrementAndGet();
 	}
 
 	protected void removeConstraint(Constraint constraint) {
-		this.constraints.remove(constraint);
+		if (this.constraints.remove(constraint)) {
+			this.version.incrementAndGet();
+		}
 	}
 
 	/**
@@ -150,6 +181,7 @@ public class Data {
 		}
 		this.constraints.add(ConstraintUtil.createSimpleConstraint(this.coefficients, //
 				description, essId, phase, pwr, relationship, value));
+		this.version.incrementAndGet();
 	}
 
 	/**
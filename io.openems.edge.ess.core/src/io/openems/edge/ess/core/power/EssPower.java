@@ -46,6 +46,75 @@ public interface EssPower extends OpenemsComponent, EventHandler, Power {
 		 * </ul>
 		 */
 		SOLVE_STRATEGY(Doc.of(SolverStrategy.values())),
+		/**
+		 * The duration of the last solve in closed form, i.e. without linear
+		 * programs, for simple topologies.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: microseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_CLOSED_FORM(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MICROSECONDS)),
+		/**
+		 * The duration of the last solve by the linear programming strategies.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: microseconds
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		SOLVE_DURATION_LINEAR_PROGRAM(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.MICROSECONDS)),
+		/**
+		 * Number of linear programs solved in the last Cycle to calculate the
+		 * Max/Min-Power of an Ess.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		EXTREMA_SOLVES(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * Number of Max/Min-Power requests in the last Cycle that were served from
+		 * cache.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		EXTREMA_CACHE_HITS(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * Number of linear programs solved in the last Cycle to validate added
+		 * Constraints.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		VALIDATION_SOLVES(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * Number of added Constraints in the last Cycle that were validated without
+		 * solving a linear program.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		VALIDATION_SKIPPED_SOLVES(Doc.of(OpenemsType.INTEGER)),
 		/**
 		 * Whether the Power problem could be solved.
 		 *
@@ -134,6 +203,120 @@ public interface EssPower extends OpenemsComponent, EventHandler, Power {
 		this.getSolveStrategyChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#SOLVE_DURATION_CLOSED_FORM}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSolveDurationClosedFormChannel() {
+		return this.channel(ChannelId.SOLVE_DURATION_CLOSED_FORM);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SOLVE_DURATION_CLOSED_FORM} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSolveDurationClosedForm(int value) {
+		this.getSolveDurationClosedFormChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#SOLVE_DURATION_LINEAR_PROGRAM}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getSolveDurationLinearProgramChannel() {
+		return this.channel(ChannelId.SOLVE_DURATION_LINEAR_PROGRAM);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#SOLVE_DURATION_LINEAR_PROGRAM} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setSolveDurationLinearProgram(int value) {
+		this.getSolveDurationLinearProgramChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_SOLVES}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaSolvesChannel() {
+		return this.channel(ChannelId.EXTREMA_SOLVES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#EXTREMA_SOLVES}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setExtremaSolves(int value) {
+		this.getExtremaSolvesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_CACHE_HITS}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaCacheHitsChannel() {
+		return this.channel(ChannelId.EXTREMA_CACHE_HITS);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#EXTREMA_CACHE_HITS} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setExtremaCacheHits(int value) {
+		this.getExtremaCacheHitsChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#VALIDATION_SOLVES}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getValidationSolvesChannel() {
+		return this.channel(ChannelId.VALIDATION_SOLVES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#VALIDATION_SOLVES} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setValidationSolves(int value) {
+		this.getValidationSolvesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#VALIDATION_SKIPPED_SOLVES}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getValidationSkippedSolvesChannel() {
+		return this.channel(ChannelId.VALIDATION_SKIPPED_SOLVES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#VALIDATION_SKIPPED_SOLVES} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setValidationSkippedSolves(int value) {
+		this.getValidationSkippedSolvesChannel().setNextValue(value);
+	}
+
 	/**
 	 * Gets the Channel for {@link ChannelId#STATIC_CONSTRAINTS_FAILED}.
 	 *
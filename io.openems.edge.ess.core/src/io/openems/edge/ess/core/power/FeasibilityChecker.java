@@ -0,0 +1,134 @@
+package io.openems.edge.ess.core.power;
+
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.PowerException;
+import io.openems.edge.ess.power.api.PowerException.Type;
+
+/**
+ * Checks whether the Constraints of the {@link Data} are still solvable after
+ * a {@link Constraint} was added.
+ *
+ * <p>
+ * Keeps the point of the last successful solve together with the
+ * {@link Data#getVersion()} it belongs to. If exactly one Constraint was added
+ * since then and the point also satisfies this Constraint, the problem is
+ * still solvable - adding a Constraint can only shrink the solution space -
+ * and no new solve is required. Otherwise the full problem is solved again.
+ */
+public class FeasibilityChecker {
+
+	private static final double EPSILON = 1e-6;
+
+	private final Data data;
+
+	private long version = -1;
+	private double[] point = null;
+
+	private int solves = 0;
+	private int skippedSolves = 0;
+
+	public FeasibilityChecker(Data data) {
+		this.data = data;
+	}
+
+	/**
+	 * Validates the Constraints after the given {@link Constraint} was added.
+	 *
+	 * @param constraint      the added {@link Constraint}
+	 * @param previousVersion the {@link Data#getVersion()} before the
+	 *                        {@link Constraint} was added
+	 * @throws OpenemsException if the problem is not solvable
+	 */
+	public synchronized void validate(Constraint constraint, long previousVersion) throws OpenemsException {
+		var version = this.data.getVersion();
+		if (this.point != null && this.version == previousVersion && version == previousVersion + 1
+				&& isSatisfied(constraint, this.point)) {
+			this.version = version;
+			this.skippedSolves++;
+			return;
+		}
+
+		this.point = null;
+		this.solves++;
+		try {
+			var solution = ConstraintSolver.solve(this.data.getCoefficients(),
+					this.data.getConstraintsForAllInverters());
+			this.point = solution.getPoint();
+			this.version = version;
+
+		} catch (NoFeasibleSolutionException e) {
+			throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
+		} catch (UnboundedSolutionException e) {
+			throw new PowerException(Type.UNBOUNDED_SOLUTION);
+		}
+	}
+
+	/**
+	 * Gets the number of full solves since the last {@link #resetCounters()}.
+	 *
+	 * @return the number of solves
+	 */
+	public synchronized int getSolves() {
+		return this.solves;
+	}
+
+	/**
+	 * Gets the number of validations since the last {@link #resetCounters()} that
+	 * did not require a solve.
+	 *
+	 * @return the number of skipped solves
+	 */
+	public synchronized int getSkippedSolves() {
+		return this.skippedSolves;
+	}
+
+	/**
+	 * Resets the counters for solves and skipped solves.
+	 */
+	public synchronized void resetCounters() {
+		this.solves = 0;
+		this.skippedSolves = 0;
+	}
+
+	/**
+	 * Is the {@link Constraint} satisfied by the given point?.
+	 *
+	 * @param constraint the {@link Constraint}
+	 * @param point      the values of the Coefficients
+	 * @return true if it is satisfied or disabled
+	 */
+	protected static boolean isSatisfied(Constraint constraint, double[] point) {
+		var value = constraint.getValue();
+		if (value.isEmpty()) {
+			// Disabled Constraints are ignored by the solver
+			return true;
+		}
+		var coefficients = constraint.getCoefficients();
+		var sum = 0d;
+		for (var i = 0; i < coefficients.length; i++) {
+			var index = coefficients[i].getCoefficient().getIndex();
+			if (index >= point.length) {
+				return false;
+			}
+			for (var j = 0; j < i; j++) {
+				if (coefficients[j].getCoefficient().getIndex() == index) {
+					// Duplicated Coefficient: let the solver decide
+					return false;
+				}
+			}
+			sum += coefficients[i].getValue() * point[index];
+		}
+		var tolerance = EPSILON * Math.max(1, Math.abs(value.get()));
+		return switch (constraint.getRelationship()) {
+		case EQUALS -> Math.abs(sum - value.get()) <= tolerance;
+		case GREATER_OR_EQUALS -> sum >= value.get() - tolerance;
+		case LESS_OR_EQUALS -> sum <= value.get() + tolerance;
+		};
+	}
+
+}
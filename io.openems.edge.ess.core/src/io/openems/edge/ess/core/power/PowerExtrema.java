@@ -0,0 +1,125 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+/**
+ * Calculates and caches the extrema of the {@link Data}.
+ *
+ * <p>
+ * Results are cached per Coefficient and {@link GoalType} for one
+ * {@link Data#getVersion()}. The Constraints are converted once per version
+ * and shared by all calculations of that version.
+ */
+public class PowerExtrema {
+
+	private final Logger log = LoggerFactory.getLogger(PowerExtrema.class);
+
+	private final Data data;
+
+	private long version = -1;
+	private LinearConstraintSet constraints = null;
+
+	/**
+	 * Cached extrema; minimum at 2 * index, maximum at 2 * index + 1 of the
+	 * Coefficient. NaN if not yet calculated.
+	 */
+	private double[] values = {};
+
+	private int solves = 0;
+	private int cacheHits = 0;
+
+	public PowerExtrema(Data data) {
+		this.data = data;
+	}
+
+	/**
+	 * Gets the extrema under the current Constraints for the given parameters.
+	 *
+	 * @param essId the ID of the {@link ManagedSymmetricEss}
+	 * @param phase the {@link Phase}
+	 * @param pwr   the {@link Pwr}
+	 * @param goal  the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 * @throws OpenemsException if the Constraints can not be created
+	 */
+	public synchronized double get(String essId, Phase phase, Pwr pwr, GoalType goal) throws OpenemsException {
+		var version = this.data.getVersion();
+		var coefficients = this.data.getCoefficients();
+		if (version != this.version) {
+			this.version = version;
+			this.constraints = null;
+			this.values = new double[coefficients.getNoOfCoefficients() * 2];
+			Arrays.fill(this.values, Double.NaN);
+		}
+
+		final int index;
+		try {
+			index = coefficients.of(essId, phase, pwr).getIndex();
+		} catch (IllegalArgumentException | OpenemsException e) {
+			this.log.error(e.getMessage());
+			return 0d;
+		}
+		var slot = index * 2 + (goal == GoalType.MAXIMIZE ? 1 : 0);
+		if (slot >= this.values.length) {
+			// Coefficients were re-initialized in the meantime
+			this.version = -1;
+			return this.get(essId, phase, pwr, goal);
+		}
+
+		var value = this.values[slot];
+		if (!Double.isNaN(value)) {
+			this.cacheHits++;
+			return value;
+		}
+
+		if (this.constraints == null) {
+			this.constraints = new LinearConstraintSet(LinearSolverUtil.convertToLinearConstraints(coefficients,
+					this.data.getConstraintsForAllInverters()));
+		}
+		value = CalculatePowerExtrema.from(coefficients, this.constraints, index, essId, phase, pwr, goal);
+		this.solves++;
+		this.values[slot] = value;
+		return value;
+	}
+
+	/**
+	 * Gets the number of linear programs solved since the last
+	 * {@link #resetCounters()}.
+	 *
+	 * @return the number of solves
+	 */
+	public synchronized int getSolves() {
+		return this.solves;
+	}
+
+	/**
+	 * Gets the number of results served from cache since the last
+	 * {@link #resetCounters()}.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized int getCacheHits() {
+		return this.cacheHits;
+	}
+
+	/**
+	 * Resets the counters for solves and cache hits.
+	 */
+	public synchronized void resetCounters() {
+		this.solves = 0;
+		this.cacheHits = 0;
+	}
+
+}
@@ -8,10 +8,16 @@ class SolveSolution {
 
 	private final SolverStrategy solvedBy;
 	private final PointValuePair points;
+	private final boolean closedForm;
 
 	public SolveSolution(SolverStrategy solvedBy, PointValuePair points) {
+		this(solvedBy, points, false);
+	}
+
+	public SolveSolution(SolverStrategy solvedBy, PointValuePair points, boolean closedForm) {
 		this.solvedBy = solvedBy;
 		this.points = points;
+		this.closedForm = closedForm;
 	}
 
 	public PointValuePair getPoints() {
@@ -22,4 +28,8 @@ class SolveSolution {
 		return this.solvedBy;
 	}
 
+	public boolean isClosedForm() {
+		return this.closedForm;
+	}
+
 }
\ No newline at end of file
@@ -27,19 +27,32 @@ import io.openems.edge.ess.core.power.optimizers.KeepAllEqual;
 import io.openems.edge.ess.core.power.optimizers.KeepTargetDirectionAndMaximizeInOrder;
 import io.openems.edge.ess.core.power.optimizers.MoveTowardsTarget;
 import io.openems.edge.ess.core.power.optimizers.Optimizers;
+import io.openems.edge.ess.core.power.solver.ClosedFormSolver;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
 import io.openems.edge.ess.core.power.solver.PowerTuple;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
 import io.openems.edge.ess.power.api.OnSolved;
-import io.openems.edge.ess.power.api.PowerException;
-import io.openems.edge.ess.power.api.PowerException.Type;
 import io.openems.edge.ess.power.api.Pwr;
 import io.openems.edge.ess.power.api.Relationship;
 import io.openems.edge.ess.power.api.SolverStrategy;
 
 public class Solver {
 
+	@FunctionalInterface
+	public static interface OnSolveDuration {
+
+		/**
+		 * OnSolveDuration callback.
+		 *
+		 * @param closedForm was the problem solved in closed form, i.e. without
+		 *                   linear programs?
+		 * @param duration   solve duration in microseconds
+		 */
+		public void accept(boolean closedForm, int duration);
+
+	}
+
 	private final Logger log = LoggerFactory.getLogger(Solver.class);
 	private final Data data;
 	private final Optimizers optimizers = new Optimizers();
@@ -47,6 +60,9 @@ public class Solver {
 	private boolean debugMode = EssPower.DEFAULT_DEBUG_MODE;
 	private OnSolved onSolvedCallback = (isSolved, duration, strategy) -> {
 	};
+	private OnSolveDuration onSolveDurationCallback = (closedForm, duration) -> {
+	};
+	private boolean closedFormEnabled = true;
 
 	private final ThrowingFunction<List<Inverter>, PointValuePair, Exception> solveWithDisabledInverters;
 
@@ -78,18 +94,13 @@ public class Solver {
 	}
 
 	/**
-	 * Tests whether the Problem is solvable under the current Constraints.
+	 * Adds a callback for the duration of a solve in microseconds, together with
+	 * the information whether the problem was solved in closed form.
 	 *
-	 * @throws OpenemsException on error
+	 * @param onSolveDurationCallback the Callback
 	 */
-	public void isSolvableOrError() throws OpenemsException {
-		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
-		} catch (NoFeasibleSolutionException e) {
-			throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
-		} catch (UnboundedSolutionException e) {
-			throw new PowerException(Type.UNBOUNDED_SOLUTION);
-		}
+	public void onSolveDuration(OnSolveDuration onSolveDurationCallback) {
+		this.onSolveDurationCallback = onSolveDurationCallback;
 	}
 
 	/**
@@ -134,57 +145,67 @@ public class Solver {
 			// Check if the Problem is solvable at all.
 			allConstraints = this.data.getConstraintsForAllInverters();
 
-			// Add Strict constraints if required
-			AddConstraintsForNotStrictlyDefinedCoefficients.apply(allInverters, this.data.getCoefficients(),
-					allConstraints);
-
-			// Print log with currently active EQUALS != 0 Constraints
-			if (this.debugMode) {
-				this.log.info("Currently active EQUALS constraints");
-				for (Constraint c : allConstraints) {
-					if (c.getRelationship() == Relationship.EQUALS && c.getValue().orElse(0d) != 0d) {
-						this.log.info("- " + c.toString());
+			// Solve simple topologies without linear programs
+			var closedFormSolution = this.closedFormEnabled //
+					? ClosedFormSolver.solve(this.data.getCoefficients(), allInverters, allConstraints) //
+					: null;
+			if (closedFormSolution != null) {
+				// Every strategy results in this solution
+				solution = new SolveSolution(getClosedFormStrategy(strategy), closedFormSolution, true);
+				targetDirection = this.getTargetDirection(closedFormSolution);
+			} else {
+				// Add Strict constraints if required
+				AddConstraintsForNotStrictlyDefinedCoefficients.apply(allInverters, this.data.getCoefficients(),
+						allConstraints);
+
+				// Print log with currently active EQUALS != 0 Constraints
+				if (this.debugMode) {
+					this.log.info("Currently active EQUALS constraints");
+					for (Constraint c : allConstraints) {
+						if (c.getRelationship() == Relationship.EQUALS && c.getValue().orElse(0d) != 0d) {
+							this.log.info("- " + c.toString());
+						}
 					}
 				}
-			}
-
-			// Evaluates whether it is a CHARGE or DISCHARGE problem.
-			targetDirection = TargetDirection.from(//
-					this.data.getInverters(), //
-					this.data.getCoefficients(), //
-					this.data.getConstraintsForAllInverters() //
-			);
-
-			// Gets the target-Inverters, i.e. the Inverters that are minimally required to
-			// solve the Problem.
-			var targetInverters = this.optimizers.reduceNumberOfUsedInverters.apply(allInverters, targetDirection,
-					this.solveWithDisabledInverters);
-
-			switch (strategy) {
-			case UNDEFINED:
-			case ALL_CONSTRAINTS:
-			case NONE:
-				solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints);
-				break;
 
-			case OPTIMIZE_BY_MOVING_TOWARDS_TARGET:
-				solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
-						SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET,
-						SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER);
-				break;
-
-			case OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER:
-				solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
-						SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER,
-						SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
-				break;
-
-			case OPTIMIZE_BY_KEEPING_ALL_EQUAL:
-				solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
-						SolverStrategy.OPTIMIZE_BY_KEEPING_ALL_EQUAL,
-						SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER,
-						SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
-				break;
+				// Evaluates whether it is a CHARGE or DISCHARGE problem.
+				targetDirection = TargetDirection.from(//
+						this.data.getInverters(), //
+						this.data.getCoefficients(), //
+						this.data.getConstraintsForAllInverters() //
+				);
+
+				// Gets the target-Inverters, i.e. the Inverters that are minimally required to
+				// solve the Problem.
+				var targetInverters = this.optimizers.reduceNumberOfUsedInverters.apply(allInverters,
+						targetDirection, this.solveWithDisabledInverters);
+
+				switch (strategy) {
+				case UNDEFINED:
+				case ALL_CONSTRAINTS:
+				case NONE:
+					solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints);
+					break;
+
+				case OPTIMIZE_BY_MOVING_TOWARDS_TARGET:
+					solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
+							SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET,
+							SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER);
+					break;
+
+				case OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER:
+					solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
+							SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER,
+							SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+					break;
+
+				case OPTIMIZE_BY_KEEPING_ALL_EQUAL:
+					solution = this.tryStrategies(targetDirection, allInverters, targetInverters, allConstraints,
+							SolverStrategy.OPTIMIZE_BY_KEEPING_ALL_EQUAL,
+							SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER,
+							SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+					break;
+				}
 			}
 
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
@@ -199,11 +220,13 @@ public class Solver {
 		}
 
 		// finish time measure (in milliseconds)
-		var duration = (int) (System.nanoTime() - startTime) / 1_000_000;
+		var durationNanos = System.nanoTime() - startTime;
+		var duration = (int) durationNanos / 1_000_000;
 
 		// announce success/failure
 		var isSolved = solution.getPoints() != null;
 		this.onSolvedCallback.accept(isSolved, duration, solution.getSolvedBy());
+		this.onSolveDurationCallback.accept(solution.isClosedForm(), (int) (durationNanos / 1_000));
 
 		// Apply final Solution to Inverters
 		if (isSolved) {
@@ -222,6 +245,22 @@ public class Solver {
 		}
 	}
 
+	/**
+	 * Gets the {@link SolverStrategy} that is reported for a solution in closed
+	 * form, i.e. the first strategy that would have been tried.
+	 *
+	 * @param strategy the configured {@link SolverStrategy}
+	 * @return the reported {@link SolverStrategy}
+	 */
+	private static SolverStrategy getClosedFormStrategy(SolverStrategy strategy) {
+		return switch (strategy) {
+		case UNDEFINED, NONE, ALL_CONSTRAINTS -> SolverStrategy.ALL_CONSTRAINTS;
+		case OPTIMIZE_BY_MOVING_TOWARDS_TARGET, OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER,
+				OPTIMIZE_BY_KEEPING_ALL_EQUAL ->
+			strategy;
+		};
+	}
+
 	/**
 	 * Tries different solving strategies in order. 'ALL_CONSTRAINTS' is always
 	 * tried last if everything else failed. Returns as soon as a result is found.
@@ -271,6 +310,27 @@ public class Solver {
 		return new SolveSolution(SolverStrategy.NONE, null);
 	}
 
+	/**
+	 * Gets the {@link TargetDirection} of a solution by the sum of Active Power.
+	 *
+	 * @param solution the solution
+	 * @return the {@link TargetDirection}
+	 * @throws OpenemsException on error
+	 */
+	private TargetDirection getTargetDirection(PointValuePair solution) throws OpenemsException {
+		var point = solution.getPoint();
+		var sum = 0d;
+		for (Inverter inv : this.data.getInverters()) {
+			sum += point[this.data.getCoefficient(inv.getEssId(), inv.getPhase(), Pwr.ACTIVE).getIndex()];
+		}
+		if (sum > 0) {
+			return TargetDirection.DISCHARGE;
+		} else if (sum < 0) {
+			return TargetDirection.CHARGE;
+		}
+		return TargetDirection.KEEP_ZERO;
+	}
+
 	private Map<Inverter, PowerTuple> getZeroSolution(List<Inverter> allInverters) {
 		Map<Inverter, PowerTuple> result = new HashMap<>();
 		for (Inverter inv : allInverters) {
@@ -400,4 +460,8 @@ public class Solver {
 	protected void setDebugMode(boolean debugMode) {
 		this.debugMode = debugMode;
 	}
+
+	protected void setClosedFormEnabled(boolean closedFormEnabled) {
+		this.closedFormEnabled = closedFormEnabled;
+	}
 }
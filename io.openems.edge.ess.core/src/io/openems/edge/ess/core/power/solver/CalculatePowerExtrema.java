@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -38,7 +39,6 @@ public class CalculatePowerExtrema {
 	 */
 	public static double from(Coefficients coefficients, List<Constraint> allConstraints, String essId, Phase phase,
 			Pwr pwr, GoalType goal) {
-		// prepare objective function
 		int index;
 		try {
 			index = coefficients.of(essId, phase, pwr).getIndex();
@@ -46,13 +46,35 @@ public class CalculatePowerExtrema {
 			LOG.error(e.getMessage());
 			return 0d;
 		}
+		var constraints = new LinearConstraintSet(
+				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		return from(coefficients, constraints, index, essId, phase, pwr, goal);
+	}
+
+	/**
+	 * Calculates the extrema under the given, already converted constraints.
+	 *
+	 * <p>
+	 * Use this method to calculate multiple extrema for the same set of
+	 * constraints without converting them again.
+	 *
+	 * @param coefficients the {@link Coefficients}
+	 * @param constraints  the {@link LinearConstraintSet}
+	 * @param index        the index of the {@link Coefficient} for essId, phase
+	 *                     and pwr
+	 * @param essId        the ID of the {@link ManagedSymmetricEss}
+	 * @param phase        the {@link Phase}
+	 * @param pwr          the {@link Pwr}
+	 * @param goal         the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 */
+	public static double from(Coefficients coefficients, LinearConstraintSet constraints, int index, String essId,
+			Phase phase, Pwr pwr, GoalType goal) {
+		// prepare objective function
 		var cos = LinearSolverUtil.generateEmptyCoefficientsArray(coefficients.getNoOfCoefficients());
 		cos[index] = 1;
 		var objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
-		var constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
-
 		var solver = new SimplexSolver();
 		try {
 			var solution = solver.optimize(//
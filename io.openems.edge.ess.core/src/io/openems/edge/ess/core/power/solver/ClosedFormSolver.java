@@ -0,0 +1,260 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.optim.PointValuePair;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.optimizers.AddConstraintsForNotStrictlyDefinedCoefficients;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Inverter;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * Solves simple topologies analytically, i.e. without linear programs.
+ *
+ * <p>
+ * A topology is simple, if every Coefficient belongs to a three-phase
+ * {@link Inverter} and every {@link Constraint} refers to the Active and/or
+ * Reactive Power of only one Inverter - e.g. one or more symmetric Ess in
+ * Symmetric-Mode with Allowed-Charge/-Discharge, Max-Apparent-Power and simple
+ * Constraints set by Controllers. The feasible region of every Inverter is
+ * then a polygon that is independent of all other Inverters.
+ *
+ * <p>
+ * The result is the one that
+ * {@link AddConstraintsForNotStrictlyDefinedCoefficients} enforces for every
+ * solving strategy: the sum of Active and of Reactive Power closest to zero,
+ * distributed equally to all Inverters. If this distribution is not feasible,
+ * the strategies would decide and null is returned.
+ */
+public class ClosedFormSolver {
+
+	private static final double EPSILON = 1e-6;
+
+	/**
+	 * A {@link Constraint} on the Active Power 'p' and the Reactive Power 'q' of
+	 * one Inverter in the form 'a * p + b * q [relationship] c'.
+	 */
+	private static record HalfPlane(double a, double b, Relationship relationship, double c) {
+
+		private boolean contains(double p, double q) {
+			return isSatisfied(this.a * p + this.b * q - this.c, EPSILON * Math.max(1, Math.abs(this.c)));
+		}
+
+		private boolean containsDirection(double dp, double dq) {
+			return isSatisfied(this.a * dp + this.b * dq, EPSILON * Math.hypot(this.a, this.b));
+		}
+
+		private boolean isSatisfied(double difference, double tolerance) {
+			return switch (this.relationship) {
+			case EQUALS -> Math.abs(difference) <= tolerance;
+			case GREATER_OR_EQUALS -> difference >= -tolerance;
+			case LESS_OR_EQUALS -> difference <= tolerance;
+			};
+		}
+	}
+
+	private ClosedFormSolver() {
+	}
+
+	/**
+	 * Solves the problem analytically, if the topology is simple.
+	 *
+	 * @param coefficients   the {@link Coefficients}
+	 * @param allInverters   all {@link Inverter}s
+	 * @param allConstraints all active {@link Constraint}s
+	 * @return a solution as {@link PointValuePair}; or null if the problem needs
+	 *         to be solved by the linear solving strategies
+	 * @throws OpenemsException on error
+	 */
+	public static PointValuePair solve(Coefficients coefficients, List<Inverter> allInverters,
+			List<Constraint> allConstraints) throws OpenemsException {
+		var noOfInverters = allInverters.size();
+		var noOfCoefficients = coefficients.getNoOfCoefficients();
+		if (noOfInverters == 0 || noOfCoefficients != noOfInverters * 2) {
+			// Coefficients without Inverter, e.g. MetaEss or Asymmetric-Mode
+			return null;
+		}
+
+		// Map Coefficients to Inverters
+		var inverterOfCoefficient = new int[noOfCoefficients];
+		Arrays.fill(inverterOfCoefficient, -1);
+		var activePowerIndex = new int[noOfInverters];
+		for (var i = 0; i < noOfInverters; i++) {
+			var inv = allInverters.get(i);
+			if (inv.getPhase() != Phase.ALL) {
+				return null;
+			}
+			activePowerIndex[i] = coefficients.of(inv.getEssId(), Phase.ALL, Pwr.ACTIVE).getIndex();
+			var reactivePowerIndex = coefficients.of(inv.getEssId(), Phase.ALL, Pwr.REACTIVE).getIndex();
+			if (inverterOfCoefficient[activePowerIndex[i]] != -1 || inverterOfCoefficient[reactivePowerIndex] != -1) {
+				return null;
+			}
+			inverterOfCoefficient[activePowerIndex[i]] = i;
+			inverterOfCoefficient[reactivePowerIndex] = i;
+		}
+
+		// Assign Constraints to Inverters
+		var halfPlanes = new ArrayList<List<HalfPlane>>(noOfInverters);
+		for (var i = 0; i < noOfInverters; i++) {
+			halfPlanes.add(new ArrayList<>());
+		}
+		for (var constraint : allConstraints) {
+			var value = constraint.getValue();
+			if (value.isEmpty()) {
+				// Disabled Constraints are ignored by the solver
+				continue;
+			}
+			var inverter = -1;
+			var a = 0d;
+			var b = 0d;
+			var hasA = false;
+			var hasB = false;
+			for (var co : constraint.getCoefficients()) {
+				var index = co.getCoefficient().getIndex();
+				if (inverter != -1 && inverterOfCoefficient[index] != inverter) {
+					// Constraint between Inverters
+					return null;
+				}
+				inverter = inverterOfCoefficient[index];
+				if (index == activePowerIndex[inverter] && !hasA) {
+					a = co.getValue();
+					hasA = true;
+				} else if (index != activePowerIndex[inverter] && !hasB) {
+					b = co.getValue();
+					hasB = true;
+				} else {
+					// Duplicated Coefficient
+					return null;
+				}
+			}
+			if (inverter == -1 || a == 0 && b == 0) {
+				return null;
+			}
+			halfPlanes.get(inverter).add(new HalfPlane(a, b, constraint.getRelationship(), value.get()));
+		}
+
+		// Calculate feasible ranges per Inverter
+		var activePowerRanges = new double[noOfInverters][];
+		var reactivePowerRanges = new double[noOfInverters][];
+		for (var i = 0; i < noOfInverters; i++) {
+			var ranges = getRanges(halfPlanes.get(i));
+			if (ranges == null) {
+				return null;
+			}
+			activePowerRanges[i] = new double[] { ranges[0], ranges[1] };
+			reactivePowerRanges[i] = new double[] { ranges[2], ranges[3] };
+		}
+
+		var activePower = distribute(activePowerRanges);
+		var reactivePower = distribute(reactivePowerRanges);
+
+		// Build and validate the solution
+		var sum = 0d;
+		for (var i = 0; i < noOfInverters; i++) {
+			for (var halfPlane : halfPlanes.get(i)) {
+				if (!halfPlane.contains(activePower[i], reactivePower[i])) {
+					return null;
+				}
+			}
+			sum += activePower[i] + reactivePower[i];
+		}
+		var point = new double[noOfCoefficients];
+		for (var index = 0; index < noOfCoefficients; index++) {
+			var inverter = inverterOfCoefficient[index];
+			point[index] = index == activePowerIndex[inverter] ? activePower[inverter] : reactivePower[inverter];
+		}
+		return new PointValuePair(point, sum);
+	}
+
+	/**
+	 * Gets the ranges of Active and Reactive Power within the feasible polygon.
+	 *
+	 * @param halfPlanes the {@link HalfPlane}s of one Inverter
+	 * @return [minP, maxP, minQ, maxQ]; or null if the region is empty or
+	 *         unbounded
+	 */
+	private static double[] getRanges(List<HalfPlane> halfPlanes) {
+		// Unbounded, if the region extends infinitely along a boundary line
+		for (var halfPlane : halfPlanes) {
+			var length = Math.hypot(halfPlane.a, halfPlane.b);
+			var dp = -halfPlane.b / length;
+			var dq = halfPlane.a / length;
+			if (halfPlanes.stream().allMatch(h -> h.containsDirection(dp, dq))
+					|| halfPlanes.stream().allMatch(h -> h.containsDirection(-dp, -dq))) {
+				return null;
+			}
+		}
+
+		// The extrema of a bounded polygon are at its vertices
+		double[] result = null;
+		for (var i = 0; i < halfPlanes.size(); i++) {
+			var h1 = halfPlanes.get(i);
+			for (var j = i + 1; j < halfPlanes.size(); j++) {
+				var h2 = halfPlanes.get(j);
+				var det = h1.a * h2.b - h2.a * h1.b;
+				if (Math.abs(det) <= EPSILON * Math.hypot(h1.a, h1.b) * Math.hypot(h2.a, h2.b)) {
+					// parallel
+					continue;
+				}
+				var p = (h1.c * h2.b - h2.c * h1.b) / det;
+				var q = (h1.a * h2.c - h2.a * h1.c) / det;
+				if (!halfPlanes.stream().allMatch(h -> h.contains(p, q))) {
+					continue;
+				}
+				if (result == null) {
+					result = new double[] { p, p, q, q };
+				} else {
+					result[0] = Math.min(result[0], p);
+					result[1] = Math.max(result[1], p);
+					result[2] = Math.min(result[2], q);
+					result[3] = Math.max(result[3], q);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Distributes the sum closest to zero equally to all Inverters; like
+	 * {@link AddConstraintsForNotStrictlyDefinedCoefficients}.
+	 *
+	 * @param ranges the [min, max] ranges per Inverter
+	 * @return the values per Inverter
+	 */
+	private static double[] distribute(double[][] ranges) {
+		var result = new double[ranges.length];
+		var min = 0d;
+		var max = 0d;
+		var isStrictlyDefined = true;
+		for (var range : ranges) {
+			min += range[0];
+			max += range[1];
+			isStrictlyDefined &= range[1] - range[0] <= EPSILON * Math.max(1, Math.abs(range[1]));
+		}
+		if (isStrictlyDefined) {
+			for (var i = 0; i < ranges.length; i++) {
+				result[i] = ranges[i][0];
+			}
+			return result;
+		}
+
+		final double target;
+		if (0 < max && 0 > min) {
+			target = 0;
+		} else if (Math.abs(max) < Math.abs(min)) {
+			target = max;
+		} else {
+			target = min;
+		}
+		Arrays.fill(result, target / ranges.length);
+		return result;
+	}
+
+}
@@ -0,0 +1,152 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.PowerException;
+import io.openems.edge.ess.power.api.PowerException.Type;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+/**
+ * Compares the cost of validating a sequence of Constraints, like Controllers
+ * add them within one Cycle, with a full solve per Constraint
+ * ({@link Solver#isSolvable()}) and with the {@link FeasibilityChecker}.
+ *
+ * <p>
+ * Constraints are random but reproducible limits on Active and Reactive Power
+ * of random inverters; every tenth Constraint sets a fixed value. Constraints
+ * that make the problem unsolvable are removed again, as in
+ * {@link EssPowerImpl#addConstraintAndValidate(Constraint)}. Remove the
+ * {@link Ignore} annotation to run the benchmark.
+ */
+public class FeasibilityCheckerBenchmark {
+
+	private static final int[] INVERTERS = { 1, 4, 12 };
+	private static final int[] CONSTRAINTS = { 10, 50, 200 };
+	private static final int WARMUP = 10;
+	private static final int ITERATIONS = 30;
+
+	private final Logger log = LoggerFactory.getLogger(FeasibilityCheckerBenchmark.class);
+
+	private static interface Validator {
+		public void validate(Constraint constraint, long previousVersion) throws OpenemsException;
+	}
+
+	private static record Step(String essId, Pwr pwr, Relationship relationship, double value) {
+	}
+
+	@Test
+	@Ignore
+	public void benchmark() throws Exception {
+		for (var inverters : INVERTERS) {
+			for (var constraints : CONSTRAINTS) {
+				var data = createData(inverters);
+				var steps = createSteps(new Random(inverters * 1000 + constraints), inverters, constraints);
+				var solver = new Solver(data);
+				var checker = new FeasibilityChecker(data);
+				Validator fullSolve = (constraint, previousVersion) -> {
+					if (!solver.isSolvable()) {
+						throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
+					}
+				};
+
+				// Both accept the same Constraints
+				var accepted = run(data, steps, fullSolve);
+				checker.resetCounters();
+				assertEquals(accepted, run(data, steps, checker::validate));
+				var solves = checker.getSolves();
+				assertTrue(solves <= constraints);
+
+				var solveNanos = measure(data, steps, fullSolve);
+				var checkerNanos = measure(data, steps, checker::validate);
+				this.log.info(String.format(
+						"%2d inverters, %3d constraints | Solve: %10.0f ns/seq | FeasibilityChecker: %10.0f ns/seq "
+								+ "(%3d solves) | Speed-up: %5.1fx",
+						inverters, constraints, solveNanos, checkerNanos, solves, solveNanos / checkerNanos));
+			}
+		}
+	}
+
+	private static Data createData(int inverters) {
+		EssPower powerComponent = new EssPowerImpl();
+		var data = new Data();
+		for (var i = 0; i < inverters; i++) {
+			data.addEss(new DummyManagedSymmetricEss("ess" + i) //
+					.setPower(powerComponent) //
+					.withAllowedChargePower(-5000) //
+					.withAllowedDischargePower(8000) //
+					.withMaxApparentPower(12000) //
+					.withSoc(50));
+		}
+		return data;
+	}
+
+	private static Step[] createSteps(Random random, int inverters, int constraints) {
+		var result = new Step[constraints];
+		for (var i = 0; i < constraints; i++) {
+			var essId = "ess" + random.nextInt(inverters);
+			var pwr = random.nextBoolean() ? Pwr.ACTIVE : Pwr.REACTIVE;
+			if (i % 10 == 9) {
+				result[i] = new Step(essId, pwr, Relationship.EQUALS, random.nextInt(4000) - 2000);
+			} else if (random.nextBoolean()) {
+				result[i] = new Step(essId, pwr, Relationship.LESS_OR_EQUALS, random.nextInt(8000));
+			} else {
+				result[i] = new Step(essId, pwr, Relationship.GREATER_OR_EQUALS, -random.nextInt(5000));
+			}
+		}
+		return result;
+	}
+
+	private static double measure(Data data, Step[] steps, Validator validator) throws OpenemsException {
+		for (var i = 0; i < WARMUP; i++) {
+			run(data, steps, validator);
+		}
+		var start = System.nanoTime();
+		for (var i = 0; i < ITERATIONS; i++) {
+			run(data, steps, validator);
+		}
+		var duration = System.nanoTime() - start;
+		return (double) duration / ITERATIONS;
+	}
+
+	/**
+	 * Adds the Constraints of the given Steps within one Cycle.
+	 *
+	 * @param data      the {@link Data}
+	 * @param steps     the Steps
+	 * @param validator the {@link Validator}
+	 * @return the number of accepted Constraints
+	 * @throws OpenemsException on error
+	 */
+	private static int run(Data data, Step[] steps, Validator validator) throws OpenemsException {
+		var accepted = 0;
+		data.initializeCycle();
+		for (var step : steps) {
+			var constraint = ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "", step.essId(), Phase.ALL,
+					step.pwr(), step.relationship(), step.value());
+			var version = data.getVersion();
+			data.addConstraint(constraint);
+			try {
+				validator.validate(constraint, version);
+				accepted++;
+			} catch (OpenemsException e) {
+				data.removeConstraint(constraint);
+			}
+		}
+		return accepted;
+	}
+
+}
@@ -0,0 +1,101 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.core.power.data.ConstraintUtil;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.PowerException;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class FeasibilityCheckerTest {
+
+	private static Data createData() {
+		EssPower powerComponent = new EssPowerImpl();
+		var data = new Data();
+		data.addEss(new DummyManagedSymmetricEss("ess0") //
+				.setPower(powerComponent) //
+				.withAllowedChargePower(-5000) //
+				.withAllowedDischargePower(8000) //
+				.withMaxApparentPower(12000) //
+				.withSoc(50));
+		data.initializeCycle();
+		return data;
+	}
+
+	private static void add(Data data, FeasibilityChecker sut, Relationship relationship, double value)
+			throws OpenemsException {
+		var constraint = ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "", "ess0", Phase.ALL,
+				Pwr.ACTIVE, relationship, value);
+		var version = data.getVersion();
+		data.addConstraint(constraint);
+		sut.validate(constraint, version);
+	}
+
+	@Test
+	public void test() throws Exception {
+		var data = createData();
+		var sut = new FeasibilityChecker(data);
+
+		// First validation always solves
+		add(data, sut, Relationship.LESS_OR_EQUALS, 7000);
+		assertEquals(1, sut.getSolves());
+
+		// Satisfied by the last solution
+		add(data, sut, Relationship.LESS_OR_EQUALS, 6000);
+		assertEquals(1, sut.getSolves());
+		assertEquals(1, sut.getSkippedSolves());
+
+		// Cuts off the last solution
+		add(data, sut, Relationship.EQUALS, 3000);
+		assertEquals(2, sut.getSolves());
+
+		// Satisfied by the new solution
+		add(data, sut, Relationship.GREATER_OR_EQUALS, 2000);
+		assertEquals(2, sut.getSolves());
+		assertEquals(2, sut.getSkippedSolves());
+
+		// Not solvable
+		assertThrows(PowerException.class, () -> add(data, sut, Relationship.GREATER_OR_EQUALS, 4000));
+		assertEquals(3, sut.getSolves());
+
+		// Any other change requires a solve
+		data.initializeCycle();
+		add(data, sut, Relationship.LESS_OR_EQUALS, 6000);
+		assertEquals(4, sut.getSolves());
+
+		sut.resetCounters();
+		assertEquals(0, sut.getSolves());
+		assertEquals(0, sut.getSkippedSolves());
+	}
+
+	@Test
+	public void testIsSatisfied() throws Exception {
+		var data = createData();
+		var point = new double[data.getCoefficients().getNoOfCoefficients()];
+		var index = data.getCoefficient("ess0", Phase.ALL, Pwr.ACTIVE).getIndex();
+		point[index] = 1000;
+
+		assertTrue(FeasibilityChecker.isSatisfied(ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "",
+				"ess0", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 1000.0000001), point));
+		assertTrue(FeasibilityChecker.isSatisfied(ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "",
+				"ess0", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 1000), point));
+		assertFalse(FeasibilityChecker.isSatisfied(ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "",
+				"ess0", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 999), point));
+		assertFalse(FeasibilityChecker.isSatisfied(ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "",
+				"ess0", Phase.ALL, Pwr.ACTIVE, Relationship.GREATER_OR_EQUALS, 1001), point));
+
+		var disabled = ConstraintUtil.createSimpleConstraint(data.getCoefficients(), "", "ess0", Phase.ALL,
+				Pwr.ACTIVE, Relationship.GREATER_OR_EQUALS, 1001);
+		disabled.disable();
+		assertTrue(FeasibilityChecker.isSatisfied(disabled, point));
+	}
+
+}
@@ -0,0 +1,53 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class PowerExtremaTest {
+
+	@Test
+	public void test() throws Exception {
+		EssPower powerComponent = new EssPowerImpl();
+		var ess0 = new DummyManagedSymmetricEss("ess0") //
+				.setPower(powerComponent) //
+				.withAllowedChargePower(-5000) //
+				.withAllowedDischargePower(8000) //
+				.withMaxApparentPower(12000) //
+				.withSoc(50);
+		var data = new Data();
+		data.addEss(ess0);
+		data.initializeCycle();
+		var sut = new PowerExtrema(data);
+
+		assertEquals(8000, sut.get("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(-5000, sut.get("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE), 0.001);
+		assertEquals(8000, sut.get("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(2, sut.getSolves());
+		assertEquals(1, sut.getCacheHits());
+
+		// New Constraint invalidates the cache
+		var version = data.getVersion();
+		data.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.LESS_OR_EQUALS, 3000);
+		assertEquals(version + 1, data.getVersion());
+		assertEquals(3000, sut.get("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		assertEquals(3, sut.getSolves());
+
+		// Next Cycle
+		data.initializeCycle();
+		assertEquals(8000, sut.get("ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+		sut.resetCounters();
+		assertEquals(0, sut.getSolves());
+		assertEquals(0, sut.getCacheHits());
+
+		// Unknown Ess
+		assertEquals(0, sut.get("ess9", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE), 0.001);
+	}
+
+}
@@ -0,0 +1,161 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.power.api.SolverStrategy;
+import io.openems.edge.ess.test.AbstractDummyManagedSymmetricEss.SymmetricApplyPowerRecord;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.ess.test.DummyMetaEss;
+
+public class SolverTest {
+
+	private static final SolverStrategy[] STRATEGIES = { //
+			SolverStrategy.ALL_CONSTRAINTS, //
+			SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET, //
+			SolverStrategy.OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER, //
+			SolverStrategy.OPTIMIZE_BY_KEEPING_ALL_EQUAL };
+	private static final Pwr[] PWRS = Pwr.values();
+	private static final Relationship[] RELATIONSHIPS = Relationship.values();
+
+	private static class Setup {
+		private final Data data = new Data();
+		private final Solver solver = new Solver(this.data);
+		private final Map<String, SymmetricApplyPowerRecord> results = new HashMap<>();
+		private SolverStrategy solvedBy = null;
+		private boolean closedForm = false;
+
+		private Setup(int inverters, boolean closedFormEnabled) {
+			EssPower powerComponent = new EssPowerImpl();
+			for (var i = 0; i < inverters; i++) {
+				var essId = "ess" + i;
+				this.data.addEss(new DummyManagedSymmetricEss(essId) //
+						.setPower(powerComponent) //
+						.withAllowedChargePower(-5000) //
+						.withAllowedDischargePower(8000) //
+						.withMaxApparentPower(10000) //
+						.withSoc(30 + i * 20) //
+						.withSymmetricApplyPowerCallback(record -> this.results.put(essId, record)));
+			}
+			this.data.initializeCycle();
+			this.solver.setClosedFormEnabled(closedFormEnabled);
+			this.solver.onSolved((isSolved, duration, strategy) -> this.solvedBy = strategy);
+			this.solver.onSolveDuration((closedForm, duration) -> this.closedForm = closedForm);
+		}
+
+		private void addConstraint(String essId, Pwr pwr, Relationship relationship, double value)
+				throws OpenemsException {
+			this.data.addSimpleConstraint("", essId, Phase.ALL, pwr, relationship, value);
+		}
+	}
+
+	@Test
+	public void testEquivalence() throws OpenemsException {
+		var random = new Random(4711);
+		var closedFormSolves = 0;
+		var scenarios = 0;
+		for (var inverters : new int[] { 1, 3 }) {
+			for (var scenario = 0; scenario < 100; scenario++) {
+				var constraints = new Object[random.nextInt(5)][];
+				for (var i = 0; i < constraints.length; i++) {
+					constraints[i] = new Object[] { "ess" + random.nextInt(inverters), PWRS[random.nextInt(2)],
+							RELATIONSHIPS[random.nextInt(3)], (double) random.nextInt(16000) - 6000 };
+				}
+
+				for (var strategy : STRATEGIES) {
+					var closedForm = new Setup(inverters, true);
+					var linear = new Setup(inverters, false);
+					for (var c : constraints) {
+						closedForm.addConstraint((String) c[0], (Pwr) c[1], (Relationship) c[2], (double) c[3]);
+						linear.addConstraint((String) c[0], (Pwr) c[1], (Relationship) c[2], (double) c[3]);
+					}
+					closedForm.solver.solve(strategy);
+					linear.solver.solve(strategy);
+
+					assertEquals(linear.results, closedForm.results);
+					assertFalse(linear.closedForm);
+					if (closedForm.closedForm) {
+						assertEquals(strategy, closedForm.solvedBy);
+						closedFormSolves++;
+					}
+					scenarios++;
+				}
+			}
+		}
+		// Most of the random scenarios are simple
+		assertTrue(closedFormSolves > scenarios / 2);
+	}
+
+	@Test
+	public void testSimpleTopology() throws OpenemsException {
+		var sut = new Setup(1, true);
+		sut.addConstraint("ess0", Pwr.ACTIVE, Relationship.EQUALS, 3000);
+		sut.solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		assertTrue(sut.closedForm);
+		assertEquals(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET, sut.solvedBy);
+		assertEquals(new SymmetricApplyPowerRecord(3000, 0), sut.results.get("ess0"));
+
+		sut = new Setup(2, true);
+		sut.addConstraint("ess0", Pwr.ACTIVE, Relationship.GREATER_OR_EQUALS, 2000);
+		sut.addConstraint("ess1", Pwr.ACTIVE, Relationship.GREATER_OR_EQUALS, 2000);
+		sut.solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		assertTrue(sut.closedForm);
+		assertEquals(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET, sut.solvedBy);
+		assertEquals(new SymmetricApplyPowerRecord(2000, 0), sut.results.get("ess0"));
+		assertEquals(new SymmetricApplyPowerRecord(2000, 0), sut.results.get("ess1"));
+
+		// Equal distribution is not feasible
+		sut = new Setup(2, true);
+		sut.addConstraint("ess0", Pwr.ACTIVE, Relationship.EQUALS, 2000);
+		sut.solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		assertFalse(sut.closedForm);
+	}
+
+	@Test
+	public void testComplexTopology() throws OpenemsException {
+		// MetaEss
+		var powerComponent = new EssPowerImpl();
+		var ess1 = new DummyManagedSymmetricEss("ess1") //
+				.setPower(powerComponent) //
+				.withAllowedChargePower(-5000) //
+				.withAllowedDischargePower(8000) //
+				.withMaxApparentPower(10000) //
+				.withSoc(50);
+		var ess2 = new DummyManagedSymmetricEss("ess2") //
+				.setPower(powerComponent) //
+				.withAllowedChargePower(-5000) //
+				.withAllowedDischargePower(8000) //
+				.withMaxApparentPower(10000) //
+				.withSoc(50);
+		var data = new Data();
+		data.addEss(ess1);
+		data.addEss(ess2);
+		data.addEss(new DummyMetaEss("ess0", ess1, ess2));
+		data.initializeCycle();
+		var solver = new Solver(data);
+		var closedForm = new boolean[1];
+		solver.onSolveDuration((isClosedForm, duration) -> closedForm[0] = isClosedForm);
+		data.addSimpleConstraint("", "ess0", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 4000);
+		solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		assertFalse(closedForm[0]);
+
+		// Asymmetric-Mode
+		var sut = new Setup(1, true);
+		sut.data.setSymmetricMode(false);
+		sut.addConstraint("ess0", Pwr.ACTIVE, Relationship.EQUALS, 3000);
+		sut.solver.solve(SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET);
+		assertFalse(sut.closedForm);
+	}
+
+}
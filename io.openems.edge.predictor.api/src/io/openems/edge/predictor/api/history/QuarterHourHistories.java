@@ -0,0 +1,61 @@
+package io.openems.edge.predictor.api.history;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.api.Timedata;
+
+/**
+ * Shares one {@link QuarterHourHistory} per {@link Timedata} and
+ * {@link ChannelAddress} between all Predictors.
+ *
+ * <p>
+ * Histories are released together with their {@link Timedata} instance. If the
+ * OpenEMS data directory is configured, the histories are stored in its
+ * 'predictor' sub-directory by Timedata-ID, so that they are restored for a
+ * new instance of the same Timedata.
+ */
+public class QuarterHourHistories {
+
+	protected static final String HISTORY_PATH = "predictor";
+
+	private static final Map<Timedata, Map<ChannelAddress, QuarterHourHistory>> HISTORIES = new WeakHashMap<>();
+
+	private QuarterHourHistories() {
+	}
+
+	/**
+	 * Gets the shared {@link QuarterHourHistory}.
+	 *
+	 * @param timedata       the {@link Timedata} service that provides the values
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return the {@link QuarterHourHistory}
+	 */
+	public static QuarterHourHistory get(Timedata timedata, ChannelAddress channelAddress) {
+		synchronized (HISTORIES) {
+			return HISTORIES.computeIfAbsent(timedata, key -> new HashMap<>()) //
+					.computeIfAbsent(channelAddress,
+							key -> new QuarterHourHistory(channelAddress, getFile(timedata.id(), channelAddress)));
+		}
+	}
+
+	private static Optional<Path> getFile(String timedataId, ChannelAddress channelAddress) {
+		var dataDir = OpenemsConstants.getOpenemsDataDir();
+		if (dataDir.isBlank()) {
+			return Optional.empty();
+		}
+		return Optional.of(Paths.get(//
+				dataDir, //
+				HISTORY_PATH, //
+				timedataId, //
+				channelAddress.getComponentId(), //
+				channelAddress.getChannelId()));
+	}
+
+}
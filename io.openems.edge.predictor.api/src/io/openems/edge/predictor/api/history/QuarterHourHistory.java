@@ -0,0 +1,214 @@
+package io.openems.edge.predictor.api.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.api.Timedata;
+
+/**
+ * Holds a rolling history of quarter-hourly values of one Channel.
+ *
+ * <p>
+ * The history is filled from {@link Timedata} on first access. Afterwards only
+ * the quarters that passed since the previous access are queried and appended;
+ * the most recent quarter is always queried again, because its value might not
+ * have been final at the time of the previous query. The capacity grows to the
+ * largest number of quarters that was requested.
+ *
+ * <p>
+ * If a file is given, the history is stored after every update and restored on
+ * creation, so that a restart does not require to query the full history
+ * again.
+ */
+public class QuarterHourHistory {
+
+	/** Marks a quarter without value. */
+	public static final int NO_VALUE = Integer.MIN_VALUE;
+
+	/** Number of most recent quarters that are always queried again. */
+	protected static final int REFRESH_QUARTERS = 1;
+
+	private static final int SECONDS_PER_QUARTER = 15 * 60;
+	private static final int FILE_VERSION = 1;
+	private static final Resolution RESOLUTION = new Resolution(15, ChronoUnit.MINUTES);
+
+	private final Logger log = LoggerFactory.getLogger(QuarterHourHistory.class);
+
+	private final ChannelAddress channelAddress;
+	private final Optional<Path> file;
+
+	/**
+	 * Values of the quarters from {@link #end} - values.length (inclusive) to
+	 * {@link #end} (exclusive); quarters are counted from epoch.
+	 */
+	private int[] values = {};
+
+	/** Quarter after the newest value; exclusive. */
+	private long end = 0;
+
+	public QuarterHourHistory(ChannelAddress channelAddress, Optional<Path> file) {
+		this.channelAddress = channelAddress;
+		this.file = file;
+		file.ifPresent(this::load);
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress}.
+	 *
+	 * @return the {@link ChannelAddress}
+	 */
+	public ChannelAddress getChannelAddress() {
+		return this.channelAddress;
+	}
+
+	/**
+	 * Gets the values of the given number of quarters up to and including the
+	 * quarter of 'now'; updates the history from {@link Timedata} if required.
+	 *
+	 * @param timedata the {@link Timedata} service
+	 * @param now      the current time
+	 * @param quarters the number of quarters
+	 * @return an array of values, oldest first; {@link #NO_VALUE} for quarters
+	 *         without value
+	 * @throws OpenemsNamedException on query error
+	 */
+	public synchronized int[] getValues(Timedata timedata, ZonedDateTime now, int quarters)
+			throws OpenemsNamedException {
+		var end = toQuarter(now.toInstant()) + 1;
+		if (end != this.end || quarters > this.values.length) {
+			this.update(timedata, now.getZone(), end, Math.max(quarters, this.values.length));
+		}
+		return Arrays.copyOfRange(this.values, this.values.length - quarters, this.values.length);
+	}
+
+	/**
+	 * Updates the history to the given end quarter and capacity.
+	 *
+	 * @param timedata the {@link Timedata} service
+	 * @param zone     the {@link ZoneId} for queries
+	 * @param end      the new end quarter; exclusive
+	 * @param capacity the new number of quarters
+	 * @throws OpenemsNamedException on query error; the history is not changed
+	 */
+	private void update(Timedata timedata, ZoneId zone, long end, int capacity) throws OpenemsNamedException {
+		final var start = end - capacity;
+		final var values = new int[capacity];
+		Arrays.fill(values, NO_VALUE);
+
+		// Keep known values; the most recent ones only if time did not move on
+		var keepFrom = Math.max(start, this.end - this.values.length);
+		var keepTo = end == this.end ? end : Math.min(end, this.end - REFRESH_QUARTERS);
+		if (keepFrom < keepTo) {
+			System.arraycopy(this.values, (int) (keepFrom - (this.end - this.values.length)), //
+					values, (int) (keepFrom - start), (int) (keepTo - keepFrom));
+			this.query(timedata, zone, start, keepFrom, values, start);
+			this.query(timedata, zone, keepTo, end, values, start);
+		} else {
+			this.query(timedata, zone, start, end, values, start);
+		}
+
+		this.values = values;
+		this.end = end;
+		this.file.ifPresent(this::save);
+	}
+
+	private void query(Timedata timedata, ZoneId zone, long fromQuarter, long toQuarter, int[] values,
+			long firstQuarter) throws OpenemsNamedException {
+		if (fromQuarter >= toQuarter) {
+			return;
+		}
+		// Start one quarter earlier; Timedata implementations differ in whether
+		// 'fromDate' is inclusive. Surplus results are filtered below.
+		var result = timedata.queryHistoricData(null, toZonedDateTime(fromQuarter - 1, zone),
+				toZonedDateTime(toQuarter, zone), Set.of(this.channelAddress), RESOLUTION);
+		for (var entry : result.entrySet()) {
+			var quarter = toQuarter(entry.getKey().toInstant());
+			if (quarter < fromQuarter || quarter >= toQuarter) {
+				continue;
+			}
+			var value = entry.getValue().get(this.channelAddress);
+			if (value == null || value.isJsonNull()) {
+				continue;
+			}
+			values[(int) (quarter - firstQuarter)] = value.getAsInt();
+		}
+	}
+
+	/**
+	 * Restores the history from a file.
+	 *
+	 * @param file the {@link Path}
+	 */
+	private void load(Path file) {
+		if (!Files.exists(file)) {
+			return;
+		}
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION) {
+				return;
+			}
+			var end = in.readLong();
+			var values = new int[in.readInt()];
+			for (var i = 0; i < values.length; i++) {
+				values[i] = in.readInt();
+			}
+			this.values = values;
+			this.end = end;
+		} catch (IOException e) {
+			this.log.warn("Unable to read history of [" + this.channelAddress + "] from [" + file + "]: "
+					+ e.getMessage());
+		}
+	}
+
+	/**
+	 * Stores the history in a file.
+	 *
+	 * @param file the {@link Path}
+	 */
+	private void save(Path file) {
+		var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(file.getParent());
+			try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(FILE_VERSION);
+				out.writeLong(this.end);
+				out.writeInt(this.values.length);
+				for (var value : this.values) {
+					out.writeInt(value);
+				}
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			this.log.warn("Unable to write history of [" + this.channelAddress + "] to [" + file + "]: "
+					+ e.getMessage());
+		}
+	}
+
+	private static long toQuarter(Instant instant) {
+		return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_QUARTER);
+	}
+
+	private static ZonedDateTime toZonedDateTime(long quarter, ZoneId zone) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochSecond(quarter * SECONDS_PER_QUARTER), zone);
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.openems.edge.predictor.api.history;
+
+import static io.openems.edge.predictor.api.history.QuarterHourHistory.NO_VALUE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.test.DummyTimedata;
+
+public class QuarterHourHistoryTest {
+
+	private static final ChannelAddress METER0_ACTIVE_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static class MyTimedata extends DummyTimedata {
+
+		private final List<String> queries = new ArrayList<>();
+
+		public MyTimedata() {
+			super("timedata0");
+			// One value per quarter; value is the index of the quarter
+			for (var i = 0; i < 3 * 96; i++) {
+				if (i != 100) {
+					this.add(START.plusMinutes(i * 15), METER0_ACTIVE_POWER, i);
+				}
+			}
+		}
+
+		@Override
+		public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
+				ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, Resolution resolution)
+				throws OpenemsNamedException {
+			this.queries.add(fromDate.toLocalTime() + "-" + toDate.toLocalTime());
+			return super.queryHistoricData(edgeId, fromDate, toDate, channels, resolution);
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		var timedata = new MyTimedata();
+		var sut = new QuarterHourHistory(METER0_ACTIVE_POWER, Optional.empty());
+
+		// Initial query
+		var now = START.plusDays(2).plusMinutes(7);
+		assertArrayEquals(new int[] { 189, 190, 191, 192 }, sut.getValues(timedata, now, 4));
+		assertEquals(List.of("23:00-00:15"), timedata.queries);
+
+		// Same quarter
+		assertArrayEquals(new int[] { 191, 192 }, sut.getValues(timedata, now.plusMinutes(5), 2));
+		assertEquals(1, timedata.queries.size());
+
+		// Next quarter: refresh last quarter and append
+		now = now.plusMinutes(15);
+		assertArrayEquals(new int[] { 190, 191, 192, 193 }, sut.getValues(timedata, now, 4));
+		assertEquals("23:45-00:30", timedata.queries.get(1));
+
+		// Grow: query older quarters
+		var values = sut.getValues(timedata, now, 96);
+		assertEquals("00:15-23:30", timedata.queries.get(2));
+		assertEquals(98, values[0]);
+		assertEquals(NO_VALUE, values[2]);
+		assertEquals(193, values[95]);
+
+		// Gap is larger than the capacity: query all
+		sut.getValues(timedata, now.plusDays(1), 2);
+		assertEquals("00:15-00:30", timedata.queries.get(3));
+		assertEquals(4, timedata.queries.size());
+	}
+
+	@Test
+	public void testFile() throws Exception {
+		var timedata = new MyTimedata();
+		var file = this.folder.getRoot().toPath().resolve("timedata0").resolve("meter0").resolve("ActivePower");
+		var now = START.plusDays(1);
+
+		var values = new QuarterHourHistory(METER0_ACTIVE_POWER, Optional.of(file)) //
+				.getValues(timedata, now, 96);
+		assertEquals(1, timedata.queries.size());
+
+		// Restored from file
+		var sut = new QuarterHourHistory(METER0_ACTIVE_POWER, Optional.of(file));
+		assertArrayEquals(values, sut.getValues(timedata, now, 96));
+		assertEquals(1, timedata.queries.size());
+	}
+
+}
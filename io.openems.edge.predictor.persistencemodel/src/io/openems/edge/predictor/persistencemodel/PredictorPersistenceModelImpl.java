@@ -1,13 +1,8 @@
 package io.openems.edge.predictor.persistencemodel;
 
+import static io.openems.edge.predictor.api.history.QuarterHourHistory.NO_VALUE;
+
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.SortedMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
 
 import org.apache.commons.math3.stat.regression.SimpleRegression;
 import org.osgi.service.component.ComponentContext;
@@ -20,19 +15,13 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
-import com.google.common.collect.Streams;
-import com.google.common.util.concurrent.AtomicDouble;
-import com.google.gson.JsonElement;
-
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.predictor.api.history.QuarterHourHistories;
 import io.openems.edge.predictor.api.oneday.AbstractPredictor24Hours;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
 import io.openems.edge.predictor.api.oneday.Predictor24Hours;
@@ -88,53 +77,45 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor24Hours
 	@Override
 	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
 		var now = ZonedDateTime.now(this.componentManager.getClock());
-		var fromDate = now.minus(24 * 60 + EXTRA_QUERY_QUARTERS * 15, ChronoUnit.MINUTES);
 
-		// Query database
-		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		// Get the last day from the shared history
+		final int[] data;
 		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
-					new Resolution(15, ChronoUnit.MINUTES));
+			data = QuarterHourHistories.get(this.timedata, channelAddress) //
+					.getValues(this.timedata, now, Prediction24Hours.NUMBER_OF_VALUES + EXTRA_QUERY_QUARTERS);
 		} catch (OpenemsNamedException e) {
 			this.logError(this.log, e.getMessage());
 			e.printStackTrace();
 			return Prediction24Hours.EMPTY;
 		}
 
-		// Extract data
-		var data = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				}).toList();
-
 		// Apply regression for ultra-short-term prediction
-		final var regression = this.getRegressionPrediction(data);
+		final var regression = getRegressionPrediction(data);
 
-		final var factor = this.getSmoothFactor(data);
+		final var factor = getSmoothFactor(data);
 
 		final double reduce = -1. / SMOOTH_APPLY_QUARTERS;
-		final var i = new AtomicDouble(1.);
+		var reduceFactor = 1.;
 
 		// Prepare and return result
-		var result = Streams.concat(//
-				// Ultra-short term prediction (by regression)
-				regression.stream(),
-				// Apply factor
-				data.stream() //
-						.skip(EXTRA_QUERY_QUARTERS + REGRESSION_APPLY_QUARTERS) //
-						.limit(SMOOTH_APPLY_QUARTERS) //
-						.map(v -> v == null ? null : (int) Math.round(v * reduceFactor(factor, i.getAndAdd(reduce)))), //
-				// Keep remaining
-				data.stream() //
-						.skip(EXTRA_QUERY_QUARTERS + REGRESSION_APPLY_QUARTERS + SMOOTH_APPLY_QUARTERS) //
-		).toArray(Integer[]::new);
+		var result = new Integer[data.length - EXTRA_QUERY_QUARTERS];
+		var i = 0;
+		// Ultra-short term prediction (by regression)
+		for (var value : regression) {
+			result[i++] = value;
+		}
+		// Apply factor
+		for (; i < REGRESSION_APPLY_QUARTERS + SMOOTH_APPLY_QUARTERS; i++) {
+			var value = data[EXTRA_QUERY_QUARTERS + i];
+			result[i] = value == NO_VALUE ? null
+					: (int) Math.round(value * reduceFactor(factor, reduceFactor));
+			reduceFactor += reduce;
+		}
+		// Keep remaining
+		for (; i < result.length; i++) {
+			var value = data[EXTRA_QUERY_QUARTERS + i];
+			result[i] = value == NO_VALUE ? null : value;
+		}
 
 		return new Prediction24Hours(result);
 	}
@@ -143,30 +124,27 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor24Hours
 	 * Generate a ultra-short-term prediction purely based on regression.
 	 * 
 	 * @param data the timedata
-	 * @return the list of predictions
+	 * @return the predictions
 	 */
-	private List<Integer> getRegressionPrediction(List<Integer> data) {
+	private static Integer[] getRegressionPrediction(int[] data) {
 		final var regression = new SimpleRegression();
-		final var counter = new AtomicInteger(0);
-		data.stream() //
-				.skip(data.size() - REGRESSION_QUERY_QUARTERS) //
-				.forEach(v -> {
-					var i = counter.incrementAndGet();
-					if (v == null) {
-						return;
-					}
-					regression.addData(i, v);
-				});
-		var start = counter.incrementAndGet();
-		return IntStream.range(start, start + REGRESSION_APPLY_QUARTERS) //
-				.mapToObj(i -> {
-					var p = regression.predict(i);
-					if (Double.isNaN(i)) {
-						return null; // TODO use proper value
-					}
-					return (int) Math.round(p);
-				}) //
-				.toList();
+		var x = 0;
+		for (var i = data.length - REGRESSION_QUERY_QUARTERS; i < data.length; i++) {
+			x++;
+			if (data[i] == NO_VALUE) {
+				continue;
+			}
+			regression.addData(x, data[i]);
+		}
+		var result = new Integer[REGRESSION_APPLY_QUARTERS];
+		for (var i = 0; i < result.length; i++) {
+			var p = regression.predict(x + 1 + i);
+			if (!Double.isNaN(p)) {
+				// NaN if there are less than two values
+				result[i] = (int) Math.round(p);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -175,19 +153,11 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor24Hours
 	 * @param data the timedata
 	 * @return the smooth factor
 	 */
-	private double getSmoothFactor(List<Integer> data) {
-		var predicted = data.stream() //
-				.limit(SMOOTH_QUERY_QUARTERS) //
-				.filter(Objects::nonNull) //
-				.mapToInt(Integer::intValue) //
-				.average();
-		var actual = Lists.reverse(data).stream() //
-				.limit(SMOOTH_QUERY_QUARTERS) //
-				.filter(Objects::nonNull) //
-				.mapToInt(Integer::intValue) //
-				.average();
-		if (actual.isPresent() && predicted.isPresent() && predicted.getAsDouble() != 0) {
-			var f = actual.getAsDouble() / predicted.getAsDouble();
+	private static double getSmoothFactor(int[] data) {
+		var predicted = average(data, 0, SMOOTH_QUERY_QUARTERS);
+		var actual = average(data, data.length - SMOOTH_QUERY_QUARTERS, data.length);
+		if (!Double.isNaN(actual) && !Double.isNaN(predicted) && predicted != 0) {
+			var f = actual / predicted;
 			if (f <= 0) {
 				return 1.; // Disallow zero or negative
 			} else if (f < 0 && f > -0.1) { // Avoid small negative number
@@ -202,6 +172,26 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor24Hours
 		}
 	}
 
+	/**
+	 * Gets the average of the available values in a range.
+	 *
+	 * @param data the timedata
+	 * @param from the first index; inclusive
+	 * @param to   the last index; exclusive
+	 * @return the average; NaN if no value is available
+	 */
+	private static double average(int[] data, int from, int to) {
+		var sum = 0L;
+		var count = 0;
+		for (var i = from; i < to; i++) {
+			if (data[i] != NO_VALUE) {
+				sum += data[i];
+				count++;
+			}
+		}
+		return count == 0 ? Double.NaN : (double) sum / count;
+	}
+
 	/**
 	 * Steadily reduces the original factor to 1.
 	 * 
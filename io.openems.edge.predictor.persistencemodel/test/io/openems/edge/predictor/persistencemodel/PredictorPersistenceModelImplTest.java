@@ -1,6 +1,7 @@
 package io.openems.edge.predictor.persistencemodel;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.time.Instant;
 import java.time.ZoneId;
@@ -106,4 +107,23 @@ public class PredictorPersistenceModelImplTest {
 		// System.out.println(Stream.of(prediction.getValues()).map(String::valueOf).collect(Collectors.joining(",\n")));
 	}
 
+	@Test
+	public void testNoData() throws Exception {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* starts at 1. January 2020 00:00:00 */,
+				ZoneOffset.UTC);
+		var sut = new PredictorPersistenceModelImpl();
+
+		new ComponentTest(sut) //
+				.addReference("timedata", new DummyTimedata(TIMEDATA_ID)) //
+				.addReference("componentManager", new DummyComponentManager(clock)) //
+				.activate(MyConfig.create() //
+						.setId(PREDICTOR_ID) //
+						.setChannelAddresses(METER1_ACTIVE_POWER.toString()) //
+						.build());
+
+		// Regression without values is not defined
+		var p = sut.get24HoursPrediction(METER1_ACTIVE_POWER).getValues();
+		assertNull(p[0]);
+	}
+
 }
@@ -1,11 +1,6 @@
 package io.openems.edge.predictor.similardaymodel;
 
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.SortedMap;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -17,16 +12,14 @@ import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Sets;
-import com.google.gson.JsonElement;
-
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.predictor.api.history.QuarterHourHistories;
+import io.openems.edge.predictor.api.history.QuarterHourHistory;
 import io.openems.edge.predictor.api.oneday.AbstractPredictor24Hours;
 import io.openems.edge.predictor.api.oneday.Prediction24Hours;
 import io.openems.edge.predictor.api.oneday.Predictor24Hours;
@@ -89,133 +82,48 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor24Hours
 
 	@Override
 	protected Prediction24Hours createNewPrediction(ChannelAddress channelAddress) {
-
 		var now = ZonedDateTime.now(this.componentManager.getClock());
-		// From now time to Last 4 weeks
-		var fromDate = now.minus(this.config.numOfWeeks(), ChronoUnit.WEEKS);
-
-		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		var numOfWeeks = this.config.numOfWeeks();
+		var quartersPerWeek = NUM_OF_DAYS_OF_WEEK * Prediction24Hours.NUMBER_OF_VALUES;
+		if (numOfWeeks < 1) {
+			return Prediction24Hours.EMPTY;
+		}
 
-		// Query database
+		// Get the last weeks from the shared history
+		final int[] values;
 		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
-					new Resolution(15, ChronoUnit.MINUTES));
+			values = QuarterHourHistories.get(this.timedata, channelAddress) //
+					.getValues(this.timedata, now, numOfWeeks * quartersPerWeek);
 		} catch (OpenemsNamedException e) {
 			this.logError(this.log, e.getMessage());
 			e.printStackTrace();
 			return Prediction24Hours.EMPTY;
 		}
 
-		// Extract data
-		List<Integer> result = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				})
-				// get as Array
-				.toList();
-
-		// Num of Data per day
-		// TODO change this variable based on the resolution which is 900 in query
-		var numOfDataPerDay = 96;
-
-		var mainData = getSlicedArrayList(result, numOfDataPerDay);
-
-		// Getting the indexes of the last four similar days
-		var lastFourSimilarDays = getCorrectIndexes(mainData, NUM_OF_DAYS_OF_WEEK, PREDCTION_FOR_ONE_DAY);
-
-		// Getting the average predictions
-		var nextOneDayPredictions = getAverage(lastFourSimilarDays);
-
-		return new Prediction24Hours(nextOneDayPredictions.stream().toArray(Integer[]::new));
-	}
-
-	/**
-	 * This methods takes a List of integers and returns a 2dimension List of
-	 * integers, specific to correct days.
-	 *
-	 * @param arrlist array list of all data.
-	 * @param n       number of data per day.
-	 * @return 2dimension array list
-	 */
-	private static List<List<Integer>> getSlicedArrayList(List<Integer> arrlist, int n) {
-		List<List<Integer>> twoDimensionalArrayList = new ArrayList<>();
-		for (var i = 0; i < arrlist.size(); i = i + n) {
-			twoDimensionalArrayList.add(arrlist.subList(i, i + n));
-		}
-		return twoDimensionalArrayList;
-
+		return new Prediction24Hours(getAverage(values, numOfWeeks, quartersPerWeek));
 	}
 
 	/**
-	 * This methods get the average of data based on the indexes.
+	 * Gets the average of the same quarters of the next day in previous weeks.
 	 *
-	 * @param twoDimensionalArrayList The actual data.
-	 * @return Average values of the last four days.
+	 * @param values          the values of the previous weeks, oldest first
+	 * @param numOfWeeks      the number of weeks
+	 * @param quartersPerWeek the number of quarters per week
+	 * @return the average values; missing values count as zero
 	 */
-	private static List<Integer> getAverage(List<List<Integer>> twoDimensionalArrayList) {
-		List<Integer> averageList = new ArrayList<>();
-		var rows = twoDimensionalArrayList.size();
-		var cols = twoDimensionalArrayList.get(0).size();
-		for (var i = 0; i < cols; i++) {
-			var sumRow = 0;
-			for (var j = 0; j < rows; j++) {
-				if (twoDimensionalArrayList.get(j).get(i) != null) {
-					sumRow += twoDimensionalArrayList.get(j).get(i);
+	private static Integer[] getAverage(int[] values, int numOfWeeks, int quartersPerWeek) {
+		var result = new Integer[Prediction24Hours.NUMBER_OF_VALUES];
+		for (var quarter = 0; quarter < result.length; quarter++) {
+			var sum = 0;
+			for (var week = 0; week < numOfWeeks; week++) {
+				var value = values[week * quartersPerWeek + quarter];
+				if (value != QuarterHourHistory.NO_VALUE) {
+					sum += value;
 				}
 			}
-			averageList.add(sumRow / twoDimensionalArrayList.size());
+			result[quarter] = sum / numOfWeeks;
 		}
-		return averageList;
-
-	}
-
-	/**
-	 * Data manipulation, to get the proper indexes.
-	 *
-	 * @param mainData      all data points.
-	 * @param numDaysOfWeek total number of days of week.
-	 * @param whichDay      current actual day.
-	 * @return proper indexed days.
-	 */
-	private static List<List<Integer>> getCorrectIndexes(List<List<Integer>> mainData, int numDaysOfWeek,
-			int whichDay) {
-		List<Integer> indexes = new ArrayList<>();
-		List<List<Integer>> days = new ArrayList<>();
-		for (var i = 0; i < mainData.size(); i++) {
-			if (isMember(whichDay, numDaysOfWeek, i)) {
-				indexes.add(i);
-			}
-		}
-
-		for (Integer i : indexes) {
-			days.add(mainData.get(i));
-		}
-
-		return days;
-
-	}
-
-	/**
-	 * Check if the day belongs to correct day.
-	 *
-	 * @param whichDay      current actual day.
-	 * @param numDaysOfWeek total number of days of week.
-	 * @param nthTerm       nthterm
-	 * @return boolean value to represent is value member of correct day
-	 */
-	private static boolean isMember(int whichDay, int numDaysOfWeek, int nthTerm) {
-		if (numDaysOfWeek == 0) {
-			return nthTerm == whichDay;
-		}
-		return (nthTerm - whichDay) % numDaysOfWeek == 0 && (nthTerm - whichDay) / numDaysOfWeek >= 0;
-
+		return result;
 	}
 
 }
@@ -105,11 +105,11 @@ public class CsvUtils {
 
 	private static void readRecord(DataContainer result, CsvFormat csvFormat, float factor, String line) {
 		var values = line.split(csvFormat.lineSeparator);
-		var floatValues = new Float[values.length];
+		var floatValues = new float[values.length];
 		for (var i = 0; i < values.length; i++) {
 			var value = values[i];
 			if (value == null || value.isEmpty()) {
-				value = null;
+				floatValues[i] = DataContainer.NO_VALUE;
 			} else {
 				if (csvFormat.decimalSeparator != ".") {
 					value = value.replace(csvFormat.decimalSeparator, ".");
@@ -8,8 +8,11 @@ import java.util.Set;
 
 public class DataContainer {
 
+	/** Marks a missing value in a record. */
+	public static final float NO_VALUE = Float.NaN;
+
 	private final HashMap<String, Integer> keys = new HashMap<>();
-	private final List<Float[]> records = new ArrayList<>();
+	private final List<float[]> records = new ArrayList<>();
 	private int currentIndex = -1;
 
 	/**
@@ -35,9 +38,9 @@ public class DataContainer {
 	/**
 	 * Adds a Record to the end.
 	 *
-	 * @param record the record values
+	 * @param record the record values; {@link #NO_VALUE} for missing values
 	 */
-	public void addRecord(Float[] record) {
+	public void addRecord(float[] record) {
 		this.records.add(record);
 	}
 
@@ -46,7 +49,7 @@ public class DataContainer {
 	 *
 	 * @return the current record
 	 */
-	public Float[] getCurrentRecord() {
+	public float[] getCurrentRecord() {
 		if (this.currentIndex == -1) {
 			this.currentIndex = 0;
 		}
@@ -54,29 +57,55 @@ public class DataContainer {
 	}
 
 	/**
-	 * Gets the value for the key from the current record. If no keys exist, get the
-	 * first value of the record.
+	 * Gets the index of the key in a record. If no keys exist, this is the index
+	 * of the first value of the record.
 	 *
 	 * @param key the Channel-Id
-	 * @return the record value
+	 * @return the index; -1 if the key does not exist
 	 */
-	public Optional<Float> getValue(String key) {
-		Integer index;
+	public int getIndex(String key) {
 		if (this.keys.isEmpty()) {
 			// no keys -> first value
-			index = 0;
-		} else {
-			// find index of key
-			index = this.keys.get(key);
-			if (index == null) {
-				return Optional.empty();
-			}
+			return 0;
+		}
+		// find index of key
+		var index = this.keys.get(key);
+		if (index == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the value at the index from the current record.
+	 *
+	 * @param index the index, see {@link #getIndex(String)}
+	 * @return the record value; {@link #NO_VALUE} if there is none
+	 */
+	public float getValue(int index) {
+		if (index < 0) {
+			return NO_VALUE;
 		}
 		var record = this.getCurrentRecord();
 		if (index < record.length) {
-			return Optional.ofNullable(record[index]);
+			return record[index];
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Gets the value for the key from the current record. If no keys exist, get the
+	 * first value of the record.
+	 *
+	 * @param key the Channel-Id
+	 * @return the record value
+	 */
+	public Optional<Float> getValue(String key) {
+		var value = this.getValue(this.getIndex(key));
+		if (Float.isNaN(value)) {
+			return Optional.empty();
 		}
-		return Optional.empty();
+		return Optional.of(value);
 	}
 
 	/**
@@ -41,6 +41,7 @@ import io.openems.common.utils.JsonUtils;
  *         "end": "yyyy-mm-ddTHH:MM:00.00Z", // ISO_INSTANT
  *         "timeleap": number [s],
  *         "executeCycleTwice": boolean // Execute every Cycle twice to simulate immediate execution
+ *         "headless": boolean // Execute Cycles directly one after the other, without Core.Cycle
  *       },
  *       "profiles": {
  *         "meter0/ActivePower": number[],
@@ -71,19 +72,23 @@ public class ExecuteSimulationRequest extends JsonrpcRequest {
 			var end = DateUtils.parseZonedDateTimeOrError(JsonUtils.getAsString(j, "end"));
 			var timeleapPerCycle = JsonUtils.getAsInt(j, "timeleapPerCycle");
 			boolean executeCycleTwice = JsonUtils.getAsOptionalBoolean(j, "executeCycleTwice").orElse(false);
-			return new Clock(start, end, timeleapPerCycle, executeCycleTwice);
+			boolean headless = JsonUtils.getAsOptionalBoolean(j, "headless").orElse(false);
+			return new Clock(start, end, timeleapPerCycle, executeCycleTwice, headless);
 		}
 
 		public final ZonedDateTime start;
 		public final ZonedDateTime end;
 		public final int timeleapPerCycle;
 		public final boolean executeCycleTwice;
+		public final boolean headless;
 
-		private Clock(ZonedDateTime start, ZonedDateTime end, int timeleapPerCycle, boolean executeCycleTwice) {
+		private Clock(ZonedDateTime start, ZonedDateTime end, int timeleapPerCycle, boolean executeCycleTwice,
+				boolean headless) {
 			this.start = start;
 			this.end = end;
 			this.timeleapPerCycle = timeleapPerCycle;
 			this.executeCycleTwice = executeCycleTwice;
+			this.headless = headless;
 		}
 	}
 
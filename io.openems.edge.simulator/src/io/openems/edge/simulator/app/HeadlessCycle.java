@@ -0,0 +1,178 @@
+package io.openems.edge.simulator.app;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.edge.common.channel.stream.ChannelStream;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.controller.api.Controller;
+import io.openems.edge.scheduler.api.Scheduler;
+
+/**
+ * Executes the phases of an OpenEMS Edge Cycle directly on the calling thread.
+ *
+ * <p>
+ * In 'headless' mode the {@link SimulatorAppImpl} does not configure the
+ * Core.Cycle and wait for its events. Instead every Cycle is executed as soon
+ * as the previous one finished - in the same order as by the Core.Cycle, but
+ * without EventAdmin round trips. The {@link ChannelStream} of the Core.Cycle
+ * is published after the process image was switched, so that data exporters
+ * also receive the values of headless Cycles.
+ *
+ * <p>
+ * The enabled Components are collected once on creation; Components that are
+ * created or deleted afterwards are not considered.
+ */
+public class HeadlessCycle {
+
+	private static final Event BEFORE_PROCESS_IMAGE = event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+	private static final Event AFTER_PROCESS_IMAGE = event(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+	private static final Event BEFORE_CONTROLLERS = event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+	private static final Event AFTER_CONTROLLERS = event(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+	private static final Event BEFORE_WRITE = event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+	private static final Event EXECUTE_WRITE = event(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+	private static final Event AFTER_WRITE = event(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+
+	private final Logger log = LoggerFactory.getLogger(HeadlessCycle.class);
+
+	private final ComponentManager componentManager;
+	private final ChannelStream channelStream;
+	private final List<OpenemsComponent> enabledComponents;
+	private final OpenemsComponent[] components;
+	private final EventHandler[] eventHandlers;
+	private final Scheduler[] schedulers;
+	private final Map<String, Controller> controllers = new HashMap<>();
+	private final Sum sum;
+
+	/**
+	 * Collects the enabled Components of the {@link ComponentManager}.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param channelStream    the {@link ChannelStream} to publish the Channel
+	 *                         values to
+	 * @param self             a Component that should not take part in the Cycle,
+	 *                         i.e. the caller itself; possibly null
+	 */
+	public HeadlessCycle(ComponentManager componentManager, ChannelStream channelStream, OpenemsComponent self) {
+		this.componentManager = componentManager;
+		this.channelStream = channelStream;
+		this.enabledComponents = List.copyOf(componentManager.getEnabledComponents());
+		var components = new ArrayList<OpenemsComponent>();
+		var eventHandlers = new ArrayList<EventHandler>();
+		var schedulers = new ArrayList<Scheduler>();
+		Sum sum = null;
+		for (var component : this.enabledComponents) {
+			if (component == self) {
+				continue;
+			}
+			if (component instanceof EventHandler eventHandler) {
+				eventHandlers.add(eventHandler);
+			}
+			if (component instanceof Sum s) {
+				sum = s;
+				continue;
+			}
+			components.add(component);
+			if (component instanceof Scheduler scheduler) {
+				schedulers.add(scheduler);
+			}
+			if (component instanceof Controller controller) {
+				this.controllers.put(controller.id(), controller);
+			}
+		}
+		schedulers.sort(Comparator.comparing(Scheduler::id));
+		this.components = components.toArray(OpenemsComponent[]::new);
+		this.eventHandlers = eventHandlers.toArray(EventHandler[]::new);
+		this.schedulers = schedulers.toArray(Scheduler[]::new);
+		this.sum = sum;
+	}
+
+	/**
+	 * Executes one Cycle.
+	 *
+	 * @param onAfterProcessImage callback after the
+	 *                            {@link EdgeEventConstants#TOPIC_CYCLE_AFTER_PROCESS_IMAGE}
+	 *                            event
+	 */
+	public void execute(Runnable onAfterProcessImage) {
+		this.handleEvent(BEFORE_PROCESS_IMAGE);
+
+		for (var component : this.components) {
+			for (var channel : component.channels()) {
+				channel.nextProcessImage();
+			}
+		}
+		if (this.sum != null) {
+			this.sum.updateChannelsBeforeProcessImage();
+			for (var channel : this.sum.channels()) {
+				channel.nextProcessImage();
+			}
+		}
+		this.channelStream.publish(this.enabledComponents, Instant.now(this.componentManager.getClock()));
+
+		this.handleEvent(AFTER_PROCESS_IMAGE);
+		onAfterProcessImage.run();
+		this.handleEvent(BEFORE_CONTROLLERS);
+		this.runControllers();
+		this.handleEvent(AFTER_CONTROLLERS);
+		this.handleEvent(BEFORE_WRITE);
+		this.handleEvent(EXECUTE_WRITE);
+		this.handleEvent(AFTER_WRITE);
+	}
+
+	private void handleEvent(Event event) {
+		for (var eventHandler : this.eventHandlers) {
+			try {
+				eventHandler.handleEvent(event);
+			} catch (RuntimeException e) {
+				this.log.warn("Error while handling [" + event.getTopic() + "] in [" + eventHandler + "]. "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		}
+	}
+
+	private void runControllers() {
+		for (var scheduler : this.schedulers) {
+			var schedulerControllerIsMissing = false;
+			for (var controllerId : scheduler.getControllers()) {
+				var controller = this.controllers.get(controllerId);
+				if (controller == null) {
+					schedulerControllerIsMissing = true;
+					continue;
+				}
+				try {
+					controller.run();
+					controller._setRunFailed(false);
+
+				} catch (OpenemsNamedException e) {
+					this.log.warn("Error in Controller [" + controller.id() + "]: " + e.getMessage());
+					controller._setRunFailed(true);
+
+				} catch (Exception e) {
+					this.log.warn("Error in Controller [" + controller.id() + "]. " + e.getClass().getSimpleName()
+							+ ": " + e.getMessage());
+					controller._setRunFailed(true);
+				}
+			}
+			scheduler._setControllerIsMissing(schedulerControllerIsMissing);
+		}
+	}
+
+	private static Event event(String topic) {
+		return new Event(topic, Map.of());
+	}
+
+}
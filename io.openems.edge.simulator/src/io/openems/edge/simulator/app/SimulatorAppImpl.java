@@ -86,6 +86,8 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 	public static final String SINGLETON_COMPONENT_ID = "_simulator";
 
 	private static final long MILLISECONDS_BETWEEN_LOGS = 5_000;
+	private static final int WAIT_INTERVAL_MILLISECONDS = 50;
+	private static final int WAIT_TIMEOUT_MILLISECONDS = 50_000;
 
 	private final Logger log = LoggerFactory.getLogger(SimulatorAppImpl.class);
 
@@ -95,6 +97,9 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 	@Reference
 	private ComponentManager componentManager;
 
+	@Reference
+	private Cycle cycle;
+
 	private static class CurrentSimulation {
 		private final User user;
 		private final ExecuteSimulationRequest request;
@@ -102,6 +107,9 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 		private final CompletableFuture<ExecuteSimulationResponse> response;
 		private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> collectedData = new TreeMap<>();
 
+		/** The Channels for 'collects'; resolved on first use. */
+		private List<Channel<?>> channels = null;
+
 		public CurrentSimulation(User user, ExecuteSimulationRequest request, TimeLeapClock clock,
 				CompletableFuture<ExecuteSimulationResponse> response) {
 			this.user = user;
@@ -216,14 +224,41 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 		this.currentSimulation = new CurrentSimulation(user, request, timeLeapClock, response);
 
 		// Start Simulation Cycles
-		this.setCycleTime(AbstractWorker.DO_NOT_WAIT);
+		if (request.clock.headless) {
+			var currentSimulation = this.currentSimulation;
+			var thread = new Thread(() -> this.runHeadless(currentSimulation), "Simulator.App:Headless");
+			thread.start();
+		} else {
+			this.setCycleTime(AbstractWorker.DO_NOT_WAIT);
+		}
 
 		return response;
 	}
 
+	/**
+	 * Executes Cycles without Core.Cycle until the simulation is stopped.
+	 *
+	 * @param simulation the {@link CurrentSimulation}
+	 */
+	private void runHeadless(CurrentSimulation simulation) {
+		try {
+			var headlessCycle = new HeadlessCycle(this.componentManager, this.cycle.getChannelStream(), this);
+			while (this.currentSimulation == simulation) {
+				headlessCycle.execute(this::collectData);
+				this.simulateNextCycle();
+			}
+		} catch (RuntimeException e) {
+			this.logError(this.log, "Error in headless Simulation. " + e.getClass().getSimpleName() + ": "
+					+ e.getMessage());
+			simulation.response.completeExceptionally(e);
+			this.stopSimulation();
+		}
+	}
+
 	@Override
 	public void handleEvent(Event event) {
-		if (!this.isEnabled() || this.currentSimulation == null) {
+		var currentSimulation = this.currentSimulation;
+		if (!this.isEnabled() || currentSimulation == null || currentSimulation.request.clock.headless) {
 			return;
 		}
 		switch (event.getTopic()) {
@@ -279,15 +314,18 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 		}
 
 		var now = ZonedDateTime.now(currentSimulation.clock);
-		List<Channel<?>> channels = new ArrayList<>();
-		for (ChannelAddress channelAddress : currentSimulation.request.collects) {
-			try {
-				channels.add(this.componentManager.getChannel(channelAddress));
-			} catch (IllegalArgumentException | OpenemsNamedException e) {
-				e.printStackTrace();
+		if (currentSimulation.channels == null) {
+			List<Channel<?>> channels = new ArrayList<>();
+			for (ChannelAddress channelAddress : currentSimulation.request.collects) {
+				try {
+					channels.add(this.componentManager.getChannel(channelAddress));
+				} catch (IllegalArgumentException | OpenemsNamedException e) {
+					e.printStackTrace();
+				}
 			}
+			currentSimulation.channels = channels;
 		}
-		currentSimulation.addData(now, channels);
+		currentSimulation.addData(now, currentSimulation.channels);
 	}
 
 	/**
@@ -410,7 +448,7 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 
 	private void waitForComponentsToActivate(Set<String> simulatorComponentIds) throws OpenemsException {
 		// Wait for Components to appear
-		for (var i = 0; i < 100; i++) {
+		for (var i = 0; i < WAIT_TIMEOUT_MILLISECONDS / WAIT_INTERVAL_MILLISECONDS; i++) {
 			Set<String> allComponentIds = this.componentManager.getAllComponents().stream().map(OpenemsComponent::id)
 					.collect(Collectors.toSet());
 			simulatorComponentIds.removeAll(allComponentIds);
@@ -419,9 +457,11 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 				// finished
 				return;
 			}
-			this.logInfo(this.log, "Still waiting for [" + simulatorComponentIds + "] to activate");
+			if (i % 10 == 0) {
+				this.logInfo(this.log, "Still waiting for [" + simulatorComponentIds + "] to activate");
+			}
 			try {
-				Thread.sleep(500);
+				Thread.sleep(WAIT_INTERVAL_MILLISECONDS);
 			} catch (InterruptedException e) {
 				this.log.warn(e.getClass().getSimpleName() + ": " + e.getMessage());
 			}
@@ -431,7 +471,7 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 
 	private void waitForComponentsToDeactivate(Set<String> deletedComponents) throws OpenemsException {
 		Set<String> stillExistingComponents = new HashSet<>();
-		for (var i = 0; i < 100; i++) {
+		for (var i = 0; i < WAIT_TIMEOUT_MILLISECONDS / WAIT_INTERVAL_MILLISECONDS; i++) {
 			var allComponents = this.componentManager.getAllComponents();
 			stillExistingComponents = allComponents.stream().map(OpenemsComponent::id).collect(Collectors.toSet());
 			stillExistingComponents.removeAll(deletedComponents);
@@ -440,9 +480,11 @@ public class SimulatorAppImpl extends AbstractOpenemsComponent
 				// finished
 				return;
 			}
-			this.log.info("Still waiting for [" + stillExistingComponents + "] to disappear");
+			if (i % 10 == 0) {
+				this.log.info("Still waiting for [" + stillExistingComponents + "] to disappear");
+			}
 			try {
-				Thread.sleep(500);
+				Thread.sleep(WAIT_INTERVAL_MILLISECONDS);
 			} catch (InterruptedException e) {
 				this.log.warn(e.getClass().getSimpleName() + ": " + e.getMessage());
 			}
@@ -3,7 +3,9 @@ package io.openems.edge.simulator.datasource.api;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.Event;
@@ -24,6 +26,9 @@ public abstract class AbstractCsvDatasource extends AbstractOpenemsComponent
 	private LocalDateTime lastIteration = LocalDateTime.MIN;
 	private DataContainer data;
 
+	/** Caches the index in a record per {@link ChannelAddress}. */
+	private final Map<ChannelAddress, Integer> indexes = new ConcurrentHashMap<>();
+
 	protected abstract ComponentManager getComponentManager();
 
 	protected abstract DataContainer getData() throws NumberFormatException, IOException;
@@ -38,6 +43,7 @@ public abstract class AbstractCsvDatasource extends AbstractOpenemsComponent
 		super.activate(context, id, alias, enabled);
 		this.timeDelta = timeDelta;
 		this.data = this.getData();
+		this.indexes.clear();
 	}
 
 	@Override
@@ -61,13 +67,18 @@ public abstract class AbstractCsvDatasource extends AbstractOpenemsComponent
 
 	@Override
 	public <T> T getValue(OpenemsType type, ChannelAddress channelAddress) {
+		var value = this.data.getValue(this.indexes.computeIfAbsent(channelAddress, this::getIndex));
+		return TypeUtils.getAsType(type, Float.isNaN(value) ? null : value);
+	}
+
+	private int getIndex(ChannelAddress channelAddress) {
 		// First: try full ChannelAddress
-		var valueOpt = this.data.getValue(channelAddress.toString());
-		if (!valueOpt.isPresent()) {
+		var index = this.data.getIndex(channelAddress.toString());
+		if (index < 0) {
 			// Not found: try Channel-ID only (without Component-ID)
-			valueOpt = this.data.getValue(channelAddress.getChannelId());
+			index = this.data.getIndex(channelAddress.getChannelId());
 		}
-		return TypeUtils.getAsType(type, valueOpt);
+		return index;
 	}
 
 	@Override
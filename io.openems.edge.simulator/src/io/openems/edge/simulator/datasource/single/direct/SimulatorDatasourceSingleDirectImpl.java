@@ -64,7 +64,7 @@ public class SimulatorDatasourceSingleDirectImpl extends AbstractCsvDatasource
 	protected DataContainer getData() throws NumberFormatException, IOException {
 		var result = new DataContainer();
 		for (int value : this.config.values()) {
-			result.addRecord(new Float[] { Float.valueOf(value) });
+			result.addRecord(new float[] { value });
 		}
 		return result;
 	}
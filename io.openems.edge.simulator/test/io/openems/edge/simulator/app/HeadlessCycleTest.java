@@ -0,0 +1,107 @@
+package io.openems.edge.simulator.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.channel.stream.ChannelStream;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.sum.Sum;
+import io.openems.edge.common.test.AbstractDummyOpenemsComponent;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.controller.test.DummyController;
+import io.openems.edge.scheduler.api.Scheduler;
+
+public class HeadlessCycleTest {
+
+	private static class MyScheduler extends AbstractDummyOpenemsComponent<MyScheduler> implements Scheduler {
+
+		private final LinkedHashSet<String> controllers = new LinkedHashSet<>();
+
+		public MyScheduler(String id, String... controllers) {
+			super(id, //
+					OpenemsComponent.ChannelId.values(), //
+					Scheduler.ChannelId.values());
+			this.controllers.addAll(List.of(controllers));
+		}
+
+		@Override
+		protected MyScheduler self() {
+			return this;
+		}
+
+		@Override
+		public LinkedHashSet<String> getControllers() {
+			return this.controllers;
+		}
+	}
+
+	private static class MyEventHandler extends AbstractDummyOpenemsComponent<MyEventHandler>
+			implements EventHandler {
+
+		private final List<String> calls;
+
+		public MyEventHandler(String id, List<String> calls) {
+			super(id, OpenemsComponent.ChannelId.values());
+			this.calls = calls;
+		}
+
+		@Override
+		protected MyEventHandler self() {
+			return this;
+		}
+
+		@Override
+		public void handleEvent(Event event) {
+			this.calls.add(event.getTopic().substring(EdgeEventConstants.TOPIC_CYCLE.length()));
+		}
+	}
+
+	@Test
+	public void test() throws Exception {
+		var calls = new ArrayList<String>();
+		var sum = new DummySum();
+		var self = new MyEventHandler("self", new ArrayList<>());
+		var scheduler = new MyScheduler("scheduler0", "ctrl1", "ctrl0", "ctrl9");
+		var componentManager = new DummyComponentManager() //
+				.addComponent(sum) //
+				.addComponent(self) //
+				.addComponent(scheduler) //
+				.addComponent(new MyEventHandler("handler0", calls)) //
+				.addComponent(new DummyController("ctrl0").setRunCallback(() -> calls.add("ctrl0"))) //
+				.addComponent(new DummyController("ctrl1").setRunCallback(() -> {
+					throw new IllegalStateException();
+				}));
+
+		var channelStream = new ChannelStream();
+		var subscription = channelStream.subscribe(PersistencePriority.VERY_LOW);
+		var sut = new HeadlessCycle(componentManager, channelStream, self);
+		sum._setProductionActivePower(500);
+		sut.execute(() -> calls.add("callback"));
+
+		assertEquals(List.of(//
+				"BEFORE_PROCESS_IMAGE", "AFTER_PROCESS_IMAGE", "callback", "BEFORE_CONTROLLERS", "ctrl0", //
+				"AFTER_CONTROLLERS", "BEFORE_WRITE", "EXECUTE_WRITE", "AFTER_WRITE"), calls);
+		assertEquals(500, sum.getProductionActivePower().get().intValue());
+		assertTrue(self.calls.isEmpty());
+		assertEquals(1, subscription.poll().snapshot().getCycle());
+
+		// Next Cycle applies Controller results
+		sut.execute(() -> {
+		});
+		assertTrue(componentManager.<DummyController>getPossiblyDisabledComponent("ctrl1").getRunFailed().get());
+		assertTrue(scheduler.getControllerIsMissing().get());
+		assertEquals(2, subscription.poll().snapshot().getCycle());
+	}
+
+}
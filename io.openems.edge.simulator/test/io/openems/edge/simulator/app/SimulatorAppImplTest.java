@@ -5,6 +5,7 @@ import org.junit.Test;
 import io.openems.edge.common.test.ComponentTest;
 import io.openems.edge.common.test.DummyComponentManager;
 import io.openems.edge.common.test.DummyConfigurationAdmin;
+import io.openems.edge.common.test.DummyCycle;
 
 public class SimulatorAppImplTest {
 
@@ -13,6 +14,7 @@ public class SimulatorAppImplTest {
 		new ComponentTest(new SimulatorAppImpl()) //
 				.addReference("cm", new DummyConfigurationAdmin()) // #
 				.addReference("componentManager", new DummyComponentManager()) //
+				.addReference("cycle", new DummyCycle(1000)) //
 				.activate(MyConfig.create() //
 						.setId(SimulatorAppImpl.SINGLETON_SERVICE_PID) //
 						.build()) //
@@ -27,11 +27,12 @@ import com.google.gson.JsonElement;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
 
+import io.openems.common.channel.PersistencePriority;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.timedata.Resolution;
 import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.stream.ChannelStream.Subscription;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
-import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
 import io.openems.edge.common.event.EdgeEventConstants;
@@ -59,11 +60,11 @@ public class TimedataInfluxDbImpl extends AbstractOpenemsComponent
 	@Reference
 	private Cycle cycle;
 
-	@Reference
-	private ComponentManager componentManager;
-
 	private InfluxConnector influxConnector = null;
 
+	/** Provides the values of all Channels once per Cycle. */
+	private Subscription subscription = null;
+
 	/** Counts the number of Cycles till data is written to InfluxDB. */
 	private int cycleCount = 0;
 
@@ -90,12 +91,16 @@ public class TimedataInfluxDbImpl extends AbstractOpenemsComponent
 				(e) -> {
 					// ignore
 				});
+		this.subscription = this.cycle.getChannelStream().subscribe(PersistencePriority.VERY_LOW);
 	}
 
 	@Override
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		if (this.subscription != null) {
+			this.subscription.close();
+		}
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
@@ -122,57 +127,45 @@ public class TimedataInfluxDbImpl extends AbstractOpenemsComponent
 			final var point = Point.measurement(this.config.measurement()).time(timestamp, WritePrecision.MS);
 			final var addedAtLeastOneChannelValue = new AtomicBoolean(false);
 
-			this.componentManager.getEnabledComponents().stream().filter(OpenemsComponent::isEnabled)
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							switch (channel.channelDoc().getAccessMode()) {
-							case WRITE_ONLY:
-								// ignore Write-Only-Channels
-								return;
-							case READ_ONLY:
-							case READ_WRITE:
-								break;
-							}
-
-							Optional<?> valueOpt = channel.value().asOptional();
-							if (!valueOpt.isPresent()) {
-								// ignore not available channels
-								return;
-							}
-							Object value = valueOpt.get();
-							var address = channel.address().toString();
-							try {
-								switch (channel.getType()) {
-								case BOOLEAN:
-									point.addField(address, (Boolean) value ? 1 : 0);
-									break;
-								case SHORT:
-									point.addField(address, (Short) value);
-									break;
-								case INTEGER:
-									point.addField(address, (Integer) value);
-									break;
-								case LONG:
-									point.addField(address, (Long) value);
-									break;
-								case FLOAT:
-									point.addField(address, (Float) value);
-									break;
-								case DOUBLE:
-									point.addField(address, (Double) value);
-									break;
-								case STRING:
-									point.addField(address, (String) value);
-									break;
-								}
-							} catch (IllegalArgumentException e) {
-								this.log.warn("Unable to add Channel [" + address + "] value [" + value + "]: "
-										+ e.getMessage());
-								return;
-							}
-							addedAtLeastOneChannelValue.set(true);
-						});
-					});
+			final var snapshot = this.subscription.poll().snapshot();
+			snapshot.forEach(PersistencePriority.VERY_LOW, index -> {
+				var value = snapshot.getValue(index);
+				if (value == null) {
+					// ignore not available channels
+					return;
+				}
+				var slot = snapshot.getSlot(index);
+				var address = slot.key();
+				try {
+					switch (slot.type()) {
+					case BOOLEAN:
+						point.addField(address, (Boolean) value ? 1 : 0);
+						break;
+					case SHORT:
+						point.addField(address, (Short) value);
+						break;
+					case INTEGER:
+						point.addField(address, (Integer) value);
+						break;
+					case LONG:
+						point.addField(address, (Long) value);
+						break;
+					case FLOAT:
+						point.addField(address, (Float) value);
+						break;
+					case DOUBLE:
+						point.addField(address, (Double) value);
+						break;
+					case STRING:
+						point.addField(address, (String) value);
+						break;
+					}
+				} catch (IllegalArgumentException e) {
+					this.log.warn("Unable to add Channel [" + address + "] value [" + value + "]: " + e.getMessage());
+					return;
+				}
+				addedAtLeastOneChannelValue.set(true);
+			});
 
 			if (addedAtLeastOneChannelValue.get()) {
 				this.influxConnector.write(point);
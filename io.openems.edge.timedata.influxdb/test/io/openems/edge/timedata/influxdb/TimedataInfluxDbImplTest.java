@@ -4,7 +4,6 @@ import org.junit.Test;
 
 import io.openems.edge.common.test.AbstractComponentTest.TestCase;
 import io.openems.edge.common.test.ComponentTest;
-import io.openems.edge.common.test.DummyComponentManager;
 import io.openems.edge.common.test.DummyCycle;
 import io.openems.shared.influxdb.QueryLanguageConfig;
 
@@ -15,7 +14,6 @@ public class TimedataInfluxDbImplTest {
 	@Test
 	public void test() throws Exception {
 		new ComponentTest(new TimedataInfluxDbImpl()) //
-				.addReference("componentManager", new DummyComponentManager()) //
 				.addReference("cycle", new DummyCycle(1000)) //
 				.activate(MyConfig.create() //
 						.setId(COMPONENT_ID) //
@@ -0,0 +1,270 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.OptionalDouble;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ServiceScope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.common.channel.Unit;
+import io.openems.common.timedata.DurationUnit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.stream.ChannelStream.Subscription;
+import io.openems.edge.common.channel.value.PastValues;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.cycle.Cycle;
+
+@Component(//
+		scope = ServiceScope.PROTOTYPE, //
+		service = RecordWorker.class //
+)
+public class RecordWorker extends AbstractImmediateWorker {
+
+	public record Config(//
+			String rrdDbId, //
+			boolean readOnly, //
+			boolean debugMode, //
+			PersistencePriority persistencePriority, //
+			Consumer<? super Boolean> onQueueFull, //
+			Consumer<? super Boolean> onUnableToInsert //
+	) {
+
+	}
+
+	private static record DataRecord(//
+			long timestamp, //
+			ChannelAddress address, //
+			Unit unit, //
+			double value //
+	) {
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
+
+	@Reference
+	private Rrd4jSupplier rrd4jSupplier;
+
+	@Reference
+	private ComponentManager componentManager;
+
+	@Reference
+	private Cycle cycle;
+
+	private Config config;
+	private Subscription subscription = null;
+
+	public void setConfig(Config config) {
+		this.config = config;
+	}
+
+	// Record queue
+	private final BlockingQueue<DataRecord> records = new LinkedBlockingQueue<>();
+
+	// keeps the last recorded timestamp
+	private Instant lastTimestamp = Instant.MIN;
+
+	@Activate
+	public RecordWorker() {
+	}
+
+	@Override
+	public void activate(String name) {
+		super.activate(name);
+		this.subscription = this.cycle.getChannelStream().subscribe(this.config.persistencePriority);
+	}
+
+	@Override
+	@Deactivate
+	public void deactivate() {
+		super.deactivate();
+		if (this.subscription != null) {
+			this.subscription.close();
+			this.subscription = null;
+		}
+	}
+
+	/**
+	 * Collects the data from Channels. This is called synchronously by the main
+	 * OpenEMS cycle. On finish it triggers a next async task to write the data to
+	 * RRD4J.
+	 * 
+	 * <p>
+	 * The Channels are taken from the latest snapshot of the Cycle's
+	 * {@link io.openems.edge.common.channel.stream.ChannelStream}; their values
+	 * are aggregated from the {@link PastValues} of the heartbeat period.
+	 * 
+	 * <p>
+	 * Cumulated Channels are collected with a timestamp rounded to the current
+	 * hour. e.g.
+	 * 
+	 * <pre>
+	 * 08:00     08:35 09:00
+	 *   |---------|-----|
+	 * 08:00 -> timestamp of the data
+	 * 08:35 -> timestamp the data gets collected
+	 * </pre>
+	 */
+	public void collectData() {
+		final var timestamp = Instant.now(this.componentManager.getClock()) //
+				.truncatedTo(DurationUnit.ofSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS)) //
+				.minusSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS);
+
+		final var now = LocalDateTime.now(this.componentManager.getClock());
+
+		// Same second as last run? -> RRD4j can only handle one sample per second per
+		// database. Timestamps are all stored "truncated to seconds".
+		if (timestamp.equals(this.lastTimestamp)) {
+			return;
+		}
+
+		final var to = now.truncatedTo(DurationUnit.ofSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS));
+		final var from = to.minusSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS);
+
+		// RRD4j requires us to write one value per DEFAULT_HEARTBEAT_SECONDS
+		if (this.lastTimestamp.equals(timestamp)) {
+			return;
+		}
+
+		final var subscription = this.subscription;
+		if (subscription == null) {
+			return;
+		}
+		final var snapshot = subscription.poll().snapshot();
+		if (snapshot.getCycle() == 0) {
+			// Nothing was published yet
+			return;
+		}
+
+		this.lastTimestamp = timestamp;
+
+		snapshot.forEach(this.config.persistencePriority, index -> {
+			final var channel = snapshot.getSlot(index).channel();
+			final long writeSeconds;
+			if (channel.channelDoc().getUnit().isCumulated()) {
+				// Write every 1h
+				writeSeconds = timestamp.truncatedTo(ChronoUnit.HOURS).getEpochSecond();
+			} else {
+				writeSeconds = timestamp.getEpochSecond();
+			}
+
+			// This is the highest timestamp before `startTime`. If existing it is used as
+			// first index to make sure we get a Value even for Channels where the value has
+			// not changed within the last 5 minutes.
+			final var pastValues = channel.getPastValues();
+			final var fromIndex = Math.max(0, pastValues.floorIndex(from));
+			final var toIndex = pastValues.ceilingIndex(to);
+
+			var value = aggregate(channel.channelDoc().getUnit().isCumulated(), channel.getType(), pastValues,
+					fromIndex, toIndex);
+
+			if (channel.channelDoc() instanceof EnumDoc) {
+				final var enumChannelValue = aggregateEnumChannel(channel, fromIndex, toIndex);
+				if (!enumChannelValue.isJsonNull()) {
+					value = OptionalDouble.of(enumChannelValue.getAsDouble());
+				}
+			}
+
+			if (!value.isPresent()) {
+				// only available channels
+				return;
+			}
+
+			final var dataRecord = new DataRecord(//
+					writeSeconds, //
+					channel.address(), //
+					channel.channelDoc().getUnit(), //
+					value.getAsDouble() //
+			);
+			this.config.onUnableToInsert.accept(!this.records.offer(dataRecord));
+		});
+	}
+
+	@Override
+	protected void forever() throws InterruptedException {
+		final var record = this.records.take();
+
+		if (this.config.readOnly() && this.config.debugMode()) {
+			this.log.info("Read-Only-Mode is activated. Not writing record: " + record.toString());
+			return;
+		}
+
+		try (var handle = this.rrd4jSupplier.getRrdDb(this.config.rrdDbId, record.address, record.unit,
+				record.timestamp - 1)) {
+			final var database = handle.db();
+			if (database.getLastUpdateTime() == record.timestamp()) {
+				// overwrite last value if same time stamp
+				final var robin = database.getArchive(0).getRobin(0);
+				robin.setValue(robin.getSize() - 1, record.value());
+			} else if (database.getLastUpdateTime() < record.timestamp()) {
+				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
+				// YYY. Last update time was ZZZ, at least one second step is required".
+
+				// Add Sample to RRD4J
+				database.createSample(record.timestamp()) //
+						.setValue(0, record.value) //
+						.update();
+			}
+
+			this.config.onQueueFull.accept(false);
+		} catch (Throwable e) {
+			this.config.onQueueFull.accept(true);
+			if (this.config.debugMode()) {
+				this.log.error("Unable to insert Sample [%s] %s: %s".formatted(record.address,
+						e.getClass().getSimpleName(), e.getMessage()), e);
+			}
+		}
+	}
+
+	protected static OptionalDouble aggregate(boolean isCumulated, OpenemsType type, PastValues<?> values,
+			int fromIndex, int toIndex) {
+		if (values.countDefined(fromIndex, toIndex) == 0) {
+			// only available channels
+			return OptionalDouble.empty();
+		}
+		if (type == OpenemsType.STRING) {
+			// Strings are not supported by RRD4J
+			return OptionalDouble.of(0d);
+		}
+		if (isCumulated) {
+			return OptionalDouble.of(values.maxAsDouble(fromIndex, toIndex));
+		}
+		return OptionalDouble.of(values.average(fromIndex, toIndex));
+	}
+
+	protected static JsonElement aggregateEnumChannel(//
+			Channel<?> channel, //
+			int fromIndex, //
+			int toIndex //
+	) {
+		final var doc = channel.channelDoc();
+		if (!(doc instanceof EnumDoc)) {
+			return JsonNull.INSTANCE;
+		}
+		final var pastValues = channel.getPastValues();
+		final var index = pastValues.mostFrequentIndex(fromIndex, toIndex);
+		if (index >= 0) {
+			return new JsonPrimitive(pastValues.getAsLong(index));
+		}
+		return JsonNull.INSTANCE;
+	}
+
+}
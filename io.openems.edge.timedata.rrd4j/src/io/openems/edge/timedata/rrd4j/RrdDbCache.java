@@ -0,0 +1,228 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded, reference-counted LRU cache of open {@link RrdDb}s.
+ *
+ * <p>
+ * Opening a {@link RrdDb} requires opening the file and parsing its header;
+ * with thousands of persisted Channels this happens for every record and every
+ * query. This cache keeps recently used databases open and hands out
+ * {@link Handle}s, that have to be closed after use. A database is only closed
+ * if it is not in use and the cache exceeds its capacity, so there is at most
+ * one open {@link RrdDb} per file.
+ *
+ * <p>
+ * A {@link Handle} grants exclusive access to its {@link RrdDb}, as records and
+ * queries may run in parallel on the same database.
+ */
+public class RrdDbCache {
+
+	/**
+	 * An exclusive reference to a cached {@link RrdDb}. Closing the handle
+	 * releases the reference; the database itself stays open.
+	 */
+	public final class Handle implements AutoCloseable {
+
+		private final Entry entry;
+		private boolean closed = false;
+
+		private Handle(Entry entry) {
+			this.entry = entry;
+		}
+
+		/**
+		 * Gets the {@link RrdDb}.
+		 *
+		 * @return the {@link RrdDb}
+		 */
+		public RrdDb db() {
+			return this.entry.db;
+		}
+
+		@Override
+		public void close() {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			RrdDbCache.this.release(this.entry);
+		}
+	}
+
+	private static class Entry {
+		private final String key;
+		private final RrdDb db;
+		private final ReentrantLock lock = new ReentrantLock();
+		private int references = 0;
+
+		private Entry(String key, RrdDb db) {
+			this.key = key;
+			this.db = db;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RrdDbCache.class);
+
+	private final int capacity;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true /* access-order */);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public RrdDbCache(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Gets a {@link Handle} for a cached {@link RrdDb}.
+	 *
+	 * @param key the key
+	 * @return the {@link Handle}; null if the database is not cached
+	 */
+	public Handle acquire(String key) {
+		final Entry entry;
+		synchronized (this.entries) {
+			entry = this.entries.get(key);
+			if (entry == null || entry.db.isClosed()) {
+				if (entry != null) {
+					this.entries.remove(key);
+				}
+				this.misses.increment();
+				return null;
+			}
+			this.hits.increment();
+			// Referenced entries are never evicted
+			entry.references++;
+		}
+		entry.lock.lock();
+		return new Handle(entry);
+	}
+
+	/**
+	 * Adds a newly opened {@link RrdDb} to the cache and gets a {@link Handle} for
+	 * it.
+	 *
+	 * @param key the key
+	 * @param db  the {@link RrdDb}
+	 * @return the {@link Handle}
+	 */
+	public Handle put(String key, RrdDb db) {
+		final var entry = new Entry(key, db);
+		entry.references = 1;
+		entry.lock.lock();
+		final List<Entry> evicted;
+		synchronized (this.entries) {
+			final var previous = this.entries.put(key, entry);
+			if (previous != null && previous.db != db) {
+				this.log.warn("Replacing cached RrdDb [" + key + "]");
+			}
+			evicted = this.evict();
+		}
+		this.closeAll(evicted);
+		return new Handle(entry);
+	}
+
+	private void release(Entry entry) {
+		entry.lock.unlock();
+		final List<Entry> evicted;
+		synchronized (this.entries) {
+			entry.references--;
+			if (this.entries.get(entry.key) != entry) {
+				// Entry is not cached (anymore)
+				evicted = entry.references == 0 ? List.of(entry) : List.of();
+			} else {
+				evicted = this.evict();
+			}
+		}
+		this.closeAll(evicted);
+	}
+
+	/**
+	 * Removes least recently used entries that are not in use until the capacity
+	 * is reached.
+	 *
+	 * @return the removed entries
+	 */
+	private List<Entry> evict() {
+		var overflow = this.entries.size() - this.capacity;
+		if (overflow <= 0) {
+			return List.of();
+		}
+		final var result = new ArrayList<Entry>(overflow);
+		final var iterator = this.entries.values().iterator();
+		while (overflow > 0 && iterator.hasNext()) {
+			final var entry = iterator.next();
+			if (entry.references > 0) {
+				continue;
+			}
+			iterator.remove();
+			result.add(entry);
+			overflow--;
+		}
+		return result;
+	}
+
+	/**
+	 * Closes all databases that are not in use and clears the cache.
+	 */
+	public void clear() {
+		final List<Entry> evicted;
+		synchronized (this.entries) {
+			evicted = new ArrayList<>();
+			for (var entry : this.entries.values()) {
+				if (entry.references == 0) {
+					evicted.add(entry);
+				}
+			}
+			this.entries.clear();
+		}
+		this.closeAll(evicted);
+	}
+
+	private void closeAll(List<Entry> entries) {
+		for (var entry : entries) {
+			try {
+				entry.db.close();
+			} catch (IOException e) {
+				this.log.warn("Unable to close RrdDb [" + entry.key + "]: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of open databases.
+	 *
+	 * @return the number of open databases
+	 */
+	public int getOpenHandles() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Gets the ratio of lookups that were served from the cache.
+	 *
+	 * @return the hit-rate in [%]; null if there were no lookups yet
+	 */
+	public Integer getHitRate() {
+		final var hits = this.hits.sum();
+		final var total = hits + this.misses.sum();
+		if (total == 0) {
+			return null;
+		}
+		return (int) (hits * 100 / total);
+	}
+
+}
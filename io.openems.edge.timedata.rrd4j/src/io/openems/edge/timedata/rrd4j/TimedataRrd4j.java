@@ -0,0 +1,147 @@
+package io.openems.edge.timedata.rrd4j;
+
+import io.openems.common.channel.Level;
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.channel.StateChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.timedata.api.Timedata;
+
+public interface TimedataRrd4j extends Timedata, OpenemsComponent {
+
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		QUEUE_IS_FULL(Doc.of(Level.WARNING)), //
+		UNABLE_TO_INSERT_SAMPLE(Doc.of(Level.WARNING)), //
+		CACHE_HIT_RATE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT) //
+				.text("Ratio of RRD4j database lookups served from open databases")), //
+		OPEN_DATABASES(Doc.of(OpenemsType.INTEGER) //
+				.text("Number of open RRD4j databases"));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#QUEUE_IS_FULL}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getQueueIsFullChannel() {
+		return this.channel(ChannelId.QUEUE_IS_FULL);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#QUEUE_IS_FULL}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getQueueIsFull() {
+		return this.getQueueIsFullChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#QUEUE_IS_FULL}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setQueueIsFull(Boolean value) {
+		this.getQueueIsFullChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#UNABLE_TO_INSERT_SAMPLE}.
+	 *
+	 * @return the Channel
+	 */
+	public default StateChannel getUnableToInsertSampleChannel() {
+		return this.channel(ChannelId.UNABLE_TO_INSERT_SAMPLE);
+	}
+
+	/**
+	 * Gets the {@link StateChannel} for {@link ChannelId#UNABLE_TO_INSERT_SAMPLE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Boolean> getUnableToInsertSample() {
+		return this.getUnableToInsertSampleChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#UNABLE_TO_INSERT_SAMPLE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setUnableToInsertSample(Boolean value) {
+		this.getUnableToInsertSampleChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#CACHE_HIT_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getCacheHitRateChannel() {
+		return this.channel(ChannelId.CACHE_HIT_RATE);
+	}
+
+	/**
+	 * Gets the Cache Hit-Rate in [%]. See {@link ChannelId#CACHE_HIT_RATE}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getCacheHitRate() {
+		return this.getCacheHitRateChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#CACHE_HIT_RATE}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setCacheHitRate(Integer value) {
+		this.getCacheHitRateChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#OPEN_DATABASES}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getOpenDatabasesChannel() {
+		return this.channel(ChannelId.OPEN_DATABASES);
+	}
+
+	/**
+	 * Gets the number of open databases. See {@link ChannelId#OPEN_DATABASES}.
+	 *
+	 * @return the Channel {@link Value}
+	 */
+	public default Value<Integer> getOpenDatabases() {
+		return this.getOpenDatabasesChannel().value();
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on {@link ChannelId#OPEN_DATABASES}
+	 * Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setOpenDatabases(Integer value) {
+		this.getOpenDatabasesChannel().setNextValue(value);
+	}
+}
@@ -0,0 +1,92 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+
+import io.openems.common.channel.Unit;
+import io.openems.edge.timedata.rrd4j.version.Version.CreateDatabaseConfig;
+import io.openems.edge.timedata.rrd4j.version.Version3Test;
+
+public class RrdDbCacheTest {
+
+	private static final long START = 1577836800L; /* 1. January 2020 00:00:00 */
+
+	private static RrdDb createDb(String path) throws IOException {
+		return Version3Test.createDummyVersion3().createNewDb(new CreateDatabaseConfig(//
+				"rrdDbId", //
+				Unit.WATT, //
+				path, //
+				START, //
+				new RrdMemoryBackendFactory(), //
+				null //
+		));
+	}
+
+	@Test
+	public void testLru() throws IOException {
+		final var sut = new RrdDbCache(2);
+		assertNull(sut.getHitRate());
+		assertNull(sut.acquire("a"));
+
+		final var a = createDb("a");
+		final var b = createDb("b");
+		sut.put("a", a).close();
+		sut.put("b", b).close();
+		assertEquals(2, sut.getOpenHandles());
+
+		// 'a' is now the most recently used
+		try (var handle = sut.acquire("a")) {
+			assertSame(a, handle.db());
+		}
+
+		// 'b' gets evicted and closed
+		final var c = createDb("c");
+		sut.put("c", c).close();
+		assertEquals(2, sut.getOpenHandles());
+		assertTrue(b.isClosed());
+		assertFalse(a.isClosed());
+		assertNull(sut.acquire("b"));
+
+		// 1 hit, 2 misses
+		assertEquals(33, (int) sut.getHitRate());
+
+		sut.clear();
+		assertEquals(0, sut.getOpenHandles());
+		assertTrue(a.isClosed());
+		assertTrue(c.isClosed());
+	}
+
+	@Test
+	public void testReferencedIsNotEvicted() throws IOException {
+		final var sut = new RrdDbCache(1);
+
+		final var a = createDb("a");
+		final var handle = sut.put("a", a);
+
+		// Cache grows above capacity while 'a' is in use
+		final var b = createDb("b");
+		final var handleB = sut.put("b", b);
+		assertEquals(2, sut.getOpenHandles());
+		assertFalse(a.isClosed());
+
+		// Releasing 'a' evicts it
+		handle.close();
+		assertTrue(a.isClosed());
+		assertEquals(1, sut.getOpenHandles());
+
+		// Closing a handle twice is ignored
+		handleB.close();
+		handleB.close();
+		assertFalse(b.isClosed());
+	}
+
+}